@@ -40,9 +40,6 @@
 
 package com.sun.jersey.client.non.blocking;
 
-import com.ning.http.client.ListenableFuture;
-import com.ning.http.client.Request;
-import com.ning.http.client.Response;
 import com.sun.jersey.api.client.AsyncViewResource;
 import com.sun.jersey.api.client.ClientHandler;
 import com.sun.jersey.api.client.ClientRequest;
@@ -52,15 +49,10 @@ import com.sun.jersey.api.client.filter.ClientFilter;
 
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.UriBuilder;
-import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 /**
  * {@inheritDoc}
@@ -198,69 +190,6 @@ public class NonBlockingAsyncViewResource extends AsyncViewResource {
 
     @Override
     public Future<ClientResponse> handle(ClientRequest request, final FutureListener<ClientResponse> l) {
-        Request r = client.getRequest(request);
-
-        try {
-            final ListenableFuture<Response> listenableFuture = this.client.getClientHandlerNing().getHttpClient().executeRequest(r);
-            final Future<ClientResponse> jerseyFuture = new Future<ClientResponse>() {
-                @Override
-                public boolean cancel(boolean b) {
-                    return listenableFuture.cancel(b);
-                }
-
-                @Override
-                public boolean isCancelled() {
-                    return listenableFuture.isCancelled();
-                }
-
-                @Override
-                public boolean isDone() {
-                    return listenableFuture.isDone();
-                }
-
-                @Override
-                public ClientResponse get() throws InterruptedException, ExecutionException {
-                    final Response response = listenableFuture.get();
-                    if(response != null)
-                        return client.getClientResponse(response);
-                    else
-                        return null;
-                }
-
-                @Override
-                public ClientResponse get(long l, TimeUnit timeUnit) throws InterruptedException, ExecutionException, TimeoutException {
-                    final Response response = listenableFuture.get(l, timeUnit);
-                    if(response != null)
-                        return client.getClientResponse(response);
-                    else return null;
-                }
-            };
-
-            listenableFuture.addListener(
-                    new Runnable() {
-                        @Override
-                        public void run() {
-                            try {
-                                l.onComplete(jerseyFuture);
-                            } catch (InterruptedException e) {
-                                e.printStackTrace();
-                            }
-                        }
-                    },
-                    new Executor() {
-                        @Override
-                        public void execute(Runnable runnable) {
-                            runnable.run();
-                        }
-                    });
-
-            return jerseyFuture;
-
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        return null; // TODO
+        return client.getClientHandlerNing().handle(request, l);
     }
-
 }
@@ -40,12 +40,8 @@
 
 package com.sun.jersey.client.non.blocking;
 
-import com.ning.http.client.ListenableFuture;
-import com.ning.http.client.Request;
-import com.ning.http.client.Response;
 import com.sun.jersey.api.client.AsyncWebResource;
 import com.sun.jersey.api.client.ClientHandler;
-import com.sun.jersey.api.client.ClientHandlerException;
 import com.sun.jersey.api.client.ClientRequest;
 import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.async.FutureListener;
@@ -54,15 +50,10 @@ import com.sun.jersey.client.impl.CopyOnWriteHashMap;
 
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.UriBuilder;
-import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 /**
  * {@inheritDoc}
@@ -199,67 +190,6 @@ public class NonBlockingAsyncWebResource extends AsyncWebResource {
 
     @Override
     public Future<ClientResponse> handle(ClientRequest request, final FutureListener<ClientResponse> l) {
-        Request r = client.getRequest(request);
-
-        try {
-            final ListenableFuture<Response> listenableFuture = this.client.getClientHandlerNing().getHttpClient().executeRequest(r);
-            final Future<ClientResponse> jerseyFuture = new Future<ClientResponse>() {
-                @Override
-                public boolean cancel(boolean b) {
-                    return listenableFuture.cancel(b);
-                }
-
-                @Override
-                public boolean isCancelled() {
-                    return listenableFuture.isCancelled();
-                }
-
-                @Override
-                public boolean isDone() {
-                    return listenableFuture.isDone();
-                }
-
-                @Override
-                public ClientResponse get() throws InterruptedException, ExecutionException {
-                    final Response response = listenableFuture.get();
-                    if(response != null)
-                        return client.getClientResponse(response);
-                    return null;
-                }
-
-                @Override
-                public ClientResponse get(long l, TimeUnit timeUnit) throws InterruptedException, ExecutionException, TimeoutException {
-                    final Response response = listenableFuture.get(l, timeUnit);
-                    if(response != null)
-                        return client.getClientResponse(response);
-                    return null;
-                }
-            };
-
-            listenableFuture.addListener(
-                    new Runnable() {
-                        @Override
-                        public void run() {
-                            try {
-                                l.onComplete(jerseyFuture);
-                            } catch (InterruptedException e) {
-                                e.printStackTrace();
-                            }
-                        }
-                    },
-                    new Executor() {
-                        @Override
-                        public void execute(Runnable runnable) {
-                            runnable.run();
-                        }
-                    });
-
-            return jerseyFuture;
-
-        } catch (IOException e) {
-            throw new ClientHandlerException(e);
-        }
+        return client.getClientHandlerNing().handle(request, l);
     }
-
-
 }
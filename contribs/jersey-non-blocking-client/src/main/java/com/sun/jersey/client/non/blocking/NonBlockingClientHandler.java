@@ -44,6 +44,7 @@ import com.ning.http.client.AsyncHttpClient;
 import com.ning.http.client.AsyncHttpClientConfig;
 import com.ning.http.client.Cookie;
 import com.ning.http.client.FluentCaseInsensitiveStringsMap;
+import com.ning.http.client.ListenableFuture;
 import com.ning.http.client.ProxyServer;
 import com.ning.http.client.Realm;
 import com.ning.http.client.Request;
@@ -56,6 +57,8 @@ import com.sun.jersey.api.client.ClientHandlerException;
 import com.sun.jersey.api.client.ClientRequest;
 import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.TerminatingClientHandler;
+import com.sun.jersey.api.client.async.AsyncClientHandler;
+import com.sun.jersey.api.client.async.FutureListener;
 import com.sun.jersey.api.client.config.ClientConfig;
 import com.sun.jersey.client.non.blocking.config.NonBlockingClientConfig;
 import com.sun.jersey.client.urlconnection.HTTPSProperties;
@@ -78,9 +81,14 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * A root handler with Ning Async HTTP client acting as a backend.
@@ -103,12 +111,29 @@ import java.util.concurrent.Future;
  * the chunked encoding size is not possible. If the 
  * {@link ClientConfig#PROPERTY_CHUNKED_ENCODING_SIZE} property is set
  * to a non-null value then chunked transfer encoding is enabled.
+ * <p>
+ * This handler is also an {@link AsyncClientHandler}. Asynchronous requests
+ * are sent and responses received without blocking a thread for the duration
+ * of the request, and the future listener is notified on the thread that
+ * receives the response. Thus when this handler is the root handler of a
+ * {@link com.sun.jersey.api.client.Client} without filters, requests invoked
+ * using an {@link com.sun.jersey.api.client.AsyncWebResource} do not
+ * utilize the executor service of the client.
  *
  * @author jorgeluisw@mac.com
  * @author Paul.Sandoz@Sun.Com
  * @author pavel.bucek@oracle.com
  */
-public final class NonBlockingClientHandler extends TerminatingClientHandler {
+public final class NonBlockingClientHandler extends TerminatingClientHandler
+        implements AsyncClientHandler {
+    private static final Logger LOGGER = Logger.getLogger(NonBlockingClientHandler.class.getName());
+
+    private static final Executor SAME_THREAD_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable runnable) {
+            runnable.run();
+        }
+    };
 
     private final AsyncHttpClient client;
     private final ExecutorService executorService;
@@ -248,6 +273,78 @@ public final class NonBlockingClientHandler extends TerminatingClientHandler {
         }
     }
 
+    @Override
+    public Future<ClientResponse> handle(final ClientRequest cr, final FutureListener<ClientResponse> l) {
+        final Request request = getRequest(cr);
+
+        final ListenableFuture<Response> response;
+        try {
+            response = getHttpClient().executeRequest(request);
+        } catch (IOException e) {
+            throw new ClientHandlerException(e);
+        }
+
+        final Future<ClientResponse> f = new ClientResponseFuture(response);
+        response.addListener(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    l.onComplete(f);
+                } catch (Throwable t) {
+                    LOGGER.log(Level.SEVERE,
+                            "Throwable caught on call to ClientResponseListener.onComplete",
+                            t);
+                }
+            }
+        }, SAME_THREAD_EXECUTOR);
+        return f;
+    }
+
+    /**
+     * Adapts the future of a Ning response to a future of a client response.
+     * The client response is created once, when first obtained.
+     */
+    private final class ClientResponseFuture implements Future<ClientResponse> {
+        private final ListenableFuture<Response> response;
+
+        private ClientResponse clientResponse;
+
+        ClientResponseFuture(ListenableFuture<Response> response) {
+            this.response = response;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return response.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return response.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return response.isDone();
+        }
+
+        @Override
+        public ClientResponse get() throws InterruptedException, ExecutionException {
+            return toClientResponse(response.get());
+        }
+
+        @Override
+        public ClientResponse get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return toClientResponse(response.get(timeout, unit));
+        }
+
+        private synchronized ClientResponse toClientResponse(Response r) {
+            if (clientResponse == null && r != null)
+                clientResponse = NonBlockingClientHandler.this.getClientResponse(r);
+            return clientResponse;
+        }
+    }
+
     ClientResponse getClientResponse(Response response) {
 
         if(this.clientConfig != null && (!this.clientConfig.getPropertyAsFeature(NonBlockingClientConfig.PROPERTY_DISABLE_COOKIES)))
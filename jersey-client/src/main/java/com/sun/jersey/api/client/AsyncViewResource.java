@@ -515,6 +515,14 @@ public class AsyncViewResource extends Filterable implements
     // AsyncClientHandler
 
     public Future<ClientResponse> handle(final ClientRequest request, final FutureListener<ClientResponse> l) {
+        // Avoid blocking a thread of the executor service if the client
+        // has an underlying asynchronous HTTP implementation
+        if (getHeadHandler() instanceof Client) {
+            final Future<ClientResponse> f = ((Client)getHeadHandler()).handleAsync(request, l);
+            if (f != null)
+                return f;
+        }
+
         Callable c = new Callable() {
             public Object call() throws Exception {
                 return getHeadHandler().handle(request);
@@ -76,6 +76,12 @@ import com.sun.jersey.client.impl.async.FutureClientResponseListener;
  * method on the Web resource. A client request may be built before invocation
  * on the uniform interface.
  * <p>
+ * Requests are invoked using the {@link Client#getExecutorService() executor service}
+ * of the client, blocking a thread for the duration of each request, unless
+ * the root client handler of the client is an {@link AsyncClientHandler} and
+ * no filters are added, in which case requests are dispatched directly to the
+ * root client handler.
+ * <p>
  * Methods to create a request and return a response are thread-safe. Methods
  * that modify filters are not guaranteed to be thread-safe.
  *
@@ -794,6 +800,15 @@ public class AsyncWebResource extends Filterable implements
 
     public Future<ClientResponse> handle(final ClientRequest request, final FutureListener<ClientResponse> l) {
         setProperties(request);
+
+        // Avoid blocking a thread of the executor service if the client
+        // has an underlying asynchronous HTTP implementation
+        if (getHeadHandler() instanceof Client) {
+            final Future<ClientResponse> f = ((Client)getHeadHandler()).handleAsync(request, l);
+            if (f != null)
+                return f;
+        }
+
         Callable<ClientResponse> c = new Callable<ClientResponse>() {
             public ClientResponse call() throws Exception {
                 return getHeadHandler().handle(request);
@@ -39,6 +39,8 @@
  */
 package com.sun.jersey.api.client;
 
+import com.sun.jersey.api.client.async.AsyncClientHandler;
+import com.sun.jersey.api.client.async.FutureListener;
 import com.sun.jersey.api.client.config.ClientConfig;
 import com.sun.jersey.api.client.config.DefaultClientConfig;
 import com.sun.jersey.api.client.filter.ClientFilter;
@@ -85,6 +87,7 @@ import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -543,6 +546,10 @@ public class Client extends Filterable implements ClientHandler {
      * Set the {@link ExecutorService} for sending asynchronous
      * HTTP requests when no underlying asynchronous HTTP implementation is
      * utilized.
+     * <p>
+     * An underlying asynchronous HTTP implementation is utilized when the
+     * root client handler is an {@link AsyncClientHandler} and no filters are
+     * added to this client or to the asynchronous resource.
      *
      * @param es the {@link ExecutorService}.
      * @since 1.4
@@ -643,11 +650,7 @@ public class Client extends Filterable implements ClientHandler {
 
     @Override
     public ClientResponse handle(final ClientRequest request) throws ClientHandlerException {
-        Map<String, Object> effectiveProperties =
-                new HashMap<String, Object>(properties);
-        effectiveProperties.put(Client.class.getName(), this);
-        effectiveProperties.putAll(request.getProperties());
-        request.setProperties(effectiveProperties);
+        setEffectiveProperties(request);
 
         final ClientResponse response = getHeadHandler().handle(request);
 
@@ -655,6 +658,49 @@ public class Client extends Filterable implements ClientHandler {
         return response;
     }
 
+    /**
+     * Invoke an asynchronous request without utilizing the
+     * {@link #getExecutorService() executor service}.
+     * <p>
+     * This is only possible if no filters are added to this client and the
+     * root client handler is an {@link AsyncClientHandler}, in which case the
+     * root client handler is responsible for completing the future and
+     * notifying the listener.
+     *
+     * @param request the client request.
+     * @param l the future listener.
+     * @return the future, otherwise null if the request cannot be invoked
+     *         without utilizing the executor service.
+     */
+    Future<ClientResponse> handleAsync(final ClientRequest request, final FutureListener<ClientResponse> l) {
+        final ClientHandler head = getHeadHandler();
+        if (!(head instanceof AsyncClientHandler))
+            return null;
+
+        setEffectiveProperties(request);
+
+        return ((AsyncClientHandler)head).handle(request, new FutureListener<ClientResponse>() {
+            public void onComplete(Future<ClientResponse> f) throws InterruptedException {
+                if (!f.isCancelled()) {
+                    try {
+                        f.get().getProperties().put(Client.class.getName(), Client.this);
+                    } catch (ExecutionException ex) {
+                        // Reported to the listener
+                    }
+                }
+                l.onComplete(f);
+            }
+        });
+    }
+
+    private void setEffectiveProperties(final ClientRequest request) {
+        Map<String, Object> effectiveProperties =
+                new HashMap<String, Object>(properties);
+        effectiveProperties.put(Client.class.getName(), this);
+        effectiveProperties.putAll(request.getProperties());
+        request.setProperties(effectiveProperties);
+    }
+
     /**
      * Inject client-side bindings on an instance.
      *
@@ -0,0 +1,540 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.client.pool;
+
+import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A pool of persistent HTTP connections, keyed by route (the host and port
+ * of the server).
+ * <p>
+ * At most {@link #getMaxPerRoute() } connections per route may be leased at
+ * any one time. A lease for a route that has reached the limit waits until
+ * a connection for that route is released or until the
+ * {@link #getLeaseTimeout() lease timeout} expires.
+ * <p>
+ * A connection leased for a response is released when the response entity
+ * has been read or the response is closed. If a response becomes unreachable
+ * before that happens, the connection is closed and its lease reclaimed
+ * once the garbage collector has cleared the response entity. This is a
+ * last resort, and responses should always be closed or their entities read.
+ * <p>
+ * Released connections are retained for reuse and closed once they have
+ * been idle longer than {@link #getIdleTimeout() }. An idle connection that
+ * has been inactive longer than {@link #getValidateAfterInactivity() } is
+ * checked before it is leased, to detect connections that have been closed
+ * by the server.
+ * <p>
+ * The pool does not create any threads. Expired connections are closed when
+ * connections are leased or when {@link #closeExpiredConnections() } is
+ * invoked.
+ * <p>
+ * A pool is thread safe and may be shared between many instances of
+ * {@link PooledConnectionClientHandler}.
+ */
+public final class ConnectionPool {
+
+    /**
+     * The default maximum number of connections per route.
+     */
+    public static final int DEFAULT_MAX_PER_ROUTE = 5;
+
+    /**
+     * The default idle timeout, in milliseconds.
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT = 60000;
+
+    /**
+     * The default period of inactivity, in milliseconds, after which an idle
+     * connection is validated before it is leased.
+     */
+    public static final long DEFAULT_VALIDATE_AFTER_INACTIVITY = 2000;
+
+    /**
+     * The default lease timeout, in milliseconds.
+     */
+    public static final long DEFAULT_LEASE_TIMEOUT = 30000;
+
+    /**
+     * The maximum time, in milliseconds, waiting for a connection before
+     * checking for leases that can be reclaimed.
+     */
+    private static final long RECLAIM_INTERVAL = 1000;
+
+    private static final class Route {
+        // Most recently used first
+        final LinkedList<PooledConnection> idle = new LinkedList<PooledConnection>();
+
+        int leased;
+
+        int pending;
+    }
+
+    /**
+     * A weak reference to the owner of a leased connection.
+     */
+    private static final class Lease extends WeakReference<Object> {
+        final PooledConnection c;
+
+        Lease(Object owner, PooledConnection c, ReferenceQueue<Object> q) {
+            super(owner, q);
+            this.c = c;
+        }
+    }
+
+    private final int maxPerRoute;
+
+    private final long idleTimeout;
+
+    private final long validateAfterInactivity;
+
+    private final long leaseTimeout;
+
+    private final Map<String, Route> routes = new HashMap<String, Route>();
+
+    private final Map<PooledConnection, Lease> leases = new HashMap<PooledConnection, Lease>();
+
+    private final ReferenceQueue<Object> unreachable = new ReferenceQueue<Object>();
+
+    private long created;
+
+    private long reused;
+
+    private long closed;
+
+    private boolean isShutdown;
+
+    /**
+     * Create a connection pool with the default configuration.
+     */
+    public ConnectionPool() {
+        this(DEFAULT_MAX_PER_ROUTE, DEFAULT_IDLE_TIMEOUT, DEFAULT_VALIDATE_AFTER_INACTIVITY);
+    }
+
+    /**
+     * Create a connection pool with the default lease timeout.
+     *
+     * @param maxPerRoute the maximum number of connections per route, must
+     *        be greater than 0.
+     * @param idleTimeout the time, in milliseconds, after which an idle
+     *        connection is closed. A value of 0 means idle connections are
+     *        never retained.
+     * @param validateAfterInactivity the period of inactivity, in
+     *        milliseconds, after which an idle connection is validated before
+     *        it is leased. A negative value disables validation.
+     * @throws IllegalArgumentException if <code>maxPerRoute</code> is less
+     *         than 1 or <code>idleTimeout</code> is negative.
+     */
+    public ConnectionPool(int maxPerRoute, long idleTimeout, long validateAfterInactivity) {
+        this(maxPerRoute, idleTimeout, validateAfterInactivity, DEFAULT_LEASE_TIMEOUT);
+    }
+
+    /**
+     * Create a connection pool.
+     *
+     * @param maxPerRoute the maximum number of connections per route, must
+     *        be greater than 0.
+     * @param idleTimeout the time, in milliseconds, after which an idle
+     *        connection is closed. A value of 0 means idle connections are
+     *        never retained.
+     * @param validateAfterInactivity the period of inactivity, in
+     *        milliseconds, after which an idle connection is validated before
+     *        it is leased. A negative value disables validation.
+     * @param leaseTimeout the time, in milliseconds, waiting for a connection
+     *        to be released when the maximum number of connections to a route
+     *        are leased. A value of 0 waits indefinitely.
+     * @throws IllegalArgumentException if <code>maxPerRoute</code> is less
+     *         than 1, or <code>idleTimeout</code> or <code>leaseTimeout</code>
+     *         is negative.
+     */
+    public ConnectionPool(int maxPerRoute, long idleTimeout, long validateAfterInactivity,
+                          long leaseTimeout) {
+        if (maxPerRoute < 1)
+            throw new IllegalArgumentException("The maximum number of connections per route must be greater than 0");
+        if (idleTimeout < 0)
+            throw new IllegalArgumentException("The idle timeout must not be negative");
+        if (leaseTimeout < 0)
+            throw new IllegalArgumentException("The lease timeout must not be negative");
+
+        this.maxPerRoute = maxPerRoute;
+        this.idleTimeout = idleTimeout;
+        this.validateAfterInactivity = validateAfterInactivity;
+        this.leaseTimeout = leaseTimeout;
+    }
+
+    /**
+     * @return the maximum number of connections per route.
+     */
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    /**
+     * @return the idle timeout, in milliseconds.
+     */
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * @return the period of inactivity, in milliseconds, after which an idle
+     *         connection is validated before it is leased.
+     */
+    public long getValidateAfterInactivity() {
+        return validateAfterInactivity;
+    }
+
+    /**
+     * @return the lease timeout, in milliseconds.
+     */
+    public long getLeaseTimeout() {
+        return leaseTimeout;
+    }
+
+    /**
+     * Lease a connection to a route, reusing an idle connection if one
+     * is available otherwise creating a new connection.
+     *
+     * @param host the host.
+     * @param port the port.
+     * @param connectTimeout the connect timeout, in milliseconds, of a new
+     *        connection. A value of 0 waits indefinitely.
+     * @return the leased connection.
+     * @throws IOException if a connection cannot be created.
+     * @throws SocketTimeoutException if the lease timeout expires waiting
+     *         for a connection.
+     */
+    PooledConnection lease(String host, int port, int connectTimeout) throws IOException {
+        final String key = host + ":" + port;
+        final long deadline = (leaseTimeout > 0)
+                ? System.currentTimeMillis() + leaseTimeout
+                : 0;
+
+        while (true) {
+            PooledConnection c = null;
+            Route r;
+            synchronized (this) {
+                checkNotShutdown();
+                r = getRoute(key);
+                final long now = System.currentTimeMillis();
+                closeExpired(r, now);
+                reclaimUnreachable();
+                while (r.idle.isEmpty() && r.leased >= maxPerRoute) {
+                    long wait = RECLAIM_INTERVAL;
+                    if (deadline > 0) {
+                        final long remaining = deadline - System.currentTimeMillis();
+                        if (remaining <= 0)
+                            throw new SocketTimeoutException("Timeout waiting for a connection to " + key +
+                                    ", " + r.leased + " connections are leased. " +
+                                    "Responses must be closed, or their entities read, to release connections");
+                        wait = Math.min(wait, remaining);
+                    }
+                    r.pending++;
+                    try {
+                        wait(wait);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted waiting for a connection to " + key);
+                    } finally {
+                        r.pending--;
+                    }
+                    checkNotShutdown();
+                    reclaimUnreachable();
+                }
+
+                r.leased++;
+                if (!r.idle.isEmpty()) {
+                    c = r.idle.removeFirst();
+                }
+            }
+
+            if (c == null) {
+                try {
+                    c = new PooledConnection(key, host, port, connectTimeout);
+                } catch (IOException e) {
+                    release(r);
+                    throw e;
+                }
+                synchronized (this) {
+                    created++;
+                }
+                return c;
+            }
+
+            if (validateAfterInactivity >= 0 &&
+                    System.currentTimeMillis() - c.getLastUsed() > validateAfterInactivity &&
+                    c.isStale()) {
+                c.close();
+                synchronized (this) {
+                    closed++;
+                }
+                release(r);
+                continue;
+            }
+
+            c.setReused();
+            synchronized (this) {
+                reused++;
+            }
+            return c;
+        }
+    }
+
+    /**
+     * Release a leased connection.
+     *
+     * @param c the connection.
+     * @param reusable true if the connection may be reused, otherwise
+     *        the connection is closed.
+     */
+    void release(PooledConnection c, boolean reusable) {
+        final long now = System.currentTimeMillis();
+        c.setLastUsed(now);
+
+        synchronized (this) {
+            final Lease l = leases.remove(c);
+            if (l != null)
+                l.clear();
+
+            final Route r = getRoute(c.getRoute());
+            r.leased--;
+            if (reusable && !isShutdown && idleTimeout > 0) {
+                r.idle.addFirst(c);
+                c = null;
+            } else {
+                closed++;
+            }
+            notifyAll();
+        }
+
+        if (c != null)
+            c.close();
+    }
+
+    private synchronized void release(Route r) {
+        r.leased--;
+        notifyAll();
+    }
+
+    /**
+     * Bind a leased connection to the object that owns the lease. If the
+     * owner becomes unreachable before the connection is released, then the
+     * connection is closed and the lease reclaimed.
+     *
+     * @param c the leased connection.
+     * @param owner the owner of the lease.
+     */
+    synchronized void bind(PooledConnection c, Object owner) {
+        leases.put(c, new Lease(owner, c, unreachable));
+    }
+
+    private void reclaimUnreachable() {
+        Lease l;
+        while ((l = (Lease) unreachable.poll()) != null) {
+            // The connection may have been released, and leased again,
+            // since the reference was cleared
+            if (leases.get(l.c) != l)
+                continue;
+
+            leases.remove(l.c);
+            getRoute(l.c.getRoute()).leased--;
+            l.c.close();
+            closed++;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Close all idle connections that have been idle longer than the
+     * idle timeout, and reclaim the leases of connections whose responses
+     * have become unreachable.
+     */
+    public void closeExpiredConnections() {
+        synchronized (this) {
+            final long now = System.currentTimeMillis();
+            for (Route r : routes.values()) {
+                closeExpired(r, now);
+            }
+            reclaimUnreachable();
+        }
+    }
+
+    /**
+     * Shutdown the pool, closing all idle connections. Leased connections
+     * are closed when they are released. Subsequent attempts to lease a
+     * connection will fail.
+     */
+    public void shutdown() {
+        final List<PooledConnection> cs = new ArrayList<PooledConnection>();
+        synchronized (this) {
+            isShutdown = true;
+            for (Route r : routes.values()) {
+                cs.addAll(r.idle);
+                closed += r.idle.size();
+                r.idle.clear();
+            }
+            notifyAll();
+        }
+
+        for (PooledConnection c : cs) {
+            c.close();
+        }
+    }
+
+    /**
+     * Get a snapshot of the statistics of the pool.
+     *
+     * @return the statistics.
+     */
+    public synchronized Statistics getStatistics() {
+        int leased = 0, idle = 0, pending = 0;
+        for (Route r : routes.values()) {
+            leased += r.leased;
+            idle += r.idle.size();
+            pending += r.pending;
+        }
+        return new Statistics(leased, idle, pending, created, reused, closed);
+    }
+
+    private Route getRoute(String key) {
+        Route r = routes.get(key);
+        if (r == null) {
+            r = new Route();
+            routes.put(key, r);
+        }
+        return r;
+    }
+
+    private void closeExpired(Route r, long now) {
+        // The idle list is in most recently used order so expired
+        // connections are at the end
+        while (!r.idle.isEmpty() && now - r.idle.getLast().getLastUsed() >= idleTimeout) {
+            r.idle.removeLast().close();
+            closed++;
+        }
+    }
+
+    private void checkNotShutdown() throws IOException {
+        if (isShutdown)
+            throw new IOException("The connection pool is shutdown");
+    }
+
+    /**
+     * A snapshot of the statistics of a {@link ConnectionPool}.
+     */
+    public static final class Statistics {
+        private final int leased;
+
+        private final int idle;
+
+        private final int pending;
+
+        private final long created;
+
+        private final long reused;
+
+        private final long closed;
+
+        Statistics(int leased, int idle, int pending, long created, long reused, long closed) {
+            this.leased = leased;
+            this.idle = idle;
+            this.pending = pending;
+            this.created = created;
+            this.reused = reused;
+            this.closed = closed;
+        }
+
+        /**
+         * @return the number of connections currently leased.
+         */
+        public int getLeased() {
+            return leased;
+        }
+
+        /**
+         * @return the number of idle connections currently retained.
+         */
+        public int getIdle() {
+            return idle;
+        }
+
+        /**
+         * @return the number of threads currently waiting for a connection.
+         */
+        public int getPending() {
+            return pending;
+        }
+
+        /**
+         * @return the total number of connections created.
+         */
+        public long getCreated() {
+            return created;
+        }
+
+        /**
+         * @return the total number of leases satisfied by an idle connection.
+         */
+        public long getReused() {
+            return reused;
+        }
+
+        /**
+         * @return the total number of connections closed.
+         */
+        public long getClosed() {
+            return closed;
+        }
+
+        @Override
+        public String toString() {
+            return "leased=" + leased + ", idle=" + idle + ", pending=" + pending +
+                    ", created=" + created + ", reused=" + reused + ", closed=" + closed;
+        }
+    }
+}
@@ -0,0 +1,786 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.client.pool;
+
+import com.sun.jersey.api.client.ClientHandlerException;
+import com.sun.jersey.api.client.ClientRequest;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.CommittingOutputStream;
+import com.sun.jersey.api.client.Statuses;
+import com.sun.jersey.api.client.TerminatingClientHandler;
+import com.sun.jersey.api.client.config.ClientConfig;
+import com.sun.jersey.client.urlconnection.URLConnectionClientHandler;
+import com.sun.jersey.core.header.InBoundHeaders;
+import com.sun.jersey.spi.MessageBodyWorkers;
+
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A terminating client handler that makes HTTP/1.1 requests over persistent
+ * connections obtained from a {@link ConnectionPool}.
+ * <p>
+ * A connection is released back to the pool when the response entity has
+ * been completely read or the response is closed. A response entity that is
+ * not completely read when the response is closed is drained, up to a limit,
+ * so that the connection may be reused, otherwise the connection is closed.
+ * Hence, for connections to be reused, it is important that responses are
+ * always closed, or their entities read, by the application. Otherwise the
+ * maximum number of connections of a route may remain leased, until the
+ * {@link ConnectionPool#getLeaseTimeout() lease timeout} of further requests
+ * expires or the unreachable responses are reclaimed by the pool.
+ * <p>
+ * Requests whose URI scheme is not "http" are delegated to a
+ * {@link URLConnectionClientHandler}.
+ * <p>
+ * The properties {@link ClientConfig#PROPERTY_READ_TIMEOUT},
+ * {@link ClientConfig#PROPERTY_CONNECT_TIMEOUT},
+ * {@link ClientConfig#PROPERTY_FOLLOW_REDIRECTS} and
+ * {@link ClientConfig#PROPERTY_CHUNKED_ENCODING_SIZE} are supported.
+ * A request entity whose size is not known before serialization is always
+ * sent using chunked transfer encoding.
+ * @see ConnectionPool
+ */
+public final class PooledConnectionClientHandler extends TerminatingClientHandler {
+
+    private static final int MAX_REDIRECTS = 5;
+
+    private static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private static final int MAX_DRAIN = 64 * 1024;
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final class PooledConnectionResponse extends ClientResponse {
+        private final String method;
+
+        private final URI uri;
+
+        private final boolean hasEntity;
+
+        PooledConnectionResponse(Response.StatusType status, InBoundHeaders headers, InputStream entity,
+                                 String method, URI uri, boolean hasEntity) {
+            super(status, headers, entity, getMessageBodyWorkers());
+            this.method = method;
+            this.uri = uri;
+            this.hasEntity = hasEntity;
+        }
+
+        @Override
+        public boolean hasEntity() {
+            return hasEntity && super.hasEntity();
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + uri + " returned a response status of " + this.getStatus() +
+                    " " + this.getClientResponseStatus();
+        }
+    }
+
+    private final ConnectionPool pool;
+
+    private final URLConnectionClientHandler delegate = new URLConnectionClientHandler();
+
+    /**
+     * Construct a new instance with a connection pool of the default
+     * configuration.
+     */
+    public PooledConnectionClientHandler() {
+        this(new ConnectionPool());
+    }
+
+    /**
+     * Construct a new instance with a connection pool.
+     *
+     * @param pool the connection pool.
+     * @throws IllegalArgumentException if <code>pool</code> is null.
+     */
+    public PooledConnectionClientHandler(ConnectionPool pool) {
+        if (pool == null)
+            throw new IllegalArgumentException("The connection pool must not be null");
+
+        this.pool = pool;
+    }
+
+    /**
+     * @return the connection pool.
+     */
+    public ConnectionPool getConnectionPool() {
+        return pool;
+    }
+
+    @Context
+    @Override
+    public void setMessageBodyWorkers(MessageBodyWorkers workers) {
+        super.setMessageBodyWorkers(workers);
+        delegate.setMessageBodyWorkers(workers);
+    }
+
+    /**
+     * ClientRequest handler.
+     *
+     * @param ro ClientRequest
+     * @return Server response represented as ClientResponse
+     */
+    public ClientResponse handle(ClientRequest ro) {
+        if (!"http".equalsIgnoreCase(ro.getURI().getScheme()))
+            return delegate.handle(ro);
+
+        try {
+            return _invoke(ro);
+        } catch (ClientHandlerException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new ClientHandlerException(ex);
+        }
+    }
+
+    private ClientResponse _invoke(ClientRequest ro) throws IOException {
+        ClientResponse r = invoke(ro);
+
+        final Boolean followRedirects = (Boolean)ro.getProperties().get(
+                ClientConfig.PROPERTY_FOLLOW_REDIRECTS);
+        if (followRedirects != null && !followRedirects)
+            return r;
+
+        final String method = ro.getMethod();
+        if (!method.equals("GET") && !method.equals("HEAD"))
+            return r;
+
+        for (int i = 0; i < MAX_REDIRECTS && isRedirect(r.getStatus()); i++) {
+            final String location = r.getHeaders().getFirst("Location");
+            if (location == null)
+                break;
+
+            r.close();
+            final ClientRequest redirect = ro.clone();
+            redirect.setURI(ro.getURI().resolve(location));
+            ro = redirect;
+            if (!"http".equalsIgnoreCase(ro.getURI().getScheme()))
+                return delegate.handle(ro);
+
+            r = invoke(ro);
+        }
+        return r;
+    }
+
+    private static boolean isRedirect(int status) {
+        return status == 301 || status == 302 || status == 303 || status == 307;
+    }
+
+    private ClientResponse invoke(ClientRequest ro) throws IOException {
+        final URI uri = ro.getURI();
+        String host = uri.getHost();
+        if (host == null)
+            throw new IOException("The URI " + uri + " does not declare a host");
+        if (host.startsWith("[") && host.endsWith("]"))
+            host = host.substring(1, host.length() - 1);
+        final int port = (uri.getPort() == -1) ? 80 : uri.getPort();
+
+        final Integer connectTimeout = (Integer)ro.getProperties().get(
+                ClientConfig.PROPERTY_CONNECT_TIMEOUT);
+        final Integer readTimeout = (Integer)ro.getProperties().get(
+                ClientConfig.PROPERTY_READ_TIMEOUT);
+
+        boolean retry = ro.getEntity() == null && isIdempotent(ro.getMethod());
+        while (true) {
+            final PooledConnection c = pool.lease(host, port,
+                    (connectTimeout != null) ? connectTimeout : 0);
+            try {
+                c.setReadTimeout((readTimeout != null) ? readTimeout : 0);
+                writeRequest(ro, c);
+                return readResponse(ro, c);
+            } catch (IOException ex) {
+                pool.release(c, false);
+                // A reused connection may have been closed by the server
+                // after it was validated, in which case retry once
+                if (retry && c.isReused() && !(ex instanceof SocketTimeoutException)) {
+                    retry = false;
+                    continue;
+                }
+                throw ex;
+            } catch (RuntimeException ex) {
+                pool.release(c, false);
+                throw ex;
+            }
+        }
+    }
+
+    private static boolean isIdempotent(String method) {
+        return method.equals("GET") || method.equals("HEAD") || method.equals("OPTIONS") ||
+                method.equals("PUT") || method.equals("DELETE") || method.equals("TRACE");
+    }
+
+    private void writeRequest(final ClientRequest ro, final PooledConnection c) throws IOException {
+        final OutputStream out = c.getOutputStream();
+
+        if (ro.getEntity() == null) {
+            writeHead(ro, out, null);
+            out.flush();
+            return;
+        }
+
+        final long[] size = {-1};
+        final boolean[] committed = {false};
+        writeRequestEntity(ro, new RequestEntityWriterListener() {
+            public void onRequestEntitySize(long s) {
+                size[0] = s;
+            }
+
+            public OutputStream onGetOutputStream() throws IOException {
+                return new CommittingOutputStream() {
+                    @Override
+                    protected OutputStream getOutputStream() throws IOException {
+                        if (size[0] != -1)
+                            return new FixedLengthOutputStream(out, size[0]);
+
+                        final Integer chunkSize = (Integer)ro.getProperties().get(
+                                ClientConfig.PROPERTY_CHUNKED_ENCODING_SIZE);
+                        return new ChunkedOutputStream(out,
+                                (chunkSize != null && chunkSize > 0) ? chunkSize : DEFAULT_CHUNK_SIZE);
+                    }
+
+                    @Override
+                    public void commit() throws IOException {
+                        committed[0] = true;
+                        writeHead(ro, out, (size[0] != -1)
+                                ? "Content-Length: " + size[0]
+                                : "Transfer-Encoding: chunked");
+                    }
+                };
+            }
+        });
+
+        if (!committed[0]) {
+            // Nothing was written
+            writeHead(ro, out, "Content-Length: 0");
+        }
+        out.flush();
+    }
+
+    private void writeHead(ClientRequest ro, OutputStream out, String framing) throws IOException {
+        final URI uri = ro.getURI();
+        final StringBuilder b = new StringBuilder(256);
+
+        b.append(ro.getMethod()).append(' ');
+        final String path = uri.getRawPath();
+        b.append((path == null || path.length() == 0) ? "/" : path);
+        if (uri.getRawQuery() != null)
+            b.append('?').append(uri.getRawQuery());
+        b.append(" HTTP/1.1\r\n");
+
+        final MultivaluedMap<String, Object> headers = ro.getHeaders();
+        if (!headers.containsKey("Host")) {
+            b.append("Host: ").append(uri.getHost());
+            if (uri.getPort() != -1 && uri.getPort() != 80)
+                b.append(':').append(uri.getPort());
+            b.append("\r\n");
+        }
+
+        for (Map.Entry<String, List<Object>> e : headers.entrySet()) {
+            final String name = e.getKey();
+            if (name.equalsIgnoreCase("Content-Length") || name.equalsIgnoreCase("Transfer-Encoding"))
+                continue;
+
+            b.append(checkHeader(name, name)).append(": ");
+            boolean add = false;
+            for (Object v : e.getValue()) {
+                if (add) b.append(',');
+                add = true;
+                b.append(checkHeader(name, ClientRequest.getHeaderValue(v)));
+            }
+            b.append("\r\n");
+        }
+
+        if (framing != null)
+            b.append(framing).append("\r\n");
+        b.append("\r\n");
+
+        out.write(getBytes(b));
+    }
+
+    private ClientResponse readResponse(ClientRequest ro, PooledConnection c) throws IOException {
+        final InputStream in = c.getInputStream();
+
+        String version;
+        int code;
+        String reasonPhrase;
+        InBoundHeaders headers;
+        do {
+            final String statusLine = readLine(in);
+            if (statusLine == null)
+                throw new IOException("The connection was closed before a response was received");
+
+            final int s1 = statusLine.indexOf(' ');
+            if (s1 == -1 || !statusLine.startsWith("HTTP/"))
+                throw new IOException("Invalid status line: " + statusLine);
+            version = statusLine.substring(0, s1);
+            int s2 = statusLine.indexOf(' ', s1 + 1);
+            if (s2 == -1)
+                s2 = statusLine.length();
+            try {
+                code = Integer.parseInt(statusLine.substring(s1 + 1, s2));
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid status line: " + statusLine);
+            }
+            reasonPhrase = (s2 < statusLine.length()) ? statusLine.substring(s2 + 1) : null;
+
+            headers = readHeaders(in);
+            // Skip interim responses
+        } while (code >= 100 && code < 200);
+
+        final Response.StatusType status = (reasonPhrase == null || reasonPhrase.length() == 0)
+                ? Statuses.from(code)
+                : Statuses.from(code, reasonPhrase);
+
+        boolean keepAlive = version.equals("HTTP/1.1")
+                ? !containsToken(headers.get("Connection"), "close")
+                : containsToken(headers.get("Connection"), "keep-alive");
+        final Object requestConnection = ro.getHeaders().getFirst("Connection");
+        if (requestConnection != null &&
+                ClientRequest.getHeaderValue(requestConnection).equalsIgnoreCase("close"))
+            keepAlive = false;
+
+        final String method = ro.getMethod();
+        final EntityInputStream entity;
+        if (method.equals("HEAD") || code == 204 || code == 304) {
+            entity = new EntityInputStream(c, in, 0, keepAlive);
+        } else if (containsToken(headers.get("Transfer-Encoding"), "chunked")) {
+            entity = new EntityInputStream(c, in, EntityInputStream.CHUNKED, keepAlive);
+        } else if (headers.getFirst("Content-Length") != null) {
+            final long length;
+            try {
+                length = Long.parseLong(headers.getFirst("Content-Length").trim());
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid Content-Length: " + headers.getFirst("Content-Length"));
+            }
+            entity = new EntityInputStream(c, in, length, keepAlive);
+        } else {
+            // The entity is delimited by the server closing the connection
+            entity = new EntityInputStream(c, in, EntityInputStream.UNTIL_CLOSE, false);
+        }
+
+        if (!entity.isEmpty()) {
+            // Reclaim the connection if the response is not closed
+            pool.bind(c, entity);
+        }
+
+        return new PooledConnectionResponse(status, headers,
+                entity.isEmpty() ? new ByteArrayInputStream(new byte[0]) : entity,
+                method, ro.getURI(), !entity.isEmpty());
+    }
+
+    private static InBoundHeaders readHeaders(InputStream in) throws IOException {
+        final InBoundHeaders headers = new InBoundHeaders();
+        String name = null;
+        StringBuilder value = null;
+        String line;
+        while ((line = readLine(in)) != null && line.length() > 0) {
+            final char first = line.charAt(0);
+            if ((first == ' ' || first == '\t') && name != null) {
+                // Continuation of the previous header
+                value.append(' ').append(line.trim());
+                continue;
+            }
+
+            if (name != null)
+                headers.add(name, value.toString());
+
+            final int colon = line.indexOf(':');
+            if (colon == -1)
+                throw new IOException("Invalid header: " + line);
+            name = line.substring(0, colon).trim();
+            value = new StringBuilder(line.substring(colon + 1).trim());
+        }
+        if (name != null)
+            headers.add(name, value.toString());
+        return headers;
+    }
+
+    private static boolean containsToken(List<String> values, String token) {
+        if (values == null)
+            return false;
+
+        for (String v : values) {
+            for (String t : v.split(",")) {
+                if (t.trim().equalsIgnoreCase(token))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read a line terminated by LF, or CRLF, as ISO-8859-1 characters.
+     *
+     * @return the line, without the terminator, or null if the end of
+     *         the stream is reached before any characters are read.
+     */
+    private static String readLine(InputStream in) throws IOException {
+        final StringBuilder b = new StringBuilder(64);
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\n') {
+                final int l = b.length();
+                if (l > 0 && b.charAt(l - 1) == '\r')
+                    b.setLength(l - 1);
+                return b.toString();
+            }
+            b.append((char)c);
+        }
+        return (b.length() == 0) ? null : b.toString();
+    }
+
+    /**
+     * Check that a header name or value may be written as is. A CR or LF
+     * character would end the header and allow further headers, or a
+     * request, to be injected, and a character that is not ISO-8859-1
+     * cannot be written as a single byte.
+     *
+     * @param name the header name.
+     * @param s the header name or value to check.
+     * @return the header name or value.
+     * @throws ClientHandlerException if the header name or value contains
+     *         a CR or LF character, or a character that is not ISO-8859-1.
+     */
+    private static String checkHeader(String name, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c == '\r' || c == '\n')
+                throw new ClientHandlerException("The header " + name.trim() +
+                        " contains a CR or LF character");
+            if (c > 0xFF)
+                throw new ClientHandlerException("The header " + name.trim() +
+                        " contains a character, \\u" + Integer.toHexString(c) +
+                        ", that is not ISO-8859-1");
+        }
+        return s;
+    }
+
+    private static byte[] getBytes(CharSequence s) {
+        final byte[] b = new byte[s.length()];
+        for (int i = 0; i < b.length; i++) {
+            b[i] = (byte)s.charAt(i);
+        }
+        return b;
+    }
+
+    /**
+     * The response entity, that releases the connection to the pool
+     * when the end of the entity is reached or the stream is closed.
+     */
+    private final class EntityInputStream extends InputStream {
+        static final long CHUNKED = -1;
+
+        static final long UNTIL_CLOSE = -2;
+
+        private final PooledConnection c;
+
+        private final InputStream in;
+
+        private final boolean chunked;
+
+        private final boolean keepAlive;
+
+        // The bytes remaining of the entity, or the current chunk
+        private long remaining;
+
+        private boolean eof;
+
+        private boolean released;
+
+        EntityInputStream(PooledConnection c, InputStream in, long length, boolean keepAlive) throws IOException {
+            this.c = c;
+            this.in = in;
+            this.chunked = length == CHUNKED;
+            this.keepAlive = keepAlive;
+            this.remaining = chunked ? 0 : length;
+            if (length == 0)
+                setEof();
+        }
+
+        boolean isEmpty() {
+            return eof;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            final int n = read(b, 0, 1);
+            return (n == -1) ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (released)
+                return -1;
+            if (len == 0)
+                return 0;
+
+            try {
+                if (chunked && remaining == 0 && !nextChunk())
+                    return -1;
+
+                if (remaining != UNTIL_CLOSE && len > remaining)
+                    len = (int)remaining;
+
+                final int n = in.read(b, off, len);
+                if (n == -1) {
+                    if (remaining != UNTIL_CLOSE)
+                        throw new IOException("The connection was closed before the end of the entity");
+                    setEof();
+                    return -1;
+                }
+
+                if (remaining != UNTIL_CLOSE) {
+                    remaining -= n;
+                    if (remaining == 0 && !chunked)
+                        setEof();
+                }
+                return n;
+            } catch (IOException e) {
+                release(false);
+                throw e;
+            }
+        }
+
+        @Override
+        public int available() throws IOException {
+            if (released)
+                return 0;
+
+            final int a = in.available();
+            return (remaining != UNTIL_CLOSE && a > remaining) ? (int)remaining : a;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (released)
+                return;
+
+            if (keepAlive) {
+                // Drain the remaining entity so the connection may be reused
+                final byte[] b = new byte[4096];
+                int drained = 0;
+                try {
+                    while (!released && drained < MAX_DRAIN) {
+                        final int n = read(b, 0, b.length);
+                        if (n == -1)
+                            break;
+                        drained += n;
+                    }
+                } catch (IOException e) {
+                    // The connection is released as not reusable
+                }
+            }
+            release(false);
+        }
+
+        private boolean nextChunk() throws IOException {
+            if (eof)
+                return false;
+
+            if (remaining == 0) {
+                String line = readLine(in);
+                // Consume the CRLF terminating the previous chunk
+                if (line != null && line.length() == 0)
+                    line = readLine(in);
+                if (line == null)
+                    throw new IOException("The connection was closed before the end of the entity");
+
+                final int semicolon = line.indexOf(';');
+                if (semicolon != -1)
+                    line = line.substring(0, semicolon);
+                try {
+                    remaining = Long.parseLong(line.trim(), 16);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid chunk size: " + line);
+                }
+
+                if (remaining == 0) {
+                    // Consume the trailers
+                    readHeaders(in);
+                    setEof();
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void setEof() {
+            eof = true;
+            release(keepAlive);
+        }
+
+        private void release(boolean reusable) {
+            if (!released) {
+                released = true;
+                pool.release(c, reusable);
+            }
+        }
+    }
+
+    /**
+     * The request entity of a known length.
+     */
+    private static final class FixedLengthOutputStream extends OutputStream {
+        private final OutputStream out;
+
+        private long remaining;
+
+        FixedLengthOutputStream(OutputStream out, long length) {
+            this.out = out;
+            this.remaining = length;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            checkRemaining(1);
+            out.write(b);
+            remaining--;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            checkRemaining(len);
+            out.write(b, off, len);
+            remaining -= len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (remaining > 0)
+                throw new IOException("The request entity is shorter than the declared length by " +
+                        remaining + " bytes");
+            out.flush();
+        }
+
+        private void checkRemaining(int len) throws IOException {
+            if (len > remaining)
+                throw new IOException("The request entity is longer than the declared length");
+        }
+    }
+
+    /**
+     * The request entity of an unknown length, written using chunked
+     * transfer encoding. Closing the stream writes the last chunk but does
+     * not close the connection.
+     */
+    private static final class ChunkedOutputStream extends OutputStream {
+        private final OutputStream out;
+
+        private final byte[] buffer;
+
+        private int count;
+
+        private boolean closed;
+
+        ChunkedOutputStream(OutputStream out, int chunkSize) {
+            this.out = out;
+            this.buffer = new byte[chunkSize];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length)
+                writeChunk();
+            buffer[count++] = (byte)b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (count == buffer.length)
+                    writeChunk();
+                final int n = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writeChunk();
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed)
+                return;
+
+            closed = true;
+            writeChunk();
+            out.write('0');
+            out.write(CRLF);
+            out.write(CRLF);
+            out.flush();
+        }
+
+        private void writeChunk() throws IOException {
+            if (count == 0)
+                return;
+
+            out.write(getBytes(Integer.toHexString(count)));
+            out.write(CRLF);
+            out.write(buffer, 0, count);
+            out.write(CRLF);
+            count = 0;
+        }
+    }
+}
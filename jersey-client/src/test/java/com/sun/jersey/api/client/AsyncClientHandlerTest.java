@@ -0,0 +1,152 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.api.client;
+
+import com.sun.jersey.api.client.async.AsyncClientHandler;
+import com.sun.jersey.api.client.async.FutureListener;
+import com.sun.jersey.api.client.filter.ClientFilter;
+import com.sun.jersey.core.header.InBoundHeaders;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.TestCase;
+
+public class AsyncClientHandlerTest extends TestCase {
+
+    public static class AsyncHandler extends TerminatingClientHandler implements AsyncClientHandler {
+        public ClientResponse handle(ClientRequest cr) {
+            return createResponse("sync");
+        }
+
+        public Future<ClientResponse> handle(ClientRequest cr, final FutureListener<ClientResponse> l) {
+            final FutureTask<ClientResponse> f = new FutureTask<ClientResponse>(new Callable<ClientResponse>() {
+                public ClientResponse call() {
+                    return createResponse("async");
+                }
+            }) {
+                @Override
+                protected void done() {
+                    try {
+                        l.onComplete(this);
+                    } catch (InterruptedException ex) {
+                        throw new RuntimeException(ex);
+                    }
+                }
+            };
+            // Complete on the calling thread
+            f.run();
+            return f;
+        }
+
+        private ClientResponse createResponse(String entity) {
+            return new ClientResponse(200, new InBoundHeaders(),
+                    new ByteArrayInputStream(entity.getBytes()), getMessageBodyWorkers());
+        }
+    }
+
+    public static class CountingExecutorService extends ThreadPoolExecutor {
+        final AtomicInteger count = new AtomicInteger();
+
+        CountingExecutorService() {
+            super(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            count.incrementAndGet();
+            super.execute(command);
+        }
+    }
+
+    public void testAsyncHandler() throws Exception {
+        Client c = new Client(new AsyncHandler());
+        CountingExecutorService es = new CountingExecutorService();
+        c.setExecutorService(es);
+
+        AsyncWebResource r = c.asyncResource("http://localhost/");
+        assertEquals("async", r.get(String.class).get());
+        ClientResponse cr = r.get(ClientResponse.class).get();
+        assertSame(c, cr.getProperties().get(Client.class.getName()));
+        assertEquals(0, es.count.get());
+
+        es.shutdown();
+    }
+
+    public void testAsyncHandlerWithClientFilter() throws Exception {
+        Client c = new Client(new AsyncHandler());
+        CountingExecutorService es = new CountingExecutorService();
+        c.setExecutorService(es);
+        c.addFilter(new ClientFilter() {
+            @Override
+            public ClientResponse handle(ClientRequest cr) {
+                return getNext().handle(cr);
+            }
+        });
+
+        AsyncWebResource r = c.asyncResource("http://localhost/");
+        assertEquals("sync", r.get(String.class).get());
+        assertEquals(1, es.count.get());
+
+        es.shutdown();
+    }
+
+    public void testAsyncHandlerWithResourceFilter() throws Exception {
+        Client c = new Client(new AsyncHandler());
+        CountingExecutorService es = new CountingExecutorService();
+        c.setExecutorService(es);
+
+        AsyncWebResource r = c.asyncResource("http://localhost/");
+        r.addFilter(new ClientFilter() {
+            @Override
+            public ClientResponse handle(ClientRequest cr) {
+                return getNext().handle(cr);
+            }
+        });
+        assertEquals("sync", r.get(String.class).get());
+        assertEquals(1, es.count.get());
+
+        es.shutdown();
+    }
+}
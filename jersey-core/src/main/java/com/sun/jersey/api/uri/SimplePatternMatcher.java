@@ -0,0 +1,281 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.api.uri;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.MatchResult;
+
+/**
+ * Matches a URI, without using a regular expression, against the regular
+ * expression generated from a URI template whose template variables do not
+ * declare explicit regular expressions, for example "/customers/{id}".
+ * <p>
+ * Such a regular expression consists of literal characters and
+ * capturing groups of the form "([^/]+?)", optionally followed by the
+ * right hand path "(/.*)?" or "(/)?" appended by the server side path
+ * patterns. The matcher scans the URI for the literal characters and the
+ * '/' characters terminating template values, backtracking in the same
+ * order as the regular expression, and returns a {@link MatchResult} whose
+ * group values are offsets into the URI. A group value is only created
+ * when it is requested.
+ */
+final class SimplePatternMatcher {
+    private static final String TEMPLATE_VALUE_GROUP =
+            "(" + UriTemplateParser.TEMPLATE_VALUE_PATTERN.pattern() + ")";
+
+    private static final String RIGHT_HAND_PATH = "(/.*)?";
+
+    private static final String RIGHT_HAND_SLASH = "(/)?";
+
+    private static final String META_CHARACTERS = "()[]{}.*+?^$|";
+
+    private static final int NO_RIGHT_HAND_SIDE = 0;
+
+    private static final int RIGHT_HAND_SIDE_PATH = 1;
+
+    private static final int RIGHT_HAND_SIDE_SLASH = 2;
+
+    /**
+     * The literals before, between and after the template values.
+     */
+    private final String[] literals;
+
+    private final int rightHandSide;
+
+    private final int groupCount;
+
+    private SimplePatternMatcher(String[] literals, int rightHandSide) {
+        this.literals = literals;
+        this.rightHandSide = rightHandSide;
+        this.groupCount = literals.length - 1 +
+                ((rightHandSide == NO_RIGHT_HAND_SIDE) ? 0 : 1);
+    }
+
+    /**
+     * Compile a regular expression.
+     *
+     * @param regex the regular expression.
+     * @return the matcher, or null if the regular expression is not
+     *         one that can be matched without a regular expression.
+     */
+    static SimplePatternMatcher compile(String regex) {
+        final List<String> literals = new ArrayList<String>();
+        final StringBuilder literal = new StringBuilder();
+        int rightHandSide = NO_RIGHT_HAND_SIDE;
+
+        int i = 0;
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            if (regex.startsWith(TEMPLATE_VALUE_GROUP, i)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                i += TEMPLATE_VALUE_GROUP.length();
+            } else if (regex.length() - i == RIGHT_HAND_PATH.length() &&
+                    regex.startsWith(RIGHT_HAND_PATH, i)) {
+                rightHandSide = RIGHT_HAND_SIDE_PATH;
+                break;
+            } else if (regex.length() - i == RIGHT_HAND_SLASH.length() &&
+                    regex.startsWith(RIGHT_HAND_SLASH, i)) {
+                rightHandSide = RIGHT_HAND_SIDE_SLASH;
+                break;
+            } else if (c == '\\') {
+                // An escaped letter or digit is a character class,
+                // back reference or quotation
+                if (i + 1 == regex.length() || Character.isLetterOrDigit(regex.charAt(i + 1)))
+                    return null;
+
+                literal.append(regex.charAt(i + 1));
+                i += 2;
+            } else if (META_CHARACTERS.indexOf(c) != -1) {
+                return null;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+
+        return new SimplePatternMatcher(literals.toArray(new String[literals.size()]), rightHandSide);
+    }
+
+    /**
+     * Match a URI.
+     *
+     * @param uri the URI.
+     * @return the match result, otherwise null if no match occurs.
+     */
+    MatchResult match(CharSequence uri) {
+        final String s = uri.toString();
+        final int[] offsets = new int[2 * (groupCount + 1)];
+        if (!match(s, 0, 0, offsets))
+            return null;
+
+        offsets[0] = 0;
+        offsets[1] = s.length();
+        return new OffsetMatchResult(s, offsets);
+    }
+
+    private boolean match(String uri, int literalIndex, int position, int[] offsets) {
+        final String literal = literals[literalIndex];
+        if (!uri.startsWith(literal, position))
+            return false;
+        position += literal.length();
+
+        if (literalIndex == literals.length - 1)
+            return matchRightHandSide(uri, position, offsets);
+
+        // The template value is one or more characters other than '/'
+        final int start = position;
+        final int group = literalIndex + 1;
+        final String next = literals[group];
+        if (next.length() > 0 ? next.charAt(0) == '/' : group == literals.length - 1) {
+            // The template value must extend to the next '/' or the end
+            int end = uri.indexOf('/', start);
+            if (end == -1)
+                end = uri.length();
+            return end > start &&
+                    setGroup(group, start, end, offsets) &&
+                    match(uri, group, end, offsets);
+        }
+
+        // Prefer the shortest template value
+        for (int end = start + 1; end <= uri.length() && uri.charAt(end - 1) != '/'; end++) {
+            if (match(uri, group, end, offsets))
+                return setGroup(group, start, end, offsets);
+        }
+        return false;
+    }
+
+    private boolean matchRightHandSide(String uri, int position, int[] offsets) {
+        final int length = uri.length();
+        final int group = literals.length;
+        switch (rightHandSide) {
+            case RIGHT_HAND_SIDE_PATH:
+                if (position == length)
+                    return setGroup(group, -1, -1, offsets);
+                if (uri.charAt(position) != '/')
+                    return false;
+
+                // The '.' of the right hand path does not match line terminators
+                for (int i = position + 1; i < length; i++) {
+                    switch (uri.charAt(i)) {
+                        case '\n':
+                        case '\r':
+                        case '\u0085':
+                        case '\u2028':
+                        case '\u2029':
+                            return false;
+                        default:
+                    }
+                }
+                return setGroup(group, position, length, offsets);
+            case RIGHT_HAND_SIDE_SLASH:
+                if (position == length)
+                    return setGroup(group, -1, -1, offsets);
+                return position == length - 1 && uri.charAt(position) == '/' &&
+                        setGroup(group, position, length, offsets);
+            default:
+                return position == length;
+        }
+    }
+
+    private static boolean setGroup(int group, int start, int end, int[] offsets) {
+        offsets[2 * group] = start;
+        offsets[2 * group + 1] = end;
+        return true;
+    }
+
+    /**
+     * A match result whose groups are offsets into the matched URI.
+     */
+    private static final class OffsetMatchResult implements MatchResult {
+        private final String uri;
+
+        private final int[] offsets;
+
+        OffsetMatchResult(String uri, int[] offsets) {
+            this.uri = uri;
+            this.offsets = offsets;
+        }
+
+        public int start() {
+            return 0;
+        }
+
+        public int start(int group) {
+            checkGroup(group);
+            return offsets[2 * group];
+        }
+
+        public int end() {
+            return uri.length();
+        }
+
+        public int end(int group) {
+            checkGroup(group);
+            return offsets[2 * group + 1];
+        }
+
+        public String group() {
+            return uri;
+        }
+
+        public String group(int group) {
+            checkGroup(group);
+            final int start = offsets[2 * group];
+            return (start < 0) ? null : uri.substring(start, offsets[2 * group + 1]);
+        }
+
+        public int groupCount() {
+            return offsets.length / 2 - 1;
+        }
+
+        private void checkGroup(int group) {
+            if (group < 0 || group > groupCount())
+                throw new IndexOutOfBoundsException("No group " + group);
+        }
+
+        @Override
+        public String toString() {
+            return uri;
+        }
+    }
+}
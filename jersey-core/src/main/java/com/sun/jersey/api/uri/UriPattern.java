@@ -51,6 +51,11 @@ import java.util.regex.Pattern;
  * A URI pattern for matching a URI against a regular expression
  * and returning capturing group values for any capturing groups present in
  * the expression.
+ * <p>
+ * A regular expression generated from a URI template whose template
+ * variables do not declare explicit regular expressions is matched
+ * without using {@link Pattern}. The matched group values of such a
+ * pattern are created only when requested from the {@link MatchResult}.
  *
  * @author Paul.Sandoz@Sun.Com
  */
@@ -72,6 +77,12 @@ public class UriPattern {
     private final Pattern regexPattern;
     
     private final int[] groupIndexes;
+
+    /**
+     * The matcher of {@link #regex} without a regular expression, or null
+     * if {@link #regexPattern} must be used.
+     */
+    private final SimplePatternMatcher simpleMatcher;
     
     /**
      *  Construct an empty pattern.
@@ -80,6 +91,7 @@ public class UriPattern {
         this.regex = "";
         this.regexPattern = null;
         this.groupIndexes = null;
+        this.simpleMatcher = null;
     }
 
     /**
@@ -137,6 +149,9 @@ public class UriPattern {
         this.regex = regexPattern.toString();
         this.regexPattern = regexPattern;
         this.groupIndexes = groupIndexes;
+        this.simpleMatcher = (groupIndexes.length == 0 && regexPattern.flags() == 0)
+                ? SimplePatternMatcher.compile(regex)
+                : null;
     }
 
     /**
@@ -254,12 +269,20 @@ public class UriPattern {
             return null;
         
         // Match the URI to the URI template regular expression
-        Matcher m = regexPattern.matcher(uri);
-        if (!m.matches())
+        MatchResult m = matchPattern(uri);
+        if (m == null)
             return null;
 
         return (groupIndexes.length > 0) ? new GroupIndexMatchResult(m) : m;
     }
+
+    private MatchResult matchPattern(CharSequence uri) {
+        if (simpleMatcher != null)
+            return simpleMatcher.match(uri);
+
+        final Matcher m = regexPattern.matcher(uri);
+        return m.matches() ? m : null;
+    }
     
     /**
      * Match a URI against the pattern.
@@ -287,8 +310,8 @@ public class UriPattern {
             return false;
                 
         // Match the URI to the URI template regular expression
-        Matcher m = regexPattern.matcher(uri);
-        if (!m.matches())
+        MatchResult m = matchPattern(uri);
+        if (m == null)
             return false;
 
         groupValues.clear();
@@ -339,8 +362,8 @@ public class UriPattern {
             return false;
         
         // Match the URI to the URI template regular expression
-        Matcher m = regexPattern.matcher(uri);
-        if (!m.matches())
+        MatchResult m = matchPattern(uri);
+        if (m == null)
             return false;
         
         // Assign the matched group values to group names
@@ -74,7 +74,7 @@ public class UriTemplateParser {
         }
         return s;
     }
-    private static final Pattern TEMPLATE_VALUE_PATTERN = Pattern.compile("[^/]+?");
+    /* package */ static final Pattern TEMPLATE_VALUE_PATTERN = Pattern.compile("[^/]+?");
 
     private interface CharacterIterator {
 
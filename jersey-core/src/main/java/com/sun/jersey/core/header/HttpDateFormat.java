@@ -48,9 +48,18 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * Helper class for HTTP specified date formats.
+ * <p>
+ * Dates in the preferred RFC 1123 format, with a time zone of "GMT", are
+ * formatted and parsed without the use of {@link SimpleDateFormat}.
+ * The most recently formatted date is cached for the second it represents.
+ * Dates in the RFC 1036 and ANSI C asctime() formats, or RFC 1123 dates
+ * that are not in the canonical form, are parsed using
+ * {@link SimpleDateFormat} instances obtained from a small shared pool.
  *
  * @author Paul.Sandoz@Sun.Com
  */
@@ -81,6 +90,13 @@ public class HttpDateFormat {
         }
     };
     
+    /**
+     * The pool of lists of date formats used when a date cannot be
+     * formatted or parsed as an RFC 1123 date in the canonical form.
+     */
+    private static final BlockingQueue<List<SimpleDateFormat>> dateFormatsPool =
+            new ArrayBlockingQueue<List<SimpleDateFormat>>(8);
+
     private static List<SimpleDateFormat> createDateFormats() {
         SimpleDateFormat[] dateFormats = new SimpleDateFormat[] {
             new SimpleDateFormat(RFC1123_DATE_FORMAT_PATTERN, Locale.US),
@@ -103,6 +119,10 @@ public class HttpDateFormat {
      * The list of date formats are scoped to the current thread and may be
      * used without requiring to synchronize access to the instances when 
      * parsing or formatting.
+     * <p>
+     * {@link #readDate(java.lang.String) } and
+     * {@link #formatDate(java.util.Date) } should be used in preference to
+     * this method.
      *
      * @return the list of data formats.
      */
@@ -116,6 +136,10 @@ public class HttpDateFormat {
      * The date format is scoped to the current thread and may be
      * used without requiring to synchronize access to the instance when 
      * parsing or formatting.
+     * <p>
+     * {@link #readDate(java.lang.String) } and
+     * {@link #formatDate(java.util.Date) } should be used in preference to
+     * this method.
      *
      * @return the preferred of data format.
      */
@@ -132,15 +156,227 @@ public class HttpDateFormat {
      * @throws java.text.ParseException
      */
     public static Date readDate(String date) throws ParseException {
-        ParseException pe = null;
-        for (SimpleDateFormat f : HttpDateFormat.getDateFormats()) {
+        final long time = parseRfc1123(date);
+        if (time != INVALID_DATE)
+            return new Date(time);
+
+        final List<SimpleDateFormat> formats = acquireDateFormats();
+        try {
+            ParseException pe = null;
+            for (SimpleDateFormat f : formats) {
+                try {
+                    return f.parse(date);
+                } catch (ParseException e) {
+                    pe = (pe == null) ? e : pe;
+                }
+            }
+
+            throw pe;
+        } finally {
+            releaseDateFormats(formats);
+        }
+    }
+
+    /**
+     * Format a date using the preferred HTTP specified date format
+     * (RFC 1123).
+     *
+     * @param date the date.
+     * @return the date as a string.
+     */
+    public static String formatDate(Date date) {
+        final long time = date.getTime();
+        final long second = floorDiv(time, 1000);
+
+        final FormattedDate f = lastFormattedDate;
+        if (f != null && f.second == second)
+            return f.value;
+
+        if (time < MIN_RFC1123_TIME || time > MAX_RFC1123_TIME) {
+            final List<SimpleDateFormat> formats = acquireDateFormats();
             try {
-                return f.parse(date);
-            } catch (ParseException e) {
-                pe = (pe == null) ? e : pe;
+                return formats.get(0).format(date);
+            } finally {
+                releaseDateFormats(formats);
             }
         }
 
-        throw pe;
+        final String value = formatRfc1123(time);
+        lastFormattedDate = new FormattedDate(second, value);
+        return value;
+    }
+
+    private static List<SimpleDateFormat> acquireDateFormats() {
+        final List<SimpleDateFormat> formats = dateFormatsPool.poll();
+        return (formats != null) ? formats : createDateFormats();
+    }
+
+    private static void releaseDateFormats(List<SimpleDateFormat> formats) {
+        dateFormatsPool.offer(formats);
+    }
+
+    private static final class FormattedDate {
+        final long second;
+
+        final String value;
+
+        FormattedDate(long second, String value) {
+            this.second = second;
+            this.value = value;
+        }
+    }
+
+    private static volatile FormattedDate lastFormattedDate;
+
+    private static final long INVALID_DATE = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    /**
+     * The time of the start of the Gregorian calendar, 15 October 1582,
+     * as used by {@link SimpleDateFormat}. Earlier dates are Julian dates.
+     */
+    private static final long MIN_RFC1123_TIME = -12219292800000L;
+
+    /**
+     * The time of the last millisecond of the year 9999.
+     */
+    private static final long MAX_RFC1123_TIME = 253402300799999L;
+
+    private static final int MIN_RFC1123_YEAR = 1583;
+
+    private static final String[] DAYS = {
+        "Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat"
+    };
+
+    private static final String[] MONTHS = {
+        "Jan", "Feb", "Mar", "Apr", "May", "Jun",
+        "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
+
+    /**
+     * Format a time, between {@link #MIN_RFC1123_TIME} and
+     * {@link #MAX_RFC1123_TIME}, in the form
+     * "EEE, dd MMM yyyy HH:mm:ss GMT".
+     */
+    private static String formatRfc1123(long time) {
+        final long days = floorDiv(time, MILLIS_PER_DAY);
+        final int millisOfDay = (int) (time - days * MILLIS_PER_DAY);
+        final int secondsOfDay = millisOfDay / 1000;
+
+        // Convert days since the epoch to a year, month and day of month
+        final long z = days + 719468;
+        final long era = floorDiv(z, 146097);
+        final int dayOfEra = (int) (z - era * 146097);
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int mp = (5 * dayOfYear + 2) / 153;
+        final int dayOfMonth = dayOfYear - (153 * mp + 2) / 5 + 1;
+        final int month = (mp < 10) ? mp + 3 : mp - 9;
+        final int year = (int) (yearOfEra + era * 400) + ((month <= 2) ? 1 : 0);
+
+        final char[] c = new char[29];
+        final String day = DAYS[(int) floorMod(days + 4, 7)];
+        c[0] = day.charAt(0);
+        c[1] = day.charAt(1);
+        c[2] = day.charAt(2);
+        c[3] = ',';
+        c[4] = ' ';
+        putTwoDigits(c, 5, dayOfMonth);
+        c[7] = ' ';
+        final String m = MONTHS[month - 1];
+        c[8] = m.charAt(0);
+        c[9] = m.charAt(1);
+        c[10] = m.charAt(2);
+        c[11] = ' ';
+        putTwoDigits(c, 12, year / 100);
+        putTwoDigits(c, 14, year % 100);
+        c[16] = ' ';
+        putTwoDigits(c, 17, secondsOfDay / 3600);
+        c[19] = ':';
+        putTwoDigits(c, 20, (secondsOfDay / 60) % 60);
+        c[22] = ':';
+        putTwoDigits(c, 23, secondsOfDay % 60);
+        c[25] = ' ';
+        c[26] = 'G';
+        c[27] = 'M';
+        c[28] = 'T';
+        return new String(c);
+    }
+
+    private static void putTwoDigits(char[] c, int index, int value) {
+        c[index] = (char) ('0' + value / 10);
+        c[index + 1] = (char) ('0' + value % 10);
+    }
+
+    /**
+     * Parse a date in the form "EEE, dd MMM yyyy HH:mm:ss GMT".
+     *
+     * @return the time, otherwise {@link #INVALID_DATE} if the date is not
+     *         in the canonical form, in which case the date may still be
+     *         parsable by {@link SimpleDateFormat}.
+     */
+    private static long parseRfc1123(String date) {
+        if (date.length() != 29 ||
+                date.charAt(3) != ',' || date.charAt(4) != ' ' ||
+                date.charAt(7) != ' ' || date.charAt(11) != ' ' ||
+                date.charAt(16) != ' ' || date.charAt(19) != ':' ||
+                date.charAt(22) != ':' || date.charAt(25) != ' ' ||
+                !date.startsWith("GMT", 26))
+            return INVALID_DATE;
+
+        if (indexOf(DAYS, date, 0) == -1)
+            return INVALID_DATE;
+
+        final int month = indexOf(MONTHS, date, 8) + 1;
+        final int dayOfMonth = parseDigits(date, 5, 2);
+        final int year = parseDigits(date, 12, 4);
+        final int hour = parseDigits(date, 17, 2);
+        final int minute = parseDigits(date, 20, 2);
+        final int second = parseDigits(date, 23, 2);
+        if (month == 0 || dayOfMonth < 1 || dayOfMonth > 31 ||
+                year < MIN_RFC1123_YEAR ||
+                hour < 0 || hour > 23 ||
+                minute < 0 || minute > 59 ||
+                second < 0 || second > 59)
+            return INVALID_DATE;
+
+        // Convert the year, month and day of month to days since the epoch
+        final int y = (month <= 2) ? year - 1 : year;
+        final int era = y / 400;
+        final int yearOfEra = y - era * 400;
+        final int dayOfYear = (153 * (month + ((month > 2) ? -3 : 9)) + 2) / 5 + dayOfMonth - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        final long days = era * 146097L + dayOfEra - 719468;
+
+        return days * MILLIS_PER_DAY + ((hour * 60 + minute) * 60 + second) * 1000L;
+    }
+
+    private static int indexOf(String[] names, String date, int index) {
+        for (int i = 0; i < names.length; i++) {
+            if (date.startsWith(names[i], index))
+                return i;
+        }
+        return -1;
+    }
+
+    private static int parseDigits(String date, int index, int length) {
+        int value = 0;
+        for (int i = index; i < index + length; i++) {
+            final char c = date.charAt(i);
+            if (c < '0' || c > '9')
+                return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static long floorDiv(long x, long y) {
+        final long q = x / y;
+        return ((x % y) != 0 && ((x ^ y) < 0)) ? q - 1 : q;
+    }
+
+    private static long floorMod(long x, long y) {
+        return x - floorDiv(x, y) * y;
     }
 }
@@ -0,0 +1,190 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.core.header.reader;
+
+import com.sun.jersey.core.header.AcceptableLanguageTag;
+import com.sun.jersey.core.header.AcceptableMediaType;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * Read HTTP header values of the "Accept", "Accept-Language" and
+ * "Content-Type" headers, caching the parsed results.
+ * <p>
+ * The parsed results are shared between all callers and are immutable.
+ * Lists are sorted in the same order as the lists returned by
+ * {@link HttpHeaderReader#readAcceptMediaType(java.lang.String) } and
+ * {@link HttpHeaderReader#readAcceptLanguage(java.lang.String) }.
+ * <p>
+ * Each cache is bounded and the least recently used entry is removed when
+ * the bound is exceeded. Each cache has its own lock, which is held only
+ * for the map lookup or insertion and never while parsing. Header values that are longer than
+ * {@link #MAX_CACHED_HEADER_LENGTH} are parsed but not cached. Header values
+ * that cannot be parsed are never cached.
+ */
+public final class HttpHeaderReaderCache {
+
+    /**
+     * The maximum number of header values cached for each header.
+     */
+    public static final int MAX_CACHED_HEADER_VALUES = 256;
+
+    /**
+     * The maximum length of a header value that is cached.
+     */
+    public static final int MAX_CACHED_HEADER_LENGTH = 1024;
+
+    private static final LruCache<List<AcceptableMediaType>> ACCEPT =
+            new LruCache<List<AcceptableMediaType>>();
+
+    private static final LruCache<List<AcceptableLanguageTag>> ACCEPT_LANGUAGE =
+            new LruCache<List<AcceptableLanguageTag>>();
+
+    private static final LruCache<List<Locale>> ACCEPT_LANGUAGE_LOCALES =
+            new LruCache<List<Locale>>();
+
+    private static final LruCache<MediaType> CONTENT_TYPE =
+            new LruCache<MediaType>();
+
+    private HttpHeaderReaderCache() {
+    }
+
+    /**
+     * Read the value of an "Accept" header.
+     *
+     * @param header the header value.
+     * @return the unmodifiable list of acceptable media types, ordered with
+     *         the highest quality acceptable media type occurring first.
+     * @throws ParseException if the header value cannot be parsed.
+     */
+    public static List<AcceptableMediaType> readAcceptMediaType(String header) throws ParseException {
+        List<AcceptableMediaType> l = ACCEPT.get(header);
+        if (l == null) {
+            l = Collections.unmodifiableList(HttpHeaderReader.readAcceptMediaType(header));
+            ACCEPT.put(header, l);
+        }
+        return l;
+    }
+
+    /**
+     * Read the value of an "Accept-Language" header.
+     *
+     * @param header the header value.
+     * @return the unmodifiable list of acceptable language tags, ordered with
+     *         the highest quality acceptable language tag occurring first.
+     * @throws ParseException if the header value cannot be parsed.
+     */
+    public static List<AcceptableLanguageTag> readAcceptLanguage(String header) throws ParseException {
+        List<AcceptableLanguageTag> l = ACCEPT_LANGUAGE.get(header);
+        if (l == null) {
+            l = Collections.unmodifiableList(HttpHeaderReader.readAcceptLanguage(header));
+            ACCEPT_LANGUAGE.put(header, l);
+        }
+        return l;
+    }
+
+    /**
+     * Read the value of an "Accept-Language" header as locales.
+     *
+     * @param header the header value.
+     * @return the unmodifiable list of locales of the acceptable language
+     *         tags, ordered with the highest quality acceptable language tag
+     *         occurring first.
+     * @throws ParseException if the header value cannot be parsed.
+     */
+    public static List<Locale> readAcceptLanguageAsLocales(String header) throws ParseException {
+        List<Locale> l = ACCEPT_LANGUAGE_LOCALES.get(header);
+        if (l == null) {
+            final List<AcceptableLanguageTag> alts = readAcceptLanguage(header);
+            l = new ArrayList<Locale>(alts.size());
+            for (AcceptableLanguageTag alt : alts) {
+                l.add(alt.getAsLocale());
+            }
+            l = Collections.unmodifiableList(l);
+            ACCEPT_LANGUAGE_LOCALES.put(header, l);
+        }
+        return l;
+    }
+
+    /**
+     * Read the value of a "Content-Type" header.
+     *
+     * @param header the header value.
+     * @return the media type.
+     * @throws IllegalArgumentException if the header value cannot be parsed.
+     */
+    public static MediaType readMediaType(String header) {
+        MediaType m = CONTENT_TYPE.get(header);
+        if (m == null) {
+            m = MediaType.valueOf(header);
+            CONTENT_TYPE.put(header, m);
+        }
+        return m;
+    }
+
+    private static final class LruCache<V> {
+        private final Map<String, V> map = new LinkedHashMap<String, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > MAX_CACHED_HEADER_VALUES;
+            }
+        };
+
+        synchronized V get(String header) {
+            return map.get(header);
+        }
+
+        void put(String header, V value) {
+            if (header.length() > MAX_CACHED_HEADER_LENGTH)
+                return;
+
+            synchronized (this) {
+                map.put(header, value);
+            }
+        }
+    }
+}
@@ -41,15 +41,19 @@
 package com.sun.jersey.core.impl.provider.entity;
 
 import com.sun.jersey.core.provider.AbstractMessageReaderWriterProvider;
+import com.sun.jersey.core.util.FileRegionOutputStream;
 import com.sun.jersey.core.util.ReaderWriter;
+import com.sun.jersey.spi.StableMessageBodyWorker;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import javax.activation.DataSource;
+import javax.activation.FileDataSource;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
@@ -59,6 +63,7 @@ import javax.ws.rs.core.MultivaluedMap;
  *
  * @author Paul.Sandoz@Sun.Com
  */
+@StableMessageBodyWorker
 @Produces({"application/octet-stream", "*/*"})
 @Consumes({"application/octet-stream", "*/*"})
 public class DataSourceProvider extends AbstractMessageReaderWriterProvider<DataSource> {
@@ -168,6 +173,13 @@ public class DataSourceProvider extends AbstractMessageReaderWriterProvider<Data
             MediaType mediaType, 
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
+        if (t instanceof FileDataSource && entityStream instanceof FileRegionOutputStream) {
+            final File f = ((FileDataSource)t).getFile();
+            if (((FileRegionOutputStream)entityStream).writeFileRegion(f, 0, f.length())) {
+                return;
+            }
+        }
+
         InputStream in = t.getInputStream();
         try {
             writeTo(in, entityStream);
@@ -175,4 +187,9 @@ public class DataSourceProvider extends AbstractMessageReaderWriterProvider<Data
             in.close();
         }
     }
+
+    @Override
+    public long getSize(DataSource t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return (t instanceof FileDataSource) ? ((FileDataSource)t).getFile().length() : -1;
+    }
 }
\ No newline at end of file
@@ -42,6 +42,7 @@ package com.sun.jersey.core.impl.provider.entity;
 
 import com.sun.jersey.core.provider.AbstractMessageReaderWriterProvider;
 import com.sun.jersey.spi.inject.Injectable;
+import com.sun.jersey.spi.StableMessageBodyWorker;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -67,6 +68,7 @@ import org.xml.sax.SAXException;
  *
  * @author Paul.Sandoz@Sun.Com
  */
+@StableMessageBodyWorker
 @Produces({"application/xml", "text/xml", "*/*"})
 @Consumes({"application/xml", "text/xml", "*/*"})
 public final class DocumentProvider extends AbstractMessageReaderWriterProvider<Document> {
@@ -41,7 +41,9 @@
 package com.sun.jersey.core.impl.provider.entity;
 
 import com.sun.jersey.core.provider.AbstractMessageReaderWriterProvider;
+import com.sun.jersey.core.util.FileRegionOutputStream;
 import com.sun.jersey.core.util.ReaderWriter;
+import com.sun.jersey.spi.StableMessageBodyWorker;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
@@ -61,6 +63,7 @@ import javax.ws.rs.core.MultivaluedMap;
  *
  * @author Paul.Sandoz@Sun.Com
  */
+@StableMessageBodyWorker
 @Produces({"application/octet-stream", "*/*"})
 @Consumes({"application/octet-stream", "*/*"})
 public final class FileProvider extends AbstractMessageReaderWriterProvider<File> {
@@ -98,6 +101,11 @@ public final class FileProvider extends AbstractMessageReaderWriterProvider<File
             MediaType mediaType, 
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
+        if (entityStream instanceof FileRegionOutputStream &&
+                ((FileRegionOutputStream)entityStream).writeFileRegion(t, 0, t.length())) {
+            return;
+        }
+
         InputStream in = new BufferedInputStream(new FileInputStream(t), ReaderWriter.BUFFER_SIZE);
         try {
             writeTo(in, entityStream);
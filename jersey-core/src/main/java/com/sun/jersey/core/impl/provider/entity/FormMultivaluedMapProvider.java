@@ -41,6 +41,7 @@
 package com.sun.jersey.core.impl.provider.entity;
 
 import com.sun.jersey.core.util.MultivaluedMapImpl;
+import com.sun.jersey.spi.StableMessageBodyWorker;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -56,6 +57,7 @@ import javax.ws.rs.core.MultivaluedMap;
  *
  * @author Paul.Sandoz@Sun.Com
  */
+@StableMessageBodyWorker
 @Produces("application/x-www-form-urlencoded")
 @Consumes("application/x-www-form-urlencoded")
 public final class FormMultivaluedMapProvider extends 
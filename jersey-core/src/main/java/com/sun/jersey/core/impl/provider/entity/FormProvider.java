@@ -41,6 +41,7 @@
 package com.sun.jersey.core.impl.provider.entity;
 
 import com.sun.jersey.api.representation.Form;
+import com.sun.jersey.spi.StableMessageBodyWorker;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -55,6 +56,7 @@ import javax.ws.rs.core.MultivaluedMap;
  *
  * @author Paul.Sandoz@Sun.Com
  */
+@StableMessageBodyWorker
 @Produces({"application/x-www-form-urlencoded", "*/*"})
 @Consumes({"application/x-www-form-urlencoded", "*/*"})
 public final class FormProvider extends BaseFormProvider<Form> {
@@ -41,6 +41,7 @@
 package com.sun.jersey.core.impl.provider.entity;
 
 import com.sun.jersey.core.provider.AbstractMessageReaderWriterProvider;
+import com.sun.jersey.spi.StableMessageBodyWorker;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -59,6 +60,7 @@ import javax.ws.rs.core.Response.Status;
  *
  * @author Paul.Sandoz@Sun.Com
  */
+@StableMessageBodyWorker
 public final class MimeMultipartProvider extends AbstractMessageReaderWriterProvider<MimeMultipart> {
     
     public MimeMultipartProvider() {
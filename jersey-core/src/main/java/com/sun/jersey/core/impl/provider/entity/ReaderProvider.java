@@ -41,6 +41,7 @@
 package com.sun.jersey.core.impl.provider.entity;
 
 import com.sun.jersey.core.provider.AbstractMessageReaderWriterProvider;
+import com.sun.jersey.spi.StableMessageBodyWorker;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
@@ -58,6 +59,7 @@ import javax.ws.rs.core.MultivaluedMap;
 /**
  * @author Paul Sandoz
  */
+@StableMessageBodyWorker
 @Produces({"text/plain", "*/*"})
 @Consumes({"text/plain", "*/*"})
 public final class ReaderProvider extends AbstractMessageReaderWriterProvider<Reader> {
@@ -73,6 +73,7 @@ import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 
 import com.sun.jersey.spi.inject.Injectable;
+import com.sun.jersey.spi.StableMessageBodyWorker;
 
 /**
  *
@@ -80,6 +81,7 @@ import com.sun.jersey.spi.inject.Injectable;
  */
 public final class SourceProvider {
 
+    @StableMessageBodyWorker
     @Produces({"application/xml", "text/xml", "*/*"})
     @Consumes({"application/xml", "text/xml", "*/*"})
     public static final class StreamSourceReader implements
@@ -99,6 +101,7 @@ public final class SourceProvider {
         }
     }
 
+    @StableMessageBodyWorker
     @Produces({"application/xml", "text/xml", "*/*"})
     @Consumes({"application/xml", "text/xml", "*/*"})
     public static final class SAXSourceReader implements
@@ -134,6 +137,7 @@ public final class SourceProvider {
         }
     }
 
+    @StableMessageBodyWorker
     @Produces({"application/xml", "text/xml", "*/*"})
     @Consumes({"application/xml", "text/xml", "*/*"})
     public static final class DOMSourceReader implements
@@ -169,6 +173,7 @@ public final class SourceProvider {
         }
     }
 
+    @StableMessageBodyWorker
     @Produces({"application/xml", "text/xml", "*/*"})
     @Consumes({"application/xml", "text/xml", "*/*"})
     public static final class SourceWriter implements
@@ -40,6 +40,7 @@
 
 package com.sun.jersey.core.impl.provider.entity;
 
+import com.sun.jersey.spi.StableMessageBodyWorker;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
@@ -54,6 +55,7 @@ import javax.ws.rs.ext.MessageBodyWriter;
  *
  * @author Paul.Sandoz@Sun.Com
  */
+@StableMessageBodyWorker
 @Produces({"application/octet-stream", "*/*"})
 public final class StreamingOutputProvider implements MessageBodyWriter<StreamingOutput> {
 
@@ -42,6 +42,7 @@ package com.sun.jersey.core.impl.provider.entity;
 
 import com.sun.jersey.core.provider.jaxb.AbstractJAXBElementProvider;
 import com.sun.jersey.spi.inject.Injectable;
+import com.sun.jersey.spi.StableMessageBodyWorker;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
@@ -77,6 +78,7 @@ public class XMLJAXBElementProvider extends AbstractJAXBElementProvider {
         this.spf = spf;
     }
     
+    @StableMessageBodyWorker
     @Produces("application/xml")
     @Consumes("application/xml")
     public static final class App extends XMLJAXBElementProvider {
@@ -85,6 +87,7 @@ public class XMLJAXBElementProvider extends AbstractJAXBElementProvider {
         }
     }
     
+    @StableMessageBodyWorker
     @Produces("text/xml")
     @Consumes("text/xml")
     public static final class Text extends XMLJAXBElementProvider {
@@ -93,6 +96,7 @@ public class XMLJAXBElementProvider extends AbstractJAXBElementProvider {
         }
     }
     
+    @StableMessageBodyWorker
     @Produces("*/*")
     @Consumes("*/*")
     public static final class General extends XMLJAXBElementProvider {
@@ -42,11 +42,13 @@ package com.sun.jersey.core.impl.provider.entity;
 
 import com.sun.jersey.core.provider.jaxb.AbstractListElementProvider;
 import com.sun.jersey.spi.inject.Injectable;
+import com.sun.jersey.spi.StableMessageBodyWorker;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.ws.rs.Consumes;
@@ -83,6 +85,7 @@ public class XMLListElementProvider extends AbstractListElementProvider {
         this.xif = xif;
     }
 
+    @StableMessageBodyWorker
     @Produces("application/xml")
     @Consumes("application/xml")
     public static final class App extends XMLListElementProvider {
@@ -91,6 +94,7 @@ public class XMLListElementProvider extends AbstractListElementProvider {
         }
     }
     
+    @StableMessageBodyWorker
     @Produces("text/xml")
     @Consumes("text/xml")
     public static final class Text extends XMLListElementProvider {
@@ -99,6 +103,7 @@ public class XMLListElementProvider extends AbstractListElementProvider {
         }
     }
     
+    @StableMessageBodyWorker
     @Produces("*/*")
     @Consumes("*/*")
     public static final class General extends XMLListElementProvider {
@@ -126,6 +131,14 @@ public class XMLListElementProvider extends AbstractListElementProvider {
             MediaType mediaType, Charset c,
             Marshaller m, OutputStream entityStream)
             throws JAXBException, IOException {
+        writeList(elementType, t.iterator(), mediaType, c, m, entityStream);
+    }
+
+    @Override
+    public final void writeList(Class<?> elementType, Iterator<?> t,
+            MediaType mediaType, Charset c,
+            Marshaller m, OutputStream entityStream)
+            throws JAXBException, IOException {
         final String rootElement = getRootElementName(elementType);
         final String cName = c.name();
 
@@ -153,8 +166,11 @@ public class XMLListElementProvider extends AbstractListElementProvider {
             entityStream.write(header.getBytes(cName));
         }
         entityStream.write(String.format("<%s>", rootElement).getBytes(cName));
-        for (Object o : t)
-            m.marshal(o, entityStream);
+        for (int n = 1; t.hasNext(); n++) {
+            m.marshal(t.next(), entityStream);
+            if (n % FLUSH_ELEMENT_INTERVAL == 0)
+                entityStream.flush();
+        }
 
         entityStream.write(String.format("</%s>", rootElement).getBytes(cName));
     }
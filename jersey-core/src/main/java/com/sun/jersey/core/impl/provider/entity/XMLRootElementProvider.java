@@ -41,6 +41,7 @@ package com.sun.jersey.core.impl.provider.entity;
 
 import com.sun.jersey.core.provider.jaxb.AbstractRootElementProvider;
 import com.sun.jersey.spi.inject.Injectable;
+import com.sun.jersey.spi.StableMessageBodyWorker;
 import java.io.InputStream;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
@@ -74,6 +75,7 @@ public class XMLRootElementProvider extends AbstractRootElementProvider {
         this.spf = spf;
     }
 
+    @StableMessageBodyWorker
     @Produces("application/xml")
     @Consumes("application/xml")
     public static final class App extends XMLRootElementProvider {
@@ -83,6 +85,7 @@ public class XMLRootElementProvider extends AbstractRootElementProvider {
         }
     }
 
+    @StableMessageBodyWorker
     @Produces("text/xml")
     @Consumes("text/xml")
     public static final class Text extends XMLRootElementProvider {
@@ -92,6 +95,7 @@ public class XMLRootElementProvider extends AbstractRootElementProvider {
         }
     }
 
+    @StableMessageBodyWorker
     @Produces("*/*")
     @Consumes("*/*")
     public static final class General extends XMLRootElementProvider {
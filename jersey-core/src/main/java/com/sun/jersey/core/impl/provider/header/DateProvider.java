@@ -57,7 +57,7 @@ public class DateProvider implements HeaderDelegateProvider<Date> {
     }
 
     public String toString(Date header) {
-        return HttpDateFormat.getPreferedDateFormat().format(header);
+        return HttpDateFormat.formatDate(header);
     }
 
     public Date fromString(String header) {
@@ -42,9 +42,9 @@ package com.sun.jersey.core.provider.jaxb;
 
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
-import java.lang.ref.WeakReference;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -69,12 +69,36 @@ import com.sun.jersey.core.util.FeaturesAndProperties;
 
 /**
  * A base class for implementing JAXB-based readers and writers.
+ * <p>
+ * Marshallers and unmarshallers created by this class from a JAXB context
+ * may be pooled, per JAXB context, and reused for subsequent entities. A
+ * marshaller or unmarshaller obtained using {@link #acquireMarshaller(Class, MediaType)}
+ * or {@link #acquireUnmarshaller(Class, MediaType)} must be released, once
+ * the entity has been read or written, using {@link #releaseMarshaller(Marshaller)}
+ * or {@link #releaseUnmarshaller(Unmarshaller)} respectively, and must not be
+ * referenced after it has been released. The size of the pools may be
+ * configured using the property {@link FeaturesAndProperties#PROPERTY_JAXB_POOL_SIZE}.
  *
  * @author Paul Sandoz (paul.sandoz at oracle.com)
  */
 public abstract class AbstractJAXBProvider<T> extends AbstractMessageReaderWriterProvider<T> {
-    private static final Map<Class<?>, WeakReference<JAXBContext>> jaxbContexts =
-            new WeakHashMap<Class<?>, WeakReference<JAXBContext>>();
+    private static final Logger LOGGER = Logger.getLogger(AbstractJAXBProvider.class.getName());
+
+    private static final int DEFAULT_POOL_SIZE = 16;
+
+    /**
+     * The maximum number of JAXB contexts for which pools will be created.
+     * Marshallers and unmarshallers for further JAXB contexts will not be
+     * pooled.
+     */
+    private static final int MAX_POOLED_CONTEXTS = 256;
+
+    private static final String[] XML_HEADERS_PROPERTIES = {
+            // standalone jaxb ri
+            "com.sun.xml.bind.xmlHeaders",
+            // jaxb ri from jdk
+            "com.sun.xml.internal.bind.xmlHeaders"
+    };
 
     private final Providers ps;
 
@@ -86,15 +110,30 @@ public abstract class AbstractJAXBProvider<T> extends AbstractMessageReaderWrite
 
     private final ContextResolver<Marshaller> mtMarshaller;
 
+    private final JAXBContextRegistry registry;
+
     private boolean formattedOutput = false;
     private boolean xmlRootElementProcessing = false;
 
+    private int poolSize = DEFAULT_POOL_SIZE;
+
+    private final ConcurrentMap<JAXBContext, Pool> pools =
+            new ConcurrentHashMap<JAXBContext, Pool>();
+
+    /**
+     * The pool of each pooled marshaller and unmarshaller that is currently
+     * acquired or idle, keyed by identity of the marshaller or unmarshaller.
+     */
+    private final ConcurrentMap<Object, Pool> pooled =
+            new ConcurrentHashMap<Object, Pool>();
+
     public AbstractJAXBProvider(Providers ps) {
         this(ps, null);
     }
 
     public AbstractJAXBProvider(Providers ps, MediaType mt) {
         this.ps = ps;
+        this.registry = JAXBContextRegistry.getInstance(ps);
 
         fixedMediaType = mt != null;
         if (fixedMediaType) {
@@ -112,15 +151,80 @@ public abstract class AbstractJAXBProvider<T> extends AbstractMessageReaderWrite
     public void setConfiguration(FeaturesAndProperties fp) {
         formattedOutput = fp.getFeature(FeaturesAndProperties.FEATURE_FORMATTED);
         xmlRootElementProcessing = fp.getFeature(FeaturesAndProperties.FEATURE_XMLROOTELEMENT_PROCESSING);
+        poolSize = getPoolSize(fp.getProperty(FeaturesAndProperties.PROPERTY_JAXB_POOL_SIZE));
+    }
+
+    private static int getPoolSize(Object v) {
+        if (v == null) {
+            return DEFAULT_POOL_SIZE;
+        }
+
+        try {
+            final int size = (v instanceof Number)
+                    ? ((Number) v).intValue()
+                    : Integer.parseInt(v.toString().trim());
+            return Math.max(size, 0);
+        } catch (NumberFormatException ex) {
+            LOGGER.log(Level.WARNING, "The value, " + v + ", of the property " +
+                    FeaturesAndProperties.PROPERTY_JAXB_POOL_SIZE +
+                    " is not an integer. The default pool size, " +
+                    DEFAULT_POOL_SIZE + ", will be used.");
+            return DEFAULT_POOL_SIZE;
+        }
     }
 
     protected boolean isSupported(MediaType m) {
         return true;
     }
 
+    /**
+     * Get a new unmarshaller. The caller owns the returned unmarshaller.
+     *
+     * @param type the type to unmarshall.
+     * @param mt the media type.
+     * @return the unmarshaller.
+     * @throws JAXBException if the unmarshaller could not be created.
+     */
     protected final Unmarshaller getUnmarshaller(Class type, MediaType mt) throws JAXBException {
+        return getUnmarshaller(type, mt, false);
+    }
+
+    /**
+     * Acquire an unmarshaller, which may be obtained from a pool. The
+     * unmarshaller must be released using {@link #releaseUnmarshaller(Unmarshaller)}
+     * once the entity has been read.
+     *
+     * @param type the type to unmarshall.
+     * @param mt the media type.
+     * @return the unmarshaller.
+     * @throws JAXBException if the unmarshaller could not be created.
+     */
+    protected final Unmarshaller acquireUnmarshaller(Class type, MediaType mt) throws JAXBException {
+        return getUnmarshaller(type, mt, poolSize > 0);
+    }
+
+    /**
+     * Release an unmarshaller obtained from {@link #acquireUnmarshaller(Class, MediaType)}.
+     * If the unmarshaller was not pooled then this method does nothing.
+     *
+     * @param u the unmarshaller, may be null.
+     */
+    protected final void releaseUnmarshaller(Unmarshaller u) {
+        if (u == null)
+            return;
+
+        final Pool p = pooled.get(u);
+        if (p == null)
+            return;
+
+        if (!resetUnmarshaller(u) || !p.unmarshallers.offer(u)) {
+            pooled.remove(u);
+        }
+    }
+
+    private Unmarshaller getUnmarshaller(Class type, MediaType mt, boolean pool) throws JAXBException {
         if (fixedMediaType)
-            return getUnmarshaller(type);
+            return getUnmarshaller(type, pool);
 
         final ContextResolver<Unmarshaller> uncr = ps.getContextResolver(Unmarshaller.class, mt);
         if (uncr != null) {
@@ -128,21 +232,84 @@ public abstract class AbstractJAXBProvider<T> extends AbstractMessageReaderWrite
             if (u != null) return u;
         }
 
-        return getJAXBContext(type, mt).createUnmarshaller();
+        return createUnmarshaller(getJAXBContext(type, mt), pool);
     }
 
-    private Unmarshaller getUnmarshaller(Class type) throws JAXBException {
+    private Unmarshaller getUnmarshaller(Class type, boolean pool) throws JAXBException {
         if (mtUnmarshaller != null) {
             Unmarshaller u = mtUnmarshaller.getContext(type);
             if (u != null) return u;
         }
 
-        return getJAXBContext(type).createUnmarshaller();
+        return createUnmarshaller(getJAXBContext(type), pool);
+    }
+
+    private Unmarshaller createUnmarshaller(JAXBContext c, boolean pool) throws JAXBException {
+        final Pool p = (pool) ? getPool(c) : null;
+        if (p == null)
+            return c.createUnmarshaller();
+
+        Unmarshaller u = p.unmarshallers.poll();
+        if (u == null) {
+            u = c.createUnmarshaller();
+            pooled.put(u, p);
+        }
+        return u;
     }
 
+    /**
+     * Get a new marshaller. The caller owns the returned marshaller.
+     *
+     * @param type the type to marshall.
+     * @param mt the media type.
+     * @return the marshaller.
+     * @throws JAXBException if the marshaller could not be created.
+     */
     protected final Marshaller getMarshaller(Class type, MediaType mt) throws JAXBException {
+        return getMarshaller(type, mt, false);
+    }
+
+    /**
+     * Acquire a marshaller, which may be obtained from a pool. The
+     * marshaller must be released using {@link #releaseMarshaller(Marshaller)}
+     * once the entity has been written.
+     *
+     * @param type the type to marshall.
+     * @param mt the media type.
+     * @return the marshaller.
+     * @throws JAXBException if the marshaller could not be created.
+     */
+    protected final Marshaller acquireMarshaller(Class type, MediaType mt) throws JAXBException {
+        return getMarshaller(type, mt, poolSize > 0);
+    }
+
+    /**
+     * Release a marshaller obtained from {@link #acquireMarshaller(Class, MediaType)}.
+     * If the marshaller was not pooled then this method does nothing.
+     * <p>
+     * The properties that may be modified by the readers and writers of
+     * this package, namely the encoding, fragment and XML headers
+     * properties, are reset before the marshaller is returned to the pool.
+     * If the marshaller cannot be reset it is discarded.
+     *
+     * @param m the marshaller, may be null.
+     */
+    protected final void releaseMarshaller(Marshaller m) {
+        if (m == null)
+            return;
+
+        final Pool p = pooled.get(m);
+        if (p == null)
+            return;
+
+        if (!resetMarshaller(m) || !p.marshallers.offer(m)) {
+            pooled.remove(m);
+        }
+    }
+
+    private Marshaller getMarshaller(Class type, MediaType mt, boolean pool) throws JAXBException {
         if (fixedMediaType)
-            return getMarshaller(type);
+            return getMarshaller(type, pool);
 
         final ContextResolver<Marshaller> mcr = ps.getContextResolver(Marshaller.class, mt);
         if (mcr != null) {
@@ -150,25 +317,93 @@ public abstract class AbstractJAXBProvider<T> extends AbstractMessageReaderWrite
             if (m != null) return m;
         }
 
-        Marshaller m = getJAXBContext(type, mt).createMarshaller();
-        if(formattedOutput)
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput);
-        return m;
-
+        return createMarshaller(getJAXBContext(type, mt), pool);
     }
 
-    private Marshaller getMarshaller(Class type) throws JAXBException {
+    private Marshaller getMarshaller(Class type, boolean pool) throws JAXBException {
         if (mtMarshaller != null) {
             Marshaller u = mtMarshaller.getContext(type);
             if (u != null) return u;
         }
 
-        Marshaller m = getJAXBContext(type).createMarshaller();
+        return createMarshaller(getJAXBContext(type), pool);
+    }
+
+    private Marshaller createMarshaller(JAXBContext c, boolean pool) throws JAXBException {
+        final Pool p = (pool) ? getPool(c) : null;
+        if (p != null) {
+            final Marshaller m = p.marshallers.poll();
+            if (m != null)
+                return m;
+        }
+
+        Marshaller m = c.createMarshaller();
         if(formattedOutput)
             m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput);
+        if (p != null)
+            pooled.put(m, p);
         return m;
     }
 
+    private Pool getPool(JAXBContext c) {
+        Pool p = pools.get(c);
+        if (p == null) {
+            if (pools.size() >= MAX_POOLED_CONTEXTS)
+                return null;
+
+            p = new Pool(poolSize);
+            final Pool existing = pools.putIfAbsent(c, p);
+            if (existing != null)
+                p = existing;
+        }
+        return p;
+    }
+
+    private static boolean resetMarshaller(Marshaller m) {
+        try {
+            m.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+            m.setProperty(Marshaller.JAXB_FRAGMENT, false);
+            for (String name : XML_HEADERS_PROPERTIES) {
+                try {
+                    if (m.getProperty(name) != null) {
+                        m.setProperty(name, null);
+                    }
+                } catch (PropertyException ex) {
+                    // property not supported by this jaxb implementation
+                }
+            }
+            m.setListener(null);
+            return true;
+        } catch (JAXBException ex) {
+            return false;
+        } catch (RuntimeException ex) {
+            return false;
+        }
+    }
+
+    private static boolean resetUnmarshaller(Unmarshaller u) {
+        try {
+            u.setListener(null);
+            return true;
+        } catch (RuntimeException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * The idle marshallers and unmarshallers of a JAXB context.
+     */
+    private static final class Pool {
+        final ArrayBlockingQueue<Marshaller> marshallers;
+
+        final ArrayBlockingQueue<Unmarshaller> unmarshallers;
+
+        Pool(int size) {
+            this.marshallers = new ArrayBlockingQueue<Marshaller>(size);
+            this.unmarshallers = new ArrayBlockingQueue<Unmarshaller>(size);
+        }
+    }
+
     private JAXBContext getJAXBContext(Class type, MediaType mt) throws JAXBException {
         final ContextResolver<JAXBContext> cr = ps.getContextResolver(JAXBContext.class, mt);
         if (cr != null) {
@@ -188,16 +423,16 @@ public abstract class AbstractJAXBProvider<T> extends AbstractMessageReaderWrite
         return getStoredJAXBContext(type);
     }
 
+    /**
+     * Get the JAXB context of a class from the {@link JAXBContextRegistry}
+     * scoped to the providers.
+     *
+     * @param type the class.
+     * @return the JAXB context.
+     * @throws JAXBException if the JAXB context could not be created.
+     */
     protected JAXBContext getStoredJAXBContext(Class type) throws JAXBException {
-        synchronized (jaxbContexts) {
-            final WeakReference<JAXBContext> ref = jaxbContexts.get(type);
-            JAXBContext c = (ref != null) ? ref.get() : null;
-            if (c == null) {
-                c = JAXBContext.newInstance(type);
-                jaxbContexts.put(type, new WeakReference(c));
-            }
-            return c;
-        }
+        return registry.get(type);
     }
 
     protected static SAXSource getSAXSource(SAXParserFactory spf,
@@ -224,14 +459,14 @@ public abstract class AbstractJAXBProvider<T> extends AbstractMessageReaderWrite
             if (a instanceof XmlHeader) {
                 try {
                     // standalone jaxb ri
-                    m.setProperty("com.sun.xml.bind.xmlHeaders", ((XmlHeader) a).value());
+                    m.setProperty(XML_HEADERS_PROPERTIES[0], ((XmlHeader) a).value());
                 } catch (PropertyException e) {
                     try {
                         // jaxb ri from jdk
-                        m.setProperty("com.sun.xml.internal.bind.xmlHeaders", ((XmlHeader) a).value());
+                        m.setProperty(XML_HEADERS_PROPERTIES[1], ((XmlHeader) a).value());
                     } catch (PropertyException ex) {
                         // other jaxb implementation
-                        Logger.getLogger(AbstractJAXBProvider.class.getName()).log(
+                        LOGGER.log(
                                 Level.WARNING, "@XmlHeader annotation is not supported with this JAXB implementation. Please use JAXB RI if you need this feature.");
                     }
                 }
@@ -57,6 +57,7 @@ import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -71,6 +72,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Stack;
@@ -95,6 +97,14 @@ import javax.xml.bind.JAXBElement;
  * <code>T</code> must be a JAXB type annotated with
  * {@link XmlRootElement}.
  * <p>
+ * In addition <code>Iterator&lt;T&gt;</code>, <code>Iterable&lt;T&gt;</code>
+ * and their subtypes may be written (but not read). Such entities are
+ * consumed lazily, one element at a time, and the entity stream is flushed
+ * every {@link #FLUSH_ELEMENT_INTERVAL} elements so that an unbounded
+ * sequence, such as one backed by a database cursor, may be streamed
+ * without holding all elements in memory. If the iterator, or the iterable,
+ * implements {@link Closeable} it will be closed after it has been written.
+ * <p>
  * Implementing classes may extend this class to provide specific marshalling
  * and unmarshalling behaviour.
  * <p>
@@ -128,6 +138,12 @@ public abstract class AbstractListElementProvider extends AbstractJAXBProvider<O
         boolean isJaxbType(Class type);
     }
 
+    /**
+     * The number of elements written, when writing an <code>Iterator</code>
+     * or <code>Iterable</code>, after which the entity stream is flushed.
+     */
+    protected static final int FLUSH_ELEMENT_INTERVAL = 64;
+
     private static final JaxbTypeChecker DefaultJaxbTypeCHECKER = new JaxbTypeChecker() {
 
         @Override
@@ -161,6 +177,8 @@ public abstract class AbstractListElementProvider extends AbstractJAXBProvider<O
             return verifyGenericType(genericType) && isSupported(mediaType);
         } else if (type.isArray()) {
             return verifyArrayType(type) && isSupported(mediaType);
+        } else if (Iterator.class.isAssignableFrom(type) || Iterable.class.isAssignableFrom(type)) {
+            return verifyGenericType(genericType) && isSupported(mediaType);
         } else
             return false;
     }
@@ -247,23 +265,50 @@ public abstract class AbstractListElementProvider extends AbstractJAXBProvider<O
             MediaType mediaType,
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
+        Marshaller m = null;
         try {
-            final Collection c = (type.isArray())
-                    ? Arrays.asList((Object[])t)
-                    : (Collection)t;
             final Class elementType = getElementClass(type, genericType);
             final Charset charset = getCharset(mediaType);
             final String charsetName = charset.name();
 
-            final Marshaller m = getMarshaller(elementType, mediaType);
+            m = acquireMarshaller(elementType, mediaType);
             m.setProperty(Marshaller.JAXB_FRAGMENT, true);
             if (charset != UTF8) {
                 m.setProperty(Marshaller.JAXB_ENCODING, charsetName);
             }
             setHeader(m, annotations);
-            writeList(elementType, c, mediaType, charset, m, entityStream);
+            if (type.isArray()) {
+                writeList(elementType, Arrays.asList((Object[])t), mediaType, charset, m, entityStream);
+            } else if (t instanceof Collection) {
+                writeList(elementType, (Collection)t, mediaType, charset, m, entityStream);
+            } else {
+                final Iterator i = (t instanceof Iterator)
+                        ? (Iterator)t
+                        : ((Iterable)t).iterator();
+                try {
+                    writeList(elementType, i, mediaType, charset, m, entityStream);
+                } finally {
+                    close(t, i);
+                }
+            }
         } catch (JAXBException ex) {
             throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
+        } finally {
+            releaseMarshaller(m);
+        }
+    }
+
+    private void close(Object t, Iterator i) {
+        try {
+            if (i instanceof Closeable) {
+                ((Closeable)i).close();
+            }
+            if (t != i && t instanceof Closeable) {
+                ((Closeable)t).close();
+            }
+        } catch (IOException ex) {
+            Logger.getLogger(AbstractListElementProvider.class.getName()).log(Level.WARNING,
+                    "Error closing the iterable entity", ex);
         }
     }
 
@@ -284,6 +329,35 @@ public abstract class AbstractListElementProvider extends AbstractJAXBProvider<O
             Marshaller m, OutputStream entityStream)
             throws JAXBException, IOException;
 
+    /**
+     * Write a lazily produced sequence of JAXB objects as child elements of
+     * the root element.
+     * <p>
+     * Implementing classes should override this method to marshall each
+     * element as it is obtained from the iterator, flushing the entity stream
+     * every {@link #FLUSH_ELEMENT_INTERVAL} elements. The default
+     * implementation collects the remaining elements into a list and defers to
+     * {@link #writeList(java.lang.Class, java.util.Collection, javax.ws.rs.core.MediaType, java.nio.charset.Charset, javax.xml.bind.Marshaller, java.io.OutputStream)}.
+     *
+     * @param elementType the element type in the collection.
+     * @param t the iterator of elements to marshall
+     * @param mediaType the media type
+     * @param c the charset
+     * @param m the marshaller
+     * @param entityStream the output stream to marshall the elements
+     * @throws javax.xml.bind.JAXBException
+     * @throws IOException
+     */
+    public void writeList(Class<?> elementType, Iterator<?> t,
+            MediaType mediaType, Charset c,
+            Marshaller m, OutputStream entityStream)
+            throws JAXBException, IOException {
+        final List<Object> l = new ArrayList<Object>();
+        while (t.hasNext())
+            l.add(t.next());
+        writeList(elementType, l, mediaType, c, m, entityStream);
+    }
+
     @Override
     public final Object readFrom(
             Class<Object> type,
@@ -292,9 +366,10 @@ public abstract class AbstractListElementProvider extends AbstractJAXBProvider<O
             MediaType mediaType,
             MultivaluedMap<String, String> httpHeaders,
             InputStream entityStream) throws IOException {
+        Unmarshaller u = null;
         try {
             final Class elementType = getElementClass(type, genericType);
-            final Unmarshaller u = getUnmarshaller(elementType, mediaType);
+            u = acquireUnmarshaller(elementType, mediaType);
             final XMLStreamReader r = getXMLStreamReader(elementType, mediaType, u, entityStream);
             boolean jaxbElement = false;
 
@@ -357,6 +432,8 @@ public abstract class AbstractListElementProvider extends AbstractJAXBProvider<O
             throw new WebApplicationException(ex, Status.BAD_REQUEST);
         } catch (JAXBException ex) {
             throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
+        } finally {
+            releaseUnmarshaller(u);
         }
     }
 
@@ -107,12 +107,16 @@ public abstract class AbstractRootElementProvider extends AbstractJAXBProvider<O
             MultivaluedMap<String, String> httpHeaders,
             InputStream entityStream) throws IOException {
 
+        Unmarshaller u = null;
         try {
-            return readFrom(type, mediaType, getUnmarshaller(type, mediaType), entityStream);
+            u = acquireUnmarshaller(type, mediaType);
+            return readFrom(type, mediaType, u, entityStream);
         } catch (UnmarshalException ex) {
             throw new WebApplicationException(ex, Status.BAD_REQUEST);
         } catch (JAXBException ex) {
             throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
+        } finally {
+            releaseUnmarshaller(u);
         }
     }
 
@@ -147,8 +151,9 @@ public abstract class AbstractRootElementProvider extends AbstractJAXBProvider<O
             MediaType mediaType,
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
+        Marshaller m = null;
         try {
-            final Marshaller m = getMarshaller(type, mediaType);
+            m = acquireMarshaller(type, mediaType);
             final Charset c = getCharset(mediaType);
             if (c != UTF8) {
                 m.setProperty(Marshaller.JAXB_ENCODING, c.name());
@@ -157,6 +162,8 @@ public abstract class AbstractRootElementProvider extends AbstractJAXBProvider<O
             writeTo(t, mediaType, c, m, entityStream);
         } catch (JAXBException ex) {
             throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
+        } finally {
+            releaseMarshaller(m);
         }
     }
 
@@ -0,0 +1,277 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.core.provider.jaxb;
+
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.ext.Providers;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+/**
+ * A registry of JAXB contexts, each of which is created from a single class
+ * using {@link JAXBContext#newInstance(java.lang.Class[]) }.
+ * <p>
+ * A registry is scoped to the {@link Providers} of a web application or
+ * client and is shared by the JAXB-based readers and writers and the
+ * JAXB-based string readers of parameters of that web application or client.
+ * Obtaining a registered JAXB context does not require a lock and a JAXB
+ * context is created at most once per class, even when requested
+ * concurrently. JAXB contexts may be created ahead of use by warming the
+ * registry.
+ * <p>
+ * Scoped registries are weakly referenced by this class and strongly
+ * referenced by the readers and writers that use them, so a registry and
+ * the classes of its JAXB contexts may be garbage collected once the web
+ * application or client is no longer referenced.
+ */
+public final class JAXBContextRegistry {
+    private static final Logger LOGGER = Logger.getLogger(JAXBContextRegistry.class.getName());
+
+    private static final Map<Providers, WeakReference<JAXBContextRegistry>> SCOPED =
+            new WeakHashMap<Providers, WeakReference<JAXBContextRegistry>>();
+
+    /**
+     * Get the registry scoped to the providers of a web application or client,
+     * creating it if it does not exist.
+     * <p>
+     * The caller should keep a reference to the returned registry for as long
+     * as it uses it.
+     *
+     * @param ps the providers, if null a new registry is returned.
+     * @return the scoped registry.
+     */
+    public static JAXBContextRegistry getInstance(Providers ps) {
+        if (ps == null)
+            return new JAXBContextRegistry();
+
+        synchronized (SCOPED) {
+            final WeakReference<JAXBContextRegistry> ref = SCOPED.get(ps);
+            JAXBContextRegistry r = (ref != null) ? ref.get() : null;
+            if (r == null) {
+                r = new JAXBContextRegistry();
+                SCOPED.put(ps, new WeakReference<JAXBContextRegistry>(r));
+            }
+            return r;
+        }
+    }
+
+    private final ConcurrentMap<Class<?>, Entry> contexts =
+            new ConcurrentHashMap<Class<?>, Entry>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong builds = new AtomicLong();
+
+    private final AtomicLong buildTime = new AtomicLong();
+
+    /**
+     * Create a new, empty, registry.
+     */
+    public JAXBContextRegistry() {
+    }
+
+    /**
+     * Get the JAXB context of a class, creating and registering it if
+     * it is not registered.
+     *
+     * @param type the class.
+     * @return the JAXB context.
+     * @throws JAXBException if the JAXB context could not be created.
+     */
+    public JAXBContext get(Class<?> type) throws JAXBException {
+        final Entry e = contexts.get(type);
+        if (e != null) {
+            final JAXBContext c = e.context;
+            if (c != null) {
+                hits.incrementAndGet();
+                return c;
+            }
+        }
+
+        misses.incrementAndGet();
+        return build(type, e);
+    }
+
+    /**
+     * Create and register the JAXB context of a class, if it is not
+     * registered. Warming the registry does not change the hit and miss
+     * counts.
+     *
+     * @param type the class.
+     * @return true if the JAXB context is registered, otherwise false if
+     *         the JAXB context could not be created.
+     */
+    public boolean warm(Class<?> type) {
+        final Entry e = contexts.get(type);
+        if (e != null && e.context != null)
+            return true;
+
+        try {
+            build(type, e);
+            return true;
+        } catch (JAXBException ex) {
+            LOGGER.log(Level.CONFIG, "The JAXB context of " + type.getName() +
+                    " could not be created ahead of use", ex);
+            return false;
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.CONFIG, "The JAXB context of " + type.getName() +
+                    " could not be created ahead of use", ex);
+            return false;
+        }
+    }
+
+    /**
+     * Create and register the JAXB contexts of classes, if they are not
+     * registered.
+     *
+     * @param types the classes.
+     * @return the number of classes whose JAXB context is registered.
+     * @see #warm(java.lang.Class)
+     */
+    public int warm(Collection<? extends Class<?>> types) {
+        int n = 0;
+        for (Class<?> type : types) {
+            if (warm(type))
+                n++;
+        }
+        return n;
+    }
+
+    private JAXBContext build(Class<?> type, Entry e) throws JAXBException {
+        if (e == null) {
+            final Entry n = new Entry();
+            e = contexts.putIfAbsent(type, n);
+            if (e == null)
+                e = n;
+        }
+
+        synchronized (e) {
+            if (e.context == null) {
+                final long start = System.nanoTime();
+                try {
+                    e.context = JAXBContext.newInstance(type);
+                } catch (JAXBException ex) {
+                    contexts.remove(type, e);
+                    throw ex;
+                } catch (RuntimeException ex) {
+                    contexts.remove(type, e);
+                    throw ex;
+                } finally {
+                    buildTime.addAndGet(System.nanoTime() - start);
+                    builds.incrementAndGet();
+                }
+            }
+            return e.context;
+        }
+    }
+
+    /**
+     * Remove all JAXB contexts. The statistics are not reset.
+     */
+    public void clear() {
+        contexts.clear();
+    }
+
+    /**
+     * Get the number of registered JAXB contexts.
+     *
+     * @return the number of registered JAXB contexts.
+     */
+    public int size() {
+        return contexts.size();
+    }
+
+    /**
+     * Get the number of times a registered JAXB context was returned
+     * from {@link #get(java.lang.Class) }.
+     *
+     * @return the hit count.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of times a JAXB context was not registered when
+     * {@link #get(java.lang.Class) } was invoked.
+     *
+     * @return the miss count.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Get the number of times a JAXB context was created, including
+     * attempts that failed.
+     *
+     * @return the build count.
+     */
+    public long getBuildCount() {
+        return builds.get();
+    }
+
+    /**
+     * Get the total time spent creating JAXB contexts.
+     *
+     * @param unit the time unit of the returned value.
+     * @return the total build time.
+     */
+    public long getBuildTime(TimeUnit unit) {
+        return unit.convert(buildTime.get(), TimeUnit.NANOSECONDS);
+    }
+
+    private static final class Entry {
+        volatile JAXBContext context;
+    }
+}
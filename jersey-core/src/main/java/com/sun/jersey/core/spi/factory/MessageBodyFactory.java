@@ -48,6 +48,7 @@ import com.sun.jersey.core.util.KeyComparator;
 import com.sun.jersey.core.util.KeyComparatorHashMap;
 import com.sun.jersey.core.util.KeyComparatorLinkedHashMap;
 import com.sun.jersey.spi.MessageBodyWorkers;
+import com.sun.jersey.spi.StableMessageBodyWorker;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
@@ -62,13 +63,19 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A factory for managing {@link MessageBodyReader} and {@link MessageBodyWriter}
  * instances.
+ * <p>
+ * The selection of a reader or writer for a class, generic type, annotations
+ * and media type is cached if all the readers or writers consulted for that
+ * selection are annotated with {@link StableMessageBodyWorker}.
  *
  * @author Paul.Sandoz@Sun.Com
  */
@@ -106,6 +113,75 @@ public class MessageBodyFactory implements MessageBodyWorkers {
 
     private List<MessageBodyWriterPair> customWriterListProviders;
 
+    /**
+     * The maximum number of selections cached for readers and for writers.
+     * A cache is cleared when this number is reached.
+     */
+    private static final int SELECTION_CACHE_SIZE = 1024;
+
+    private final ConcurrentHashMap<SelectionKey, MessageBodyReader> readerSelectionCache =
+            new ConcurrentHashMap<SelectionKey, MessageBodyReader>();
+
+    private final ConcurrentHashMap<SelectionKey, MessageBodyWriter> writerSelectionCache =
+            new ConcurrentHashMap<SelectionKey, MessageBodyWriter>();
+
+    private Set<Object> stableWorkers;
+
+    /**
+     * The key of a cached reader or writer selection. Annotations are
+     * compared by identity, a null array of annotations is equivalent to an
+     * empty array.
+     */
+    private static final class SelectionKey {
+        private final Class c;
+
+        private final Type t;
+
+        private final Annotation[] as;
+
+        private final MediaType mediaType;
+
+        private final int hash;
+
+        SelectionKey(Class c, Type t, Annotation[] as, MediaType mediaType) {
+            this.c = c;
+            this.t = t;
+            this.as = (as != null) ? as : new Annotation[0];
+            this.mediaType = mediaType;
+
+            int h = c.hashCode();
+            h = 31 * h + ((t != null) ? t.hashCode() : 0);
+            h = 31 * h + ((mediaType != null) ? mediaType.hashCode() : 0);
+            for (Annotation a : this.as) {
+                h = 31 * h + System.identityHashCode(a);
+            }
+            this.hash = h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof SelectionKey))
+                return false;
+
+            final SelectionKey that = (SelectionKey) o;
+            if (hash != that.hash || c != that.c || as.length != that.as.length)
+                return false;
+            for (int i = 0; i < as.length; i++) {
+                if (as[i] != that.as[i])
+                    return false;
+            }
+            return ((t == null) ? that.t == null : t.equals(that.t)) &&
+                    ((mediaType == null) ? that.mediaType == null : mediaType.equals(that.mediaType));
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
     private static class MessageBodyWriterPair {
         final MessageBodyWriter mbw;
         
@@ -161,6 +237,27 @@ public class MessageBodyFactory implements MessageBodyWorkers {
     public void init() {
         initReaders();
         initWriters();
+        initStableWorkers();
+    }
+
+    private void initStableWorkers() {
+        readerSelectionCache.clear();
+        writerSelectionCache.clear();
+
+        this.stableWorkers = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        addStableWorkers(customReaderProviders);
+        addStableWorkers(readerProviders);
+        addStableWorkers(customWriterProviders);
+        addStableWorkers(writerProviders);
+    }
+
+    private <T> void addStableWorkers(Map<MediaType, List<T>> providersMap) {
+        for (List<T> providers : providersMap.values()) {
+            for (T provider : providers) {
+                if (provider.getClass().isAnnotationPresent(StableMessageBodyWorker.class))
+                    stableWorkers.add(provider);
+            }
+        }
     }
 
     private void initReaders() {
@@ -288,6 +385,23 @@ public class MessageBodyFactory implements MessageBodyWorkers {
             Annotation[] as, 
             MediaType mediaType) {
 
+        final SelectionKey key = new SelectionKey(c, t, as, mediaType);
+        MessageBodyReader reader = readerSelectionCache.get(key);
+        if (reader != null)
+            return reader;
+
+        reader = selectMessageBodyReader(c, t, as, mediaType);
+        if (reader != null && isStableSelection(reader, mediaType,
+                customReaderProviders, readerProviders)) {
+            cacheSelection(readerSelectionCache, key, reader);
+        }
+        return reader;
+    }
+
+    private <T> MessageBodyReader<T> selectMessageBodyReader(Class<T> c, Type t,
+            Annotation[] as,
+            MediaType mediaType) {
+
         MessageBodyReader reader;
 
         if(!customReaderProviders.isEmpty()) {
@@ -353,6 +467,23 @@ public class MessageBodyFactory implements MessageBodyWorkers {
             Annotation[] as,
             MediaType mediaType) {
 
+        final SelectionKey key = new SelectionKey(c, t, as, mediaType);
+        MessageBodyWriter p = writerSelectionCache.get(key);
+        if (p != null)
+            return p;
+
+        p = selectMessageBodyWriter(c, t, as, mediaType);
+        if (p != null && isStableSelection(p, mediaType,
+                customWriterProviders, writerProviders)) {
+            cacheSelection(writerSelectionCache, key, p);
+        }
+        return p;
+    }
+
+    private <T> MessageBodyWriter<T> selectMessageBodyWriter(Class<T> c, Type t,
+            Annotation[] as,
+            MediaType mediaType) {
+
         MessageBodyWriter p;
 
         if(!customWriterProviders.isEmpty()) {
@@ -400,6 +531,50 @@ public class MessageBodyFactory implements MessageBodyWorkers {
         return null;
     }
 
+    /**
+     * Determine if a selected reader or writer, and all the readers or
+     * writers consulted before it, in the order of selection, are stable.
+     */
+    private <T> boolean isStableSelection(T selected, MediaType mediaType,
+            Map<MediaType, List<T>> customProviders,
+            Map<MediaType, List<T>> providers) {
+        final List<List<T>> consulted = new ArrayList<List<T>>(6);
+        getLookupLists(mediaType, customProviders, consulted);
+        getLookupLists(mediaType, providers, consulted);
+
+        for (List<T> l : consulted) {
+            for (T p : l) {
+                if (!stableWorkers.contains(p))
+                    return false;
+                if (p == selected)
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private <T> void getLookupLists(MediaType mediaType,
+            Map<MediaType, List<T>> providers,
+            List<List<T>> consulted) {
+        if (mediaType != null) {
+            addLookupList(providers.get(mediaType), consulted);
+            addLookupList(providers.get(MediaTypes.getTypeWildCart(mediaType)), consulted);
+        }
+        addLookupList(providers.get(MediaTypes.GENERAL_MEDIA_TYPE), consulted);
+    }
+
+    private <T> void addLookupList(List<T> l, List<List<T>> consulted) {
+        if (l != null)
+            consulted.add(l);
+    }
+
+    private <T> void cacheSelection(ConcurrentHashMap<SelectionKey, T> cache,
+            SelectionKey key, T selected) {
+        if (cache.size() >= SELECTION_CACHE_SIZE)
+            cache.clear();
+        cache.put(key, selected);
+    }
+
     private <T> void getCompatibleReadersWritersMap(MediaType mediaType,
             Map<MediaType, List<T>> set,
             Map<MediaType, List<T>> subSet) {
@@ -45,17 +45,33 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
 
 /**
  * A scanner that recursively scans directories and jar files. 
  * Files or jar entries are reported to a {@link ScannerListener}.
+ * <p>
+ * If an index resource name is declared and a directory or jar file
+ * contains a resource of that name, then only the resources listed in that
+ * index are reported for that directory or jar file, otherwise all
+ * resources are reported. See {@link PackageNamesScanner} for the format of
+ * an index.
+ * <p>
+ * Jar files without an index are scanned concurrently, the scanning
+ * listener is never invoked concurrently and resources are reported in
+ * the same order as if all jar files were scanned sequentially.
  * 
  * @author Paul.Sandoz@Sun.Com
  */
-public class FilesScanner implements Scanner {
+public class FilesScanner implements DigestScanner {
 
     private final File[] files;
 
+    private final String indexName;
+
     /**
      * Scan from a set of files.
      * 
@@ -64,53 +80,187 @@ public class FilesScanner implements Scanner {
      *        is ignored.
      */
     public FilesScanner(final File[] files) {
+        this(files, null);
+    }
+
+    /**
+     * Scan from a set of files utilizing an index, if present, for each
+     * directory or jar file.
+     *
+     * @param files an array of files that are either directories or jar files
+     *        ending in the suffix '.jar' or '.zip'. Any other type of file
+     *        is ignored.
+     * @param indexName the resource name of the index, relative to the
+     *        directory or jar file. If null no index is utilized.
+     */
+    public FilesScanner(final File[] files, final String indexName) {
         this.files = files;
+        this.indexName = indexName;
     }
 
     // Scanner
     
     public void scan(final ScannerListener cfl) {
+        final List<RootsScanner.Root> roots = new ArrayList<RootsScanner.Root>();
         for (final File f : files) {
-            scan(f, cfl);
+            addRoots(f, roots);
         }
+        RootsScanner.scan(roots, cfl);
     }
 
-    private void scan(final File f, final ScannerListener cfl) {
+    // DigestScanner
+
+    public String digest() {
+        final ResourcesDigest d = new ResourcesDigest();
+        d.update(indexName != null ? indexName : "");
+        for (final File f : files) {
+            d.update(f);
+        }
+        return d.digest();
+    }
+
+    private void addRoots(final File f, final List<RootsScanner.Root> roots) {
         if (f.isDirectory()) {
-            scanDir(f, cfl);
-        } else if (f.getName().endsWith(".jar") || f.getName().endsWith(".zip")) {
-            try {
-                JarFileScanner.scan(f, "", cfl);
-            } catch (IOException ex) {
-                throw new ScannerException("IO error when scanning jar file " + f, ex);
+            if (indexName != null && new File(f, indexName).isFile()) {
+                roots.add(new IndexedDirectoryRoot(f));
+            } else {
+                addDirectoryRoots(f, roots);
             }
+        } else if (f.getName().endsWith(".jar") || f.getName().endsWith(".zip")) {
+            roots.add(new JarRoot(f));
         } else {
             // TODO log
         }
     }
 
-    private void scanDir(final File root, final ScannerListener cfl) {
+    private void addDirectoryRoots(final File root, final List<RootsScanner.Root> roots) {
         for (final File child : root.listFiles()) {
             if (child.isDirectory()) {
-                scanDir(child, cfl);
+                addDirectoryRoots(child, roots);
             } else if (child.getName().endsWith(".jar")) {
-                try {
-                    JarFileScanner.scan(child, "", cfl);
-                } catch (IOException ex) {
-                    throw new ScannerException("IO error when scanning jar file " + child, ex);
+                roots.add(new JarRoot(child));
+            } else {
+                roots.add(new FileRoot(child));
+            }
+        }
+    }
+
+    private static void process(final String name, final File f, final ScannerListener cfl) throws IOException {
+        new Closing(new BufferedInputStream(new FileInputStream(f))).f(new Closing.Closure() {
+
+            public void f(InputStream in) throws IOException {
+                cfl.onProcess(name, in);
+            }
+        });
+    }
+
+    private static final class FileRoot extends RootsScanner.Root {
+        private final File f;
+
+        FileRoot(File f) {
+            this.f = f;
+        }
+
+        boolean isConcurrent() {
+            return false;
+        }
+
+        void scan(ScannerListener cfl) throws IOException {
+            if (cfl.onAccept(f.getName())) {
+                process(f.getName(), f, cfl);
+            }
+        }
+
+        public String toString() {
+            return "file " + f;
+        }
+    }
+
+    private final class IndexedDirectoryRoot extends RootsScanner.Root {
+        private final File dir;
+
+        IndexedDirectoryRoot(File dir) {
+            this.dir = dir;
+        }
+
+        boolean isConcurrent() {
+            return false;
+        }
+
+        void scan(ScannerListener cfl) throws IOException {
+            final List<String> names;
+            final InputStream in = new FileInputStream(new File(dir, indexName));
+            try {
+                names = RootsScanner.readIndex(in);
+            } finally {
+                in.close();
+            }
+
+            for (String name : names) {
+                final File f = new File(dir, name);
+                if (f.isFile() && cfl.onAccept(name)) {
+                    process(name, f, cfl);
                 }
-            } else if (cfl.onAccept(child.getName())) {
+            }
+        }
+
+        public String toString() {
+            return "directory " + dir;
+        }
+    }
+
+    private final class JarRoot extends RootsScanner.Root {
+        private final File f;
+
+        JarRoot(File f) {
+            this.f = f;
+        }
+
+        boolean isConcurrent() {
+            return true;
+        }
+
+        void scan(final ScannerListener cfl) throws IOException {
+            if (indexName != null) {
+                final JarFile jar = new JarFile(f);
                 try {
-                    new Closing(new BufferedInputStream(new FileInputStream(child))).f(new Closing.Closure() {
+                    final ZipEntry index = jar.getEntry(indexName);
+                    if (index != null) {
+                        scan(jar, index, cfl);
+                        return;
+                    }
+                } finally {
+                    jar.close();
+                }
+            }
+
+            JarFileScanner.scan(f, "", cfl);
+        }
+
+        private void scan(final JarFile jar, final ZipEntry index, final ScannerListener cfl) throws IOException {
+            final List<String> names;
+            final InputStream in = jar.getInputStream(index);
+            try {
+                names = RootsScanner.readIndex(in);
+            } finally {
+                in.close();
+            }
+
+            for (final String name : names) {
+                final ZipEntry e = jar.getEntry(name);
+                if (e != null && !e.isDirectory() && cfl.onAccept(name)) {
+                    new Closing(jar.getInputStream(e)).f(new Closing.Closure() {
 
                         public void f(InputStream in) throws IOException {
-                            cfl.onProcess(child.getName(), in);
+                            cfl.onProcess(name, in);
                         }
                     });
-                } catch (IOException ex) {
-                    throw new ScannerException("IO error when scanning file " + child, ex);
                 }
             }
         }
+
+        public String toString() {
+            return "jar file " + f;
+        }
     }
 }
@@ -47,16 +47,27 @@ import com.sun.jersey.core.spi.scanning.uri.FileSchemeScanner;
 import com.sun.jersey.core.spi.scanning.uri.JarZipSchemeScanner;
 import com.sun.jersey.core.spi.scanning.uri.UriSchemeScanner;
 import com.sun.jersey.core.spi.scanning.uri.VfsSchemeScanner;
+import com.sun.jersey.core.util.Closing;
 import com.sun.jersey.spi.service.ServiceFinder;
+import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.ReflectPermission;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.security.AccessController;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
 
 /**
  * A scanner that recursively scans URI-based resources present in a set of
@@ -85,14 +96,31 @@ import java.util.Map;
  * <p>
  * If a URI scheme is not supported a {@link ScannerException} will be thrown
  * and package scanning deployment will fail.
+ * <p>
+ * If an index resource name is declared then the resources with that name
+ * are obtained in the same manner as the resources of a package name.
+ * A URI-based resource for a package name whose root, the URI minus the
+ * package path, is also the root of an index is not scanned. Instead only
+ * the resources listed in the index that are present in the package, or a
+ * sub-package, are reported. An index is a UTF-8 encoded text file
+ * containing one resource name, relative to the root, per line. Empty
+ * lines, and lines starting with '#', are ignored.
+ * <p>
+ * URI-based resources without an index for the "file", "jar" and "zip"
+ * schemes, and indexes of directories and jar files, are scanned
+ * concurrently, the scanning listener is never invoked concurrently and
+ * resources are reported in the same order as if all URI-based resources
+ * were scanned sequentially. The resources listed in the index of a jar file
+ * are read from a single open jar file.
  *
  * @author Paul.Sandoz@Sun.Com
  * @author Jakub.Podlesak@Sun.Com
  */
-public class PackageNamesScanner implements Scanner {
+public class PackageNamesScanner implements DigestScanner {
 
     private final String[] packages;
     private final ClassLoader classloader;
+    private final String indexName;
     private final Map<String, UriSchemeScanner> scanners;
 
     /**
@@ -111,8 +139,23 @@ public class PackageNamesScanner implements Scanner {
      * @param packages an array of package names.
      */
     public PackageNamesScanner(final ClassLoader classloader, final String[] packages) {
+        this(classloader, packages, null);
+    }
+
+    /**
+     * Scan from a set of packages using declared class loader and utilizing
+     * an index, if present, for each URI-based resource.
+     *
+     * @param classloader the class loader to load classes from.
+     * @param packages an array of package names.
+     * @param indexName the resource name of the index. If null no index is
+     *        utilized.
+     */
+    public PackageNamesScanner(final ClassLoader classloader, final String[] packages,
+            final String indexName) {
         this.packages = packages;
         this.classloader = classloader;
+        this.indexName = indexName;
 
         this.scanners = new HashMap<String, UriSchemeScanner>();
         add(new JarZipSchemeScanner());
@@ -133,13 +176,23 @@ public class PackageNamesScanner implements Scanner {
 
     @Override
     public void scan(final ScannerListener cfl) {
+        final Map<String, URL> indexes = getIndexes();
+        final List<RootsScanner.Root> roots = new ArrayList<RootsScanner.Root>();
         for (final String p : packages) {
+            final String path = p.replace('.', '/');
             try {
                 final Enumeration<URL> urls = ResourcesProvider.getInstance().
-                        getResources(p.replace('.', '/'), classloader);
+                        getResources(path, classloader);
                 while (urls.hasMoreElements()) {
+                    final URL url = urls.nextElement();
+                    final URL index = getIndex(indexes, url, path);
+                    if (index != null) {
+                        roots.add(new IndexedRoot(index, path));
+                        continue;
+                    }
+
                     try {
-                        scan(toURI(urls.nextElement()), cfl);
+                        roots.add(new UriRoot(toURI(url)));
                     } catch (URISyntaxException ex) {
                         throw new ScannerException("Error when converting a URL to a URI", ex);
                     }
@@ -148,6 +201,202 @@ public class PackageNamesScanner implements Scanner {
                 throw new ScannerException("IO error when package scanning jar", ex);
             }
         }
+        RootsScanner.scan(roots, cfl);
+    }
+
+    @Override
+    public String digest() {
+        final ResourcesDigest d = new ResourcesDigest();
+        try {
+            for (final URL index : getIndexes().values()) {
+                if (!d.update(toURI(index))) {
+                    return null;
+                }
+            }
+
+            for (final String p : packages) {
+                d.update(p);
+                final Enumeration<URL> urls = ResourcesProvider.getInstance().
+                        getResources(p.replace('.', '/'), classloader);
+                while (urls.hasMoreElements()) {
+                    if (!d.update(toURI(urls.nextElement()))) {
+                        return null;
+                    }
+                }
+            }
+        } catch (URISyntaxException ex) {
+            return null;
+        } catch (IOException ex) {
+            throw new ScannerException("IO error when computing the digest of packages", ex);
+        }
+        return d.digest();
+    }
+
+    /**
+     * Get the indexes, if any, keyed by the external form of the URL of
+     * the root of each index.
+     */
+    private Map<String, URL> getIndexes() {
+        if (indexName == null) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, URL> indexes = new TreeMap<String, URL>();
+        try {
+            final Enumeration<URL> urls = ResourcesProvider.getInstance().
+                    getResources(indexName, classloader);
+            while (urls.hasMoreElements()) {
+                final URL url = urls.nextElement();
+                final String s = url.toExternalForm();
+                if (s.endsWith(indexName)) {
+                    indexes.put(s.substring(0, s.length() - indexName.length()), url);
+                }
+            }
+        } catch (IOException ex) {
+            throw new ScannerException("IO error when obtaining the index " + indexName, ex);
+        }
+        return indexes;
+    }
+
+    private URL getIndex(final Map<String, URL> indexes, final URL url, final String path) {
+        if (indexes.isEmpty()) {
+            return null;
+        }
+
+        String s = url.toExternalForm();
+        if (path.length() > 0 && s.endsWith("/")) {
+            s = s.substring(0, s.length() - 1);
+        }
+        if (!s.endsWith(path)) {
+            return null;
+        }
+        return indexes.get(s.substring(0, s.length() - path.length()));
+    }
+
+    /**
+     * Get the jar file of a root of the form "jar:file:...!/".
+     *
+     * @return the jar file, or null if the root is not of that form.
+     */
+    private static File toJarFile(final String root) {
+        if (!root.startsWith("jar:file:") || !root.endsWith("!/")) {
+            return null;
+        }
+
+        try {
+            return new File(new URI(root.substring("jar:".length(), root.length() - "!/".length())));
+        } catch (URISyntaxException ex) {
+            return null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static InputStream openStream(final URL url) throws IOException {
+        final URLConnection c = url.openConnection();
+        // Avoid retaining open jar files
+        c.setUseCaches(false);
+        return c.getInputStream();
+    }
+
+    private final class UriRoot extends RootsScanner.Root {
+        private final URI u;
+
+        private final UriSchemeScanner ss;
+
+        UriRoot(URI u) {
+            this.u = u;
+            this.ss = scanners.get(u.getScheme().toLowerCase());
+        }
+
+        boolean isConcurrent() {
+            return ss instanceof JarZipSchemeScanner || ss instanceof FileSchemeScanner;
+        }
+
+        void scan(ScannerListener cfl) {
+            PackageNamesScanner.this.scan(u, cfl);
+        }
+
+        public String toString() {
+            return u.toString();
+        }
+    }
+
+    private final class IndexedRoot extends RootsScanner.Root {
+        private final URL index;
+
+        private final String path;
+
+        private final String root;
+
+        /**
+         * The jar file of the root, or null if the root is not a jar file.
+         */
+        private final File jar;
+
+        IndexedRoot(URL index, String path) {
+            this.index = index;
+            this.path = path;
+
+            final String s = index.toExternalForm();
+            this.root = s.substring(0, s.length() - indexName.length());
+            this.jar = toJarFile(root);
+        }
+
+        boolean isConcurrent() {
+            return jar != null || root.startsWith("file:");
+        }
+
+        void scan(final ScannerListener cfl) throws IOException {
+            if (jar != null) {
+                final JarFile jf = new JarFile(jar);
+                try {
+                    scan(cfl, jf);
+                } finally {
+                    jf.close();
+                }
+            } else {
+                scan(cfl, null);
+            }
+        }
+
+        private void scan(final ScannerListener cfl, final JarFile jf) throws IOException {
+            final List<String> names;
+            final InputStream in = openStream(jf, indexName);
+            try {
+                names = RootsScanner.readIndex(in);
+            } finally {
+                in.close();
+            }
+
+            final String prefix = path.length() > 0 ? path + "/" : "";
+            for (final String name : names) {
+                if (name.startsWith(prefix) && cfl.onAccept(name)) {
+                    new Closing(openStream(jf, name)).f(new Closing.Closure() {
+
+                        public void f(InputStream in) throws IOException {
+                            cfl.onProcess(name, in);
+                        }
+                    });
+                }
+            }
+        }
+
+        private InputStream openStream(final JarFile jf, final String name) throws IOException {
+            if (jf == null) {
+                return PackageNamesScanner.openStream(new URL(root + name));
+            }
+
+            final ZipEntry e = jf.getEntry(name);
+            if (e == null) {
+                throw new FileNotFoundException(root + name);
+            }
+            return jf.getInputStream(e);
+        }
+
+        public String toString() {
+            return index.toString();
+        }
     }
 
     /**
@@ -0,0 +1,146 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.core.spi.scanning;
+
+import com.sun.jersey.api.uri.UriComponent;
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Computes the digest of the resources of directories and jar files from
+ * the paths, sizes and modification times of those resources.
+ */
+final class ResourcesDigest {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final MessageDigest md;
+
+    ResourcesDigest() {
+        try {
+            md = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-1 is required to be supported by all Java platforms
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    void update(String s) {
+        md.update(s.getBytes(UTF8));
+        md.update((byte) 0);
+    }
+
+    private void update(long l) {
+        for (int i = 56; i >= 0; i -= 8) {
+            md.update((byte) (l >>> i));
+        }
+    }
+
+    /**
+     * Update with a file, or, recursively, the files of a directory.
+     *
+     * @param f the file or directory.
+     */
+    void update(File f) {
+        update(f.getPath());
+        if (f.isDirectory()) {
+            final File[] children = f.listFiles();
+            if (children != null) {
+                Arrays.sort(children);
+                for (File child : children) {
+                    update(child);
+                }
+            }
+        } else {
+            update(f.length());
+            update(f.lastModified());
+        }
+    }
+
+    /**
+     * Update with a "file" URI, or a "jar" or "zip" URI to an entry of a
+     * jar file that is a file.
+     *
+     * @param u the URI.
+     * @return true if updated, otherwise false if the URI is not supported.
+     */
+    boolean update(URI u) {
+        final String scheme = u.getScheme();
+        if ("file".equalsIgnoreCase(scheme)) {
+            update(new File(u.getPath()));
+            return true;
+        } else if ("jar".equalsIgnoreCase(scheme) || "zip".equalsIgnoreCase(scheme)) {
+            final String ssp = u.getRawSchemeSpecificPart();
+            final int i = ssp.lastIndexOf('!');
+            if (i == -1) {
+                return false;
+            }
+
+            final String jar = ssp.substring(0, i);
+            if (jar.startsWith("file:")) {
+                update(new File(URI.create(jar).getPath()));
+            } else if (jar.startsWith("/")) {
+                // The proprietary WebLogic form for a zip file
+                update(new File(UriComponent.decode(jar, UriComponent.Type.PATH)));
+            } else {
+                return false;
+            }
+            update(ssp.substring(i + 1));
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    String digest() {
+        final byte[] d = md.digest();
+        final char[] c = new char[d.length * 2];
+        for (int i = 0; i < d.length; i++) {
+            c[i * 2] = HEX[(d[i] >> 4) & 0xF];
+            c[i * 2 + 1] = HEX[d[i] & 0xF];
+        }
+        return new String(c);
+    }
+}
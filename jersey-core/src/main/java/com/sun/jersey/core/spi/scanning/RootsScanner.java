@@ -0,0 +1,259 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.core.spi.scanning;
+
+import com.sun.jersey.core.util.ReaderWriter;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Scans a list of roots, such as jar files or directories, reporting the
+ * resources of each root to a scanning listener in the order of the roots.
+ * <p>
+ * Roots that support concurrent scanning are scanned by a pool of threads.
+ * The resources of such a root that are accepted by the scanning listener
+ * are buffered and then reported to the scanning listener by the calling
+ * thread, so the scanning listener is never invoked concurrently. A bounded
+ * number of roots are scanned ahead of the root whose resources are being
+ * reported.
+ */
+final class RootsScanner {
+
+    /**
+     * A root to scan.
+     */
+    static abstract class Root {
+
+        /**
+         * @return true if this root may be scanned concurrently with other
+         *         roots, otherwise false.
+         */
+        abstract boolean isConcurrent();
+
+        /**
+         * Scan this root.
+         *
+         * @param sl the scanning listener to report resources.
+         * @throws IOException if an error occurred scanning the root.
+         */
+        abstract void scan(ScannerListener sl) throws IOException;
+
+        /**
+         * @return a description of the root, for error messages.
+         */
+        @Override
+        public abstract String toString();
+    }
+
+    private static final class Resource {
+        final String name;
+
+        final byte[] bytes;
+
+        Resource(String name, byte[] bytes) {
+            this.name = name;
+            this.bytes = bytes;
+        }
+    }
+
+    private RootsScanner() {
+    }
+
+    /**
+     * Scan a list of roots.
+     *
+     * @param roots the roots.
+     * @param sl the scanning listener to report resources.
+     * @throws ScannerException if an error occurred scanning a root.
+     */
+    static void scan(final List<Root> roots, final ScannerListener sl) {
+        int concurrent = 0;
+        for (Root r : roots) {
+            if (r.isConcurrent()) {
+                concurrent++;
+            }
+        }
+
+        final int threads = Math.min(concurrent, Runtime.getRuntime().availableProcessors());
+        if (threads < 2) {
+            for (Root r : roots) {
+                scan(r, sl);
+            }
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private int n;
+
+            @Override
+            public synchronized Thread newThread(Runnable r) {
+                final Thread t = new Thread(r, "jersey-scanner-" + ++n);
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        try {
+            // Serialize the invocations of the scanning listener
+            final ScannerListener synchronizedListener = new ScannerListener() {
+                @Override
+                public synchronized boolean onAccept(String name) {
+                    return sl.onAccept(name);
+                }
+
+                @Override
+                public synchronized void onProcess(String name, InputStream in) throws IOException {
+                    sl.onProcess(name, in);
+                }
+            };
+
+            final int window = threads * 2;
+            final List<Future<List<Resource>>> pending = new ArrayList<Future<List<Resource>>>(roots.size());
+            for (int i = 0; i < roots.size(); i++) {
+                while (pending.size() < roots.size() && pending.size() < i + window) {
+                    final Root r = roots.get(pending.size());
+                    pending.add(r.isConcurrent()
+                            ? executor.submit(buffer(r, synchronizedListener))
+                            : null);
+                }
+
+                final Root r = roots.get(i);
+                final Future<List<Resource>> f = pending.set(i, null);
+                if (f == null) {
+                    scan(r, synchronizedListener);
+                } else {
+                    for (Resource resource : get(r, f)) {
+                        try {
+                            synchronizedListener.onProcess(resource.name,
+                                    new ByteArrayInputStream(resource.bytes));
+                        } catch (IOException ex) {
+                            throw new ScannerException("IO error when scanning " + r, ex);
+                        }
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void scan(Root r, ScannerListener sl) {
+        try {
+            r.scan(sl);
+        } catch (IOException ex) {
+            throw new ScannerException("IO error when scanning " + r, ex);
+        }
+    }
+
+    private static Callable<List<Resource>> buffer(final Root r, final ScannerListener sl) {
+        return new Callable<List<Resource>>() {
+            @Override
+            public List<Resource> call() throws Exception {
+                final List<Resource> resources = new ArrayList<Resource>();
+                r.scan(new ScannerListener() {
+                    @Override
+                    public boolean onAccept(String name) {
+                        return sl.onAccept(name);
+                    }
+
+                    @Override
+                    public void onProcess(String name, InputStream in) throws IOException {
+                        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                        ReaderWriter.writeTo(in, out);
+                        resources.add(new Resource(name, out.toByteArray()));
+                    }
+                });
+                return resources;
+            }
+        };
+    }
+
+    private static List<Resource> get(Root r, Future<List<Resource>> f) {
+        try {
+            return f.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ScannerException("Interrupted when scanning " + r, ex);
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new ScannerException("IO error when scanning " + r, cause);
+            }
+        }
+    }
+
+    /**
+     * Read the resource names of an index.
+     * <p>
+     * An index is a UTF-8 encoded text file containing one resource name
+     * per line. Empty lines, and lines starting with '#', are ignored.
+     *
+     * @param in the input stream of the index.
+     * @return the list of resource names.
+     * @throws IOException if an error occurred reading the index.
+     */
+    static List<String> readIndex(InputStream in) throws IOException {
+        final List<String> names = new ArrayList<String>();
+        final BufferedReader r = new BufferedReader(new InputStreamReader(in, ReaderWriter.UTF8));
+        String line;
+        while ((line = r.readLine()) != null) {
+            line = line.trim();
+            if (line.length() > 0 && line.charAt(0) != '#') {
+                names.add(line);
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,422 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.core.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of byte and character arrays that are utilized as buffers when
+ * reading and writing entities.
+ * <p>
+ * Buffers are grouped into size classes, each a power of two multiple of
+ * the minimum buffer size up to and including the maximum buffer size.
+ * A buffer taken from the pool is at least as large as the requested size.
+ * Buffers are retained per-thread, up to a maximum number of buffers for
+ * each size class, so that taking and returning a buffer requires no
+ * synchronization. Requests for buffers larger than the maximum buffer size
+ * are never pooled.
+ * <p>
+ * The default pool, returned by {@link #getDefault() }, is utilized by
+ * {@link ReaderWriter} and may be configured using the system properties
+ * {@link #MAX_BUFFER_SIZE_SYSTEM_PROPERTY} and
+ * {@link #MAX_BUFFERS_PER_THREAD_SYSTEM_PROPERTY}.
+ * <p>
+ * The per-thread state only references arrays, and no Jersey classes, such
+ * that the class loader of an application is not retained by threads of the
+ * container after that application has been undeployed.
+ */
+public final class BufferPool {
+    /**
+     * The system property to set the maximum size of a pooled buffer of
+     * the default pool.
+     * <p>
+     * If the property value is 0 then buffers are not pooled. If the
+     * property value is not a non-negative integer then the default maximum
+     * buffer size declared by {@link #DEFAULT_MAX_BUFFER_SIZE} will be
+     * utilized.
+     */
+    public static final String MAX_BUFFER_SIZE_SYSTEM_PROPERTY =
+            "com.sun.jersey.core.util.BufferPool.MaxBufferSize";
+
+    /**
+     * The system property to set the maximum number of buffers, of each size
+     * class, that are retained per-thread by the default pool.
+     * <p>
+     * If the property value is 0 then buffers are not pooled. If the
+     * property value is not a non-negative integer then the default
+     * declared by {@link #DEFAULT_MAX_BUFFERS_PER_THREAD} will be utilized.
+     */
+    public static final String MAX_BUFFERS_PER_THREAD_SYSTEM_PROPERTY =
+            "com.sun.jersey.core.util.BufferPool.MaxBuffersPerThread";
+
+    /**
+     * The default minimum buffer size.
+     */
+    public static final int DEFAULT_MIN_BUFFER_SIZE = 1024;
+
+    /**
+     * The default maximum buffer size.
+     */
+    public static final int DEFAULT_MAX_BUFFER_SIZE = 65536;
+
+    /**
+     * The default maximum number of buffers, of each size class, that are
+     * retained per-thread.
+     */
+    public static final int DEFAULT_MAX_BUFFERS_PER_THREAD = 2;
+
+    private static final BufferPool DEFAULT = new BufferPool(
+            DEFAULT_MIN_BUFFER_SIZE,
+            getProperty(MAX_BUFFER_SIZE_SYSTEM_PROPERTY, DEFAULT_MAX_BUFFER_SIZE),
+            getProperty(MAX_BUFFERS_PER_THREAD_SYSTEM_PROPERTY, DEFAULT_MAX_BUFFERS_PER_THREAD));
+
+    private static int getProperty(String name, int defaultValue) {
+        String v = System.getProperty(name, Integer.toString(defaultValue));
+        try {
+            int i = Integer.valueOf(v);
+            if (i < 0)
+                throw new NumberFormatException();
+            return i;
+        } catch (NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get the default pool.
+     *
+     * @return the default pool.
+     */
+    public static BufferPool getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Statistics of the buffers taken from, and returned to, a pool.
+     */
+    public static final class Statistics {
+        private final long hits;
+
+        private final long misses;
+
+        private final long unpooled;
+
+        private final long discarded;
+
+        Statistics(long hits, long misses, long unpooled, long discarded) {
+            this.hits = hits;
+            this.misses = misses;
+            this.unpooled = unpooled;
+            this.discarded = discarded;
+        }
+
+        /**
+         * Get the number of buffers taken that were obtained from the pool.
+         *
+         * @return the number of hits.
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * Get the number of buffers taken, that could be pooled, but were
+         * created because the pool had no buffer of the size class.
+         *
+         * @return the number of misses.
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * Get the number of buffers taken that were created because they are
+         * larger than the maximum buffer size, or because pooling is
+         * disabled.
+         *
+         * @return the number of unpooled buffers.
+         */
+        public long getUnpooled() {
+            return unpooled;
+        }
+
+        /**
+         * Get the number of buffers returned that were not retained because
+         * the pool was full, or because the buffer length is not that of a
+         * size class.
+         *
+         * @return the number of discarded buffers.
+         */
+        public long getDiscarded() {
+            return discarded;
+        }
+
+        /**
+         * Get the ratio of hits to all buffers taken.
+         *
+         * @return the hit rate, between 0 and 1, or 0 if no buffers
+         *         have been taken.
+         */
+        public double getHitRate() {
+            final long taken = hits + misses + unpooled;
+            return (taken == 0) ? 0 : (double)hits / taken;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", misses=" + misses +
+                    ", unpooled=" + unpooled + ", discarded=" + discarded +
+                    ", hit rate=" + getHitRate();
+        }
+    }
+
+    private final int minBufferSize;
+
+    private final int maxBufferSize;
+
+    private final int sizeClasses;
+
+    private final int maxBuffersPerThread;
+
+    private final ThreadLocal<byte[][][]> bytes = new ThreadLocal<byte[][][]>();
+
+    private final ThreadLocal<char[][][]> chars = new ThreadLocal<char[][][]>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong unpooled = new AtomicLong();
+
+    private final AtomicLong discarded = new AtomicLong();
+
+    /**
+     * Create a new pool.
+     *
+     * @param minBufferSize the minimum buffer size, that is the size of
+     *        the smallest size class. The value is rounded up to a power of
+     *        two.
+     * @param maxBufferSize the maximum buffer size of a pooled buffer. If 0
+     *        then buffers are not pooled.
+     * @param maxBuffersPerThread the maximum number of buffers, of each size
+     *        class, that are retained per-thread. If 0 then buffers are not
+     *        pooled.
+     * @throws IllegalArgumentException if <code>minBufferSize</code> is not
+     *         positive, or <code>maxBufferSize</code> or
+     *         <code>maxBuffersPerThread</code> is negative.
+     */
+    public BufferPool(int minBufferSize, int maxBufferSize, int maxBuffersPerThread) {
+        if (minBufferSize <= 0 || maxBufferSize < 0 || maxBuffersPerThread < 0)
+            throw new IllegalArgumentException();
+
+        int size = Integer.highestOneBit(minBufferSize);
+        if (size < minBufferSize)
+            size <<= 1;
+        this.minBufferSize = size;
+
+        int classes = 0;
+        while (size > 0 && size <= maxBufferSize) {
+            classes++;
+            size <<= 1;
+        }
+        this.sizeClasses = (maxBuffersPerThread == 0) ? 0 : classes;
+        this.maxBufferSize = (sizeClasses == 0) ? 0 : this.minBufferSize << (sizeClasses - 1);
+        this.maxBuffersPerThread = maxBuffersPerThread;
+    }
+
+    /**
+     * Get the maximum size of a pooled buffer.
+     *
+     * @return the maximum buffer size, or 0 if buffers are not pooled.
+     */
+    public int getMaxBufferSize() {
+        return maxBufferSize;
+    }
+
+    /**
+     * Take a byte array from the pool.
+     * <p>
+     * The array should be returned to the pool, using
+     * {@link #returnBytes(byte[]) }, when it is no longer used.
+     *
+     * @param size the minimum size of the array.
+     * @return the byte array whose length is greater than or equal to
+     *         <code>size</code>. The array content is undefined.
+     */
+    public byte[] takeBytes(int size) {
+        final int c = getSizeClass(size);
+        if (c == -1) {
+            unpooled.incrementAndGet();
+            return new byte[size];
+        }
+
+        final byte[][][] cache = bytes.get();
+        if (cache != null) {
+            final byte[][] buffers = cache[c];
+            for (int i = buffers.length - 1; i >= 0; i--) {
+                final byte[] b = buffers[i];
+                if (b != null) {
+                    buffers[i] = null;
+                    hits.incrementAndGet();
+                    return b;
+                }
+            }
+        }
+        misses.incrementAndGet();
+        return new byte[minBufferSize << c];
+    }
+
+    /**
+     * Return a byte array, previously taken from the pool, to the pool.
+     * <p>
+     * The array must no longer be referenced by the caller.
+     *
+     * @param b the byte array.
+     */
+    public void returnBytes(byte[] b) {
+        final int c = getReturnedSizeClass(b.length);
+        if (c == -1)
+            return;
+
+        byte[][][] cache = bytes.get();
+        if (cache == null) {
+            cache = new byte[sizeClasses][maxBuffersPerThread][];
+            bytes.set(cache);
+        }
+        final byte[][] buffers = cache[c];
+        for (int i = 0; i < buffers.length; i++) {
+            if (buffers[i] == null) {
+                buffers[i] = b;
+                return;
+            }
+        }
+        discarded.incrementAndGet();
+    }
+
+    /**
+     * Take a character array from the pool.
+     * <p>
+     * The array should be returned to the pool, using
+     * {@link #returnChars(char[]) }, when it is no longer used.
+     *
+     * @param size the minimum size of the array.
+     * @return the character array whose length is greater than or equal to
+     *         <code>size</code>. The array content is undefined.
+     */
+    public char[] takeChars(int size) {
+        final int c = getSizeClass(size);
+        if (c == -1) {
+            unpooled.incrementAndGet();
+            return new char[size];
+        }
+
+        final char[][][] cache = chars.get();
+        if (cache != null) {
+            final char[][] buffers = cache[c];
+            for (int i = buffers.length - 1; i >= 0; i--) {
+                final char[] b = buffers[i];
+                if (b != null) {
+                    buffers[i] = null;
+                    hits.incrementAndGet();
+                    return b;
+                }
+            }
+        }
+        misses.incrementAndGet();
+        return new char[minBufferSize << c];
+    }
+
+    /**
+     * Return a character array, previously taken from the pool, to the pool.
+     * <p>
+     * The array must no longer be referenced by the caller.
+     *
+     * @param b the character array.
+     */
+    public void returnChars(char[] b) {
+        final int c = getReturnedSizeClass(b.length);
+        if (c == -1)
+            return;
+
+        char[][][] cache = chars.get();
+        if (cache == null) {
+            cache = new char[sizeClasses][maxBuffersPerThread][];
+            chars.set(cache);
+        }
+        final char[][] buffers = cache[c];
+        for (int i = 0; i < buffers.length; i++) {
+            if (buffers[i] == null) {
+                buffers[i] = b;
+                return;
+            }
+        }
+        discarded.incrementAndGet();
+    }
+
+    /**
+     * Get the statistics of the pool.
+     *
+     * @return the statistics.
+     */
+    public Statistics getStatistics() {
+        return new Statistics(hits.get(), misses.get(), unpooled.get(), discarded.get());
+    }
+
+    private int getSizeClass(int size) {
+        if (size > maxBufferSize || sizeClasses == 0)
+            return -1;
+        if (size <= minBufferSize)
+            return 0;
+        return 32 - Integer.numberOfLeadingZeros((size - 1) / minBufferSize);
+    }
+
+    private int getReturnedSizeClass(int length) {
+        // Only arrays whose length is exactly that of a size class
+        // are retained
+        if (sizeClasses == 0)
+            return -1;
+        if (length > maxBufferSize || length < minBufferSize ||
+                Integer.bitCount(length) != 1) {
+            discarded.incrementAndGet();
+            return -1;
+        }
+        return Integer.numberOfTrailingZeros(length / minBufferSize);
+    }
+}
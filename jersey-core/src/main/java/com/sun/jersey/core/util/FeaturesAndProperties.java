@@ -92,6 +92,23 @@ public interface FeaturesAndProperties {
     public static final String FEATURE_PRE_1_4_PROVIDER_PRECEDENCE
             = "com.sun.jersey.config.feature.Pre14ProviderPrecedence";
 
+    /**
+     * The maximum number of idle JAXB marshallers, and independently
+     * unmarshallers, that are retained for reuse per JAXB context by the
+     * JAXB-based message body readers and writers.
+     * <p>
+     * The value may be an instance of {@link Integer} or a {@link String}
+     * that can be parsed as an integer. A value of 0 disables pooling and a
+     * new marshaller or unmarshaller will be created for each entity.
+     * <p>
+     * Marshallers and unmarshallers obtained from a
+     * {@link javax.ws.rs.ext.ContextResolver} are never pooled.
+     * <p>
+     * The default value is 16.
+     */
+    public static final String PROPERTY_JAXB_POOL_SIZE
+            = "com.sun.jersey.config.property.JAXBPoolSize";
+
     /**
      * Get the map of features associated with the client.
      *
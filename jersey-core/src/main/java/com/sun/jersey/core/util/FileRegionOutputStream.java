@@ -0,0 +1,72 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.core.util;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * An output stream that can write a region of a file without copying the
+ * bytes of the region through the Java heap, for example by using
+ * {@link java.nio.channels.FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel) }
+ * or the sendfile system call.
+ * <p>
+ * A message body writer of a file-based entity may check if the output
+ * stream passed to {@link javax.ws.rs.ext.MessageBodyWriter#writeTo }
+ * implements this interface and, if so, attempt to write the file as a
+ * region. If the region is not written the file must be written to the
+ * output stream as usual.
+ */
+public interface FileRegionOutputStream {
+
+    /**
+     * Write a region of a file.
+     *
+     * @param file the file.
+     * @param position the position in the file of the first byte of the region.
+     * @param count the number of bytes of the region.
+     * @return true if the region was written, otherwise false if the region
+     *         cannot be written without copying, in which case no bytes
+     *         have been written.
+     * @throws IOException if an error occurred writing the region.
+     */
+    boolean writeFileRegion(File file, long position, long count) throws IOException;
+}
@@ -0,0 +1,387 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.core.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * A utility class for compressing and decompressing streams in the GZIP
+ * format using pooled instances of {@link Deflater} and {@link Inflater}.
+ * <p>
+ * A {@link java.util.zip.GZIPOutputStream} or
+ * {@link java.util.zip.GZIPInputStream} creates, and initializes the native
+ * state of, a new deflater or inflater for each stream. The streams returned
+ * by this class take a deflater or inflater from a pool and return it to the
+ * pool, once reset, when the stream is finished, completely read or closed.
+ * The number of idle deflaters, and independently inflaters, that are
+ * retained is by default twice the number of available processors. This
+ * value can be set using the system property
+ * {@link #MAX_POOL_SIZE_SYSTEM_PROPERTY}.
+ */
+public final class GZIPStreams {
+    /**
+     * The system property to set the maximum number of idle deflaters, and
+     * independently inflaters, that are retained for reuse.
+     * <p>
+     * If the property value is not a non-negative integer then twice the
+     * number of available processors will be utilized.
+     */
+    public static final String MAX_POOL_SIZE_SYSTEM_PROPERTY =
+            "com.sun.jersey.core.util.GZIPStreams.MaxPoolSize";
+
+    private static final int MAX_POOL_SIZE = getMaxPoolSize();
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+
+    private static final byte[] HEADER = {
+        (byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), Deflater.DEFLATED,
+        0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int FHCRC = 2;
+
+    private static final int FEXTRA = 4;
+
+    private static final int FNAME = 8;
+
+    private static final int FCOMMENT = 16;
+
+    private static final Pool<Deflater> deflaters = new Pool<Deflater>() {
+        @Override
+        protected void reset(Deflater d) {
+            d.reset();
+        }
+
+        @Override
+        protected void end(Deflater d) {
+            d.end();
+        }
+    };
+
+    private static final Pool<Inflater> inflaters = new Pool<Inflater>() {
+        @Override
+        protected void reset(Inflater i) {
+            i.reset();
+        }
+
+        @Override
+        protected void end(Inflater i) {
+            i.end();
+        }
+    };
+
+    private GZIPStreams() {
+    }
+
+    private static int getMaxPoolSize() {
+        final int defaultValue = 2 * Runtime.getRuntime().availableProcessors();
+        String v = System.getProperty(MAX_POOL_SIZE_SYSTEM_PROPERTY,
+                Integer.toString(defaultValue));
+        try {
+            int i = Integer.valueOf(v);
+            if (i < 0)
+                throw new NumberFormatException();
+            return i;
+        } catch (NumberFormatException ex) {
+            return defaultValue;
+        }
+    }
+
+    private static abstract class Pool<T> {
+        private final Queue<T> idle = new ConcurrentLinkedQueue<T>();
+
+        private final AtomicInteger size = new AtomicInteger();
+
+        T take() {
+            final T t = idle.poll();
+            if (t != null) {
+                size.decrementAndGet();
+            }
+            return t;
+        }
+
+        void release(T t) {
+            reset(t);
+            if (size.incrementAndGet() <= MAX_POOL_SIZE) {
+                idle.offer(t);
+            } else {
+                size.decrementAndGet();
+                end(t);
+            }
+        }
+
+        protected abstract void reset(T t);
+
+        protected abstract void end(T t);
+    }
+
+    /**
+     * Create an output stream that compresses bytes in the GZIP format.
+     * <p>
+     * The GZIP trailer is written when the returned stream is finished
+     * or closed.
+     *
+     * @param out the output stream to write compressed bytes to.
+     * @param level the compression level, from 0 to 9 or
+     *        {@link Deflater#DEFAULT_COMPRESSION}.
+     * @return the output stream to write uncompressed bytes to.
+     * @throws IOException if the GZIP header cannot be written.
+     * @throws IllegalArgumentException if the compression level is invalid.
+     */
+    public static DeflaterOutputStream compress(OutputStream out, int level) throws IOException {
+        if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION)
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+
+        Deflater d = deflaters.take();
+        if (d == null) {
+            d = new Deflater(level, true);
+        } else {
+            d.setLevel(level);
+        }
+        return new GZIPDeflaterOutputStream(out, d);
+    }
+
+    /**
+     * Create an input stream that decompresses bytes in the GZIP format.
+     * <p>
+     * The GZIP header is read when the stream is created. Only the first
+     * GZIP member of the input stream is decompressed.
+     *
+     * @param in the input stream to read compressed bytes from.
+     * @return the input stream to read uncompressed bytes from.
+     * @throws ZipException if the GZIP header is not valid.
+     * @throws IOException if the GZIP header cannot be read.
+     */
+    public static InflaterInputStream decompress(InputStream in) throws IOException {
+        Inflater i = inflaters.take();
+        if (i == null) {
+            i = new Inflater(true);
+        }
+        try {
+            return new GZIPInflaterInputStream(in, i);
+        } catch (IOException e) {
+            inflaters.release(i);
+            throw e;
+        }
+    }
+
+    private static final class GZIPDeflaterOutputStream extends DeflaterOutputStream {
+        private final CRC32 crc = new CRC32();
+
+        private boolean released;
+
+        private boolean closed;
+
+        GZIPDeflaterOutputStream(OutputStream out, Deflater d) throws IOException {
+            super(out, d, 512);
+            out.write(HEADER);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            // The deflater may be in use by another stream once released
+            if (released)
+                throw new IOException("write beyond end of stream");
+
+            super.write(b, off, len);
+            crc.update(b, off, len);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (released)
+                return;
+
+            super.finish();
+
+            final byte[] trailer = new byte[8];
+            writeInt((int) crc.getValue(), trailer, 0);
+            writeInt((int) def.getBytesRead(), trailer, 4);
+            out.write(trailer);
+
+            released = true;
+            deflaters.release(def);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed)
+                return;
+
+            closed = true;
+            try {
+                finish();
+            } finally {
+                out.close();
+            }
+        }
+
+        private static void writeInt(int i, byte[] b, int offset) {
+            b[offset] = (byte) i;
+            b[offset + 1] = (byte) (i >> 8);
+            b[offset + 2] = (byte) (i >> 16);
+            b[offset + 3] = (byte) (i >> 24);
+        }
+    }
+
+    private static final class GZIPInflaterInputStream extends InflaterInputStream {
+        private final CRC32 crc = new CRC32();
+
+        private boolean eos;
+
+        private boolean released;
+
+        GZIPInflaterInputStream(InputStream in, Inflater i) throws IOException {
+            super(in, i, 512);
+            readHeader();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (eos)
+                return -1;
+
+            final int n = super.read(b, off, len);
+            if (n == -1) {
+                readTrailer();
+                eos = true;
+                release();
+            } else {
+                crc.update(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return eos ? 0 : super.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                release();
+            } finally {
+                super.close();
+            }
+        }
+
+        private void release() {
+            if (!released) {
+                released = true;
+                inflaters.release(inf);
+            }
+        }
+
+        private void readHeader() throws IOException {
+            final CheckedInputStream cin = new CheckedInputStream(in, crc);
+            crc.reset();
+
+            if (readUShort(cin) != GZIP_MAGIC)
+                throw new ZipException("Not in GZIP format");
+            if (readUByte(cin) != Deflater.DEFLATED)
+                throw new ZipException("Unsupported compression method");
+            final int flags = readUByte(cin);
+            // Skip the modification time, extra flags and operating system
+            skipBytes(cin, 6);
+            if ((flags & FEXTRA) == FEXTRA)
+                skipBytes(cin, readUShort(cin));
+            if ((flags & FNAME) == FNAME)
+                while (readUByte(cin) != 0) ;
+            if ((flags & FCOMMENT) == FCOMMENT)
+                while (readUByte(cin) != 0) ;
+            if ((flags & FHCRC) == FHCRC) {
+                final int v = (int) crc.getValue() & 0xffff;
+                if (readUShort(in) != v)
+                    throw new ZipException("Corrupt GZIP header");
+            }
+            crc.reset();
+        }
+
+        private void readTrailer() throws IOException {
+            // The trailer may be partially read in to the buffer
+            final int n = inf.getRemaining();
+            final InputStream tin = (n > 0)
+                    ? new SequenceInputStream(new ByteArrayInputStream(buf, len - n, n), in)
+                    : in;
+            if (readUInt(tin) != crc.getValue() ||
+                    readUInt(tin) != (inf.getBytesWritten() & 0xffffffffL))
+                throw new ZipException("Corrupt GZIP trailer");
+        }
+
+        private static long readUInt(InputStream in) throws IOException {
+            final long s = readUShort(in);
+            return ((long) readUShort(in) << 16) | s;
+        }
+
+        private static int readUShort(InputStream in) throws IOException {
+            final int b = readUByte(in);
+            return (readUByte(in) << 8) | b;
+        }
+
+        private static int readUByte(InputStream in) throws IOException {
+            final int b = in.read();
+            if (b == -1)
+                throw new EOFException();
+            return b;
+        }
+
+        private static void skipBytes(InputStream in, int n) throws IOException {
+            while (n-- > 0) {
+                readUByte(in);
+            }
+        }
+    }
+}
@@ -0,0 +1,500 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.core.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@link Map} that compares keys using a {@link KeyComparator}, iterates
+ * in insertion order, and uses open addressing rather than a node per
+ * mapping.
+ * <p>
+ * Mappings are held in insertion order in parallel arrays of keys, values
+ * and hash codes, and an index table of those arrays is probed linearly.
+ * Putting a new key allocates nothing unless the arrays need to grow. A
+ * removed mapping leaves a gap in the arrays, which is reclaimed when the
+ * arrays next grow.
+ * <p>
+ * The map is intended for small maps, such as the HTTP headers of a
+ * request or response, that are built once and mostly read. It supports
+ * <code>null</code> keys and values and is not synchronized.
+ *
+ * @param <K> the type of keys.
+ * @param <V> the type of values.
+ */
+public class KeyComparatorOpenHashMap<K, V> extends AbstractMap<K, V>
+        implements Map<K, V>, Cloneable, Serializable {
+
+    private static final long serialVersionUID = -3174590412385602398L;
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    /**
+     * The key of a removed mapping.
+     */
+    private static final Object REMOVED = new Object();
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private static final int[] EMPTY_INDEX = new int[0];
+
+    private final KeyComparator<K> keyComparator;
+
+    private transient Object[] keys = EMPTY;
+
+    private transient Object[] values = EMPTY;
+
+    private transient int[] hashes = EMPTY_INDEX;
+
+    /**
+     * The index table. A slot is 0 if empty, otherwise the index of a mapping
+     * in {@link #keys} plus 1. The length is a power of two at least twice the
+     * length of {@link #keys}.
+     */
+    private transient int[] index = EMPTY_INDEX;
+
+    /**
+     * The number of used elements of {@link #keys}, including removed
+     * mappings.
+     */
+    private transient int count;
+
+    private transient int size;
+
+    private transient int modCount;
+
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    /**
+     * Constructs an empty map.
+     *
+     * @param keyComparator the key comparator.
+     */
+    public KeyComparatorOpenHashMap(KeyComparator<K> keyComparator) {
+        this.keyComparator = keyComparator;
+    }
+
+    /**
+     * Constructs a map with the same mappings as the specified map.
+     *
+     * @param m the map whose mappings are to be placed in this map.
+     * @param keyComparator the key comparator.
+     */
+    public KeyComparatorOpenHashMap(Map<? extends K, ? extends V> m,
+            KeyComparator<K> keyComparator) {
+        this(keyComparator);
+        putAll(m);
+    }
+
+    /**
+     * Get the modification count, which changes when a mapping is added or
+     * removed.
+     *
+     * @return the modification count.
+     */
+    public int getModCount() {
+        return modCount;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        final int i = indexOf(key);
+        return (i < 0) ? null : (V) values[i];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < count; i++) {
+            if (keys[i] != REMOVED &&
+                    (value == null ? values[i] == null : value.equals(values[i])))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        final int h = hash(key);
+        final int i = indexOf(key, h);
+        if (i >= 0) {
+            final V old = (V) values[i];
+            values[i] = value;
+            return old;
+        }
+
+        if (count == keys.length)
+            grow();
+
+        final int e = count++;
+        keys[e] = key;
+        values[e] = value;
+        hashes[e] = h;
+        insert(h, e);
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        final int i = indexOf(key);
+        if (i < 0)
+            return null;
+
+        final V old = (V) values[i];
+        removeAt(i);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        if (count > 0) {
+            Arrays.fill(keys, 0, count, null);
+            Arrays.fill(values, 0, count, null);
+            Arrays.fill(index, 0);
+            count = 0;
+            size = 0;
+            modCount++;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> es = entrySet;
+        return (es != null) ? es : (entrySet = new EntrySet());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object clone() {
+        final KeyComparatorOpenHashMap<K, V> m;
+        try {
+            m = (KeyComparatorOpenHashMap<K, V>) super.clone();
+        } catch (CloneNotSupportedException ex) {
+            throw new InternalError();
+        }
+        m.keys = keys.clone();
+        m.values = values.clone();
+        m.hashes = hashes.clone();
+        m.index = index.clone();
+        m.entrySet = null;
+        return m;
+    }
+
+    private int hash(Object key) {
+        if (key == null)
+            return 0;
+
+        @SuppressWarnings("unchecked")
+        int h = keyComparator.hash((K) key);
+        h ^= (h >>> 20) ^ (h >>> 12);
+        return h ^ (h >>> 7) ^ (h >>> 4);
+    }
+
+    private int indexOf(Object key) {
+        return (size == 0) ? -1 : indexOf(key, hash(key));
+    }
+
+    @SuppressWarnings("unchecked")
+    private int indexOf(Object key, int h) {
+        if (index.length == 0)
+            return -1;
+
+        final int mask = index.length - 1;
+        for (int s = h & mask; ; s = (s + 1) & mask) {
+            final int e = index[s] - 1;
+            if (e < 0)
+                return -1;
+
+            final Object k = keys[e];
+            if (hashes[e] == h && k != REMOVED &&
+                    (k == key || (k != null && key != null && keyComparator.equals((K) k, (K) key))))
+                return e;
+        }
+    }
+
+    private void insert(int h, int e) {
+        final int mask = index.length - 1;
+        int s = h & mask;
+        while (index[s] != 0) {
+            s = (s + 1) & mask;
+        }
+        index[s] = e + 1;
+    }
+
+    private void removeAt(int e) {
+        // The slot in the index table referring to the mapping is retained
+        // so that probing continues past it
+        keys[e] = REMOVED;
+        values[e] = null;
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Grow the arrays, or reclaim the removed mappings if at least half
+     * of the mappings are removed, and rebuild the index table.
+     */
+    private void grow() {
+        final int capacity = (keys.length == 0)
+                ? DEFAULT_CAPACITY
+                : (size * 2 <= keys.length) ? keys.length : keys.length * 2;
+
+        final Object[] ks = new Object[capacity];
+        final Object[] vs = new Object[capacity];
+        final int[] hs = new int[capacity];
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (keys[i] != REMOVED) {
+                ks[n] = keys[i];
+                vs[n] = values[i];
+                hs[n] = hashes[i];
+                n++;
+            }
+        }
+
+        keys = ks;
+        values = vs;
+        hashes = hs;
+        count = n;
+        index = new int[capacity * 2];
+        for (int i = 0; i < n; i++) {
+            insert(hs[i], i);
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+
+            final Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            final int i = indexOf(e.getKey());
+            if (i < 0)
+                return false;
+            final Object v = values[i];
+            return (v == null) ? e.getValue() == null : v.equals(e.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o))
+                return false;
+
+            removeAt(indexOf(((Map.Entry<?, ?>) o).getKey()));
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            KeyComparatorOpenHashMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private int next;
+
+        private int last = -1;
+
+        private int expectedModCount = modCount;
+
+        EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            while (next < count && keys[next] == REMOVED) {
+                next++;
+            }
+        }
+
+        public boolean hasNext() {
+            return next < count;
+        }
+
+        public Map.Entry<K, V> next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (next >= count)
+                throw new NoSuchElementException();
+
+            last = next++;
+            advance();
+            return new Entry(last);
+        }
+
+        public void remove() {
+            if (last < 0)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            removeAt(last);
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    private final class Entry implements Map.Entry<K, V> {
+        private final int i;
+
+        private final K key;
+
+        Entry(int i) {
+            this.i = i;
+            @SuppressWarnings("unchecked")
+            final K k = (K) keys[i];
+            this.key = k;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * @return true if the mapping has not been moved or removed since
+         *         this entry was created.
+         */
+        private boolean isCurrent() {
+            return i < count && keys[i] == key;
+        }
+
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            return isCurrent() ? (V) values[i] : get(key);
+        }
+
+        @SuppressWarnings("unchecked")
+        public V setValue(V value) {
+            if (isCurrent()) {
+                final V old = (V) values[i];
+                values[i] = value;
+                return old;
+            }
+            return put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry))
+                return false;
+
+            final Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            final Object v = getValue();
+            return (key == null ? e.getKey() == null : key.equals(e.getKey())) &&
+                    (v == null ? e.getValue() == null : v.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            final Object v = getValue();
+            return (key == null ? 0 : key.hashCode()) ^ (v == null ? 0 : v.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+
+    private void writeObject(ObjectOutputStream s) throws IOException {
+        s.defaultWriteObject();
+        s.writeInt(size);
+        for (int i = 0; i < count; i++) {
+            if (keys[i] != REMOVED) {
+                s.writeObject(keys[i]);
+                s.writeObject(values[i]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream s) throws IOException, ClassNotFoundException {
+        s.defaultReadObject();
+        keys = EMPTY;
+        values = EMPTY;
+        hashes = EMPTY_INDEX;
+        index = EMPTY_INDEX;
+        final int n = s.readInt();
+        for (int i = 0; i < n; i++) {
+            put((K) s.readObject(), (V) s.readObject());
+        }
+    }
+}
@@ -43,7 +43,6 @@ package com.sun.jersey.core.util;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import javax.ws.rs.core.MultivaluedMap;
@@ -64,7 +63,7 @@ public class MultivaluedMapImpl
 
     public MultivaluedMapImpl(MultivaluedMap<String, String> that) {
         for (Map.Entry<String, List<String>> e : that.entrySet()) {
-            this.put(e.getKey(), new ArrayList<String>(e.getValue()));
+            this.put(e.getKey(), new ValueList<String>(e.getValue()));
         }
     }
 
@@ -156,7 +155,7 @@ public class MultivaluedMapImpl
     private List<String> getList(String key) {
         List<String> l = get(key);
         if (l == null) {
-            l = new LinkedList<String>();
+            l = new ValueList<String>();
             put(key, l);
         }
         return l;
@@ -40,7 +40,6 @@
 
 package com.sun.jersey.core.util;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -57,6 +56,8 @@ import javax.ws.rs.core.MediaType;
  * If a byte or character array is utilized then the size of the array
  * is by default the value of {@link #DEFAULT_BUFFER_SIZE}. This value can
  * be set using the system property {@link #BUFFER_SIZE_SYSTEM_PROPERTY}.
+ * Such arrays are taken from, and returned to, the default
+ * {@link BufferPool}.
  *
  * @author Paul.Sandoz@Sun.Com
  */
@@ -110,9 +111,14 @@ public final class ReaderWriter {
      */
     public static final void writeTo(InputStream in, OutputStream out) throws IOException {
         int read;
-        final byte[] data = new byte[BUFFER_SIZE];
-        while ((read = in.read(data)) != -1)
-            out.write(data, 0, read);
+        final BufferPool pool = BufferPool.getDefault();
+        final byte[] data = pool.takeBytes(BUFFER_SIZE);
+        try {
+            while ((read = in.read(data)) != -1)
+                out.write(data, 0, read);
+        } finally {
+            pool.returnBytes(data);
+        }
     }
 
     /**
@@ -124,9 +130,14 @@ public final class ReaderWriter {
      */
     public static final void writeTo(Reader in, Writer out) throws IOException {
         int read;
-        final char[] data = new char[BUFFER_SIZE];
-        while ((read = in.read(data)) != -1)
-            out.write(data, 0, read);
+        final BufferPool pool = BufferPool.getDefault();
+        final char[] data = pool.takeChars(BUFFER_SIZE);
+        try {
+            while ((read = in.read(data)) != -1)
+                out.write(data, 0, read);
+        } finally {
+            pool.returnChars(data);
+        }
     }
 
     /**
@@ -166,10 +177,15 @@ public final class ReaderWriter {
      */
     public static final String readFromAsString(Reader reader) throws IOException {
         StringBuilder sb = new StringBuilder();
-        char[] c = new char[BUFFER_SIZE];
-        int l;
-        while ((l = reader.read(c)) != -1) {
-            sb.append(c, 0, l);
+        final BufferPool pool = BufferPool.getDefault();
+        final char[] c = pool.takeChars(BUFFER_SIZE);
+        try {
+            int l;
+            while ((l = reader.read(c)) != -1) {
+                sb.append(c, 0, l);
+            }
+        } finally {
+            pool.returnChars(c);
         }
         return sb.toString();
     }
@@ -185,9 +201,20 @@ public final class ReaderWriter {
      */
     public static final void writeToAsString(String s, OutputStream out,
             MediaType type) throws IOException {
-        Writer osw = new BufferedWriter(new OutputStreamWriter(out,
-                getCharset(type)));
-        osw.write(s);
+        Writer osw = new OutputStreamWriter(out, getCharset(type));
+        final BufferPool pool = BufferPool.getDefault();
+        final char[] c = pool.takeChars(Math.min(s.length(), BUFFER_SIZE));
+        try {
+            // Characters of the string are copied in chunks to the
+            // output stream writer, that buffers the encoded bytes
+            for (int i = 0; i < s.length(); i += c.length) {
+                final int l = Math.min(c.length, s.length() - i);
+                s.getChars(i, i + l, c, 0);
+                osw.write(c, 0, l);
+            }
+        } finally {
+            pool.returnChars(c);
+        }
         osw.flush();
     }
 }
@@ -50,7 +50,13 @@ public class StringIgnoreCaseKeyComparator implements KeyComparator<String> {
             new StringIgnoreCaseKeyComparator();
     
     public int hash(String k) {
-        return k.toLowerCase().hashCode();
+        // Consistent with equalsIgnoreCase, and without creating a
+        // lower case copy of the key
+        int h = 0;
+        for (int i = 0; i < k.length(); i++) {
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(k.charAt(i)));
+        }
+        return h;
     }
 
     public boolean equals(String x, String y) {
@@ -40,15 +40,19 @@
 
 package com.sun.jersey.core.util;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.ws.rs.core.MultivaluedMap;
 
 /**
  * An implementation of {@link MultivaluedMap} where keys are instances of
  * String and are compared ignoring case.
+ * <p>
+ * The mappings are held in a {@link KeyComparatorOpenHashMap}, to which the
+ * methods of {@link Map} are delegated, and the list of values of a key holds
+ * a single value without allocating an array. The state inherited from
+ * {@link KeyComparatorLinkedHashMap} is not used.
  *
  * @param <V> the type of values.
  * @author Paul.Sandoz@Sun.Com
@@ -56,18 +60,88 @@ import javax.ws.rs.core.MultivaluedMap;
 public class StringKeyIgnoreCaseMultivaluedMap<V>
         extends KeyComparatorLinkedHashMap<String, List<V>>
         implements MultivaluedMap<String, V> {
+
+    private KeyComparatorOpenHashMap<String, List<V>> store;
         
     public StringKeyIgnoreCaseMultivaluedMap() {
-        super(StringIgnoreCaseKeyComparator.SINGLETON);
+        super(0, StringIgnoreCaseKeyComparator.SINGLETON);
+        this.store = new KeyComparatorOpenHashMap<String, List<V>>(
+                StringIgnoreCaseKeyComparator.SINGLETON);
     }
 
     public StringKeyIgnoreCaseMultivaluedMap(StringKeyIgnoreCaseMultivaluedMap<V> that) {
-        super(StringIgnoreCaseKeyComparator.SINGLETON);
+        this();
         for (Map.Entry<String, List<V>> e : that.entrySet()) {
-            this.put(e.getKey(), new ArrayList(e.getValue()));
+            this.put(e.getKey(), new ValueList<V>(e.getValue()));
         }
     }
 
+    // Map
+
+    @Override
+    public int size() {
+        return store.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return store.isEmpty();
+    }
+
+    @Override
+    public List<V> get(Object key) {
+        return store.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return store.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return store.containsValue(value);
+    }
+
+    @Override
+    public List<V> put(String key, List<V> value) {
+        return store.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends List<V>> m) {
+        store.putAll(m);
+    }
+
+    @Override
+    public List<V> remove(Object key) {
+        return store.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<String, List<V>>> entrySet() {
+        return store.entrySet();
+    }
+
+    @Override
+    public int getModCount() {
+        return store.getModCount();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object clone() {
+        final StringKeyIgnoreCaseMultivaluedMap<V> m =
+                (StringKeyIgnoreCaseMultivaluedMap<V>) super.clone();
+        m.store = (KeyComparatorOpenHashMap<String, List<V>>) store.clone();
+        return m;
+    }
+
     // MultivaluedMap
     
     public void putSingle(String key, V value) {
@@ -98,7 +172,7 @@ public class StringKeyIgnoreCaseMultivaluedMap<V>
     protected List<V> getList(String key) {
         List<V> l = get(key);
         if (l == null) {
-            l = new LinkedList<V>();
+            l = new ValueList<V>();
             put(key, l);
         }
         return l;
@@ -0,0 +1,163 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.core.util;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A list of values of a multivalued map that is optimized for a single
+ * value.
+ * <p>
+ * A single value is held directly by the list, so a list of one value is one
+ * object, rather than the three objects of a {@link java.util.LinkedList}
+ * or the two objects of an {@link java.util.ArrayList}. An array is
+ * allocated when a second value is added.
+ *
+ * @param <V> the type of values.
+ */
+final class ValueList<V> extends AbstractList<V> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 6523092178946361452L;
+
+    private Object value;
+
+    private Object[] values;
+
+    private int size;
+
+    ValueList() {
+    }
+
+    ValueList(Collection<? extends V> c) {
+        if (c.size() == 1) {
+            value = c.iterator().next();
+            size = 1;
+        } else if (c.size() > 1) {
+            values = c.toArray();
+            size = values.length;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(int index) {
+        checkIndex(index, size);
+        return (V) ((values == null) ? value : values[index]);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V set(int index, V element) {
+        checkIndex(index, size);
+        final Object old;
+        if (values == null) {
+            old = value;
+            value = element;
+        } else {
+            old = values[index];
+            values[index] = element;
+        }
+        return (V) old;
+    }
+
+    @Override
+    public void add(int index, V element) {
+        checkIndex(index, size + 1);
+        modCount++;
+        if (values == null) {
+            if (size == 0) {
+                value = element;
+                size = 1;
+                return;
+            }
+
+            values = new Object[4];
+            values[0] = value;
+            value = null;
+        } else if (size == values.length) {
+            final Object[] a = new Object[size * 2];
+            System.arraycopy(values, 0, a, 0, size);
+            values = a;
+        }
+
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = element;
+        size++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(int index) {
+        checkIndex(index, size);
+        modCount++;
+        final Object old;
+        if (values == null) {
+            old = value;
+            value = null;
+        } else {
+            old = values[index];
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            values[size - 1] = null;
+        }
+        size--;
+        return (V) old;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        value = null;
+        values = null;
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+}
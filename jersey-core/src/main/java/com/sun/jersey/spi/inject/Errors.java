@@ -202,6 +202,38 @@ public final class Errors {
         throw caught;
     }
 
+    /**
+     * Invoke a closure in the scope of error processing and collect, rather
+     * than process, the errors reported by the closure.
+     * <p>
+     * This enables work to be performed on a thread other than the thread
+     * in the scope of error processing. The collected errors may be reported
+     * to the scope of error processing of the latter thread using
+     * {@link #error(com.sun.jersey.spi.inject.Errors.ErrorMessage)}.
+     *
+     * @param <T> the type of the result of the closure.
+     * @param c the closure.
+     * @param messages the list to add the reported errors to.
+     * @return the result of the closure.
+     */
+    public static <T> T collectErrors(Closure<T> c, List<ErrorMessage> messages) {
+        final Errors previous = errors.get();
+        final Errors e = new Errors();
+        // Ensure errors are never processed when nested processing completes
+        e.stack = 1;
+        errors.set(e);
+        try {
+            return c.f();
+        } finally {
+            messages.addAll(e.messages);
+            if (previous != null) {
+                errors.set(previous);
+            } else {
+                errors.remove();
+            }
+        }
+    }
+
     private static Errors getInstance() {
         Errors e = errors.get();
         // No error processing in scope
@@ -239,6 +271,10 @@ public final class Errors {
         getInstance().messages.add(em);
     }
 
+    public static void error(ErrorMessage em) {
+        getInstance().messages.add(em);
+    }
+
     public int numberOfErrors() {
         return getInstance().messages.size();
     }
@@ -0,0 +1,138 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.api.uri;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that patterns matched by {@link SimplePatternMatcher} produce the
+ * same results as the regular expressions they are generated as.
+ */
+public class SimplePatternMatcherTest {
+
+    private static final String[] RIGHT_HAND_SIDES = {"", "(/.*)?", "(/)?"};
+
+    private static void assertMatches(String template, String... paths) {
+        final String regex = new UriTemplate(template).getPattern().getRegex();
+        for (String rhs : RIGHT_HAND_SIDES) {
+            final String r = (rhs.length() > 0 && regex.endsWith("/"))
+                    ? regex.substring(0, regex.length() - 1) + rhs
+                    : regex + rhs;
+            assertNotNull(r, SimplePatternMatcher.compile(r));
+
+            final UriPattern p = new UriPattern(r);
+            final Pattern expectedPattern = Pattern.compile(r);
+            for (String path : paths) {
+                final Matcher expected = expectedPattern.matcher(path);
+                final MatchResult actual = p.match(path);
+                if (!expected.matches()) {
+                    assertNull(r + " " + path, actual);
+                    continue;
+                }
+
+                assertNotNull(r + " " + path, actual);
+                assertFalse(actual instanceof Matcher);
+                assertEquals(r + " " + path, expected.groupCount(), actual.groupCount());
+                for (int i = 0; i <= expected.groupCount(); i++) {
+                    assertEquals(r + " " + path, expected.group(i), actual.group(i));
+                    assertEquals(r + " " + path, expected.start(i), actual.start(i));
+                    assertEquals(r + " " + path, expected.end(i), actual.end(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLiteral() {
+        assertMatches("/a/b",
+                "/a/b", "/a/b/", "/a/b/c", "/a/bc", "/a", "/a/b\n", "/a/b/\n");
+    }
+
+    @Test
+    public void testSegments() {
+        assertMatches("/customers/{id}/orders/{order}",
+                "/customers/1/orders/2", "/customers/1/orders/2/", "/customers/1/orders/2/x",
+                "/customers//orders/2", "/customers/1/orders", "/customers/1/2/orders/3");
+        assertMatches("/{a}/{b}/",
+                "/x/y", "/x/y/", "/x/y/z", "/x");
+        assertMatches("{scheme}://{20}.example.org?date={wilma}&option={a}",
+                "https://this-is-spinal-tap.example.org?date=2008&option=fred");
+    }
+
+    @Test
+    public void testBacktracking() {
+        assertMatches("/{a}.{b}",
+                "/x.y", "/x.y.z", "/.x", "/x.", "/x.y/z", "/xy");
+        assertMatches("/{a}-{b}/c",
+                "/x-y/c", "/x-y-z/c", "/x-/c", "/x-y/c/d");
+        assertMatches("/{a}{b}",
+                "/x", "/xy", "/xyz", "/xy/z");
+        assertMatches("/files/{name}.xml",
+                "/files/a.xml", "/files/a.b.xml", "/files/.xml", "/files/a.xml/b");
+    }
+
+    @Test
+    public void testRegexNotCompiled() {
+        assertNull(SimplePatternMatcher.compile("/a/(\\d+)"));
+        assertNull(SimplePatternMatcher.compile("/a/([^/]+)"));
+        assertNull(SimplePatternMatcher.compile("/a/(.*)"));
+        assertNull(SimplePatternMatcher.compile("/a\\d"));
+    }
+
+    @Test
+    public void testRepeatedTemplateVariable() {
+        final UriTemplate t = new UriTemplate("/{c}/{c}");
+        final Map<String, String> m = new HashMap<String, String>();
+        assertTrue(t.match("/x/x", m));
+        assertEquals("x", m.get("c"));
+        assertFalse(t.match("/x/y", m));
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.core.provider.jaxb;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class JAXBContextRegistryTest {
+
+    @XmlRootElement
+    public static class A {
+        public String a;
+    }
+
+    @XmlRootElement
+    public static class B {
+        public String b;
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        JAXBContextRegistry r = new JAXBContextRegistry();
+
+        JAXBContext c = r.get(A.class);
+        assertEquals(0, r.getHitCount());
+        assertEquals(1, r.getMissCount());
+        assertEquals(1, r.getBuildCount());
+
+        assertSame(c, r.get(A.class));
+        assertEquals(1, r.getHitCount());
+        assertEquals(1, r.getMissCount());
+        assertEquals(1, r.getBuildCount());
+        assertEquals(1, r.size());
+    }
+
+    @Test
+    public void testWarm() throws Exception {
+        JAXBContextRegistry r = new JAXBContextRegistry();
+
+        assertEquals(2, r.warm(Arrays.<Class<?>>asList(A.class, B.class)));
+        assertEquals(0, r.getHitCount());
+        assertEquals(0, r.getMissCount());
+        assertEquals(2, r.getBuildCount());
+
+        r.get(A.class);
+        r.get(B.class);
+        assertEquals(2, r.getHitCount());
+        assertEquals(0, r.getMissCount());
+        assertEquals(2, r.getBuildCount());
+    }
+
+    @Test
+    public void testScoped() throws Exception {
+        Providers ps = new EmptyProviders();
+        JAXBContextRegistry r = JAXBContextRegistry.getInstance(ps);
+
+        JAXBContext c = r.get(A.class);
+        assertSame(r, JAXBContextRegistry.getInstance(ps));
+        assertSame(c, JAXBContextRegistry.getInstance(ps).get(A.class));
+
+        JAXBContextRegistry _r = JAXBContextRegistry.getInstance(new EmptyProviders());
+        assertNotSame(r, _r);
+        assertNotSame(c, _r.get(A.class));
+        assertEquals(1, r.getBuildCount());
+    }
+
+    @Test
+    public void testNullScope() throws Exception {
+        JAXBContextRegistry r = JAXBContextRegistry.getInstance(null);
+        assertNotNull(r);
+        assertNotSame(r, JAXBContextRegistry.getInstance(null));
+    }
+
+    private static final class EmptyProviders implements Providers {
+        public <T> MessageBodyReader<T> getMessageBodyReader(Class<T> type, Type genericType,
+                Annotation[] annotations, MediaType mediaType) {
+            return null;
+        }
+
+        public <T> MessageBodyWriter<T> getMessageBodyWriter(Class<T> type, Type genericType,
+                Annotation[] annotations, MediaType mediaType) {
+            return null;
+        }
+
+        public <T extends Throwable> ExceptionMapper<T> getExceptionMapper(Class<T> type) {
+            return null;
+        }
+
+        public <T> ContextResolver<T> getContextResolver(Class<T> contextType, MediaType mediaType) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.core.util;
+
+import junit.framework.TestCase;
+
+public class BufferPoolTest extends TestCase {
+
+    public void testSizeClasses() {
+        BufferPool p = new BufferPool(1000, 8192, 2);
+        assertEquals(8192, p.getMaxBufferSize());
+
+        assertEquals(1024, p.takeBytes(1).length);
+        assertEquals(1024, p.takeBytes(1024).length);
+        assertEquals(2048, p.takeBytes(1025).length);
+        assertEquals(8192, p.takeChars(8192).length);
+        assertEquals(8193, p.takeChars(8193).length);
+
+        BufferPool.Statistics s = p.getStatistics();
+        assertEquals(0, s.getHits());
+        assertEquals(4, s.getMisses());
+        assertEquals(1, s.getUnpooled());
+    }
+
+    public void testReuse() {
+        BufferPool p = new BufferPool(1024, 8192, 2);
+
+        byte[] b1 = p.takeBytes(4096);
+        byte[] b2 = p.takeBytes(4096);
+        byte[] b3 = p.takeBytes(4096);
+        p.returnBytes(b1);
+        p.returnBytes(b2);
+        p.returnBytes(b3);
+
+        byte[] b = p.takeBytes(3000);
+        assertTrue(b == b1 || b == b2);
+        p.returnBytes(b);
+
+        char[] c = p.takeChars(4096);
+        p.returnChars(c);
+        assertSame(c, p.takeChars(4096));
+
+        BufferPool.Statistics s = p.getStatistics();
+        assertEquals(2, s.getHits());
+        assertEquals(4, s.getMisses());
+        assertEquals(1, s.getDiscarded());
+        assertEquals(2.0 / 6, s.getHitRate(), 0.0001);
+    }
+
+    public void testNotOfSizeClass() {
+        BufferPool p = new BufferPool(1024, 8192, 2);
+
+        p.returnBytes(new byte[3000]);
+        p.returnBytes(new byte[16384]);
+        assertEquals(2, p.getStatistics().getDiscarded());
+        p.takeBytes(2048);
+        assertEquals(0, p.getStatistics().getHits());
+    }
+
+    public void testPerThread() throws Exception {
+        final BufferPool p = new BufferPool(1024, 8192, 2);
+        p.returnBytes(p.takeBytes(1024));
+
+        final byte[][] other = new byte[1][];
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                other[0] = p.takeBytes(1024);
+            }
+        };
+        t.start();
+        t.join();
+
+        assertNotSame(other[0], p.takeBytes(1024));
+        assertEquals(1, p.getStatistics().getHits());
+    }
+
+    public void testDisabled() {
+        BufferPool p = new BufferPool(1024, 0, 2);
+        assertEquals(0, p.getMaxBufferSize());
+        byte[] b = p.takeBytes(1024);
+        assertEquals(1024, b.length);
+        p.returnBytes(b);
+        assertNotSame(b, p.takeBytes(1024));
+
+        p = new BufferPool(1024, 8192, 0);
+        assertEquals(0, p.getMaxBufferSize());
+        assertEquals(10, p.takeChars(10).length);
+        assertEquals(1, p.getStatistics().getUnpooled());
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.core.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+import junit.framework.TestCase;
+
+public class GZIPStreamsTest extends TestCase {
+
+    private static byte[] createData(int size) {
+        Random r = new Random(size);
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) ('a' + r.nextInt(16));
+        }
+        return data;
+    }
+
+    private static byte[] compress(byte[] data, int level) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OutputStream gos = GZIPStreams.compress(out, level);
+        gos.write(data, 0, data.length / 2);
+        gos.write(data, data.length / 2, data.length - data.length / 2);
+        gos.close();
+        return out.toByteArray();
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReaderWriter.writeTo(in, out);
+        in.close();
+        return out.toByteArray();
+    }
+
+    public void testCompress() throws IOException {
+        for (int level = 0; level <= 9; level++) {
+            byte[] data = createData(10000 * level);
+            byte[] compressed = compress(data, level);
+            assertTrue(Arrays.equals(data,
+                    readAll(new GZIPInputStream(new ByteArrayInputStream(compressed)))));
+        }
+    }
+
+    public void testDecompress() throws IOException {
+        byte[] data = createData(100000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GZIPOutputStream gos = new GZIPOutputStream(out);
+        gos.write(data);
+        gos.close();
+
+        assertTrue(Arrays.equals(data,
+                readAll(GZIPStreams.decompress(new ByteArrayInputStream(out.toByteArray())))));
+
+        byte[] compressed = compress(data, Deflater.DEFAULT_COMPRESSION);
+        assertTrue(Arrays.equals(data,
+                readAll(GZIPStreams.decompress(new ByteArrayInputStream(compressed)))));
+    }
+
+    public void testCorruptTrailer() throws IOException {
+        byte[] compressed = compress(createData(100), Deflater.DEFAULT_COMPRESSION);
+        compressed[compressed.length - 5] ^= 1;
+        try {
+            readAll(GZIPStreams.decompress(new ByteArrayInputStream(compressed)));
+            fail();
+        } catch (ZipException e) {
+        }
+    }
+
+    public void testNotGZIP() throws IOException {
+        try {
+            GZIPStreams.decompress(new ByteArrayInputStream("NOT GZIP".getBytes()));
+            fail();
+        } catch (ZipException e) {
+        }
+    }
+
+    public void testWriteAfterFinish() throws IOException {
+        DeflaterOutputStream gos = GZIPStreams.compress(new ByteArrayOutputStream(), 1);
+        gos.finish();
+        try {
+            gos.write(1);
+            fail();
+        } catch (IOException e) {
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.core.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import junit.framework.TestCase;
+
+public class KeyComparatorOpenHashMapTest extends TestCase {
+
+    private static KeyComparatorOpenHashMap<String, String> create() {
+        return new KeyComparatorOpenHashMap<String, String>(
+                StringIgnoreCaseKeyComparator.SINGLETON);
+    }
+
+    public void testNull() {
+        final KeyComparatorOpenHashMap<String, String> k = create();
+        assertNull(k.get(null));
+        assertFalse(k.containsKey(null));
+
+        k.put("a", "a");
+        k.put(null, "null");
+        assertEquals("null", k.get(null));
+        assertEquals("a", k.get("a"));
+
+        k.put(null, "NULL");
+        assertEquals("NULL", k.get(null));
+        assertEquals(2, k.size());
+
+        k.remove(null);
+        assertNull(k.get(null));
+        assertFalse(k.containsKey(null));
+        assertEquals("a", k.get("a"));
+    }
+
+    public void testIgnoreCase() {
+        final KeyComparatorOpenHashMap<String, String> k = create();
+        k.put("Content-Type", "text/plain");
+        assertEquals("text/plain", k.get("content-type"));
+        assertEquals("text/plain", k.get("CONTENT-TYPE"));
+
+        k.put("CONTENT-type", "text/html");
+        assertEquals(1, k.size());
+        assertEquals("Content-Type", k.keySet().iterator().next());
+        assertEquals("text/html", k.get("Content-Type"));
+    }
+
+    public void testInsertionOrder() {
+        final KeyComparatorOpenHashMap<String, String> k = create();
+        final List<String> expected = new ArrayList<String>();
+        for (int i = 0; i < 100; i++) {
+            k.put("h" + i, Integer.toString(i));
+            expected.add("h" + i);
+        }
+        assertEquals(expected, new ArrayList<String>(k.keySet()));
+
+        // Remove and re-add so the removed mappings are reclaimed on growth
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(Integer.toString(i), k.remove("H" + i));
+            expected.remove("h" + i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            k.put("h" + i, Integer.toString(i));
+            expected.add("h" + i);
+        }
+        assertEquals(100, k.size());
+        assertEquals(expected, new ArrayList<String>(k.keySet()));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.toString(i), k.get("h" + i));
+        }
+    }
+
+    public void testIteratorRemove() {
+        final KeyComparatorOpenHashMap<String, String> k = create();
+        k.put("a", "1");
+        k.put("b", "2");
+        k.put("c", "3");
+
+        final Iterator<Map.Entry<String, String>> i = k.entrySet().iterator();
+        while (i.hasNext()) {
+            final Map.Entry<String, String> e = i.next();
+            if (e.getKey().equals("b")) {
+                i.remove();
+            } else {
+                e.setValue(e.getValue() + e.getValue());
+            }
+        }
+
+        assertEquals(2, k.size());
+        assertFalse(k.containsKey("B"));
+        assertEquals("11", k.get("a"));
+        assertEquals("33", k.get("c"));
+    }
+
+    public void testMultivaluedMap() {
+        final StringKeyIgnoreCaseMultivaluedMap<String> m = new StringKeyIgnoreCaseMultivaluedMap<String>();
+        m.add("Accept", "text/plain");
+        m.add("accept", "text/html");
+        m.putSingle("Host", "example.org");
+        assertEquals(Arrays.asList("text/plain", "text/html"), m.get("ACCEPT"));
+        assertEquals("example.org", m.getFirst("host"));
+
+        m.get("host").add(0, "example.com");
+        assertEquals(Arrays.asList("example.com", "example.org"), m.get("Host"));
+
+        m.putSingle("host", "example.net");
+        assertEquals(Arrays.asList("example.net"), m.get("Host"));
+
+        final StringKeyIgnoreCaseMultivaluedMap<String> copy = new StringKeyIgnoreCaseMultivaluedMap<String>(m);
+        assertEquals(m, copy);
+        copy.add("Accept", "text/xml");
+        assertEquals(2, m.get("Accept").size());
+    }
+}
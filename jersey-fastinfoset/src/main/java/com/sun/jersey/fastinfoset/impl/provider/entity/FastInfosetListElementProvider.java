@@ -62,6 +62,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.util.Collection;
+import java.util.Iterator;
 
 /**
  *
@@ -91,6 +92,14 @@ public class FastInfosetListElementProvider extends AbstractListElementProvider
             MediaType mediaType, Charset c,
             Marshaller m, OutputStream entityStream)
             throws JAXBException, IOException {
+        writeList(elementType, t.iterator(), mediaType, c, m, entityStream);
+    }
+
+    @Override
+    public final void writeList(Class<?> elementType, Iterator<?> t,
+            MediaType mediaType, Charset c,
+            Marshaller m, OutputStream entityStream)
+            throws JAXBException, IOException {
         final XMLStreamWriter xsw = new StAXDocumentSerializer(entityStream);
         
         final String rootElement = getRootElementName(elementType);
@@ -98,8 +107,11 @@ public class FastInfosetListElementProvider extends AbstractListElementProvider
         try {
             xsw.writeStartDocument();
             xsw.writeStartElement(rootElement);
-            for (Object o : t)
-                m.marshal(o, xsw);
+            for (int n = 1; t.hasNext(); n++) {
+                m.marshal(t.next(), xsw);
+                if (n % FLUSH_ELEMENT_INTERVAL == 0)
+                    xsw.flush();
+            }
             xsw.writeEndElement();
             xsw.writeEndDocument();
             xsw.flush();
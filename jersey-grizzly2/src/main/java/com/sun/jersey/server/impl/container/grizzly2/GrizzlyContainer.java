@@ -40,6 +40,7 @@
 
 package com.sun.jersey.server.impl.container.grizzly2;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.reflect.Type;
@@ -82,16 +83,32 @@ public final class GrizzlyContainer extends HttpHandler implements
         }
     }
 
-    private final static class Writer implements ContainerResponseWriter {
+    private final static class Writer implements FileRegionContainerResponseWriter,
+            AsyncContainerResponseWriter {
 
         final Response response;
 
+        boolean contentLengthSet;
+
+        private boolean suspended;
+
         Writer(final Response response) {
             this.response = response;
         }
 
         @Override
-        public void finish() throws IOException {
+        public synchronized boolean suspend() {
+            response.suspend();
+            suspended = true;
+            return true;
+        }
+
+        @Override
+        public synchronized void finish() throws IOException {
+            if (suspended) {
+                suspended = false;
+                response.resume();
+            }
         }
 
         @Override
@@ -107,6 +124,7 @@ public final class GrizzlyContainer extends HttpHandler implements
 
             if (contentLength != -1 && contentLength < Integer.MAX_VALUE) {
                 response.setContentLength((int) contentLength);
+                contentLengthSet = true;
             }
 
             for (final Map.Entry<String, List<Object>> e : cResponse.getHttpHeaders().entrySet()) {
@@ -123,6 +141,25 @@ public final class GrizzlyContainer extends HttpHandler implements
 
             return response.getOutputStream();
         }
+
+        @Override
+        public boolean writeFileRegion(final File file, final long position,
+                final long count) throws IOException {
+            // sendfile requires a plain connection and a known content length
+            // and the response must not be suspended as sendfile suspends
+            // the response until the file has been sent
+            if (!contentLengthSet || !response.isSendFileEnabled()
+                    || response.getRequest().isSecure() || isSuspended()) {
+                return false;
+            }
+
+            response.getOutputBuffer().sendfile(file, position, count, null);
+            return true;
+        }
+
+        private synchronized boolean isSuspended() {
+            return suspended;
+        }
     }
 
     private volatile WebApplication application;
@@ -113,6 +113,7 @@ public class JSONConfiguration {
     private final Map<String, String> jsonXml2JsonNs;
     private final boolean usePrefixAtNaturalAttributes;
     private final Character namespaceSeparator;
+    private final boolean streaming;
 
     /**
      * Builder class for constructing {@link JSONConfiguration} options
@@ -128,6 +129,7 @@ public class JSONConfiguration {
         protected Map<String, String> jsonXml2JsonNs = new HashMap<String, String>(0);
         protected boolean usePrefixAtNaturalAttributes = false;
         protected Character namespaceSeparator = '.';
+        protected boolean streaming = false;
 
         private Builder(Notation notation) {
             this.notation = notation;
@@ -151,6 +153,7 @@ public class JSONConfiguration {
             jsonXml2JsonNs.putAll(jc.getXml2JsonNs());
             usePrefixAtNaturalAttributes = jc.isUsingPrefixesAtNaturalAttributes();
             namespaceSeparator = jc.getNsSeparator();
+            streaming = jc.isStreaming();
         }
     }
 
@@ -365,6 +368,35 @@ public class JSONConfiguration {
             this.rootUnwrapping = rootUnwrapping;
             return this;
         }
+
+        /**
+         * Setter for streaming of JSON written from JAXB beans.
+         * This property is valid for the {@link JSONConfiguration.Notation#MAPPED} notation only.
+         * <p>
+         * If set to true, JSON is written directly as the JAXB beans are marshalled, with memory use
+         * independent of the size of the entity. Whether an element is written as a JSON array is
+         * determined from the JAXB model, elements of collection properties are always written as
+         * arrays, in addition to the names declared using {@link #arrays(java.lang.String...)}.
+         * Otherwise the content of elements is buffered until it is known whether repeated elements
+         * form an array, and single elements are written as arrays only if declared using
+         * {@link #arrays(java.lang.String...)}. Hence iterator entities of JAXB beans are
+         * written incrementally only if streaming is enabled.
+         * <p>
+         * Streaming has the same JAXB implementation requirements as the
+         * {@link JSONConfiguration.Notation#NATURAL} notation.
+         * <p>
+         * The default value is false.
+         * @param streaming if set to true, JSON is written without buffering.
+         * @return the mapped builder.
+         */
+        public MappedBuilder streaming(boolean streaming) {
+            if (streaming && !JSONHelper.isNaturalNotationEnabled()) {
+                Logger.getLogger(JSONConfiguration.class.getName()).log(Level.SEVERE, ImplMessages.ERROR_JAXB_RI_2_1_10_MISSING());
+                throw new RuntimeException(ImplMessages.ERROR_JAXB_RI_2_1_10_MISSING());
+            }
+            this.streaming = streaming;
+            return this;
+        }
     }
 
     private JSONConfiguration(Builder b) {
@@ -377,6 +409,7 @@ public class JSONConfiguration {
         jsonXml2JsonNs = b.jsonXml2JsonNs;
         usePrefixAtNaturalAttributes = b.usePrefixAtNaturalAttributes;
         namespaceSeparator = b.namespaceSeparator;
+        streaming = b.streaming;
     }
 
     /**
@@ -601,6 +634,16 @@ public class JSONConfiguration {
         return humanReadableFormatting;
     }
 
+    /**
+     * Says if JSON written from JAXB beans will be streamed without buffering.
+     * This property is valid for the {@link JSONConfiguration.Notation#MAPPED} notation only.
+     * @return true, if JSON is streamed
+     * @see MappedBuilder#streaming(boolean)
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
     @Override
     public String toString() {
         return String.format("{notation:%s,rootStripping:%b}", notation, rootUnwrapping);
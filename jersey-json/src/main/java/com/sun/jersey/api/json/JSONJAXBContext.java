@@ -251,7 +251,7 @@ public final class JSONJAXBContext extends JAXBContext implements JSONConfigurat
         }
 
         jsonConfiguration = config;
-        if (config.getNotation() == JSONConfiguration.Notation.NATURAL) {
+        if (config.getNotation() == JSONConfiguration.Notation.NATURAL || config.isStreaming()) {
             jaxbContext = JAXBContext.newInstance(classesToBeBound,
                     JSONHelper.createPropertiesForJaxbContext(Collections.<String, Object>emptyMap()));
         } else {
@@ -301,7 +301,7 @@ public final class JSONJAXBContext extends JAXBContext implements JSONConfigurat
         }
 
         jsonConfiguration = config;
-        if (config.getNotation() == JSONConfiguration.Notation.NATURAL) {
+        if (config.getNotation() == JSONConfiguration.Notation.NATURAL || config.isStreaming()) {
             Map<String, Object> myProps = JSONHelper.createPropertiesForJaxbContext(properties);
             jaxbContext = JAXBContext.newInstance(classesToBeBound, myProps);
         } else {
@@ -341,7 +341,7 @@ public final class JSONJAXBContext extends JAXBContext implements JSONConfigurat
             throw new IllegalArgumentException("JSONConfiguration MUST not be null");
         }
 
-        if (config.getNotation() == JSONConfiguration.Notation.NATURAL) {
+        if (config.getNotation() == JSONConfiguration.Notation.NATURAL || config.isStreaming()) {
             jaxbContext = JAXBContext.newInstance(contextPath,
                     Thread.currentThread().getContextClassLoader(),
                     createProperties(JSONHelper.createPropertiesForJaxbContext(Collections.<String, Object>emptyMap()))
@@ -409,7 +409,7 @@ public final class JSONJAXBContext extends JAXBContext implements JSONConfigurat
             throw new IllegalArgumentException("JSONConfiguration MUST not be null");
         }
 
-        if (config.getNotation() == JSONConfiguration.Notation.NATURAL) {
+        if (config.getNotation() == JSONConfiguration.Notation.NATURAL || config.isStreaming()) {
             Map<String, Object> myProps = JSONHelper.createPropertiesForJaxbContext(properties);
             jaxbContext = JAXBContext.newInstance(contextPath, classLoader, myProps);
         } else {
@@ -56,6 +56,7 @@ import com.sun.jersey.json.impl.reader.JsonXmlStreamReader;
 import com.sun.jersey.json.impl.writer.JacksonArrayWrapperGenerator;
 import com.sun.jersey.json.impl.writer.JacksonRootStrippingGenerator;
 import com.sun.jersey.json.impl.writer.JsonXmlStreamWriter;
+import com.sun.jersey.json.impl.writer.MappedStax2JacksonWriter;
 import com.sun.jersey.json.impl.writer.Stax2JacksonWriter;
 
 import org.codehaus.jackson.JsonFactory;
@@ -96,17 +97,11 @@ public class Stax2JsonFactory {
 
         switch (config.getNotation()) {
             case NATURAL:
-                final JsonGenerator rawGenerator = new JsonFactory().createJsonGenerator(writer);
-                if (config.isHumanReadableFormatting()) {
-                    rawGenerator.useDefaultPrettyPrinter();
-                }
-                final JsonGenerator bodyGenerator = writingList ? JacksonArrayWrapperGenerator.createArrayWrapperGenerator(rawGenerator, config.isRootUnwrapping() ? 0 : 1) : rawGenerator;
-                if (config.isRootUnwrapping()) {
-                    return new Stax2JacksonWriter(JacksonRootStrippingGenerator.createRootStrippingGenerator(bodyGenerator, writingList ? 2 : 1), config, expectedType, jaxbContext);
-                } else {
-                    return new Stax2JacksonWriter(bodyGenerator, config, expectedType, jaxbContext);
-                    }
+                return new Stax2JacksonWriter(createGenerator(writer, config, writingList), config, expectedType, jaxbContext);
             case MAPPED:
+                if (config.isStreaming()) {
+                    return new MappedStax2JacksonWriter(createGenerator(writer, config, writingList), config, expectedType, jaxbContext);
+                }
                 return JsonXmlStreamWriter.createWriter(writer, config, JSONHelper.getRootElementName((Class<Object>) expectedType));
             case BADGERFISH:
                 return new BadgerFishXMLStreamWriter(writer);
@@ -123,6 +118,21 @@ public class Stax2JsonFactory {
         }
     }
 
+    private static JsonGenerator createGenerator(final Writer writer,
+                                                 final JSONConfiguration config,
+                                                 final boolean writingList) throws IOException {
+        final JsonGenerator rawGenerator = new JsonFactory().createJsonGenerator(writer);
+        if (config.isHumanReadableFormatting()) {
+            rawGenerator.useDefaultPrettyPrinter();
+        }
+        final JsonGenerator bodyGenerator = writingList ? JacksonArrayWrapperGenerator.createArrayWrapperGenerator(rawGenerator, config.isRootUnwrapping() ? 0 : 1) : rawGenerator;
+        if (config.isRootUnwrapping()) {
+            return JacksonRootStrippingGenerator.createRootStrippingGenerator(bodyGenerator, writingList ? 2 : 1);
+        } else {
+            return bodyGenerator;
+        }
+    }
+
     public static XMLStreamReader createReader(final Reader reader, final JSONConfiguration config, final String rootName, final Class<?> expectedType, final JAXBContext jaxbContext) throws XMLStreamException {
         return createReader(reader, config, rootName, expectedType, jaxbContext, false);
     }
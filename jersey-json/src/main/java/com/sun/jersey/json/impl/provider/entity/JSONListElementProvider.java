@@ -55,6 +55,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.ws.rs.Consumes;
@@ -70,6 +71,16 @@ import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
 
 /**
+ * Reads and writes collections, arrays and (write only) iterators of JAXB
+ * beans as JSON arrays.
+ * <p>
+ * Iterator and iterable entities are written incrementally only if the JSON
+ * is streamed, namely with the {@link JSONConfiguration.Notation#NATURAL}
+ * notation or with the {@link JSONConfiguration.Notation#MAPPED} notation
+ * when {@link JSONConfiguration.MappedBuilder#streaming(boolean) streaming}
+ * is enabled. The writers of the other notations, including that of the
+ * default configuration, buffer the whole JSON document until all elements
+ * have been marshalled.
  *
  * @author Jakub.Podlesak@Sun.COM
  */
@@ -120,6 +131,11 @@ public class JSONListElementProvider extends AbstractListElementProvider {
 
     @Override
     public final void writeList(Class<?> elementType, Collection<?> t, MediaType mediaType, Charset c, Marshaller m, OutputStream entityStream) throws JAXBException, IOException {
+        writeList(elementType, t.iterator(), mediaType, c, m, entityStream);
+    }
+
+    @Override
+    public final void writeList(Class<?> elementType, Iterator<?> t, MediaType mediaType, Charset c, Marshaller m, OutputStream entityStream) throws JAXBException, IOException {
         final OutputStreamWriter osw = new OutputStreamWriter(entityStream, c);
 
         JSONConfiguration origJsonConfig = JSONConfiguration.DEFAULT;
@@ -131,6 +147,7 @@ public class JSONListElementProvider extends AbstractListElementProvider {
                 JSONConfiguration.createJSONConfigurationWithRootUnwrapping(origJsonConfig, true);
 
         final XMLStreamWriter jxsw = Stax2JsonFactory.createWriter(osw, unwrappingJsonConfig, elementType, getStoredJAXBContext(elementType), true);
+        final boolean streaming = isStreaming(unwrappingJsonConfig);
         final String invisibleRootName = getRootElementName(elementType);
         final String elementName = getElementName(elementType);
 
@@ -141,8 +158,11 @@ public class JSONListElementProvider extends AbstractListElementProvider {
             }
             jxsw.writeStartDocument();
             jxsw.writeStartElement(invisibleRootName);
-            for (Object o : t) {
-                    m.marshal(o, jxsw);
+            for (int n = 1; t.hasNext(); n++) {
+                m.marshal(t.next(), jxsw);
+                // flushing jxsw would terminate the wrapping JSON array
+                if (streaming && n % FLUSH_ELEMENT_INTERVAL == 0)
+                    osw.flush();
             }
             jxsw.writeEndElement();
             jxsw.writeEndDocument();
@@ -157,6 +177,17 @@ public class JSONListElementProvider extends AbstractListElementProvider {
         }
     }
 
+    private static boolean isStreaming(JSONConfiguration c) {
+        switch (c.getNotation()) {
+            case NATURAL:
+                return true;
+            case MAPPED:
+                return c.isStreaming();
+            default:
+                return false;
+        }
+    }
+
     @Override
     protected final XMLStreamReader getXMLStreamReader(Class<?> elementType, MediaType mediaType, Unmarshaller u, InputStream entityStream) throws XMLStreamException {
         JSONConfiguration c = JSONConfiguration.DEFAULT;
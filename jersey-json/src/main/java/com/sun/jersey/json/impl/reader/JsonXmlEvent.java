@@ -86,7 +86,7 @@ abstract class JsonXmlEvent {
     /**
      * Location of this event in JSON stream.
      */
-    private final Location location;
+    private Location location;
 
     /**
      * Attributes of this event if this event is of {@code XMLStreamConstants.START_ELEMENT} type.
@@ -180,4 +180,13 @@ abstract class JsonXmlEvent {
         this.text = text;
     }
 
+    /**
+     * Sets the location of this event in JSON stream. Used when a processed event is reused by {@code XmlEventProvider}.
+     *
+     * @param location location of this event in JSON stream.
+     */
+    void setLocation(Location location) {
+        this.location = location;
+    }
+
 }
@@ -57,8 +57,18 @@ import org.codehaus.jackson.JsonParser;
  */
 class MappedNotationEventProvider extends XmlEventProvider {
     
+    /**
+     * Maximum number of qualified names of fields retained for reuse.
+     */
+    private static final int MAX_CACHED_QNAMES = 256;
+
     private final Map<String, String> jsonNs2XmlNs = new HashMap<String, String>();
 
+    /**
+     * Qualified names of fields, the field names of a JSON document usually repeat (e.g. in arrays).
+     */
+    private final Map<String, QName> qNames = new HashMap<String, QName>();
+
     private final char nsSeparator;
     private final CharSequence nsSeparatorAsSequence;
 
@@ -89,6 +99,17 @@ class MappedNotationEventProvider extends XmlEventProvider {
     }
 
     private QName getFieldQName(final String jsonFieldName) {
+        QName qName = qNames.get(jsonFieldName);
+        if (qName == null) {
+            qName = createFieldQName(jsonFieldName);
+            if (qNames.size() < MAX_CACHED_QNAMES) {
+                qNames.put(jsonFieldName, qName);
+            }
+        }
+        return qName;
+    }
+
+    private QName createFieldQName(final String jsonFieldName) {
         if (jsonNs2XmlNs.isEmpty() || !jsonFieldName.contains(nsSeparatorAsSequence)) {
             return new QName(jsonFieldName);
         } else {
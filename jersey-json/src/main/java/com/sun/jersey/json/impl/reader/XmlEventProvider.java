@@ -40,9 +40,9 @@
 package com.sun.jersey.json.impl.reader;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
-import java.util.LinkedList;
-import java.util.Queue;
 import java.util.Stack;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -80,6 +80,9 @@ public abstract class XmlEventProvider {
 
     /**
      * This wrapper of the {@code JsonParser} allows to peek at the following tokens without actually processing them.
+     * <p>
+     * Peeked tokens are kept in a ring buffer, which may contain {@code null} (end of input) tokens, as at most a couple of
+     * tokens are looked ahead.
      */
     private static class CachedJsonParser {
 
@@ -87,31 +90,58 @@ public abstract class XmlEventProvider {
          * JSON parser.
          */
         private final JsonParser parser;
-        private final Queue<JsonToken> tokens = new LinkedList<JsonToken>();
+
+        /**
+         * Ring buffer of peeked tokens, the length is always a power of two.
+         */
+        private JsonToken[] tokens = new JsonToken[4];
+        private int head;
+        private int size;
 
         public CachedJsonParser(final JsonParser parser) {
             this.parser = parser;
         }
 
+        private void add(final JsonToken jsonToken) {
+            if (size == tokens.length) {
+                final JsonToken[] newTokens = new JsonToken[tokens.length << 1];
+                for (int i = 0; i < size; i++) {
+                    newTokens[i] = tokens[(head + i) & (tokens.length - 1)];
+                }
+                tokens = newTokens;
+                head = 0;
+            }
+            tokens[(head + size) & (tokens.length - 1)] = jsonToken;
+            size++;
+        }
+
         public JsonToken nextToken() throws IOException {
-            return tokens.isEmpty() ? parser.nextToken() : tokens.poll();
+            return size == 0 ? parser.nextToken() : poll();
         }
 
         public JsonToken peekNext() throws IOException {
             final JsonToken jsonToken = parser.nextToken();
-            tokens.add(jsonToken);
+            add(jsonToken);
             return jsonToken;
         }
 
         public JsonToken peek() throws IOException {
-            if (tokens.isEmpty()) {
-                tokens.add(parser.nextToken());
+            if (size == 0) {
+                add(parser.nextToken());
             }
-            return tokens.peek();
+            return tokens[head];
         }
 
         public JsonToken poll() throws IOException {
-            return tokens.poll();
+            if (size == 0) {
+                return null;
+            }
+
+            final JsonToken jsonToken = tokens[head];
+            tokens[head] = null;
+            head = (head + 1) & (tokens.length - 1);
+            size--;
+            return jsonToken;
         }
 
         public void close() throws IOException {
@@ -141,6 +171,12 @@ public abstract class XmlEventProvider {
 
     private static final Logger LOGGER = Logger.getLogger(XmlEventProvider.class.getName());
 
+    /**
+     * Maximum number of processed events, per event type, that are retained for reuse. Only a few events are queued at any
+     * time so a small pool suffices.
+     */
+    private static final int MAX_POOLED_EVENTS = 8;
+
     private final JSONConfiguration configuration;
 
     /**
@@ -153,7 +189,14 @@ public abstract class XmlEventProvider {
     /**
      * Queue of unprocessed events.
      */
-    private final Deque<JsonXmlEvent> eventQueue = new LinkedList<JsonXmlEvent>();
+    private final Deque<JsonXmlEvent> eventQueue = new ArrayDeque<JsonXmlEvent>();
+
+    /**
+     * Processed events retained for reuse.
+     */
+    private final Deque<JsonXmlEvent> startElementPool = new ArrayDeque<JsonXmlEvent>(MAX_POOLED_EVENTS);
+    private final Deque<JsonXmlEvent> endElementPool = new ArrayDeque<JsonXmlEvent>(MAX_POOLED_EVENTS);
+    private final Deque<JsonXmlEvent> charactersPool = new ArrayDeque<JsonXmlEvent>(MAX_POOLED_EVENTS);
 
     private final Stack<ProcessingInfo> processingStack = new Stack<ProcessingInfo>();
     
@@ -176,6 +219,9 @@ public abstract class XmlEventProvider {
      */
     void close() throws XMLStreamException {
         eventQueue.clear();
+        startElementPool.clear();
+        endElementPool.clear();
+        charactersPool.clear();
         processingStack.empty();
 
         try {
@@ -193,7 +239,7 @@ public abstract class XmlEventProvider {
      * @return end element event.
      */
     protected JsonXmlEvent createEndElementEvent(final QName elementName, final Location location) {
-        return new EndElementEvent(elementName, location);
+        return obtainEvent(endElementPool, elementName, null, location);
     }
 
     /**
@@ -204,7 +250,74 @@ public abstract class XmlEventProvider {
      * @return start element event.
      */
     protected JsonXmlEvent createStartElementEvent(final QName elementName, final Location location) {
-        return new StartElementEvent(elementName, location);
+        return obtainEvent(startElementPool, elementName, null, location);
+    }
+
+    /**
+     * Creates a {@code CharactersEvent}.
+     *
+     * @param text text of the characters event.
+     * @param location location of this characters event in the JSON stream.
+     * @return characters event.
+     */
+    private JsonXmlEvent createCharactersEvent(final String text, final Location location) {
+        return obtainEvent(charactersPool, null, text, location);
+    }
+
+    /**
+     * Obtains an event from a pool of processed events, or creates a new event if the pool is empty.
+     *
+     * @param pool pool of events of the required type.
+     * @param name name of the event, if an element event.
+     * @param text text of the event, if a characters event.
+     * @param location location of the event in the JSON stream.
+     * @return the event.
+     */
+    private JsonXmlEvent obtainEvent(final Deque<JsonXmlEvent> pool, final QName name, final String text,
+                                     final Location location) {
+        final JsonXmlEvent event = pool.poll();
+        if (event == null) {
+            if (pool == startElementPool) {
+                return new StartElementEvent(name, location);
+            } else if (pool == endElementPool) {
+                return new EndElementEvent(name, location);
+            } else {
+                return new CharactersEvent(text, location);
+            }
+        }
+
+        event.setLocation(location);
+        event.setName(name);
+        event.setText(text);
+        return event;
+    }
+
+    /**
+     * Returns a processed event to the pool of its type, if the event is of a type that is pooled.
+     *
+     * @param event processed event, may be {@code null}.
+     */
+    private void recycleEvent(final JsonXmlEvent event) {
+        if (event == null) {
+            return;
+        }
+
+        final Deque<JsonXmlEvent> pool;
+        final Class<?> eventClass = event.getClass();
+        if (eventClass == StartElementEvent.class) {
+            pool = startElementPool;
+        } else if (eventClass == EndElementEvent.class) {
+            pool = endElementPool;
+        } else if (eventClass == CharactersEvent.class) {
+            pool = charactersPool;
+        } else {
+            return;
+        }
+
+        if (pool.size() < MAX_POOLED_EVENTS) {
+            event.setAttributes(null);
+            pool.push(event);
+        }
     }
 
     /**
@@ -282,7 +395,7 @@ public abstract class XmlEventProvider {
      * @see #processTokens(boolean)
      */
     void processAttributesOfCurrentElement() throws XMLStreamException {
-        eventQueue.peek().setAttributes(new LinkedList<JsonXmlEvent.Attribute>());
+        eventQueue.peek().setAttributes(new ArrayList<JsonXmlEvent.Attribute>());
 
         processTokens(true);
     }
@@ -290,7 +403,7 @@ public abstract class XmlEventProvider {
     private JsonXmlEvent processTokens(boolean processAttributes) throws XMLStreamException {
         if (!processAttributes) {
             // get rid of the current event
-            eventQueue.poll();
+            recycleEvent(eventQueue.poll());
         }
 
         try {
@@ -320,7 +433,7 @@ public abstract class XmlEventProvider {
                                 if ("$".equals(fieldName)) {
                                     // character event
                                     final String value = getPrimitiveFieldValue(parser.nextToken(), parser.getText());
-                                    eventQueue.add(new CharactersEvent(value, new StaxLocation(parser.getCurrentLocation())));
+                                    eventQueue.add(createCharactersEvent(value, new StaxLocation(parser.getCurrentLocation())));
                                 } else {
                                     // element event
                                     final QName elementName = getElementQName(fieldName);
@@ -392,9 +505,9 @@ public abstract class XmlEventProvider {
                                 pi.isFirstElement = false;
                             }
                             if (jsonToken != JsonToken.VALUE_NULL) {
-                                eventQueue.add(new CharactersEvent(parser.getText(), new StaxLocation(parser.getCurrentLocation())));
+                                eventQueue.add(createCharactersEvent(parser.getText(), new StaxLocation(parser.getCurrentLocation())));
                             }
-                            eventQueue.add(new EndElementEvent(pi.name, new StaxLocation(parser.getCurrentLocation())));
+                            eventQueue.add(obtainEvent(endElementPool, pi.name, null, new StaxLocation(parser.getCurrentLocation())));
                             if (!pi.isArray) {
                                 processingStack.pop();
                             }
@@ -0,0 +1,125 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.json.impl.writer;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.sun.jersey.api.json.JSONConfiguration;
+
+import org.codehaus.jackson.JsonGenerator;
+
+/**
+ * Implementation of {@link XMLStreamWriter} for JSON streams in mapped notation that writes directly to a
+ * {@link JsonGenerator}.
+ * <p>
+ * Unlike {@link JsonXmlStreamWriter} this writer does not buffer the content of elements to determine whether repeated
+ * elements form an array, elements are written as arrays if the JAXB model declares a collection or if the element name
+ * is configured as an array name, so the memory used is independent of the size of the written entity. Names, attributes,
+ * non-string values and namespaces are written according to the mapped notation configuration.
+ * @see JSONConfiguration.MappedBuilder#streaming(boolean)
+ */
+public class MappedStax2JacksonWriter extends Stax2JacksonWriter {
+
+    private final Collection<String> arrayElementNames = new HashSet<String>();
+    private final Collection<String> nonStringElementNames = new HashSet<String>();
+    private final Collection<String> attrsAsElems = new HashSet<String>();
+    private final Map<String, String> xml2JsonNs = new HashMap<String, String>();
+    private final char nsSeparator;
+
+    public MappedStax2JacksonWriter(final JsonGenerator generator,
+                                    final JSONConfiguration config,
+                                    final Class<?> expectedType,
+                                    final JAXBContext jaxbContext) {
+        super(generator, config, expectedType, jaxbContext);
+
+        if (config.getArrays() != null) {
+            arrayElementNames.addAll(config.getArrays());
+        }
+        if (config.getNonStrings() != null) {
+            nonStringElementNames.addAll(config.getNonStrings());
+        }
+        if (config.getAttributeAsElements() != null) {
+            attrsAsElems.addAll(config.getAttributeAsElements());
+        }
+        if (config.getXml2JsonNs() != null) {
+            xml2JsonNs.putAll(config.getXml2JsonNs());
+        }
+        nsSeparator = config.getNsSeparator();
+    }
+
+    private String getEffectiveName(final String namespaceURI, final String localName) {
+        if ((namespaceURI != null) && xml2JsonNs.containsKey(namespaceURI)) {
+            return xml2JsonNs.get(namespaceURI) + nsSeparator + localName;
+        } else {
+            return localName;
+        }
+    }
+
+    @Override
+    protected String getElementFieldName(final String namespaceURI, final String localName) {
+        return getEffectiveName(namespaceURI, localName);
+    }
+
+    @Override
+    protected String getAttributeFieldName(final String namespaceURI, final String localName) {
+        return attrsAsElems.contains(localName)
+                ? getEffectiveName(namespaceURI, localName)
+                : "@" + getEffectiveName(namespaceURI, localName);
+    }
+
+    @Override
+    protected boolean isArrayElement(final QName elementName) {
+        return !arrayElementNames.isEmpty()
+                && arrayElementNames.contains(getEffectiveName(elementName.getNamespaceURI(), elementName.getLocalPart()));
+    }
+
+    @Override
+    protected boolean isNonString(final String fieldName, final Type valueType) {
+        return fieldName != null && nonStringElementNames.contains(fieldName);
+    }
+}
@@ -82,6 +82,7 @@ public class Stax2JacksonWriter extends DefaultXmlStreamWriter implements XMLStr
         boolean startObjectWritten = false;
         boolean afterFN = false;
         QName elementName;
+        String fieldName;
 
         public ProcessingInfo(QName elementName, boolean isArray, Type rawType, Type individualType) {
             this.elementName = elementName;
@@ -196,13 +197,15 @@ public class Stax2JacksonWriter extends DefaultXmlStreamWriter implements XMLStr
 
             ProcessingInfo currentPI = peek(processingStack);
             ProcessingInfo parentPI = peek2nd(processingStack);
+            final String fieldName = writingAttr ? localName : getElementFieldName(namespaceURI, localName);
+            currentPI.fieldName = fieldName;
             if (!currentPI.isArray) {
                 if ((parentPI != null) && (parentPI.lastUnderlyingPI != null) && (parentPI.lastUnderlyingPI.isArray)) {
                     generator.writeEndArray();
                     parentPI.afterFN = false;
                 }
                 ensureStartObjectBeforeFieldName(parentPI);
-                generator.writeFieldName(localName);
+                generator.writeFieldName(fieldName);
                 currentPI.afterFN = true;
             } else {
                 if ((parentPI == null) || (!currentPI.equals(parentPI.lastUnderlyingPI))) {
@@ -213,7 +216,7 @@ public class Stax2JacksonWriter extends DefaultXmlStreamWriter implements XMLStr
                     }
                     // now start the new array
                     ensureStartObjectBeforeFieldName(parentPI);
-                    generator.writeFieldName(localName);
+                    generator.writeFieldName(fieldName);
                     generator.writeStartArray();
                     currentPI.afterFN = true;
                 } else {
@@ -281,7 +284,7 @@ public class Stax2JacksonWriter extends DefaultXmlStreamWriter implements XMLStr
         }
 
         // TODO: wildcard could still simulate an array by adding several elements of the same name
-        if (documentStructure.isArrayCollection() && !writingAttr) { // another array
+        if ((documentStructure.isArrayCollection() || isArrayElement(qname)) && !writingAttr) { // another array
             if (!((parentPI != null) && (parentPI.isArray) && sameArrayCollection)) {
                 // another array
                 processingStack.add(new ProcessingInfo(qname, true, rt, individualType));
@@ -388,7 +391,7 @@ public class Stax2JacksonWriter extends DefaultXmlStreamWriter implements XMLStr
     public void writeAttribute(String prefix, String namespaceURI, String localName, String value) throws XMLStreamException {
         writingAttr = true;
         pushPropInfo(namespaceURI, localName, value);
-        writeStartElement(prefix, attrsWithPrefix ? ("@" + localName) : localName, namespaceURI);
+        writeStartElement(prefix, getAttributeFieldName(namespaceURI, localName), namespaceURI);
         writingAttr = false;
         // a dirty hack, since jaxb ri is giving us wrong info on the actual attribute type in this case
         writeCharacters(value, "type".equals(localName) && XML_SCHEMA_INSTANCE.equals(namespaceURI));
@@ -429,7 +432,7 @@ public class Stax2JacksonWriter extends DefaultXmlStreamWriter implements XMLStr
             }
             currentPI.afterFN = false;
             final Type valueType = getValueType(currentPI.rawType, currentPI.individualType);
-            if (forceString || !nonStringTypes.contains(valueType)) {
+            if (forceString || !isNonString(currentPI.fieldName, valueType)) {
                 if (!currentPI.isArray) {
                     generator.writeStringToMerge(text);
                 } else {
@@ -453,6 +456,50 @@ public class Stax2JacksonWriter extends DefaultXmlStreamWriter implements XMLStr
     }
 
 
+    /**
+     * Returns the JSON field name of an element.
+     *
+     * @param namespaceURI namespace of the element, may be {@code null}.
+     * @param localName local name of the element.
+     * @return JSON field name.
+     */
+    protected String getElementFieldName(final String namespaceURI, final String localName) {
+        return localName;
+    }
+
+    /**
+     * Returns the JSON field name of an attribute.
+     *
+     * @param namespaceURI namespace of the attribute, may be {@code null}.
+     * @param localName local name of the attribute.
+     * @return JSON field name.
+     */
+    protected String getAttributeFieldName(final String namespaceURI, final String localName) {
+        return attrsWithPrefix ? ("@" + localName) : localName;
+    }
+
+    /**
+     * Determines whether an element should be written as a JSON array even if the JAXB model does not declare it as a
+     * collection.
+     *
+     * @param elementName name of the element.
+     * @return {@code true} if the element should be written as an array.
+     */
+    protected boolean isArrayElement(final QName elementName) {
+        return false;
+    }
+
+    /**
+     * Determines whether the value of an element or attribute should be written as a JSON non-string value.
+     *
+     * @param fieldName JSON field name of the element or attribute.
+     * @param valueType type of the value from the JAXB model, may be {@code null}.
+     * @return {@code true} if the value should be written as a non-string value.
+     */
+    protected boolean isNonString(final String fieldName, final Type valueType) {
+        return nonStringTypes.contains(valueType);
+    }
+
     private Type getValueType(final Type rawType, final Type individualType) {
         // Individual type.
         if (individualType != null) {
@@ -0,0 +1,116 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.json.impl;
+
+import com.sun.jersey.api.json.JSONConfiguration;
+import com.sun.jersey.api.json.JSONJAXBContext;
+import com.sun.jersey.json.impl.provider.entity.JSONListElementProvider;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import javax.ws.rs.core.MediaType;
+import javax.xml.bind.Marshaller;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests that iterator entities are written incrementally when JSON is streamed.
+ */
+public class JSONListElementProviderTest extends TestCase {
+
+    private static final int SIZE = 1000;
+
+    private static class SimpleBeanIterator implements Iterator<SimpleBean> {
+        private final ByteArrayOutputStream out;
+
+        private int i;
+
+        int writtenBeforeLast = -1;
+
+        SimpleBeanIterator(ByteArrayOutputStream out) {
+            this.out = out;
+        }
+
+        public boolean hasNext() {
+            return i < SIZE;
+        }
+
+        public SimpleBean next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            if (++i == SIZE)
+                writtenBeforeLast = out.size();
+            return (SimpleBean)SimpleBean.createTestInstance();
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static int writtenBeforeLast(JSONConfiguration config) throws Exception {
+        final Marshaller m = new JSONJAXBContext(config, SimpleBean.class).createMarshaller();
+        m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final SimpleBeanIterator i = new SimpleBeanIterator(out);
+        new JSONListElementProvider.General(null).writeList(SimpleBean.class, i,
+                MediaType.APPLICATION_JSON_TYPE, Charset.forName("UTF-8"), m, out);
+
+        final String json = out.toString("UTF-8");
+        assertTrue(json, json.startsWith("[{") && json.endsWith("}]"));
+        assertEquals(-1, json.indexOf("}{"));
+        return i.writtenBeforeLast;
+    }
+
+    public void testNaturalIsStreamed() throws Exception {
+        assertTrue(writtenBeforeLast(JSONConfiguration.natural().rootUnwrapping(true).build()) > 0);
+    }
+
+    public void testMappedStreamingIsStreamed() throws Exception {
+        assertTrue(writtenBeforeLast(JSONConfiguration.mapped().rootUnwrapping(true).streaming(true).build()) > 0);
+    }
+
+    public void testMappedIsBuffered() throws Exception {
+        assertEquals(0, writtenBeforeLast(JSONConfiguration.DEFAULT));
+    }
+}
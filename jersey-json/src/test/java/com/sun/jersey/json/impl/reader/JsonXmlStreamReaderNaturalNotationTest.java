@@ -43,7 +43,9 @@ package com.sun.jersey.json.impl.reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import javax.xml.bind.JAXBContext;
@@ -157,6 +159,17 @@ public class JsonXmlStreamReaderNaturalNotationTest extends TestCase {
         _testBean(UserTable.class, UserTable.createTestInstance());
     }
 
+    public void testLargeUserTable() throws Exception {
+        final UserTable table = (UserTable) UserTable.createTestInstance();
+        final List<User> rows = new ArrayList<User>();
+        for (int i = 0; i < 200; i++) {
+            rows.add(new User("id" + i, "name" + i, "password" + i));
+        }
+        table.setRows(rows);
+
+        _testBean(UserTable.class, table);
+    }
+
     private void _testBean(Class clazz, Object bean) throws Exception {
         Map<String, Object> props = JSONHelper.createPropertiesForJaxbContext(Collections.<String, Object>emptyMap());
         Class[] classes = new Class[]{clazz};
@@ -39,15 +39,25 @@
  */
 package com.sun.jersey.api.container.filter;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 
 import com.sun.jersey.api.container.ContainerException;
+import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.core.util.GZIPStreams;
 import com.sun.jersey.spi.container.ContainerRequest;
 import com.sun.jersey.spi.container.ContainerRequestFilter;
 import com.sun.jersey.spi.container.ContainerResponse;
@@ -59,14 +69,31 @@ import com.sun.jersey.spi.container.ContainerResponseWriter;
  * <p/>
  * If the request contains a Content-Encoding header of "gzip"
  * then the request entity (if any) is uncompressed using gzip.
- * If the request contains an Accept-Encoding header containing "gzip" and an "If-None-Match" Header, entitytag value is checked:
- * if it contains the -gzip suffix, remove this suffix, otherwise, completely remove the "if-none-match" header.
+ * If the request contains an Accept-Encoding header containing "gzip" and an "If-None-Match" Header, the "-gzip"
+ * suffix, if any, is removed from the entity tags so that they may be compared with the entity tags of the resource.
  * <p/>
  * If the request contains a Accept-Encoding header that contains
  * "gzip" then the response entity (if any) is compressed using gzip and a
  * Content-Encoding header of "gzip" is added to the response.
  * As this filter is active, the resource representation can be compressed. the value "Accept-Encoding" is so added to the Vary header.
- * If any entityTag is used and content may be gzipped, the "-gzip" suffix is added to entitytag value.
+ * If any entityTag is used and content is gzipped the "-gzip" suffix is added to entitytag value. If the response has no
+ * entity, such as a 304 (Not Modified) response, the suffix is added only if it was removed from the "If-None-Match"
+ * header, so that the entity tag is that of the representation, compressed or not, held by the client.
+ * <p/>
+ * A response entity is not compressed if the response already declares a
+ * Content-Encoding header, if the size of the entity is known and is less
+ * than {@link #PROPERTY_MIN_COMPRESSION_SIZE}, or if the media type of the
+ * entity is not compressible according to
+ * {@link #PROPERTY_COMPRESSED_MEDIA_TYPES} and
+ * {@link #PROPERTY_UNCOMPRESSED_MEDIA_TYPES}. If
+ * {@link #FEATURE_PRECOMPRESSED_FILES} is enabled, the response entity is a
+ * {@link File} and a file of the same name with the suffix ".gz" exists, that
+ * is not older than the entity file, then the precompressed file is returned
+ * as the response entity. The compression level is declared by
+ * {@link #PROPERTY_COMPRESSION_LEVEL}.
+ * <p/>
+ * Compression and decompression utilize pooled deflaters and inflaters, see
+ * {@link GZIPStreams}.
  * <p/>
  * When an application is deployed as a Servlet or Filter this Jersey filter can be
  * registered using the following initialization parameters:
@@ -88,16 +115,227 @@ import com.sun.jersey.spi.container.ContainerResponseWriter;
  */
 public class GZIPContentEncodingFilter implements ContainerRequestFilter, ContainerResponseFilter {
 
+    private static final Logger LOGGER = Logger.getLogger(GZIPContentEncodingFilter.class.getName());
+
+    /**
+     * If set the compression level, from 0 to 9, of response entities.
+     * <p>
+     * The value may be an instance of {@link Integer} or a {@link String}
+     * that can be parsed as an integer. If this property is not set the
+     * default compression level of {@link Deflater} will be used.
+     */
+    public static final String PROPERTY_COMPRESSION_LEVEL =
+            "com.sun.jersey.api.container.filter.GZIPCompressionLevel";
+
+    /**
+     * If set the minimum size, in bytes, of a response entity that will be
+     * compressed.
+     * <p>
+     * The value may be an instance of {@link Number} or a {@link String}
+     * that can be parsed as an integer. An entity whose size is not known,
+     * when the response is committed, is always compressed. The property
+     * {@link ResourceConfig#PROPERTY_RESPONSE_BUFFER_SIZE} may be set so that
+     * the size of small entities is known. If this property is not set all
+     * entities will be compressed.
+     */
+    public static final String PROPERTY_MIN_COMPRESSION_SIZE =
+            "com.sun.jersey.api.container.filter.GZIPMinCompressionSize";
+
+    /**
+     * If set the ',' separated list of media types of response entities
+     * that will be compressed. Media types may contain wildcards, for
+     * example "text/*".
+     * <p>
+     * If this property is not set then entities of all media types, other
+     * than those declared by {@link #PROPERTY_UNCOMPRESSED_MEDIA_TYPES}, will
+     * be compressed.
+     */
+    public static final String PROPERTY_COMPRESSED_MEDIA_TYPES =
+            "com.sun.jersey.api.container.filter.GZIPCompressedMediaTypes";
+
+    /**
+     * If set the ',' separated list of media types of response entities
+     * that will not be compressed. Media types may contain wildcards, for
+     * example "image/*".
+     * <p>
+     * If this property is not set then the value of
+     * {@link #DEFAULT_UNCOMPRESSED_MEDIA_TYPES} will be used.
+     */
+    public static final String PROPERTY_UNCOMPRESSED_MEDIA_TYPES =
+            "com.sun.jersey.api.container.filter.GZIPUncompressedMediaTypes";
+
+    /**
+     * The default media types of response entities, that are already
+     * compressed, and will not be compressed.
+     */
+    public static final String DEFAULT_UNCOMPRESSED_MEDIA_TYPES =
+            "application/zip, application/gzip, application/x-gzip, " +
+            "image/gif, image/jpeg, image/png";
+
+    /**
+     * If true then a response entity that is a {@link File} will be
+     * replaced by a file of the same name with the suffix ".gz", if that file
+     * exists and is not older than the entity file, and returned without
+     * further compression.
+     * <p>
+     * Enable this feature only if the ".gz" files, that are siblings of the
+     * files returned by resources, are maintained as gzip compressed copies
+     * of those files.
+     * <p>
+     * The default value is false.
+     */
+    public static final String FEATURE_PRECOMPRESSED_FILES =
+            "com.sun.jersey.api.container.filter.GZIPPrecompressedFiles";
+
     private static final String ENTITY_TAG_GZIP_SUFFIX_VALUE = "-gzip";
     private static final String ENTITY_TAG_GZIP_SUFFIX_HEADER_VALUE = "-gzip\""; // Entity tag raw values always finish with a quotation mark within http headers.
 
+    /**
+     * The request property that is set if the "-gzip" suffix was removed from
+     * the "If-None-Match" header.
+     */
+    private static final String ENTITY_TAG_GZIP_SUFFIX_PROPERTY =
+            GZIPContentEncodingFilter.class.getName() + ".EntityTagGzipSuffix";
+
+    private final int level;
+
+    private final long minSize;
+
+    private final List<MediaType> compressedMediaTypes;
+
+    private final List<MediaType> uncompressedMediaTypes;
+
+    private final boolean precompressedFiles;
+
+    /**
+     * Create a GZIP content encoding filter with the default compression
+     * level, that compresses entities of all sizes and of media types other
+     * than those declared by {@link #DEFAULT_UNCOMPRESSED_MEDIA_TYPES}.
+     */
+    public GZIPContentEncodingFilter() {
+        this(Deflater.DEFAULT_COMPRESSION, 0, null, DEFAULT_UNCOMPRESSED_MEDIA_TYPES);
+    }
+
+    /**
+     * Create a GZIP content encoding filter configured from the properties
+     * of the resource config.
+     *
+     * @param rc resource config (injected by Jersey)
+     */
+    public GZIPContentEncodingFilter(@Context ResourceConfig rc) {
+        this(getLevel(rc.getProperty(PROPERTY_COMPRESSION_LEVEL)),
+                getMinSize(rc.getProperty(PROPERTY_MIN_COMPRESSION_SIZE)),
+                (String) rc.getProperty(PROPERTY_COMPRESSED_MEDIA_TYPES),
+                (rc.getProperty(PROPERTY_UNCOMPRESSED_MEDIA_TYPES) != null)
+                        ? (String) rc.getProperty(PROPERTY_UNCOMPRESSED_MEDIA_TYPES)
+                        : DEFAULT_UNCOMPRESSED_MEDIA_TYPES,
+                rc.getFeature(FEATURE_PRECOMPRESSED_FILES));
+    }
+
+    /**
+     * Create a GZIP content encoding filter.
+     *
+     * @param level the compression level, from 0 to 9, or
+     *        {@link Deflater#DEFAULT_COMPRESSION}.
+     * @param minSize the minimum size of a response entity, whose size is
+     *        known, that will be compressed.
+     * @param compressedMediaTypes the ',' separated list of media types of
+     *        response entities that will be compressed, otherwise null if
+     *        entities of all media types will be compressed.
+     * @param uncompressedMediaTypes the ',' separated list of media types of
+     *        response entities that will not be compressed, otherwise null.
+     * @throws IllegalArgumentException if the compression level is invalid.
+     */
+    public GZIPContentEncodingFilter(int level, long minSize,
+            String compressedMediaTypes, String uncompressedMediaTypes) {
+        this(level, minSize, compressedMediaTypes, uncompressedMediaTypes, false);
+    }
+
+    /**
+     * Create a GZIP content encoding filter.
+     *
+     * @param level the compression level, from 0 to 9, or
+     *        {@link Deflater#DEFAULT_COMPRESSION}.
+     * @param minSize the minimum size of a response entity, whose size is
+     *        known, that will be compressed.
+     * @param compressedMediaTypes the ',' separated list of media types of
+     *        response entities that will be compressed, otherwise null if
+     *        entities of all media types will be compressed.
+     * @param uncompressedMediaTypes the ',' separated list of media types of
+     *        response entities that will not be compressed, otherwise null.
+     * @param precompressedFiles if true then precompressed ".gz" files are
+     *        returned in place of file entities, see
+     *        {@link #FEATURE_PRECOMPRESSED_FILES}.
+     * @throws IllegalArgumentException if the compression level is invalid.
+     */
+    public GZIPContentEncodingFilter(int level, long minSize,
+            String compressedMediaTypes, String uncompressedMediaTypes,
+            boolean precompressedFiles) {
+        if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION)
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+
+        this.level = level;
+        this.minSize = minSize;
+        this.compressedMediaTypes = getMediaTypes(compressedMediaTypes);
+        this.uncompressedMediaTypes = getMediaTypes(uncompressedMediaTypes);
+        this.precompressedFiles = precompressedFiles;
+    }
+
+    private static int getLevel(Object v) {
+        if (v == null)
+            return Deflater.DEFAULT_COMPRESSION;
+
+        try {
+            final int level = (v instanceof Number)
+                    ? ((Number) v).intValue()
+                    : Integer.parseInt(v.toString().trim());
+            if (level >= 0 && level <= 9)
+                return level;
+        } catch (NumberFormatException ex) {
+        }
+        LOGGER.log(Level.WARNING, "The value, " + v + ", of the property " +
+                PROPERTY_COMPRESSION_LEVEL +
+                " is not an integer from 0 to 9. The default compression level will be used.");
+        return Deflater.DEFAULT_COMPRESSION;
+    }
+
+    private static long getMinSize(Object v) {
+        if (v == null)
+            return 0;
+
+        try {
+            return (v instanceof Number)
+                    ? ((Number) v).longValue()
+                    : Long.parseLong(v.toString().trim());
+        } catch (NumberFormatException ex) {
+            LOGGER.log(Level.WARNING, "The value, " + v + ", of the property " +
+                    PROPERTY_MIN_COMPRESSION_SIZE +
+                    " is not an integer. Entities of all sizes will be compressed.");
+            return 0;
+        }
+    }
+
+    private static List<MediaType> getMediaTypes(String mediaTypes) {
+        if (mediaTypes == null)
+            return null;
+
+        final List<MediaType> l = new ArrayList<MediaType>();
+        for (String mediaType : mediaTypes.split(",")) {
+            mediaType = mediaType.trim();
+            if (mediaType.length() > 0) {
+                l.add(MediaType.valueOf(mediaType));
+            }
+        }
+        return Collections.unmodifiableList(l);
+    }
+
     public ContainerRequest filter(ContainerRequest request) {
         String contentEncoding = request.getRequestHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
         if (contentEncoding != null && contentEncoding.trim().equals("gzip")) {
             request.getRequestHeaders().remove(HttpHeaders.CONTENT_ENCODING);
             try {
                 request.setEntityInputStream(
-                        new GZIPInputStream(request.getEntityInputStream()));
+                        GZIPStreams.decompress(request.getEntityInputStream()));
             } catch (IOException ex) {
                 throw new ContainerException(ex);
             }
@@ -107,41 +345,70 @@ public class GZIPContentEncodingFilter implements ContainerRequestFilter, Contai
         String acceptEncoding = request.getRequestHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
         String entityTag = request.getRequestHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
         if (acceptEncoding != null && acceptEncoding.contains("gzip") && entityTag != null) {
-            // normalize entitytag (Note: maybe it should check whether it ends with a quotation mark ?)
-            if (entityTag.endsWith(ENTITY_TAG_GZIP_SUFFIX_HEADER_VALUE)) {
-                final int gzipsuffixbeginIndex = entityTag.lastIndexOf(ENTITY_TAG_GZIP_SUFFIX_HEADER_VALUE);
-                final StringBuilder sb = new StringBuilder();
-                sb.append(entityTag.substring(0, gzipsuffixbeginIndex));
-                sb.append('\"');
-                request.getRequestHeaders().putSingle(HttpHeaders.IF_NONE_MATCH, sb.toString());
-            } else {
-                // otherwise, remove if-none-match header
-                request.getRequestHeaders().remove(HttpHeaders.IF_NONE_MATCH);
+            // Whether the response is compressed is not known until it is
+            // committed, so the entity tags are not removed. An entity tag
+            // with the suffix identifies a compressed representation that was
+            // sent to the client, and one without the suffix identifies a
+            // representation that was not compressed
+            if (entityTag.contains(ENTITY_TAG_GZIP_SUFFIX_HEADER_VALUE)) {
+                request.getRequestHeaders().putSingle(HttpHeaders.IF_NONE_MATCH,
+                        entityTag.replace(ENTITY_TAG_GZIP_SUFFIX_HEADER_VALUE, "\""));
+                request.getProperties().put(ENTITY_TAG_GZIP_SUFFIX_PROPERTY, Boolean.TRUE);
             }
         }
         return request;
     }
 
-    private static final class Adapter implements ContainerResponseWriter {
+    private final class Adapter implements ContainerResponseWriter {
         private final ContainerResponseWriter crw;
 
-        private GZIPOutputStream gos;
+        private DeflaterOutputStream gos;
 
         Adapter(ContainerResponseWriter crw) {
             this.crw = crw;
         }
 
         public OutputStream writeStatusAndHeaders(long contentLength, ContainerResponse response) throws IOException {
-            gos = new GZIPOutputStream(crw.writeStatusAndHeaders(-1, response));
+            // The media type and, if known, the size of the entity are
+            // only available when the response is committed
+            if ((contentLength != -1 && contentLength < minSize) ||
+                    !isCompressible(response.getMediaType())) {
+                response.getHttpHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+                return crw.writeStatusAndHeaders(contentLength, response);
+            }
+
+            // The entity tag identifies the compressed entity
+            addEntityTagGzipSuffix(response);
+            gos = GZIPStreams.compress(crw.writeStatusAndHeaders(-1, response), level);
             return gos;
         }
 
         public void finish() throws IOException {
-            gos.finish();
+            if (gos != null) {
+                gos.finish();
+            }
             crw.finish();
         }
     }
 
+    private boolean isCompressible(MediaType mediaType) {
+        if (mediaType == null)
+            return compressedMediaTypes == null;
+
+        if (compressedMediaTypes != null && !isCompatible(mediaType, compressedMediaTypes))
+            return false;
+
+        return uncompressedMediaTypes == null || !isCompatible(mediaType, uncompressedMediaTypes);
+    }
+
+    private static boolean isCompatible(MediaType mediaType, List<MediaType> mediaTypes) {
+        for (MediaType m : mediaTypes) {
+            if (m.isCompatible(mediaType))
+                return true;
+        }
+        return false;
+    }
+
     public ContainerResponse filter(ContainerRequest request, ContainerResponse response) {
         response.getHttpHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING); // add vary header
 
@@ -149,21 +416,40 @@ public class GZIPContentEncodingFilter implements ContainerRequestFilter, Contai
         String contentEncoding = (String) response.getHttpHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
 
         if (acceptEncoding != null && contentEncoding == null && acceptEncoding.contains("gzip")) {
-            // Check EntityTag header
-            if (response.getHttpHeaders().containsKey(HttpHeaders.ETAG)) {
-                EntityTag entityTag = (EntityTag) response.getHttpHeaders().getFirst(HttpHeaders.ETAG);
-                if (entityTag != null) {
-                    response.getHttpHeaders().putSingle(HttpHeaders.ETAG, new EntityTag(entityTag.getValue()
-                            + ENTITY_TAG_GZIP_SUFFIX_VALUE, entityTag.isWeak()));
+            if (precompressedFiles && response.getEntity() instanceof File) {
+                // Return the precompressed file, if any, as is
+                final File file = (File) response.getEntity();
+                final File gzFile = new File(file.getPath() + ".gz");
+                if (gzFile.isFile() && gzFile.lastModified() >= file.lastModified()) {
+                    response.setEntity(gzFile);
+                    response.getHttpHeaders().add(HttpHeaders.CONTENT_ENCODING, "gzip");
+                    addEntityTagGzipSuffix(response);
+                    return response;
                 }
             }
 
-            // wrap entity with gzip
+            // wrap entity with gzip, whether the entity is compressed, and
+            // therefore the entity tag, is decided when the response is
+            // committed
             if (response.getEntity() != null) {
                 response.getHttpHeaders().add(HttpHeaders.CONTENT_ENCODING, "gzip");
                 response.setContainerResponseWriter(new Adapter(response.getContainerResponseWriter()));
+            } else if (request.getProperties().containsKey(ENTITY_TAG_GZIP_SUFFIX_PROPERTY)) {
+                // A response without an entity, such as 304 (Not Modified),
+                // refers to the representation held by the client, which
+                // was compressed
+                addEntityTagGzipSuffix(response);
             }
         }
         return response;
     }
+
+    private static void addEntityTagGzipSuffix(ContainerResponse response) {
+        final Object entityTag = response.getHttpHeaders().getFirst(HttpHeaders.ETAG);
+        if (entityTag instanceof EntityTag) {
+            final EntityTag t = (EntityTag) entityTag;
+            response.getHttpHeaders().putSingle(HttpHeaders.ETAG, new EntityTag(t.getValue()
+                    + ENTITY_TAG_GZIP_SUFFIX_VALUE, t.isWeak()));
+        }
+    }
 }
@@ -0,0 +1,244 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.api.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The asynchronous response of a suspended request.
+ * <p>
+ * A resource method may return an instance of this class, or an instance
+ * of {@link javax.ws.rs.core.Response} whose entity is an instance of this
+ * class, to suspend the processing of the request and release the
+ * thread of the container. The response is resumed, on any thread, when
+ * one of the <code>resume</code> methods is invoked:
+ * <blockquote><pre>
+ *     &#64;GET
+ *     public AsyncResponse get() {
+ *         final AsyncResponse ar = new AsyncResponse(30, TimeUnit.SECONDS);
+ *         executor.submit(new Runnable() {
+ *             public void run() {
+ *                 ar.resume(getMessage());
+ *             }
+ *         });
+ *         return ar;
+ *     }
+ * </pre></blockquote>
+ * <p>
+ * When resumed, the response filters are applied and the response is
+ * written on the thread that resumed the response. Containers that do not
+ * support the suspension of responses will block the thread of the
+ * container until the response is resumed.
+ * <p>
+ * Resource methods and providers processing a resumed response must not
+ * rely on state, other than that of the Jersey {@link HttpContext}, that
+ * a container associates with the thread that processed the request. For
+ * example, Servlet containers do not make the <code>HttpServletRequest</code>
+ * of a suspended request available to other threads.
+ */
+public final class AsyncResponse {
+
+    /**
+     * A handler that is notified when a response is resumed.
+     * <p>
+     * This interface is used by the Jersey runtime and is not intended to
+     * be implemented by applications.
+     */
+    public interface ResumeHandler {
+        /**
+         * Invoked, on the thread that resumed the response, when the
+         * response is resumed.
+         *
+         * @param response the resumed response.
+         */
+        void onResume(AsyncResponse response);
+    }
+
+    private final long timeout;
+
+    private boolean done;
+
+    private Object result;
+
+    private Throwable failure;
+
+    private ResumeHandler handler;
+
+    /**
+     * Create a new asynchronous response that never times out.
+     */
+    public AsyncResponse() {
+        this(0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Create a new asynchronous response that times out.
+     * <p>
+     * If the response has not been resumed before the timeout expires it
+     * is resumed with a 503 (Service Unavailable) response.
+     *
+     * @param timeout the timeout, a value of 0 or less means the response
+     *        never times out.
+     * @param unit the time unit of the timeout.
+     */
+    public AsyncResponse(long timeout, TimeUnit unit) {
+        this.timeout = (timeout > 0) ? unit.toMillis(timeout) : 0;
+    }
+
+    /**
+     * Get the timeout.
+     *
+     * @param unit the time unit of the returned value.
+     * @return the timeout, 0 if the response never times out.
+     */
+    public long getTimeout(TimeUnit unit) {
+        return unit.convert(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Resume the response.
+     *
+     * @param response the response, which may be an instance of
+     *        {@link javax.ws.rs.core.Response}, an entity, or null for
+     *        a 204 (No Content) response.
+     * @return true if the response was resumed, otherwise false if the
+     *         response was already resumed.
+     */
+    public boolean resume(Object response) {
+        return complete(response, null);
+    }
+
+    /**
+     * Resume the response with an exception. The exception is mapped to a
+     * response in the same manner as an exception thrown from a resource
+     * method.
+     *
+     * @param t the exception.
+     * @return true if the response was resumed, otherwise false if the
+     *         response was already resumed.
+     */
+    public boolean resume(Throwable t) {
+        if (t == null)
+            throw new IllegalArgumentException("The exception must not be null");
+        return complete(null, t);
+    }
+
+    /**
+     * @return true if the response has been resumed.
+     */
+    public synchronized boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Get the response the response was resumed with.
+     *
+     * @return the response, or null if the response was resumed with an
+     *         exception or has not been resumed.
+     */
+    public synchronized Object getResult() {
+        return result;
+    }
+
+    /**
+     * Get the exception the response was resumed with.
+     *
+     * @return the exception, or null if the response was not resumed with
+     *         an exception or has not been resumed.
+     */
+    public synchronized Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Set the handler to be notified when the response is resumed.
+     * <p>
+     * This method is used by the Jersey runtime and is not intended to be
+     * invoked by applications.
+     *
+     * @param handler the handler.
+     * @return true if the handler was set, otherwise false if the response
+     *         has already been resumed, in which case the handler will not
+     *         be notified.
+     */
+    public synchronized boolean setResumeHandler(ResumeHandler handler) {
+        if (done)
+            return false;
+
+        this.handler = handler;
+        return true;
+    }
+
+    /**
+     * Wait until the response is resumed.
+     * <p>
+     * This method is used by the Jersey runtime and is not intended to be
+     * invoked by applications.
+     *
+     * @throws InterruptedException if the current thread is interrupted
+     *         while waiting.
+     */
+    public synchronized void await() throws InterruptedException {
+        while (!done) {
+            wait();
+        }
+    }
+
+    private boolean complete(Object r, Throwable t) {
+        final ResumeHandler h;
+        synchronized (this) {
+            if (done)
+                return false;
+
+            done = true;
+            result = r;
+            failure = t;
+            h = handler;
+            handler = null;
+            notifyAll();
+        }
+
+        if (h != null) {
+            h.onResume(this);
+        }
+        return true;
+    }
+}
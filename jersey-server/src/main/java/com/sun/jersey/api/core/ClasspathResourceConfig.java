@@ -41,6 +41,7 @@
 package com.sun.jersey.api.core;
 
 import com.sun.jersey.core.spi.scanning.FilesScanner;
+import com.sun.jersey.spi.scanning.PathProviderScannerListener;
 
 import java.io.File;
 import java.util.Map;
@@ -67,6 +68,10 @@ public class ClasspathResourceConfig extends ScanningResourceConfig {
      * and sub-directories (recursively) are scanned. The Java class files of
      * a jar file are scanned.
      * <p>
+     * If a directory or jar file contains the index
+     * {@link PathProviderScannerListener#INDEX_RESOURCE_NAME} then only the
+     * Java class files listed in that index are scanned.
+     * <p>
      * Root resource classes MUST be present in the Java class path.
      */
     public static final String PROPERTY_CLASSPATH
@@ -84,9 +89,10 @@ public class ClasspathResourceConfig extends ScanningResourceConfig {
      *        {@link ClasspathResourceConfig#PROPERTY_CLASSPATH}. 
      */
     public ClasspathResourceConfig(Map<String, Object> props) {
-        this(getPaths(props));
-        
+        // Set before scanning so scanning may be configured by properties
         setPropertiesAndFeatures(props);
+
+        init(getPaths(props));
     }
 
     /**
@@ -116,7 +122,7 @@ public class ClasspathResourceConfig extends ScanningResourceConfig {
             LOGGER.log(Level.INFO, b.toString());            
         }
 
-        init(new FilesScanner(files));
+        init(new FilesScanner(files, PathProviderScannerListener.INDEX_RESOURCE_NAME));
     }
     
     private static String[] getPaths() {
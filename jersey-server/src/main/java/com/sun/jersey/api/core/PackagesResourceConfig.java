@@ -40,8 +40,11 @@
 
 package com.sun.jersey.api.core;
 
+import com.sun.jersey.core.reflection.ReflectionHelper;
 import com.sun.jersey.core.spi.scanning.PackageNamesScanner;
+import com.sun.jersey.spi.scanning.PathProviderScannerListener;
 
+import java.security.AccessController;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -50,6 +53,10 @@ import java.util.logging.Logger;
  * A mutable implementation of {@link DefaultResourceConfig} that dynamically 
  * searches for root resource and provider classes in a given a set of
  * declared package and in all (if any) sub-packages of those declared packages.
+ * <p>
+ * If a directory or jar file containing classes of the packages also
+ * contains the index {@link PathProviderScannerListener#INDEX_RESOURCE_NAME}
+ * then only the Java class files listed in that index are scanned.
  * 
  * @author Paul.Sandoz@Sun.Com
  */
@@ -86,9 +93,10 @@ public class PackagesResourceConfig extends ScanningResourceConfig {
      *        {@link PackagesResourceConfig#PROPERTY_PACKAGES}. 
      */
     public PackagesResourceConfig(Map<String, Object> props) {
-        this(getPackages(props));
-        
+        // Set before scanning so scanning may be configured by properties
         setPropertiesAndFeatures(props);
+
+        init(getPackages(props));
     }
     
     private void init(String[] packages) {
@@ -101,7 +109,9 @@ public class PackagesResourceConfig extends ScanningResourceConfig {
             LOGGER.log(Level.INFO, b.toString());
         }
 
-        init(new PackageNamesScanner(packages));
+        init(new PackageNamesScanner(
+                AccessController.doPrivileged(ReflectionHelper.getContextClassLoaderPA()),
+                packages, PathProviderScannerListener.INDEX_RESOURCE_NAME));
     }
     
     private static String[] getPackages(Map<String, Object> props) {
@@ -206,6 +206,107 @@ public abstract class ResourceConfig extends Application implements FeaturesAndP
     public static final String FEATURE_TRACE_PER_REQUEST
             = "com.sun.jersey.config.feature.TracePerRequest";
 
+    /**
+     * If true then resource methods will be invoked by classes that are
+     * generated, when the resource methods are processed, to invoke each
+     * method directly rather than by using reflection.
+     * <p>
+     * Generated invokers are only used for public methods of public classes
+     * whose parameter types are also public. Reflection is used to invoke
+     * all other resource methods, and resource methods that are invoked by
+     * a custom {@link com.sun.jersey.spi.container.JavaMethodInvoker}.
+     * <p>
+     * The default value is false.
+     */
+    public static final String FEATURE_GENERATED_METHOD_INVOKERS
+            = "com.sun.jersey.config.feature.GeneratedMethodInvokers";
+
+    /**
+     * If true then the URI paths of requests will be matched against the
+     * URI templates of root resource classes, sub-resource methods and
+     * sub-resource locators using a trie of the literal characters that
+     * prefix those templates.
+     * <p>
+     * Only the templates whose literal prefix is a prefix of a URI path
+     * are matched against that path, and templates without template
+     * variables are matched without using regular expressions. The
+     * results of matching are the same as when this feature is disabled.
+     * This can significantly reduce the cost of matching for applications
+     * with many root resource classes.
+     * <p>
+     * The default value is false.
+     */
+    public static final String FEATURE_TRIE_URI_MATCHING
+            = "com.sun.jersey.config.feature.TrieUriMatching";
+
+    /**
+     * If true then the JAXB contexts of the JAXB classes consumed and
+     * produced by the resource methods of root resource classes will be
+     * created when the web application is initiated, rather than when first
+     * used to process a request.
+     * <p>
+     * Enabling this feature moves the cost of creating those JAXB contexts
+     * from the first requests to the initiation of the web application.
+     * To determine whether a JAXB context is supplied by a
+     * {@link javax.ws.rs.ext.ContextResolver}, and therefore need not be
+     * created, the registered context resolvers of {@link javax.xml.bind.JAXBContext}
+     * are invoked when the web application is initiated.
+     * <p>
+     * The default value is false.
+     */
+    public static final String FEATURE_JAXB_CONTEXT_WARMING
+            = "com.sun.jersey.config.feature.JAXBContextWarming";
+
+    /**
+     * If true then the abstract resource models of root resource classes,
+     * and the validation of those models, will be created in parallel when
+     * the web application is initiated. The number of threads is declared
+     * by {@link #PROPERTY_PARALLEL_INITIATION_THREADS}.
+     * <p>
+     * The URI rules of the root resource classes are always created in
+     * sequence, on the thread initiating the web application, since
+     * resource method dispatch providers, resource filter factories and
+     * injectable providers need not support concurrent use.
+     * <p>
+     * The default value is false.
+     */
+    public static final String FEATURE_PARALLEL_INITIATION
+            = "com.sun.jersey.config.feature.ParallelInitiation";
+
+    /**
+     * If set the number of threads used to create the abstract resource
+     * models of root resource classes when
+     * {@link #FEATURE_PARALLEL_INITIATION} is enabled. If the value is less
+     * than 2 the models are created in sequence.
+     * <p>
+     * The value may be an instance of {@link Integer} or a {@link String}
+     * that can be parsed as an integer. If the property is absent then the
+     * number of available processors is used.
+     */
+    public static final String PROPERTY_PARALLEL_INITIATION_THREADS
+            = "com.sun.jersey.config.property.ParallelInitiationThreads";
+
+    /**
+     * If true then the per-request context, that holds the matched
+     * resources, matched results, matched templates and path parameters of
+     * a request, will be retained by the thread processing the request and
+     * reset for reuse when that thread processes the next request.
+     * <p>
+     * When this feature is enabled a reference to the
+     * {@link HttpContext}, the {@link javax.ws.rs.core.UriInfo}, or the
+     * lists and maps obtained from them, must not be retained after the
+     * request has completed. Access to a retained context that has been
+     * released, and not yet reused, results in an
+     * {@link IllegalStateException}. Lists and maps that were obtained
+     * before the context was released retain the state of the request from
+     * which they were obtained. The context of a suspended request is
+     * never reused.
+     * <p>
+     * The default value is false.
+     */
+    public static final String FEATURE_REQUEST_CONTEXT_POOLING
+            = "com.sun.jersey.config.feature.RequestContextPooling";
+
     /**
      * If set the map of file extension to media type mappings that will be
      * added to the map that is returned from {@link #getMediaTypeMappings() }.
@@ -359,6 +460,25 @@ public abstract class ResourceConfig extends Application implements FeaturesAndP
     public static final String PROPERTY_WADL_GENERATOR_CONFIG = 
             "com.sun.jersey.config.property.WadlGeneratorConfig";
 
+    /**
+     * If set the maximum size, in bytes, of a response entity, whose size
+     * is not known by the {@link javax.ws.rs.ext.MessageBodyWriter} that
+     * writes it, that will be buffered before the response is committed.
+     * <p>
+     * An entity that is written completely to the buffer is written with
+     * the content length, rather than, for example, using chunked transfer
+     * encoding. Otherwise, when an entity exceeds the buffer, the buffered
+     * bytes and the remainder of the entity are written as if the entity
+     * was not buffered. While buffering, flushing the entity output stream
+     * has no effect.
+     * <p>
+     * The value may be an instance of {@link Integer} or a {@link String}
+     * that can be parsed as an integer. If the property is absent, or the
+     * value is 0, then response entities are not buffered.
+     */
+    public static final String PROPERTY_RESPONSE_BUFFER_SIZE =
+            "com.sun.jersey.config.property.ResponseBufferSize";
+
     /**
      * Common delimiters used by various properties.
      */
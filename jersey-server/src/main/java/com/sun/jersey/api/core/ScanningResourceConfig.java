@@ -40,15 +40,30 @@
 
 package com.sun.jersey.api.core;
 
+import com.sun.jersey.core.osgi.OsgiRegistry;
+import com.sun.jersey.core.reflection.ReflectionHelper;
+import com.sun.jersey.core.spi.scanning.DigestScanner;
 import com.sun.jersey.core.spi.scanning.Scanner;
+import com.sun.jersey.core.util.ReaderWriter;
 import com.sun.jersey.spi.container.ReloadListener;
 import com.sun.jersey.spi.scanning.AnnotationScannerListener;
 import com.sun.jersey.spi.scanning.PathProviderScannerListener;
 
 import javax.ws.rs.Path;
 import javax.ws.rs.ext.Provider;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.annotation.Annotation;
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -60,6 +75,28 @@ import java.util.logging.Logger;
  * @author Paul.Sandoz@Sun.Com
  */
 public class ScanningResourceConfig extends DefaultResourceConfig implements ReloadListener {
+    /**
+     * If set, the path of a snapshot file to which the root resource and
+     * provider classes found by scanning are saved, and from which those
+     * classes are loaded instead of scanning when the resources to scan
+     * are unchanged.
+     * <p>
+     * The property value MUST be an instance of String or {@link File}.
+     * <p>
+     * The snapshot is keyed by a digest of the paths, sizes and modification
+     * times of the directories and jar files to scan. If the digest of the
+     * snapshot differs, or a class of the snapshot cannot be loaded, then
+     * scanning is performed and the snapshot is saved again. A snapshot is
+     * only utilized for scanners that implement {@link DigestScanner} and
+     * for which a digest can be computed.
+     * <p>
+     * The property must be set before scanning is performed, for example by
+     * declaring it in the map of properties passed to the constructor of
+     * {@link PackagesResourceConfig} or {@link ClasspathResourceConfig}.
+     */
+    public static final String PROPERTY_SCANNING_SNAPSHOT
+            = "com.sun.jersey.config.property.ScanningSnapshot";
+
     private static final Logger LOGGER = 
             Logger.getLogger(ScanningResourceConfig.class.getName());
 
@@ -76,10 +113,25 @@ public class ScanningResourceConfig extends DefaultResourceConfig implements Rel
     public void init(final Scanner scanner) {
         this.scanner = scanner;
 
-        final AnnotationScannerListener asl = new PathProviderScannerListener();
-        scanner.scan(asl);
+        final File snapshot = getSnapshot();
+        final String digest = (snapshot != null && scanner instanceof DigestScanner)
+                ? ((DigestScanner)scanner).digest()
+                : null;
 
-        getClasses().addAll(asl.getAnnotatedClasses());
+        Set<Class<?>> classes = (digest != null)
+                ? loadSnapshot(snapshot, digest)
+                : null;
+        if (classes == null) {
+            final AnnotationScannerListener asl = new PathProviderScannerListener();
+            scanner.scan(asl);
+            classes = asl.getAnnotatedClasses();
+
+            if (digest != null) {
+                saveSnapshot(snapshot, digest, classes);
+            }
+        }
+
+        getClasses().addAll(classes);
         
         if (LOGGER.isLoggable(Level.INFO) && !getClasses().isEmpty()) {
             final Set<Class> rootResourceClasses = get(Path.class);
@@ -136,6 +188,118 @@ public class ScanningResourceConfig extends DefaultResourceConfig implements Rel
         getClasses().removeAll(classesToRemove);
     }
 
+    private File getSnapshot() {
+        final Object v = getProperty(PROPERTY_SCANNING_SNAPSHOT);
+        if (v == null) {
+            return null;
+        } else if (v instanceof File) {
+            return (File)v;
+        } else if (v instanceof String) {
+            return new File(((String)v).trim());
+        } else {
+            throw new IllegalArgumentException(PROPERTY_SCANNING_SNAPSHOT + " must " +
+                    "have a property value of type String or File");
+        }
+    }
+
+    /**
+     * Load the classes of a snapshot.
+     *
+     * @return the classes, or null if the snapshot is not present, is for a
+     *         different digest, or a class cannot be loaded.
+     */
+    private Set<Class<?>> loadSnapshot(File snapshot, String digest) {
+        if (!snapshot.isFile()) {
+            return null;
+        }
+
+        final Set<Class<?>> classes = new LinkedHashSet<Class<?>>();
+        try {
+            final BufferedReader r = new BufferedReader(new InputStreamReader(
+                    new FileInputStream(snapshot), ReaderWriter.UTF8));
+            try {
+                if (!digest.equals(r.readLine())) {
+                    LOGGER.log(Level.CONFIG, "The scanning snapshot " + snapshot +
+                            " is out of date, scanning will be performed");
+                    return null;
+                }
+
+                String className;
+                while ((className = r.readLine()) != null) {
+                    if (className.length() > 0) {
+                        classes.add(getClassForName(className));
+                    }
+                }
+            } finally {
+                r.close();
+            }
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Error reading the scanning snapshot " + snapshot +
+                    ", scanning will be performed", ex);
+            return null;
+        } catch (ClassNotFoundException ex) {
+            LOGGER.log(Level.CONFIG, "A class of the scanning snapshot " + snapshot +
+                    " could not be found, scanning will be performed", ex);
+            return null;
+        }
+
+        LOGGER.log(Level.CONFIG, "Loaded the root resource and provider classes from the scanning snapshot " +
+                snapshot);
+        return classes;
+    }
+
+    private Class<?> getClassForName(String className) throws ClassNotFoundException {
+        final OsgiRegistry osgiRegistry = ReflectionHelper.getOsgiRegistryInstance();
+        if (osgiRegistry != null) {
+            return osgiRegistry.classForNameWithException(className);
+        }
+
+        try {
+            final ClassLoader cl = AccessController.doPrivileged(ReflectionHelper.getContextClassLoaderPA());
+            return AccessController.doPrivileged(ReflectionHelper.classForNameWithExceptionPEA(className, cl));
+        } catch (PrivilegedActionException ex) {
+            final Exception cause = ex.getException();
+            if (cause instanceof ClassNotFoundException) {
+                throw (ClassNotFoundException)cause;
+            }
+            throw new ClassNotFoundException(className, cause);
+        }
+    }
+
+    private void saveSnapshot(File snapshot, String digest, Set<Class<?>> classes) {
+        try {
+            final File dir = snapshot.getAbsoluteFile().getParentFile();
+            if (dir != null) {
+                dir.mkdirs();
+            }
+
+            // Write to a temporary file and rename so that a partially
+            // written snapshot is never loaded
+            final File tmp = File.createTempFile(snapshot.getName(), ".tmp", dir);
+            final Writer w = new OutputStreamWriter(new FileOutputStream(tmp), ReaderWriter.UTF8);
+            try {
+                w.write(digest);
+                w.write('\n');
+                for (Class<?> c : classes) {
+                    w.write(c.getName());
+                    w.write('\n');
+                }
+            } finally {
+                w.close();
+            }
+
+            if (!tmp.renameTo(snapshot)) {
+                snapshot.delete();
+                if (!tmp.renameTo(snapshot)) {
+                    tmp.delete();
+                    throw new IOException("Unable to rename " + tmp + " to " + snapshot);
+                }
+            }
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Error saving the scanning snapshot " + snapshot, ex);
+        }
+    }
+
     private Set<Class> get(Class<? extends Annotation> ac) {
         Set<Class> s = new HashSet<Class>();
         for (Class c : getClasses())
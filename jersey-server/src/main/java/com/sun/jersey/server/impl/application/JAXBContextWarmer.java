@@ -0,0 +1,178 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.server.impl.application;
+
+import com.sun.jersey.api.model.AbstractResource;
+import com.sun.jersey.api.model.AbstractResourceMethod;
+import com.sun.jersey.api.model.Parameter;
+import com.sun.jersey.core.provider.jaxb.JAXBContextRegistry;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Providers;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+
+/**
+ * Creates, ahead of use, the JAXB contexts of the JAXB classes that are
+ * consumed and produced by the resource methods of abstract resources.
+ * <p>
+ * A JAXB class is a class annotated with {@link XmlRootElement} or
+ * {@link XmlType} that is the type of a parameter or the return type of a
+ * resource method, or the type argument of such a type that is a
+ * {@link JAXBElement} or a collection, or the component type of such a
+ * type that is an array. Classes for which a {@link ContextResolver} of
+ * {@link JAXBContext} supplies a JAXB context are ignored.
+ */
+final class JAXBContextWarmer {
+    private static final Logger LOGGER = Logger.getLogger(JAXBContextWarmer.class.getName());
+
+    private final Providers providers;
+
+    JAXBContextWarmer(Providers providers) {
+        this.providers = providers;
+    }
+
+    /**
+     * Create the JAXB contexts of the JAXB classes of abstract resources
+     * in the {@link JAXBContextRegistry} scoped to the providers.
+     *
+     * @param ars the abstract resources.
+     */
+    void warm(Collection<AbstractResource> ars) {
+        final Set<Class<?>> types = new LinkedHashSet<Class<?>>();
+        for (AbstractResource ar : ars) {
+            for (AbstractResourceMethod arm : ar.getResourceMethods()) {
+                addTypes(arm, types);
+            }
+            for (AbstractResourceMethod arm : ar.getSubResourceMethods()) {
+                addTypes(arm, types);
+            }
+        }
+
+        if (types.isEmpty())
+            return;
+
+        final JAXBContextRegistry registry = JAXBContextRegistry.getInstance(providers);
+        final long start = registry.getBuildTime(TimeUnit.NANOSECONDS);
+        final int n = registry.warm(types);
+        if (LOGGER.isLoggable(Level.CONFIG)) {
+            LOGGER.config("Created the JAXB contexts of " + n + " of " + types.size() +
+                    " JAXB classes in " +
+                    TimeUnit.NANOSECONDS.toMillis(registry.getBuildTime(TimeUnit.NANOSECONDS) - start) +
+                    " ms");
+        }
+    }
+
+    private void addTypes(AbstractResourceMethod arm, Set<Class<?>> types) {
+        final List<MediaType> mediaTypes = new ArrayList<MediaType>();
+        mediaTypes.addAll(arm.getSupportedInputTypes());
+        mediaTypes.addAll(arm.getSupportedOutputTypes());
+
+        addType(arm.getGenericReturnType(), mediaTypes, types);
+        for (Parameter p : arm.getParameters()) {
+            if (p.getSource() != Parameter.Source.CONTEXT) {
+                addType(p.getParameterType(), mediaTypes, types);
+            }
+        }
+    }
+
+    private void addType(Type t, List<MediaType> mediaTypes, Set<Class<?>> types) {
+        final Class<?> c = getJAXBClass(t);
+        if (c != null && !types.contains(c) && !isResolved(c, mediaTypes)) {
+            types.add(c);
+        }
+    }
+
+    private boolean isResolved(Class<?> c, List<MediaType> mediaTypes) {
+        if (isResolved(c, (MediaType)null))
+            return true;
+
+        for (MediaType m : mediaTypes) {
+            if (isResolved(c, m))
+                return true;
+        }
+        return false;
+    }
+
+    private boolean isResolved(Class<?> c, MediaType m) {
+        final ContextResolver<JAXBContext> cr = providers.getContextResolver(JAXBContext.class, m);
+        return cr != null && cr.getContext(c) != null;
+    }
+
+    private static Class<?> getJAXBClass(Type t) {
+        if (t instanceof ParameterizedType) {
+            final ParameterizedType pt = (ParameterizedType)t;
+            if (!(pt.getRawType() instanceof Class))
+                return null;
+
+            final Class<?> raw = (Class<?>)pt.getRawType();
+            if (pt.getActualTypeArguments().length == 1 &&
+                    (raw == JAXBElement.class || Collection.class.isAssignableFrom(raw))) {
+                return getJAXBClass(pt.getActualTypeArguments()[0]);
+            }
+            return getJAXBClass(raw);
+        } else if (t instanceof GenericArrayType) {
+            return getJAXBClass(((GenericArrayType)t).getGenericComponentType());
+        } else if (t instanceof Class) {
+            final Class<?> c = (Class<?>)t;
+            if (c.isArray())
+                return getJAXBClass(c.getComponentType());
+
+            return (c.isAnnotationPresent(XmlRootElement.class) ||
+                    c.isAnnotationPresent(XmlType.class)) ? c : null;
+        } else {
+            return null;
+        }
+    }
+}
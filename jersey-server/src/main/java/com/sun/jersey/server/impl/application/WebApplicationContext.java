@@ -50,6 +50,7 @@ import com.sun.jersey.api.uri.UriComponent;
 import com.sun.jersey.api.uri.UriTemplate;
 import com.sun.jersey.core.header.InBoundHeaders;
 import com.sun.jersey.core.util.MultivaluedMapImpl;
+import com.sun.jersey.server.impl.uri.LazyDecodedMultivaluedMap;
 import com.sun.jersey.spi.container.ContainerRequest;
 import com.sun.jersey.spi.container.ContainerResponse;
 import com.sun.jersey.spi.container.ContainerResponseFilter;
@@ -86,6 +87,8 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     private List<ContainerResponseFilter> responseFilters;
 
+    private boolean released;
+
     public WebApplicationContext(WebApplicationImpl app,
             ContainerRequest request, ContainerResponse response) {
         this.app = app;
@@ -100,7 +103,61 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
         }
     }
 
+    /**
+     * Reset a released context for reuse by another request.
+     *
+     * @param request the container request.
+     * @param response the container response.
+     */
+    /* package */ void reset(ContainerRequest request, ContainerResponse response) {
+        this.released = false;
+        this.request = request;
+        this.response = response;
+
+        if (isTracingEnabled()) {
+            getProperties().put(TraceInformation.class.getName(),
+                    new TraceInformation(this));
+        }
+    }
+
+    /**
+     * Release the context after the request has completed, such that
+     * it may be reset for reuse by another request.
+     * <p>
+     * Any further access to the context, until it is reset, results in an
+     * {@link IllegalStateException}.
+     */
+    /* package */ void release() {
+        released = true;
+        request = null;
+        response = null;
+        responseFilters = Collections.EMPTY_LIST;
+        matchResult = null;
+        // The lists and maps returned by this context may have escaped the
+        // request, so new instances are used rather than clearing them
+        resources = new LinkedList<Object>();
+        matchResults = new LinkedList<MatchResult>();
+        paths = new LinkedList<String>();
+        templates = new LinkedList<UriTemplate>();
+        arm = null;
+        encodedTemplateValues = null;
+        decodedTemplateValues = null;
+        if (unresolvedMatches != null) {
+            unresolvedMatches.clear();
+        }
+        templateValuesObtained = false;
+    }
+
+    private void checkNotReleased() {
+        if (released) {
+            throw new IllegalStateException("The request context is accessed after " +
+                    "the request has completed. References to the request context, " +
+                    "or to state obtained from it, escaped the request");
+        }
+    }
+
     public WebApplicationContext createMatchResourceContext(URI u) {
+        checkNotReleased();
         final URI base = request.getBaseUri();
 
         if (u.isAbsolute()) {
@@ -133,6 +190,7 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
     }
 
     public List<ContainerResponseFilter> getResponseFilters() {
+        checkNotReleased();
         return responseFilters;
     }
 
@@ -140,21 +198,25 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public HttpRequestContext getRequest() {
+        checkNotReleased();
         return request;
     }
 
     @Override
     public HttpResponseContext getResponse() {
+        checkNotReleased();
         return response;
     }
 
     @Override
     public ExtendedUriInfo getUriInfo() {
+        checkNotReleased();
         return this;
     }
 
     @Override
     public Map<String, Object> getProperties() {
+        checkNotReleased();
         return request.getProperties();
     }
 
@@ -167,6 +229,7 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public void trace(String message) {
+        checkNotReleased();
         if (!isTracingEnabled())
             return;
 
@@ -179,50 +242,57 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public MatchResult getMatchResult() {
+        checkNotReleased();
         return matchResult;
     }
 
     @Override
     public void setMatchResult(MatchResult matchResult) {
+        checkNotReleased();
         this.matchResult = matchResult;
     }
 
 
     // UriRuleContext
 
-    private final LinkedList<Object> resources = new LinkedList<Object>();
+    private LinkedList<Object> resources = new LinkedList<Object>();
 
-    private final LinkedList<MatchResult> matchResults = new LinkedList<MatchResult>();
+    private LinkedList<MatchResult> matchResults = new LinkedList<MatchResult>();
 
-    private final LinkedList<String> paths = new LinkedList<String>();
+    private LinkedList<String> paths = new LinkedList<String>();
 
-    private final LinkedList<UriTemplate> templates = new LinkedList<UriTemplate>();
+    private LinkedList<UriTemplate> templates = new LinkedList<UriTemplate>();
 
     private AbstractResourceMethod arm;
 
     @Override
     public ContainerRequest getContainerRequest() {
+        checkNotReleased();
         return request;
     }
 
     @Override
     public void setContainerRequest(ContainerRequest request) {
+        checkNotReleased();
         this.request = request;
         this.response.setContainerRequest(request);
     }
 
     @Override
     public ContainerResponse getContainerResponse() {
+        checkNotReleased();
         return response;
     }
 
     @Override
     public void setContainerResponse(ContainerResponse response) {
+        checkNotReleased();
         this.response = response;
     }
 
     @Override
     public void pushContainerResponseFilters(List<ContainerResponseFilter> filters) {
+        checkNotReleased();
         if (filters.isEmpty())
             return;
 
@@ -236,6 +306,7 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public Object getResource(Class resourceClass) {
+        checkNotReleased();
         return app.getResourceComponentProvider(resourceClass).getInstance(this);
     }
 
@@ -246,6 +317,7 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public void pushMatch(UriTemplate template, List<String> names) {
+        checkNotReleased();
         matchResults.addFirst(matchResult);
 
         templates.addFirst(template);
@@ -254,31 +326,67 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
             encodedTemplateValues = new MultivaluedMapImpl();
         }
 
-        int i = 1;
-        for (String name : names) {
-            final String value = matchResult.group(i++);
-            encodedTemplateValues.addFirst(name, value);
+        // Defer obtaining the template values from the match result
+        // until the path parameters are requested
+        if (!names.isEmpty()) {
+            if (unresolvedMatches == null) {
+                unresolvedMatches = new ArrayList<UnresolvedMatch>(4);
+            }
+            unresolvedMatches.add(new UnresolvedMatch(matchResult, names));
 
-            if (decodedTemplateValues != null) {
-                decodedTemplateValues.addFirst(
-                        UriComponent.decode(name, UriComponent.Type.PATH_SEGMENT),
-                        UriComponent.decode(value, UriComponent.Type.PATH));
+            // A map of path parameters that has already been obtained,
+            // for example by a sub-resource locator, must reflect the
+            // template values of further matches
+            if (templateValuesObtained) {
+                resolveTemplateValues();
             }
         }
     }
 
+    private void resolveTemplateValues() {
+        if (unresolvedMatches == null || unresolvedMatches.isEmpty())
+            return;
+
+        for (UnresolvedMatch m : unresolvedMatches) {
+            int i = 1;
+            for (String name : m.names) {
+                final String value = m.matchResult.group(i++);
+                encodedTemplateValues.addFirst(name, value);
+
+                if (decodedTemplateValues != null) {
+                    decodedTemplateValues.invalidate(name);
+                }
+            }
+        }
+        unresolvedMatches.clear();
+    }
+
+    private static final class UnresolvedMatch {
+        final MatchResult matchResult;
+
+        final List<String> names;
+
+        UnresolvedMatch(MatchResult matchResult, List<String> names) {
+            this.matchResult = matchResult;
+            this.names = names;
+        }
+    }
+
     @Override
     public void pushResource(Object resource) {
+        checkNotReleased();
         resources.addFirst(resource);
     }
 
     @Override
     public void pushMethod(AbstractResourceMethod arm) {
+        checkNotReleased();
         this.arm = arm;
     }
 
     @Override
     public void pushRightHandPathLength(int rhpathlen) {
+        checkNotReleased();
         final String ep = request.getPath(false);
         paths.addFirst(ep.substring(0,
                 ep.length() - rhpathlen));
@@ -289,65 +397,81 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     private MultivaluedMapImpl encodedTemplateValues;
 
-    private MultivaluedMapImpl decodedTemplateValues;
+    private LazyDecodedMultivaluedMap decodedTemplateValues;
+
+    private List<UnresolvedMatch> unresolvedMatches;
+
+    private boolean templateValuesObtained;
 
     @Override
     public URI getBaseUri() {
+        checkNotReleased();
         return request.getBaseUri();
     }
 
     @Override
     public UriBuilder getBaseUriBuilder() {
+        checkNotReleased();
         return request.getBaseUriBuilder();
     }
 
     @Override
     public URI getAbsolutePath() {
+        checkNotReleased();
         return request.getAbsolutePath();
     }
 
     @Override
     public UriBuilder getAbsolutePathBuilder() {
+        checkNotReleased();
         return request.getAbsolutePathBuilder();
     }
 
     @Override
     public URI getRequestUri() {
+        checkNotReleased();
         return request.getRequestUri();
     }
 
     @Override
     public UriBuilder getRequestUriBuilder() {
+        checkNotReleased();
         return request.getRequestUriBuilder();
     }
 
     @Override
     public String getPath() {
+        checkNotReleased();
         return request.getPath(true);
     }
 
     @Override
     public String getPath(boolean decode) {
+        checkNotReleased();
         return request.getPath(decode);
     }
 
     @Override
     public List<PathSegment> getPathSegments() {
+        checkNotReleased();
         return request.getPathSegments(true);
     }
 
     @Override
     public List<PathSegment> getPathSegments(boolean decode) {
+        checkNotReleased();
         return request.getPathSegments(decode);
     }
 
     @Override
     public MultivaluedMap<String, String> getQueryParameters() {
+        checkNotReleased();
         return request.getQueryParameters(true);
     }
 
     @Override
     public MultivaluedMap<String, String> getQueryParameters(boolean decode) {
+        checkNotReleased();
         return request.getQueryParameters(decode);
     }
 
@@ -361,23 +485,19 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public MultivaluedMap<String, String> getPathParameters(boolean decode) {
+        checkNotReleased();
+        resolveTemplateValues();
+        templateValuesObtained = true;
+
         if (decode) {
             if (decodedTemplateValues != null) {
                 return decodedTemplateValues;
             }
 
-            decodedTemplateValues = new MultivaluedMapImpl();
-            for (Map.Entry<String, List<String>> e : encodedTemplateValues.entrySet()) {
-                List<String> l = new ArrayList<String>();
-                for (String v : e.getValue()) {
-                    l.add(UriComponent.decode(v, UriComponent.Type.PATH));
-                }
-                decodedTemplateValues.put(
-                        UriComponent.decode(e.getKey(), UriComponent.Type.PATH_SEGMENT),
-                        l);
-            }
-
-            return decodedTemplateValues;
+            // Template variable names never require decoding, values are
+            // decoded on demand
+            return decodedTemplateValues = LazyDecodedMultivaluedMap.pathParameters(
+                    encodedTemplateValues);
         } else {
             return encodedTemplateValues;
         }
@@ -390,6 +510,7 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public List<String> getMatchedURIs(boolean decode) {
+        checkNotReleased();
         List<String> result;
         if (decode) {
             result = new ArrayList<String>(paths.size());
@@ -407,6 +528,7 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public List<Object> getMatchedResources() {
+        checkNotReleased();
         return resources;
     }
 
@@ -415,21 +537,25 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public AbstractResourceMethod getMatchedMethod() {
+        checkNotReleased();
         return arm;
     }
 
     @Override
     public Throwable getMappedThrowable() {
+        checkNotReleased();
         return response.getMappedThrowable();
     }
 
     @Override
     public List<MatchResult> getMatchedResults() {
+        checkNotReleased();
         return matchResults;
     }
 
     @Override
     public List<UriTemplate> getMatchedTemplates() {
+        checkNotReleased();
         return templates;
     }
 
@@ -440,6 +566,7 @@ public final class WebApplicationContext implements UriRuleContext, ExtendedUriI
 
     @Override
     public List<PathSegment> getPathSegments(String name, boolean decode) {
+        checkNotReleased();
         int[] bounds = getPathParameterBounds(name);
         if (bounds != null) {
             String path = matchResults.getLast().group();
@@ -54,11 +54,21 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -69,6 +79,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.ext.ContextResolver;
@@ -84,6 +95,7 @@ import com.sun.jersey.api.NotFoundException;
 import com.sun.jersey.api.container.ContainerException;
 import com.sun.jersey.api.container.MappableContainerException;
 import com.sun.jersey.api.container.filter.UriConnegFilter;
+import com.sun.jersey.api.core.AsyncResponse;
 import com.sun.jersey.api.core.ExtendedUriInfo;
 import com.sun.jersey.api.core.HttpContext;
 import com.sun.jersey.api.core.InjectParam;
@@ -144,6 +156,7 @@ import com.sun.jersey.server.spi.component.ResourceComponentProvider;
 import com.sun.jersey.server.wadl.WadlApplicationContext;
 import com.sun.jersey.spi.MessageBodyWorkers;
 import com.sun.jersey.spi.StringReaderWorkers;
+import com.sun.jersey.spi.container.AsyncContainerResponseWriter;
 import com.sun.jersey.spi.container.ContainerRequest;
 import com.sun.jersey.spi.container.ContainerRequestFilter;
 import com.sun.jersey.spi.container.ContainerResponse;
@@ -285,12 +298,28 @@ public final class WebApplicationImpl implements WebApplication {
 
     private boolean isTraceEnabled;
 
+    private ThreadLocal<WebApplicationContext> contextPool;
+
     private RequestListener requestListener;
 
     private DispatchingListenerProxy dispatchingListener;
 
     private ResponseListener responseListener;
 
+    private ScheduledExecutorService asyncTimer;
+
+    private ExecutorService asyncTimeoutExecutor;
+
+    /**
+     * The asynchronous responses that are suspended and not yet resumed.
+     */
+    private final Set<AsyncResponse> suspendedResponses =
+            Collections.newSetFromMap(new ConcurrentHashMap<AsyncResponse, Boolean>());
+
+    private boolean destroyed;
+
+    private int responseBufferSize;
+
     public WebApplicationImpl() {
         this.context = new ThreadLocalHttpContext();
 
@@ -725,11 +754,19 @@ public final class WebApplicationImpl implements WebApplication {
     private ResourceUriRules newResourceUriRules(final AbstractResource ar) {
         assert null != ar;
 
+        validate(ar);
+        return createResourceUriRules(ar);
+    }
+
+    private static void validate(final AbstractResource ar) {
         BasicValidator validator = new BasicValidator();
         validator.validate(ar);
         for (ResourceModelIssue issue : validator.getIssueList()) {
             Errors.error(issue.getMessage(), issue.isFatal());
         }
+    }
+
+    private ResourceUriRules createResourceUriRules(final AbstractResource ar) {
         return new ResourceUriRules(
                 resourceConfig,
                 getDispatchProvider(),
@@ -1353,17 +1390,30 @@ public final class WebApplicationImpl implements WebApplication {
             }
         }
 
+        if (resourceConfig.getFeature(ResourceConfig.FEATURE_PARALLEL_INITIATION)) {
+            initiateRootResourcesInParallel();
+        }
+
         createAbstractResourceModelStructures();
 
         // Obtain all root resource rules
         RulesMap<UriRule> rootRules = new RootResourceUriRules(this,
                 resourceConfig, wadlFactory, injectableFactory).getRules();
-        this.rootsRule = new RootResourceClassesRule(rootRules);
+        this.rootsRule = new RootResourceClassesRule(rootRules,
+                resourceConfig.getFeature(ResourceConfig.FEATURE_TRIE_URI_MATCHING));
 
         if(!resourceConfig.getFeature(ResourceConfig.FEATURE_DISABLE_WADL)) {
             wadlApplicationContextInjectionProxy.init(wadlFactory);
         }
 
+        if (resourceConfig.getFeature(ResourceConfig.FEATURE_JAXB_CONTEXT_WARMING)) {
+            final List<AbstractResource> ars;
+            synchronized (abstractResourceMap) {
+                ars = new ArrayList<AbstractResource>(abstractResourceMap.values());
+            }
+            new JAXBContextWarmer(providers).warm(ars);
+        }
+
         requestListener = MonitoringProviderFactory.createRequestListener(providerServices);
         responseListener = MonitoringProviderFactory.createResponseListener(providerServices);
         dispatchingListener.init(providerServices);
@@ -1372,6 +1422,30 @@ public final class WebApplicationImpl implements WebApplication {
 
         this.isTraceEnabled = resourceConfig.getFeature(ResourceConfig.FEATURE_TRACE) |
                 resourceConfig.getFeature(ResourceConfig.FEATURE_TRACE_PER_REQUEST);
+
+        if (resourceConfig.getFeature(ResourceConfig.FEATURE_REQUEST_CONTEXT_POOLING)) {
+            this.contextPool = new ThreadLocal<WebApplicationContext>();
+        }
+
+        // The response buffer size is parsed once rather than for each response
+        final Object bufferSize = resourceConfig.getProperty(ResourceConfig.PROPERTY_RESPONSE_BUFFER_SIZE);
+        if (bufferSize != null) {
+            this.responseBufferSize = parseResponseBufferSize(bufferSize);
+        }
+    }
+
+    private static int parseResponseBufferSize(Object v) {
+        try {
+            final int size = (v instanceof Number)
+                    ? ((Number) v).intValue()
+                    : Integer.parseInt(v.toString().trim());
+            return Math.max(size, 0);
+        } catch (NumberFormatException ex) {
+            LOGGER.log(Level.WARNING, "The value, " + v + ", of the property " +
+                    ResourceConfig.PROPERTY_RESPONSE_BUFFER_SIZE +
+                    " is not an integer. Response entities will not be buffered.");
+            return 0;
+        }
     }
 
     @Override
@@ -1379,6 +1453,11 @@ public final class WebApplicationImpl implements WebApplication {
         return providers;
     }
 
+    @Override
+    public int getResponseBufferSize() {
+        return responseBufferSize;
+    }
+
     @Override
     public ResourceContext getResourceContext() {
         return resourceContext;
@@ -1411,19 +1490,45 @@ public final class WebApplicationImpl implements WebApplication {
 
     @Override
     public void handleRequest(ContainerRequest request, ContainerResponse response) throws IOException {
-        final WebApplicationContext localContext = new
-                WebApplicationContext(this, request, response);
+        final WebApplicationContext localContext = acquireContext(request, response);
 
         context.set(localContext);
+        boolean suspended = false;
         try {
-            _handleRequest(localContext, request, response);
+            suspended = _handleRequest(localContext, request, response);
         } finally {
-            PerRequestFactory.destroy(localContext);
-            closeableFactory.close(localContext);
+            // The per-request state of a suspended request is destroyed
+            // when the response is resumed
+            if (!suspended) {
+                PerRequestFactory.destroy(localContext);
+                closeableFactory.close(localContext);
+                releaseContext(localContext);
+            }
             context.set(null);
         }
     }
 
+    private WebApplicationContext acquireContext(ContainerRequest request, ContainerResponse response) {
+        if (contextPool != null) {
+            // The pooled context is removed while in use so that a request
+            // processed re-entrantly on the same thread obtains its own context
+            final WebApplicationContext pooledContext = contextPool.get();
+            if (pooledContext != null) {
+                contextPool.set(null);
+                pooledContext.reset(request, response);
+                return pooledContext;
+            }
+        }
+        return new WebApplicationContext(this, request, response);
+    }
+
+    private void releaseContext(WebApplicationContext localContext) {
+        if (contextPool != null) {
+            localContext.release();
+            contextPool.set(localContext);
+        }
+    }
+
     private WebApplicationContext handleMatchResourceRequest(URI u) {
         final WebApplicationContext oldContext = (WebApplicationContext)context.get();
 
@@ -1440,6 +1545,24 @@ public final class WebApplicationImpl implements WebApplication {
 
     @Override
     public void destroy() {
+        synchronized (this) {
+            destroyed = true;
+            if (asyncTimer != null) {
+                asyncTimer.shutdownNow();
+                asyncTimer = null;
+            }
+            if (asyncTimeoutExecutor != null) {
+                asyncTimeoutExecutor.shutdown();
+                asyncTimeoutExecutor = null;
+            }
+        }
+
+        // Resume suspended responses with a 503 response while the
+        // components they may depend on are still available
+        for (AsyncResponse ar : suspendedResponses) {
+            ar.resume(new WebApplicationException(Response.Status.SERVICE_UNAVAILABLE));
+        }
+
         for (ResourceComponentProvider rcp : providerMap.values()) {
             rcp.destroy();
         }
@@ -1454,6 +1577,10 @@ public final class WebApplicationImpl implements WebApplication {
         cpFactory.destroy();
     }
 
+    private synchronized boolean isDestroyed() {
+        return destroyed;
+    }
+
     // Traceable
 
     @Override
@@ -1466,7 +1593,7 @@ public final class WebApplicationImpl implements WebApplication {
         context.get().trace(message);
     }
 
-    private void _handleRequest(final WebApplicationContext localContext,
+    private boolean _handleRequest(final WebApplicationContext localContext,
                                 ContainerRequest request, ContainerResponse response) throws IOException {
         try {
             requestListener.onRequest(Thread.currentThread().getId(), request);
@@ -1483,6 +1610,17 @@ public final class WebApplicationImpl implements WebApplication {
             }
         }
 
+        final Object entity = response.getEntity();
+        if (entity instanceof AsyncResponse) {
+            return suspend(localContext, request, response, (AsyncResponse)entity);
+        }
+
+        writeResponse(localContext, request, response);
+        return false;
+    }
+
+    private void writeResponse(final WebApplicationContext localContext,
+                                ContainerRequest request, ContainerResponse response) throws IOException {
         try {
             // Process response filters from resources
             for (ContainerResponseFilter f : localContext.getResponseFilters()) {
@@ -1521,6 +1659,225 @@ public final class WebApplicationImpl implements WebApplication {
         }
     }
 
+    /**
+     * Suspend the response until the asynchronous response is resumed.
+     *
+     * @return true if the container response writer suspended the response,
+     *         otherwise false if the response was resumed and written
+     *         while blocking the current thread.
+     */
+    private boolean suspend(final WebApplicationContext localContext,
+                            final ContainerRequest request, final ContainerResponse response,
+                            final AsyncResponse ar) throws IOException {
+        // The content type selected from @Produces, if any, is retained
+        // for a resumed response that does not declare a content type
+        final Object contentType = response.getHttpHeaders().getFirst(HttpHeaders.CONTENT_TYPE);
+
+        // A response suspended while, or after, the web application is
+        // destroyed is resumed immediately
+        suspendedResponses.add(ar);
+        if (isDestroyed()) {
+            ar.resume(new WebApplicationException(Response.Status.SERVICE_UNAVAILABLE));
+        }
+
+        final long timeout = ar.getTimeout(TimeUnit.MILLISECONDS);
+        final Future<?> timeoutFuture = (timeout > 0 && !ar.isDone())
+                ? scheduleAsyncTimeout(ar, timeout)
+                : null;
+
+        final ContainerResponseWriter w = response.getContainerResponseWriter();
+        if (w instanceof AsyncContainerResponseWriter &&
+                ((AsyncContainerResponseWriter)w).suspend()) {
+            final AsyncResponse.ResumeHandler h = new AsyncResponse.ResumeHandler() {
+                @Override
+                public void onResume(AsyncResponse r) {
+                    resume(localContext, request, response, r, contentType, timeoutFuture);
+                }
+            };
+            if (!ar.setResumeHandler(h)) {
+                h.onResume(ar);
+            }
+            return true;
+        }
+
+        // The container cannot suspend the response, block until resumed.
+        // A response that never times out blocks the current thread until
+        // it is resumed by the application or the web application is
+        // destroyed
+        try {
+            ar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ar.resume(new WebApplicationException(Response.Status.SERVICE_UNAVAILABLE));
+        }
+        suspendedResponses.remove(ar);
+        if (timeoutFuture != null) {
+            timeoutFuture.cancel(false);
+        }
+
+        setResumedResponse(response, ar, contentType);
+        writeResponse(localContext, request, response);
+        return false;
+    }
+
+    private void resume(final WebApplicationContext localContext,
+                        final ContainerRequest request, final ContainerResponse response,
+                        final AsyncResponse ar, final Object contentType, final Future<?> timeoutFuture) {
+        suspendedResponses.remove(ar);
+        if (timeoutFuture != null) {
+            timeoutFuture.cancel(false);
+        }
+
+        final HttpContext oldContext = context.get();
+        context.set(localContext);
+        try {
+            setResumedResponse(response, ar, contentType);
+            writeResponse(localContext, request, response);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "The resumed response could not be written", e);
+            try {
+                if (!response.isCommitted()) {
+                    response.setResponse(Response.serverError().build());
+                    response.write();
+                } else {
+                    response.getContainerResponseWriter().finish();
+                }
+            } catch (Exception ex) {
+                LOGGER.log(Level.SEVERE, "The resumed response could not be completed", ex);
+            }
+        } finally {
+            PerRequestFactory.destroy(localContext);
+            closeableFactory.close(localContext);
+            context.set(oldContext);
+        }
+    }
+
+    private void setResumedResponse(ContainerResponse response, AsyncResponse ar, Object contentType) {
+        final Throwable t = ar.getFailure();
+        if (t != null) {
+            if (t instanceof WebApplicationException) {
+                response.mapWebApplicationException((WebApplicationException)t);
+            } else if (t instanceof MappableContainerException) {
+                response.mapMappableContainerException((MappableContainerException)t);
+            } else if (!response.mapException(t)) {
+                if (t instanceof RuntimeException)
+                    throw (RuntimeException)t;
+                throw new ContainerException(t);
+            }
+            return;
+        }
+
+        final Object r = ar.getResult();
+        if (r instanceof Response) {
+            response.setResponse((Response)r);
+            if (contentType != null && response.getEntity() != null &&
+                    !response.getHttpHeaders().containsKey(HttpHeaders.CONTENT_TYPE)) {
+                response.getHttpHeaders().putSingle(HttpHeaders.CONTENT_TYPE, contentType);
+            }
+        } else if (r == null) {
+            response.setResponse(Response.noContent().build());
+        } else {
+            response.setEntity(r);
+        }
+    }
+
+    /**
+     * Schedule the resumption of an asynchronous response, with a 503
+     * response, when the timeout expires.
+     * <p>
+     * The timer thread only triggers the timeout. Resuming the response
+     * processes the response filters and writes the response, which may
+     * block, so it is performed on a separate thread so that the
+     * timeouts of other asynchronous responses are not delayed.
+     * <p>
+     * No timeout is scheduled once the web application is destroyed, since
+     * destroying the web application resumes all suspended responses.
+     *
+     * @return the future of the timeout, or null if the web application is
+     *         destroyed.
+     */
+    private Future<?> scheduleAsyncTimeout(final AsyncResponse ar, long timeout) {
+        final ScheduledExecutorService timer = getAsyncTimer();
+        if (timer == null)
+            return null;
+
+        try {
+            return timer.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (ar.isDone())
+                        return;
+
+                    final ExecutorService executor = getAsyncTimeoutExecutor();
+                    if (executor == null)
+                        return;
+
+                    try {
+                        executor.execute(new Runnable() {
+                            @Override
+                            public void run() {
+                                ar.resume(new WebApplicationException(Response.Status.SERVICE_UNAVAILABLE));
+                            }
+                        });
+                    } catch (RejectedExecutionException e) {
+                        // Destroyed concurrently, the response is resumed by destroy
+                    }
+                }
+            }, timeout, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Destroyed concurrently, the response is resumed by destroy
+            return null;
+        }
+    }
+
+    /**
+     * Get the timer of asynchronous responses, creating it if necessary.
+     *
+     * @return the timer, or null if the web application is destroyed.
+     */
+    private synchronized ScheduledExecutorService getAsyncTimer() {
+        if (destroyed)
+            return null;
+
+        if (asyncTimer == null) {
+            asyncTimer = Executors.newSingleThreadScheduledExecutor(
+                    new AsyncThreadFactory("jersey-async-timer"));
+        }
+        return asyncTimer;
+    }
+
+    /**
+     * Get the executor that resumes timed out asynchronous responses,
+     * creating it if necessary.
+     *
+     * @return the executor, or null if the web application is destroyed.
+     */
+    private synchronized ExecutorService getAsyncTimeoutExecutor() {
+        if (destroyed)
+            return null;
+
+        if (asyncTimeoutExecutor == null) {
+            asyncTimeoutExecutor = Executors.newCachedThreadPool(
+                    new AsyncThreadFactory("jersey-async-timeout"));
+        }
+        return asyncTimeoutExecutor;
+    }
+
+    private static final class AsyncThreadFactory implements ThreadFactory {
+        private final String name;
+
+        AsyncThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        }
+    }
+
     private void _handleRequest(final WebApplicationContext localContext,
                                 ContainerRequest request) {
         for (ContainerRequestFilter f : filterFactory.getRequestFilters()) {
@@ -1581,6 +1938,134 @@ public final class WebApplicationImpl implements WebApplication {
     }
 
 
+    /**
+     * Create, and validate, the abstract resources of the root resource
+     * classes in parallel. Errors reported when creating are reported, in
+     * the order of the root resource classes, to the calling thread.
+     * <p>
+     * The URI rules are then created in sequence on the calling thread,
+     * since the creation of the rules uses the provider caches, resource
+     * filter factories, component provider factories and resource method
+     * dispatch providers, which need not support concurrent use.
+     */
+    private void initiateRootResourcesInParallel() {
+        final Set<Class<?>> classes = new LinkedHashSet<Class<?>>();
+        for (final Object o : resourceConfig.getRootResourceSingletons()) {
+            classes.add(o.getClass());
+        }
+        classes.addAll(resourceConfig.getRootResourceClasses());
+        for (final Object o : resourceConfig.getExplicitRootResources().values()) {
+            classes.add((o instanceof Class) ? (Class<?>)o : o.getClass());
+        }
+
+        final int threads = Math.min(classes.size(), getParallelInitiationThreads(
+                resourceConfig.getProperty(ResourceConfig.PROPERTY_PARALLEL_INITIATION_THREADS)));
+        if (threads < 2) {
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private int n;
+
+            @Override
+            public synchronized Thread newThread(Runnable r) {
+                final Thread t = new Thread(r, "jersey-initiation-" + ++n);
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        try {
+            final List<Future<AbstractResource>> resources = new ArrayList<Future<AbstractResource>>();
+            final List<List<Errors.ErrorMessage>> resourceErrors = new ArrayList<List<Errors.ErrorMessage>>();
+            for (final Class<?> c : classes) {
+                resources.add(submit(executor, new Errors.Closure<AbstractResource>() {
+                    @Override
+                    public AbstractResource f() {
+                        final AbstractResource ar = IntrospectionModeller.createResource(c);
+                        validate(ar);
+                        return ar;
+                    }
+                }, resourceErrors));
+            }
+
+            int i = 0;
+            for (final Class<?> c : classes) {
+                final AbstractResource ar = get(resources.get(i), resourceErrors.get(i));
+                synchronized (abstractResourceMap) {
+                    if (!abstractResourceMap.containsKey(c)) {
+                        abstractResourceMap.put(c, ar);
+                    }
+                    if (!rulesMap.containsKey(c)) {
+                        rulesMap.put(c, createResourceUriRules(
+                                abstractResourceMap.get(c)).getRules());
+                    }
+                }
+                i++;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static int getParallelInitiationThreads(Object v) {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        if (v == null) {
+            return processors;
+        }
+
+        try {
+            return (v instanceof Number)
+                    ? ((Number) v).intValue()
+                    : Integer.parseInt(v.toString().trim());
+        } catch (NumberFormatException ex) {
+            LOGGER.log(Level.WARNING, "The value, " + v + ", of the property " +
+                    ResourceConfig.PROPERTY_PARALLEL_INITIATION_THREADS +
+                    " is not an integer. " + processors + " threads will be used.");
+            return processors;
+        }
+    }
+
+    private static <T> Future<T> submit(final ExecutorService executor, final Errors.Closure<T> c,
+            final List<List<Errors.ErrorMessage>> errors) {
+        final List<Errors.ErrorMessage> messages = new ArrayList<Errors.ErrorMessage>(0);
+        errors.add(messages);
+        return executor.submit(new Callable<T>() {
+            @Override
+            public T call() {
+                return Errors.collectErrors(c, messages);
+            }
+        });
+    }
+
+    private static <T> T get(final Future<T> f, final List<Errors.ErrorMessage> messages) {
+        try {
+            final T t;
+            try {
+                t = f.get();
+            } finally {
+                // The messages are complete if the task has completed
+                if (f.isDone()) {
+                    for (Errors.ErrorMessage em : messages) {
+                        Errors.error(em);
+                    }
+                }
+            }
+            return t;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ContainerException(ex);
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new ContainerException(cause);
+            }
+        }
+    }
+
     private void createAbstractResourceModelStructures() {
 
         final Set<AbstractResource> rootARs = new HashSet<AbstractResource>();
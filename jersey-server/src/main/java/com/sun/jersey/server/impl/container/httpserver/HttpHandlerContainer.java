@@ -46,7 +46,7 @@ import com.sun.jersey.server.impl.application.WebApplicationImpl;
 import com.sun.jersey.spi.container.ContainerListener;
 import com.sun.jersey.spi.container.ContainerRequest;
 import com.sun.jersey.spi.container.ContainerResponse;
-import com.sun.jersey.spi.container.ContainerResponseWriter;
+import com.sun.jersey.spi.container.FileRegionContainerResponseWriter;
 import com.sun.jersey.spi.container.ReloadListener;
 import com.sun.jersey.spi.container.WebApplication;
 import com.sun.net.httpserver.Headers;
@@ -55,11 +55,17 @@ import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpsExchange;
 
 import javax.ws.rs.core.UriBuilder;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -78,7 +84,7 @@ public class HttpHandlerContainer implements HttpHandler, ContainerListener {
         this.application = app;
     }
     
-    private final static class Writer implements ContainerResponseWriter {
+    private final static class Writer implements FileRegionContainerResponseWriter {
         final HttpExchange exchange;
         
         Writer(HttpExchange exchange) {
@@ -109,6 +115,26 @@ public class HttpHandlerContainer implements HttpHandler, ContainerListener {
         public void finish() throws IOException {            
         }
 
+        public boolean writeFileRegion(File file, long position, long count) throws IOException {
+            // The response body is only available as a stream, so the region
+            // is copied through user space into a channel wrapping that stream.
+            // This is not zero-copy, but avoids buffering the whole region
+            final FileChannel fc = new FileInputStream(file).getChannel();
+            try {
+                final WritableByteChannel target = Channels.newChannel(exchange.getResponseBody());
+                while (count > 0) {
+                    final long n = fc.transferTo(position, count, target);
+                    if (n <= 0)
+                        throw new EOFException("The file " + file + " is shorter than the region to be written");
+                    position += n;
+                    count -= n;
+                }
+                return true;
+            } finally {
+                fc.close();
+            }
+        }
+
         private long getResponseLength(long contentLength) {
             if (contentLength == 0)
                 return -1;
@@ -94,4 +94,23 @@ public class InjectableValuesProvider {
             throw new ContainerException("Exception obtaining parameters", e);
         }
     }
+
+    /**
+     * Get the injectable value of the injectable at a list index.
+     *
+     * @param context the http contest.
+     * @param index the list index.
+     * @return the injectable value.
+     */
+    public Object getInjectableValue(HttpContext context, int index) {
+        try {
+            return is.get(index).getValue(context);
+        } catch (WebApplicationException e) {
+            throw e;
+        } catch (ContainerException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new ContainerException("Exception obtaining parameters", e);
+        }
+    }
 }
@@ -61,6 +61,7 @@ import com.sun.jersey.core.header.MatchingEntityTag;
 import com.sun.jersey.core.header.MediaTypes;
 import com.sun.jersey.core.header.QualitySourceMediaType;
 import com.sun.jersey.core.header.reader.HttpHeaderReader;
+import com.sun.jersey.core.header.reader.HttpHeaderReaderCache;
 import com.sun.jersey.impl.ImplMessages;
 
 /**
@@ -92,7 +93,7 @@ public final class HttpHelper {
      */
     public static MediaType getContentType(String contentTypeString) {
         try {
-            return (contentTypeString != null) ? MediaType.valueOf(contentTypeString) : null;
+            return (contentTypeString != null) ? HttpHeaderReaderCache.readMediaType(contentTypeString) : null;
         } catch(IllegalArgumentException e) {
             throw clientError("Bad Content-Type header value: '" + contentTypeString + "'", e);
         }
@@ -170,7 +171,7 @@ public final class HttpHelper {
      *         is ordered with the highest quality acceptable Media type occurring first
      *         (see {@link MediaTypes#MEDIA_TYPE_COMPARATOR}).
      *         If no "Accept" is present then a list with a single item of the Media
-     *         type "*\\/*" is returned.
+     *         type "*\\/*" is returned. The list is unmodifiable.
      */
     public static List<AcceptableMediaType> getAccept(HttpRequestContext request) {
         final String accept = request.getHeaderValue(HttpHeaders.ACCEPT);
@@ -178,7 +179,7 @@ public final class HttpHelper {
             return MediaTypes.GENERAL_ACCEPT_MEDIA_TYPE_LIST;
         }
         try {
-            return HttpHeaderReader.readAcceptMediaType(accept);
+            return HttpHeaderReaderCache.readAcceptMediaType(accept);
         } catch (java.text.ParseException e) {
             throw clientError(ImplMessages.BAD_ACCEPT_FIELD(accept), e);
         }
@@ -216,6 +217,7 @@ public final class HttpHelper {
      * @param request The HTTP request.
      * @return The list of LanguageTag. This list
      *         is ordered with the highest quality acceptable language tag occurring first.
+     *         The list is unmodifiable.
      */
     public static List<AcceptableLanguageTag> getAcceptLanguage(HttpRequestContext request) {
         final String acceptLanguage = request.getHeaderValue(HttpHeaders.ACCEPT_LANGUAGE);
@@ -223,7 +225,27 @@ public final class HttpHelper {
             return Collections.singletonList(new AcceptableLanguageTag("*", null));
         }
         try {
-            return HttpHeaderReader.readAcceptLanguage(acceptLanguage);
+            return HttpHeaderReaderCache.readAcceptLanguage(acceptLanguage);
+        } catch (java.text.ParseException e) {
+            throw clientError("Bad Accept-Language header value: '" + acceptLanguage + "'", e);
+        }
+    }
+
+    /**
+     * Get the list of locales from the "Accept-Language" of an HTTP request.
+     * <p>
+     * @param request The HTTP request.
+     * @return The list of locales. This list
+     *         is ordered with the highest quality acceptable language tag occurring first.
+     *         The list is unmodifiable.
+     */
+    public static List<Locale> getAcceptLanguageAsLocales(HttpRequestContext request) {
+        final String acceptLanguage = request.getHeaderValue(HttpHeaders.ACCEPT_LANGUAGE);
+        if (acceptLanguage == null || acceptLanguage.length() == 0) {
+            return Collections.singletonList(new AcceptableLanguageTag("*", null).getAsLocale());
+        }
+        try {
+            return HttpHeaderReaderCache.readAcceptLanguageAsLocales(acceptLanguage);
         } catch (java.text.ParseException e) {
             throw clientError("Bad Accept-Language header value: '" + acceptLanguage + "'", e);
         }
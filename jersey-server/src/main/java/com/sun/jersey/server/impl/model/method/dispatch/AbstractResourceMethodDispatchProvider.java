@@ -46,6 +46,7 @@ import com.sun.jersey.spi.container.ResourceMethodCustomInvokerDispatchProvider;
 import com.sun.jersey.spi.container.ResourceMethodDispatchProvider;
 import com.sun.jersey.api.JResponse;
 import com.sun.jersey.api.core.HttpContext;
+import com.sun.jersey.api.core.ResourceConfig;
 import com.sun.jersey.api.model.AbstractResourceMethod;
 import com.sun.jersey.core.spi.factory.ResponseBuilderImpl;
 import com.sun.jersey.server.impl.inject.InjectableValuesProvider;
@@ -96,6 +97,10 @@ public abstract class AbstractResourceMethodDispatchProvider implements Resource
             return null;
         }
 
+        if (GeneratedMethodInvokerFactory.isEnabled(resourceConfig)) {
+            invoker = generatedInvokers.getInvoker(abstractResourceMethod.getMethod(), invoker);
+        }
+
         final Class<?> returnType = abstractResourceMethod.getReturnType();
         if (Response.class.isAssignableFrom(returnType)) {
             return new ResponseOutInvoker(abstractResourceMethod, pp, invoker);
@@ -114,6 +119,10 @@ public abstract class AbstractResourceMethodDispatchProvider implements Resource
 
     private @Context ServerInjectableProviderContext sipc;
 
+    private @Context ResourceConfig resourceConfig;
+
+    private final GeneratedMethodInvokerFactory generatedInvokers = new GeneratedMethodInvokerFactory();
+
     /**
      * Get the server-specific injectable provider context.
      *
@@ -138,6 +147,10 @@ public abstract class AbstractResourceMethodDispatchProvider implements Resource
     private static abstract class EntityParamInInvoker extends ResourceJavaMethodDispatcher {
         private final InjectableValuesProvider pp;
 
+        private final GeneratedMethodInvoker generatedInvoker;
+
+        private final int arity;
+
         EntityParamInInvoker(AbstractResourceMethod abstractResourceMethod,
                 InjectableValuesProvider pp) {
             this(abstractResourceMethod, pp, JavaMethodInvokerFactory.getDefault());
@@ -147,11 +160,38 @@ public abstract class AbstractResourceMethodDispatchProvider implements Resource
                 InjectableValuesProvider pp, JavaMethodInvoker invoker) {
             super(abstractResourceMethod, invoker);
             this.pp = pp;
+
+            // Injectable values may only be obtained individually if
+            // the provider does not process the values as a whole
+            if (invoker instanceof GeneratedMethodInvoker && pp.getClass() == InjectableValuesProvider.class) {
+                this.generatedInvoker = (GeneratedMethodInvoker)invoker;
+                this.arity = pp.getInjectables().size();
+            } else {
+                this.generatedInvoker = null;
+                this.arity = -1;
+            }
         }
 
         final Object[] getParams(HttpContext context) {
             return pp.getInjectableValues(context);
         }
+
+        final Object invoke(Object resource, HttpContext context)
+        throws IllegalAccessException, InvocationTargetException {
+            switch (arity) {
+                case 0:
+                    return generatedInvoker.invoke0(resource);
+                case 1:
+                    return generatedInvoker.invoke1(resource,
+                            pp.getInjectableValue(context, 0));
+                case 2:
+                    return generatedInvoker.invoke2(resource,
+                            pp.getInjectableValue(context, 0),
+                            pp.getInjectableValue(context, 1));
+                default:
+                    return invoker.invoke(method, resource, getParams(context));
+            }
+        }
     }
 
     private static final class VoidOutInvoker extends EntityParamInInvoker {
@@ -163,8 +203,7 @@ public abstract class AbstractResourceMethodDispatchProvider implements Resource
         @Override
         public void _dispatch(Object resource, HttpContext context)
         throws IllegalAccessException, InvocationTargetException {
-            final Object[] params = getParams(context);
-            invoker.invoke(method, resource, params);
+            invoke(resource, context);
         }
     }
 
@@ -180,9 +219,7 @@ public abstract class AbstractResourceMethodDispatchProvider implements Resource
         @Override
         public void _dispatch(Object resource, HttpContext context)
         throws IllegalAccessException, InvocationTargetException {
-            final Object[] params = getParams(context);
-
-            final Object o = invoker.invoke(method, resource, params);
+            final Object o = invoke(resource, context);
             if (o != null) {
                 Response r = new ResponseBuilderImpl().
                         entityWithType(o, t).status(200).build();
@@ -200,9 +237,7 @@ public abstract class AbstractResourceMethodDispatchProvider implements Resource
         @Override
         public void _dispatch(Object resource, HttpContext context)
         throws IllegalAccessException, InvocationTargetException {
-            final Object[] params = getParams(context);
-
-            final Response r = (Response)invoker.invoke(method, resource, params);
+            final Response r = (Response)invoke(resource, context);
             if (r != null) {
                 context.getResponse().setResponse(r);
             }
@@ -214,7 +249,7 @@ public abstract class AbstractResourceMethodDispatchProvider implements Resource
 
         JResponseOutInvoker(AbstractResourceMethod abstractResourceMethod,
                 InjectableValuesProvider pp, JavaMethodInvoker invoker) {
-            super(abstractResourceMethod, pp);
+            super(abstractResourceMethod, pp, invoker);
             final Type jResponseType = abstractResourceMethod.getGenericReturnType();
             if (jResponseType instanceof ParameterizedType) {
                 ParameterizedType pt = (ParameterizedType)jResponseType;
@@ -231,9 +266,7 @@ public abstract class AbstractResourceMethodDispatchProvider implements Resource
         @Override
         public void _dispatch(Object resource, HttpContext context)
         throws IllegalAccessException, InvocationTargetException {
-            final Object[] params = getParams(context);
-
-            final JResponse<?> r = (JResponse<?>)invoker.invoke(method, resource, params);
+            final JResponse<?> r = (JResponse<?>)invoke(resource, context);
             if (r != null) {
                 if (t == null) {
                     context.getResponse().setResponse(r.toResponse());
@@ -253,9 +286,7 @@ public abstract class AbstractResourceMethodDispatchProvider implements Resource
         @Override
         public void _dispatch(Object resource, HttpContext context)
         throws IllegalAccessException, InvocationTargetException {
-            final Object[] params = getParams(context);
-
-            final Object o = invoker.invoke(method, resource, params);
+            final Object o = invoke(resource, context);
 
             if (o instanceof Response) {
                 context.getResponse().setResponse((Response)o);
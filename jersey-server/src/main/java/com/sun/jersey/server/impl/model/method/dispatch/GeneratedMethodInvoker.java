@@ -0,0 +1,126 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.server.impl.model.method.dispatch;
+
+import com.sun.jersey.spi.container.JavaMethodInvoker;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * A {@link JavaMethodInvoker} that directly invokes one Java method.
+ * <p>
+ * Concrete implementations are generated at runtime by
+ * {@link GeneratedMethodInvokerFactory}, one for each resource method, and
+ * cast the resource and parameters to the declared types before calling the
+ * method without using reflection. The method passed to
+ * {@link #invoke(java.lang.reflect.Method, java.lang.Object, java.lang.Object[]) }
+ * is ignored since it is always the method the invoker was generated for.
+ * <p>
+ * The methods {@link #invoke0(java.lang.Object) },
+ * {@link #invoke1(java.lang.Object, java.lang.Object) } and
+ * {@link #invoke2(java.lang.Object, java.lang.Object, java.lang.Object) }
+ * avoid the allocation of a parameter array for methods with zero, one or
+ * two parameters respectively. A generated implementation overrides the
+ * method that corresponds to the number of parameters of the Java method.
+ * <p>
+ * Any exception thrown by the Java method is wrapped in an
+ * {@link InvocationTargetException}, as is the case for
+ * {@link Method#invoke(java.lang.Object, java.lang.Object[]) }.
+ */
+public abstract class GeneratedMethodInvoker implements JavaMethodInvoker {
+
+    private static final Object[] NO_PARAMETERS = new Object[0];
+
+    protected GeneratedMethodInvoker() {
+    }
+
+    @Override
+    public final Object invoke(Method m, Object o, Object... parameters) throws InvocationTargetException {
+        return invokeN(o, parameters);
+    }
+
+    /**
+     * Invoke the Java method.
+     *
+     * @param o the instance to invoke the method on.
+     * @param parameters the parameters.
+     * @return the result of the invocation, primitive results are boxed and
+     *         null is returned for a void method.
+     * @throws InvocationTargetException if the Java method throws an exception.
+     */
+    public abstract Object invokeN(Object o, Object[] parameters) throws InvocationTargetException;
+
+    /**
+     * Invoke a Java method that has no parameters.
+     *
+     * @param o the instance to invoke the method on.
+     * @return the result of the invocation.
+     * @throws InvocationTargetException if the Java method throws an exception.
+     */
+    public Object invoke0(Object o) throws InvocationTargetException {
+        return invokeN(o, NO_PARAMETERS);
+    }
+
+    /**
+     * Invoke a Java method that has one parameter.
+     *
+     * @param o the instance to invoke the method on.
+     * @param p the parameter.
+     * @return the result of the invocation.
+     * @throws InvocationTargetException if the Java method throws an exception.
+     */
+    public Object invoke1(Object o, Object p) throws InvocationTargetException {
+        return invokeN(o, new Object[] {p});
+    }
+
+    /**
+     * Invoke a Java method that has two parameters.
+     *
+     * @param o the instance to invoke the method on.
+     * @param p1 the first parameter.
+     * @param p2 the second parameter.
+     * @return the result of the invocation.
+     * @throws InvocationTargetException if the Java method throws an exception.
+     */
+    public Object invoke2(Object o, Object p1, Object p2) throws InvocationTargetException {
+        return invokeN(o, new Object[] {p1, p2});
+    }
+}
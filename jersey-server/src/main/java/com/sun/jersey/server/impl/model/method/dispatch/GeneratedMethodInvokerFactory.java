@@ -0,0 +1,310 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.server.impl.model.method.dispatch;
+
+import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.spi.container.JavaMethodInvoker;
+import com.sun.jersey.spi.container.JavaMethodInvokerFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jersey.repackaged.org.objectweb.asm.ClassWriter;
+import jersey.repackaged.org.objectweb.asm.Label;
+import jersey.repackaged.org.objectweb.asm.MethodVisitor;
+import jersey.repackaged.org.objectweb.asm.Opcodes;
+import jersey.repackaged.org.objectweb.asm.Type;
+
+/**
+ * Generates instances of {@link GeneratedMethodInvoker} that directly
+ * invoke resource methods.
+ * <p>
+ * The generated classes are defined by a class loader whose parent is the
+ * class loader of the class declaring the resource method. Only public,
+ * non-static methods of public classes, whose parameter types are also
+ * public, can be invoked directly. For any other method, or if the class
+ * cannot be generated, the default reflection-based invoker is used.
+ */
+final class GeneratedMethodInvokerFactory implements Opcodes {
+
+    private static final Logger LOGGER = Logger.getLogger(GeneratedMethodInvokerFactory.class.getName());
+
+    private static final String SUPER_NAME = Type.getInternalName(GeneratedMethodInvoker.class);
+
+    private static final String INVOKE_N_DESC = "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;";
+
+    private static final String[] INVOKE_NAMES = {"invoke0", "invoke1", "invoke2"};
+
+    private static final String[] INVOKE_DESCS = {
+        "(Ljava/lang/Object;)Ljava/lang/Object;",
+        "(Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;",
+        "(Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;"
+    };
+
+    private static final String[] EXCEPTIONS = {
+        Type.getInternalName(InvocationTargetException.class)
+    };
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private final Map<ClassLoader, InvokerClassLoader> loaders =
+            new HashMap<ClassLoader, InvokerClassLoader>();
+
+    /**
+     * Check if generated invokers are enabled.
+     *
+     * @param rc the resource config, may be null.
+     * @return true if the feature
+     *         {@link ResourceConfig#FEATURE_GENERATED_METHOD_INVOKERS} is
+     *         enabled.
+     */
+    static boolean isEnabled(ResourceConfig rc) {
+        return rc != null && rc.getFeature(ResourceConfig.FEATURE_GENERATED_METHOD_INVOKERS);
+    }
+
+    /**
+     * Get the invoker for a Java method.
+     *
+     * @param m the Java method.
+     * @param invoker the invoker to use if a generated invoker cannot be
+     *        used for the Java method.
+     * @return a generated invoker if the invoker is the default
+     *         invoker and the Java method can be invoked directly, otherwise
+     *         the invoker.
+     */
+    JavaMethodInvoker getInvoker(Method m, JavaMethodInvoker invoker) {
+        if (invoker != JavaMethodInvokerFactory.getDefault() || !isDirectlyInvocable(m))
+            return invoker;
+
+        try {
+            final Class<?> c = define(m);
+            return (GeneratedMethodInvoker)c.newInstance();
+        } catch (Throwable t) {
+            LOGGER.log(Level.CONFIG, "A direct invoker could not be generated for the method "
+                    + m + ", reflection will be used to invoke the method", t);
+            return invoker;
+        }
+    }
+
+    private static boolean isDirectlyInvocable(Method m) {
+        final int modifiers = m.getModifiers();
+        if (!Modifier.isPublic(modifiers) || Modifier.isStatic(modifiers))
+            return false;
+
+        if (!isPublic(m.getDeclaringClass()))
+            return false;
+
+        for (Class<?> p : m.getParameterTypes()) {
+            if (!isPublic(p))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isPublic(Class<?> c) {
+        while (c.isArray())
+            c = c.getComponentType();
+        return c.isPrimitive() || Modifier.isPublic(c.getModifiers());
+    }
+
+    private Class<?> define(Method m) {
+        final String name = SUPER_NAME + "$" + m.getName() + "$" + COUNTER.incrementAndGet();
+        final byte[] b = generate(name, m);
+        return getClassLoader(m.getDeclaringClass()).define(name.replace('/', '.'), b);
+    }
+
+    private synchronized InvokerClassLoader getClassLoader(Class<?> c) {
+        final ClassLoader parent = c.getClassLoader();
+        InvokerClassLoader l = loaders.get(parent);
+        if (l == null) {
+            l = AccessController.doPrivileged(new PrivilegedAction<InvokerClassLoader>() {
+                @Override
+                public InvokerClassLoader run() {
+                    return new InvokerClassLoader(parent);
+                }
+            });
+            loaders.put(parent, l);
+        }
+        return l;
+    }
+
+    private static byte[] generate(String name, Method m) {
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_5, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, name, null, SUPER_NAME, null);
+
+        final MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, SUPER_NAME, "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        generateInvoke(cw, "invokeN", INVOKE_N_DESC, m, true);
+
+        final int arity = m.getParameterTypes().length;
+        if (arity < INVOKE_NAMES.length) {
+            generateInvoke(cw, INVOKE_NAMES[arity], INVOKE_DESCS[arity], m, false);
+        }
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static void generateInvoke(ClassWriter cw, String name, String desc, Method m, boolean isArray) {
+        final Class<?> declaringClass = m.getDeclaringClass();
+        final String owner = Type.getInternalName(declaringClass);
+        final Class<?>[] parameterTypes = m.getParameterTypes();
+
+        final MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, name, desc, null, EXCEPTIONS);
+        mv.visitCode();
+
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitTypeInsn(CHECKCAST, owner);
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (isArray) {
+                mv.visitVarInsn(ALOAD, 2);
+                mv.visitLdcInsn(i);
+                mv.visitInsn(AALOAD);
+            } else {
+                mv.visitVarInsn(ALOAD, 2 + i);
+            }
+            unbox(mv, parameterTypes[i]);
+        }
+
+        // Only the invocation itself is guarded so that exceptions thrown
+        // by the Java method, and only those, are wrapped
+        final Label start = new Label();
+        final Label end = new Label();
+        final Label handler = new Label();
+        mv.visitTryCatchBlock(start, end, handler, "java/lang/Throwable");
+        mv.visitLabel(start);
+        if (declaringClass.isInterface()) {
+            mv.visitMethodInsn(INVOKEINTERFACE, owner, m.getName(), Type.getMethodDescriptor(m), true);
+        } else {
+            mv.visitMethodInsn(INVOKEVIRTUAL, owner, m.getName(), Type.getMethodDescriptor(m), false);
+        }
+        mv.visitLabel(end);
+        box(mv, m.getReturnType());
+        mv.visitInsn(ARETURN);
+
+        mv.visitLabel(handler);
+        mv.visitTypeInsn(NEW, EXCEPTIONS[0]);
+        mv.visitInsn(DUP_X1);
+        mv.visitInsn(SWAP);
+        mv.visitMethodInsn(INVOKESPECIAL, EXCEPTIONS[0], "<init>", "(Ljava/lang/Throwable;)V", false);
+        mv.visitInsn(ATHROW);
+
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static void unbox(MethodVisitor mv, Class<?> c) {
+        if (c.isPrimitive()) {
+            final String wrapper = Type.getInternalName(getWrapper(c));
+            mv.visitTypeInsn(CHECKCAST, wrapper);
+            mv.visitMethodInsn(INVOKEVIRTUAL, wrapper, c.getName() + "Value",
+                    "()" + Type.getDescriptor(c), false);
+        } else if (c != Object.class) {
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(c));
+        }
+    }
+
+    private static void box(MethodVisitor mv, Class<?> c) {
+        if (c == void.class) {
+            mv.visitInsn(ACONST_NULL);
+        } else if (c.isPrimitive()) {
+            final Class<?> wrapper = getWrapper(c);
+            mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(wrapper), "valueOf",
+                    "(" + Type.getDescriptor(c) + ")" + Type.getDescriptor(wrapper), false);
+        }
+    }
+
+    private static Class<?> getWrapper(Class<?> c) {
+        if (c == boolean.class) {
+            return Boolean.class;
+        } else if (c == byte.class) {
+            return Byte.class;
+        } else if (c == char.class) {
+            return Character.class;
+        } else if (c == short.class) {
+            return Short.class;
+        } else if (c == int.class) {
+            return Integer.class;
+        } else if (c == long.class) {
+            return Long.class;
+        } else if (c == float.class) {
+            return Float.class;
+        } else {
+            return Double.class;
+        }
+    }
+
+    /**
+     * Defines the generated classes. Classes referenced by the resource
+     * method are loaded from the parent class loader, the super class of
+     * the generated classes is always loaded from the class loader of Jersey.
+     */
+    private static final class InvokerClassLoader extends ClassLoader {
+
+        InvokerClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.equals(GeneratedMethodInvoker.class.getName()))
+                return GeneratedMethodInvoker.class;
+
+            return super.loadClass(name, resolve);
+        }
+
+        Class<?> define(String name, byte[] b) {
+            return defineClass(name, b, 0, b.length);
+        }
+    }
+}
@@ -45,9 +45,11 @@ import com.sun.jersey.spi.container.JavaMethodInvoker;
 import com.sun.jersey.spi.container.ResourceMethodCustomInvokerDispatchProvider;
 import com.sun.jersey.spi.container.ResourceMethodDispatchProvider;
 import com.sun.jersey.api.core.HttpContext;
+import com.sun.jersey.api.core.ResourceConfig;
 import com.sun.jersey.api.model.AbstractResourceMethod;
 import com.sun.jersey.spi.dispatch.RequestDispatcher;
 import java.lang.reflect.InvocationTargetException;
+import javax.ws.rs.core.Context;
 
 /**
  * A provider for methods that are marked as void and receiving no args.
@@ -68,10 +70,18 @@ public class VoidVoidDispatchProvider implements ResourceMethodDispatchProvider,
         @Override
         public void _dispatch(Object resource, HttpContext context) 
         throws IllegalAccessException, InvocationTargetException {
-            invoker.invoke(method, resource);
+            if (invoker instanceof GeneratedMethodInvoker) {
+                ((GeneratedMethodInvoker)invoker).invoke0(resource);
+            } else {
+                invoker.invoke(method, resource);
+            }
         }
     }
-    
+
+    private @Context ResourceConfig resourceConfig;
+
+    private final GeneratedMethodInvokerFactory generatedInvokers = new GeneratedMethodInvokerFactory();
+
 
     @Override
     public RequestDispatcher create(AbstractResourceMethod abstractResourceMethod) {
@@ -82,7 +92,10 @@ public class VoidVoidDispatchProvider implements ResourceMethodDispatchProvider,
     public RequestDispatcher create(AbstractResourceMethod abstractResourceMethod, JavaMethodInvoker invoker) {
         if (!abstractResourceMethod.getParameters().isEmpty()) return null;
         if (abstractResourceMethod.getReturnType() != void.class) return null;
-        
+
+        if (GeneratedMethodInvokerFactory.isEnabled(resourceConfig)) {
+            invoker = generatedInvokers.getInvoker(abstractResourceMethod.getMethod(), invoker);
+        }
         return new VoidVoidMethodInvoker(abstractResourceMethod, invoker);
     }
 }
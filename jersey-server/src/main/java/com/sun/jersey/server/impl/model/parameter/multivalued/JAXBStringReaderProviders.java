@@ -42,8 +42,6 @@ package com.sun.jersey.server.impl.model.parameter.multivalued;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.util.Map;
-import java.util.WeakHashMap;
 
 import javax.ws.rs.core.Context;
 import javax.ws.rs.ext.ContextResolver;
@@ -61,6 +59,7 @@ import javax.xml.transform.sax.SAXSource;
 import org.xml.sax.InputSource;
 
 import com.sun.jersey.api.container.ContainerException;
+import com.sun.jersey.core.provider.jaxb.JAXBContextRegistry;
 import com.sun.jersey.impl.ImplMessages;
 import com.sun.jersey.spi.StringReader;
 import com.sun.jersey.spi.StringReaderProvider;
@@ -74,16 +73,16 @@ import java.security.PrivilegedAction;
  */
 public class JAXBStringReaderProviders {
 
-    private static final Map<Class, JAXBContext> jaxbContexts =
-            new WeakHashMap<Class, JAXBContext>();
-
     private final ContextResolver<JAXBContext> context;
 
     private final ContextResolver<Unmarshaller> unmarshaller;
 
+    private final JAXBContextRegistry registry;
+
     public JAXBStringReaderProviders(Providers ps) {
         this.context = ps.getContextResolver(JAXBContext.class, null);
         this.unmarshaller = ps.getContextResolver(Unmarshaller.class, null);
+        this.registry = JAXBContextRegistry.getInstance(ps);
     }
 
     protected final Unmarshaller getUnmarshaller(Class type) throws JAXBException {
@@ -109,14 +108,7 @@ public class JAXBStringReaderProviders {
     }
 
     protected JAXBContext getStoredJAXBContext(Class type) throws JAXBException {
-        synchronized (jaxbContexts) {
-            JAXBContext c = jaxbContexts.get(type);
-            if (c == null) {
-                c = JAXBContext.newInstance(type);
-                jaxbContexts.put(type, c);
-            }
-            return c;
-        }
+        return registry.get(type);
     }
 
     public static class RootElementProvider extends JAXBStringReaderProviders implements StringReaderProvider {
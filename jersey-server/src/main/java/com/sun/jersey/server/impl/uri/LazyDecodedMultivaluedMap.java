@@ -0,0 +1,272 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.server.impl.uri;
+
+import com.sun.jersey.api.uri.UriComponent;
+import com.sun.jersey.core.util.MultivaluedMapImpl;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * A multivalued map of decoded parameter values that decodes the values of
+ * a parameter, from a multivalued map of encoded parameter values, only
+ * when the parameter is requested.
+ * <p>
+ * Getting the values of a parameter, or checking whether a parameter is
+ * present, decodes and caches the values of that parameter only. Any other
+ * operation, including modification, first decodes all the remaining
+ * parameters, after which the map behaves as a {@link MultivaluedMapImpl}.
+ * <p>
+ * The names of the parameters in the encoded map must already be decoded.
+ */
+public abstract class LazyDecodedMultivaluedMap implements MultivaluedMap<String, String> {
+
+    /**
+     * Create a map of decoded query parameters.
+     *
+     * @param encoded the query parameters, with decoded names and encoded
+     *        values, as returned by
+     *        {@link UriComponent#decodeQuery(java.lang.String, boolean)}
+     *        with a decode value of false.
+     * @return the map of decoded query parameters.
+     */
+    public static LazyDecodedMultivaluedMap queryParameters(MultivaluedMap<String, String> encoded) {
+        return new LazyDecodedMultivaluedMap(encoded) {
+            @Override
+            protected String decode(String value) {
+                try {
+                    return URLDecoder.decode(value, "UTF-8");
+                } catch (UnsupportedEncodingException ex) {
+                    // This should never occur
+                    throw new IllegalArgumentException(ex);
+                }
+            }
+        };
+    }
+
+    /**
+     * Create a map of decoded path parameters.
+     *
+     * @param encoded the path parameters with encoded values.
+     * @return the map of decoded path parameters.
+     */
+    public static LazyDecodedMultivaluedMap pathParameters(MultivaluedMap<String, String> encoded) {
+        return new LazyDecodedMultivaluedMap(encoded) {
+            @Override
+            protected String decode(String value) {
+                return UriComponent.decode(value, UriComponent.Type.PATH);
+            }
+        };
+    }
+
+    private final MultivaluedMap<String, String> encoded;
+
+    private final MultivaluedMapImpl decoded = new MultivaluedMapImpl();
+
+    /**
+     * True if all parameters have been decoded.
+     */
+    private boolean complete;
+
+    private LazyDecodedMultivaluedMap(MultivaluedMap<String, String> encoded) {
+        this.encoded = encoded;
+    }
+
+    /**
+     * Decode a value.
+     *
+     * @param value the encoded value.
+     * @return the decoded value.
+     */
+    protected abstract String decode(String value);
+
+    private List<String> decode(List<String> values) {
+        final List<String> l = new ArrayList<String>(values.size());
+        for (String v : values) {
+            l.add(decode(v));
+        }
+        return l;
+    }
+
+    private MultivaluedMapImpl decodeAll() {
+        if (!complete) {
+            for (Map.Entry<String, List<String>> e : encoded.entrySet()) {
+                if (!decoded.containsKey(e.getKey())) {
+                    decoded.put(e.getKey(), decode(e.getValue()));
+                }
+            }
+            complete = true;
+        }
+        return decoded;
+    }
+
+    /**
+     * Invalidate the decoded values of a parameter, if any, such that the
+     * values will be decoded again from the encoded map.
+     * <p>
+     * This method should be called when the encoded values of a parameter
+     * have been modified or added. If all parameters have been decoded then
+     * the values of the parameter are decoded immediately, otherwise when
+     * next requested.
+     *
+     * @param key the name of the parameter.
+     */
+    public void invalidate(String key) {
+        if (complete) {
+            final List<String> values = encoded.get(key);
+            if (values != null) {
+                decoded.put(key, decode(values));
+            } else {
+                decoded.remove(key);
+            }
+        } else {
+            decoded.remove(key);
+        }
+    }
+
+    // Lazily decoded
+
+    @Override
+    public List<String> get(Object key) {
+        List<String> l = decoded.get(key);
+        if (l == null && !complete) {
+            final List<String> values = encoded.get(key);
+            if (values != null) {
+                l = decode(values);
+                decoded.put((String) key, l);
+            }
+        }
+        return l;
+    }
+
+    @Override
+    public String getFirst(String key) {
+        final List<String> values = get(key);
+        return (values != null && values.size() > 0) ? values.get(0) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return decoded.containsKey(key) || (!complete && encoded.containsKey(key));
+    }
+
+    // Decode all
+
+    @Override
+    public void putSingle(String key, String value) {
+        decodeAll().putSingle(key, value);
+    }
+
+    @Override
+    public void add(String key, String value) {
+        decodeAll().add(key, value);
+    }
+
+    @Override
+    public int size() {
+        return decodeAll().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return decodeAll().isEmpty();
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return decodeAll().containsValue(value);
+    }
+
+    @Override
+    public List<String> put(String key, List<String> value) {
+        return decodeAll().put(key, value);
+    }
+
+    @Override
+    public List<String> remove(Object key) {
+        return decodeAll().remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends List<String>> m) {
+        decodeAll().putAll(m);
+    }
+
+    @Override
+    public void clear() {
+        decodeAll().clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return decodeAll().keySet();
+    }
+
+    @Override
+    public Collection<List<String>> values() {
+        return decodeAll().values();
+    }
+
+    @Override
+    public Set<Map.Entry<String, List<String>>> entrySet() {
+        return decodeAll().entrySet();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return decodeAll().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return decodeAll().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return decodeAll().toString();
+    }
+}
@@ -90,7 +90,7 @@ public final class AtomicMatchingPatterns<R> implements UriRules<R> {
         return new EmptyIterator<R>();
     }
 
-    private static final class SingleEntryIterator<T> implements Iterator<T> {
+    static final class SingleEntryIterator<T> implements Iterator<T> {
         private T t;
         
         SingleEntryIterator(T t) {
@@ -116,7 +116,7 @@ public final class AtomicMatchingPatterns<R> implements UriRules<R> {
         }
     }
     
-    private static final class EmptyIterator<T> implements Iterator<T> {        
+    static final class EmptyIterator<T> implements Iterator<T> {        
         public boolean hasNext() {
             return false;
         }
@@ -66,10 +66,17 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.ws.rs.core.SecurityContext;
 
 /**
  * The rule for accepting an HTTP method.
+ * <p>
+ * For each HTTP method the resource methods, and the media types they produce,
+ * are flattened at construction into tables ordered for selection. The
+ * resource methods that consume a particular content type are obtained once
+ * per distinct content type, and the result of selection is memoized
+ * per distinct pair of "Content-Type" and "Accept" header values.
  *
  * @author Paul.Sandoz@Sun.Com
  */
@@ -90,6 +97,13 @@ public final class HttpMethodRule implements UriRule {
         this(methods, false, dispatchingListener);
     }
 
+    /**
+     * The maximum number of entries in the consumes table and the match
+     * cache of the resource methods for an HTTP method. When reached the
+     * entries are cleared.
+     */
+    private static final int NEGOTIATION_CACHE_SIZE = 64;
+
     private static final class ResourceMethodListPair {
         final List<ResourceMethod> normal;
 
@@ -97,6 +111,14 @@ public final class HttpMethodRule implements UriRule {
 
         final List<QualitySourceMediaType> priorityMediaTypes;
 
+        final ProducesEntry[] wildPriorityProduces;
+
+        private final ConcurrentHashMap<MediaType, ProducesEntry[]> consumesTable =
+                new ConcurrentHashMap<MediaType, ProducesEntry[]>();
+
+        private final ConcurrentHashMap<NegotiationKey, Match> matchCache =
+                new ConcurrentHashMap<NegotiationKey, Match>();
+
         ResourceMethodListPair(List<ResourceMethod> normal) {
             this.normal = normal;
             if (correctOrder(normal)) {
@@ -122,6 +144,103 @@ public final class HttpMethodRule implements UriRule {
 
             Collections.sort(pmts, MediaTypes.QUALITY_SOURCE_MEDIA_TYPE_COMPARATOR);
             priorityMediaTypes = retain(pmts) ? pmts : null;
+
+            wildPriorityProduces = getProduces(wildPriority);
+        }
+
+        /**
+         * Find the resource method and media type that match the
+         * 'Content-Type' and 'Accept' of a request.
+         * <p>
+         * If the request is an instance of {@link ContainerRequest}, and not
+         * of a sub-class, then the content type and acceptable media types are
+         * obtained from the request headers and the match is memoized for
+         * the header values.
+         *
+         * @param request the request.
+         * @return the match.
+         */
+        Match match(HttpRequestContext request) {
+            if (request.getClass() != ContainerRequest.class) {
+                return match(request.getMediaType(),
+                        getSpecificAcceptableMediaTypes(request.getAcceptableMediaTypes(),
+                        priorityMediaTypes));
+            }
+
+            final NegotiationKey key = new NegotiationKey(
+                    request.getRequestHeaders().getFirst(HttpHeaders.CONTENT_TYPE),
+                    request.getHeaderValue(HttpHeaders.ACCEPT));
+            Match m = matchCache.get(key);
+            if (m == null) {
+                m = match(request.getMediaType(),
+                        getSpecificAcceptableMediaTypes(request.getAcceptableMediaTypes(),
+                        priorityMediaTypes));
+                cache(matchCache, key, m);
+            }
+            return m;
+        }
+
+        /**
+         * Find the resource method and media type that match the
+         * 'Content-Type' and 'Accept'.
+         *
+         * @param contentType the 'Content-Type'.
+         * @param acceptableMediaTypes the 'Accept' as a list. This list
+         *        MUST be ordered with the highest quality acceptable Media type
+         *        occurring first (see {@link MediaTypes#MEDIA_TYPE_COMPARATOR}).
+         * @return the match.
+         */
+        Match match(MediaType contentType, List<MediaType> acceptableMediaTypes) {
+            final ProducesEntry[] selected;
+            if (contentType != null) {
+                // Find all methods that consume the MIME type of 'Content-Type'
+                selected = getConsumes(contentType);
+                if (selected == NOT_CONSUMED)
+                    return Match.NO_MATCH_FOR_CONSUME;
+            } else {
+                selected = wildPriorityProduces;
+            }
+
+            for (MediaType amt : acceptableMediaTypes) {
+                for (ProducesEntry e : selected) {
+                    if (e.produces.isCompatible(amt)) {
+                        return new Match(MatchStatus.MATCH, e.method,
+                                MediaTypes.mostSpecific(e.produces, amt));
+                    }
+                }
+            }
+
+            return Match.NO_MATCH_FOR_PRODUCE;
+        }
+
+        private ProducesEntry[] getConsumes(MediaType contentType) {
+            ProducesEntry[] produces = consumesTable.get(contentType);
+            if (produces == null) {
+                final List<ResourceMethod> consumes = new ArrayList<ResourceMethod>(normal.size());
+                for (ResourceMethod method : normal)
+                    if (method.consumes(contentType))
+                        consumes.add(method);
+
+                produces = consumes.isEmpty() ? NOT_CONSUMED : getProduces(consumes);
+                cache(consumesTable, contentType, produces);
+            }
+            return produces;
+        }
+
+        private static ProducesEntry[] getProduces(List<ResourceMethod> methods) {
+            final List<ProducesEntry> l = new ArrayList<ProducesEntry>();
+            for (ResourceMethod method : methods) {
+                for (MediaType p : method.getProduces()) {
+                    l.add(new ProducesEntry(method, p));
+                }
+            }
+            return l.toArray(new ProducesEntry[l.size()]);
+        }
+
+        private static <K, V> void cache(ConcurrentHashMap<K, V> cache, K key, V value) {
+            if (cache.size() >= NEGOTIATION_CACHE_SIZE)
+                cache.clear();
+            cache.put(key, value);
         }
 
         QualitySourceMediaType get(MediaType mt) {
@@ -224,13 +343,9 @@ public final class HttpMethodRule implements UriRule {
             return false;
         }
 
-        // Get the list of matching methods
-        List<MediaType> accept = getSpecificAcceptableMediaTypes(
-                request.getAcceptableMediaTypes(),
-                methods.priorityMediaTypes);
-
-        final Matcher m = new Matcher();
-        final MatchStatus s = m.match(methods, request.getMediaType(), accept);
+        // Get the matching method
+        final Match m = methods.match(request);
+        final MatchStatus s = m.status;
 
         if (s == MatchStatus.MATCH) {
             // If there is a match choose the first method
@@ -341,55 +456,79 @@ public final class HttpMethodRule implements UriRule {
         MATCH, NO_MATCH_FOR_CONSUME, NO_MATCH_FOR_PRODUCE
     }
 
-    private static class Matcher extends LinkedList<ResourceMethod> {
-        private MediaType mSelected = null;
+    /**
+     * A resource method and a media type it produces.
+     */
+    private static final class ProducesEntry {
+        final ResourceMethod method;
 
-        private ResourceMethod rmSelected = null;
+        final MediaType produces;
 
-        /**
-         * Find the subset of methods that match the 'Content-Type' and 'Accept'.
-         *
-         * @param methods the list of resource methods
-         * @param contentType the 'Content-Type'.
-         * @param acceptableMediaTypes the 'Accept' as a list. This list
-         *        MUST be ordered with the highest quality acceptable Media type
-         *        occurring first (see {@link MediaTypes#MEDIA_TYPE_COMPARATOR}).
-         * @return the match status.
-         */
-        private MatchStatus match(
-                ResourceMethodListPair methods,
-                MediaType contentType,
-                List<MediaType> acceptableMediaTypes) {
+        ProducesEntry(ResourceMethod method, MediaType produces) {
+            this.method = method;
+            this.produces = produces;
+        }
+    }
 
-            List<ResourceMethod> selected;
-            if (contentType != null) {
-                // Find all methods that consume the MIME type of 'Content-Type'
-                for (ResourceMethod method : methods.normal)
-                    if (method.consumes(contentType))
-                        add(method);
+    /**
+     * The table entry for a content type that is not consumed by any
+     * resource method.
+     */
+    private static final ProducesEntry[] NOT_CONSUMED = new ProducesEntry[0];
 
-                if (isEmpty())
-                    return MatchStatus.NO_MATCH_FOR_CONSUME;
+    /**
+     * The result of matching the 'Content-Type' and 'Accept' of a request.
+     */
+    private static final class Match {
+        static final Match NO_MATCH_FOR_CONSUME = new Match(MatchStatus.NO_MATCH_FOR_CONSUME, null, null);
 
-                selected = this;
-            } else {
-                selected = methods.wildPriority;
-            }
+        static final Match NO_MATCH_FOR_PRODUCE = new Match(MatchStatus.NO_MATCH_FOR_PRODUCE, null, null);
 
+        final MatchStatus status;
 
-            for (MediaType amt : acceptableMediaTypes) {
-                for (ResourceMethod rm : selected) {
-                    for (MediaType p : rm.getProduces()) {
-                        if (p.isCompatible(amt)) {
-                            mSelected = MediaTypes.mostSpecific(p, amt);
-                            rmSelected = rm;
-                            return MatchStatus.MATCH;
-                        }
-                    }
-                }
-            }
+        final ResourceMethod rmSelected;
+
+        final MediaType mSelected;
+
+        Match(MatchStatus status, ResourceMethod rmSelected, MediaType mSelected) {
+            this.status = status;
+            this.rmSelected = rmSelected;
+            this.mSelected = mSelected;
+        }
+    }
+
+    /**
+     * The key of a memoized match, the values of the 'Content-Type' and
+     * 'Accept' request headers, either of which may be null.
+     */
+    private static final class NegotiationKey {
+        private final String contentType;
+
+        private final String accept;
+
+        private final int hash;
+
+        NegotiationKey(String contentType, String accept) {
+            this.contentType = contentType;
+            this.accept = accept;
+            this.hash = 31 * ((contentType != null) ? contentType.hashCode() : 0) +
+                    ((accept != null) ? accept.hashCode() : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof NegotiationKey))
+                return false;
+
+            final NegotiationKey that = (NegotiationKey) o;
+            return hash == that.hash &&
+                    ((contentType == null) ? that.contentType == null : contentType.equals(that.contentType)) &&
+                    ((accept == null) ? that.accept == null : accept.equals(that.accept));
+        }
 
-            return MatchStatus.NO_MATCH_FOR_PRODUCE;
+        @Override
+        public int hashCode() {
+            return hash;
         }
     }
 
@@ -62,7 +62,18 @@ public final class RootResourceClassesRule implements UriRule {
      * @param rulesMap Map of path patterns and URI rules
      */
     public RootResourceClassesRule(final Map<PathPattern, UriRule> rulesMap) {
-        this.rules = UriRulesFactory.create(rulesMap);
+        this(rulesMap, false);
+    }
+
+    /**
+     * Public constructor
+     * @param rulesMap Map of path patterns and URI rules
+     * @param trieMatching true if the rules are matched using a trie of
+     *        the literal prefixes of the path patterns
+     */
+    public RootResourceClassesRule(final Map<PathPattern, UriRule> rulesMap,
+            final boolean trieMatching) {
+        this.rules = UriRulesFactory.create(rulesMap, null, trieMatching);
     }
 
     /**
@@ -0,0 +1,241 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.server.impl.uri.rules;
+
+import com.sun.jersey.api.uri.UriPattern;
+import com.sun.jersey.spi.uri.rules.UriMatchResultContext;
+import com.sun.jersey.spi.uri.rules.UriRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.MatchResult;
+
+/**
+ * Rules associated with instances of {@link UriPattern} and matched
+ * to return at most one match.
+ * <p>
+ * The rules are matched in the same order, and with the same result, as
+ * {@link AtomicMatchingPatterns}. However, instead of iterating through all
+ * the patterns, the literal prefixes of the regular expressions of the
+ * patterns are compiled into a trie. The path is matched against the trie,
+ * without any allocation, to obtain the patterns whose literal prefix
+ * is a prefix of the path, and only those patterns are matched.
+ * <p>
+ * A pattern generated from a template whose template variables do not
+ * declare explicit regular expressions (for example the pattern of the
+ * template "/customers/{id}") is matched by {@link UriPattern} without
+ * using a regular expression.
+ */
+public final class TrieMatchingPatterns<R> implements UriRules<R> {
+    private static final String META_CHARACTERS = "()[]{}.*+?^$|";
+
+    private static final String QUANTIFIER_CHARACTERS = "{*+?";
+
+    private final List<PatternRulePair<R>> rules;
+
+    private final Node root;
+
+    public TrieMatchingPatterns(List<PatternRulePair<R>> rules) {
+        this.rules = new ArrayList<PatternRulePair<R>>(rules);
+
+        final Node n = new Node();
+        for (int i = 0; i < rules.size(); i++) {
+            final StringBuilder prefix = new StringBuilder();
+            parseLiteralPrefix(rules.get(i).p.getRegex(), prefix);
+            n.add(prefix, 0, i);
+        }
+        n.compile(new int[0]);
+        this.root = n;
+    }
+
+    public Iterator<R> match(CharSequence path, UriMatchResultContext resultContext) {
+        if (resultContext.isTracingEnabled()) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("match path \"").append(path).append("\" -> ");
+            boolean first = true;
+            for (PatternRulePair<R> prp : rules) {
+                if (!first)
+                    sb.append(", ");
+                sb.append("\"").append(prp.p.toString()).append("\"");
+                first = false;
+            }
+            resultContext.trace(sb.toString());
+        }
+
+        for (int i : root.find(path)) {
+            final MatchResult mr = rules.get(i).p.match(path);
+            if (mr != null) {
+                resultContext.setMatchResult(mr);
+                return new AtomicMatchingPatterns.SingleEntryIterator<R>(rules.get(i).r);
+            }
+        }
+
+        return new AtomicMatchingPatterns.EmptyIterator<R>();
+    }
+
+    /**
+     * Parse the literal prefix of a regular expression.
+     *
+     * @param regex the regular expression.
+     * @param prefix the literal prefix to append to.
+     */
+    private static void parseLiteralPrefix(String regex, StringBuilder prefix) {
+        int i = 0;
+        while (i < regex.length()) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 == regex.length() || Character.isLetterOrDigit(regex.charAt(i + 1)))
+                    break;
+
+                prefix.append(regex.charAt(i + 1));
+                i += 2;
+            } else if (META_CHARACTERS.indexOf(c) == -1) {
+                prefix.append(c);
+                i++;
+            } else {
+                break;
+            }
+        }
+
+        // A quantifier applies to the last literal character, so that
+        // character is not part of the literal prefix
+        if (i < regex.length() && QUANTIFIER_CHARACTERS.indexOf(regex.charAt(i)) != -1 &&
+                prefix.length() > 0) {
+            prefix.setLength(prefix.length() - 1);
+        }
+    }
+
+    /**
+     * A node of the trie of literal prefixes.
+     */
+    private static final class Node {
+        private static final char[] NO_CHARACTERS = new char[0];
+
+        private static final Node[] NO_NODES = new Node[0];
+
+        /**
+         * The ordered characters of the arcs to the child nodes.
+         */
+        private char[] characters = NO_CHARACTERS;
+
+        private Node[] children = NO_NODES;
+
+        /**
+         * The indexes of the rules whose literal prefix ends at this node.
+         */
+        private final List<Integer> ends = new ArrayList<Integer>(1);
+
+        /**
+         * The ordered indexes of the rules whose literal prefix ends at this
+         * node or at an ancestor of this node.
+         */
+        private int[] candidates;
+
+        void add(CharSequence prefix, int offset, int index) {
+            if (offset == prefix.length()) {
+                ends.add(index);
+                return;
+            }
+
+            final char c = prefix.charAt(offset);
+            int i = indexOf(c);
+            if (i < 0) {
+                i = -(i + 1);
+                final char[] cs = new char[characters.length + 1];
+                final Node[] ns = new Node[children.length + 1];
+                System.arraycopy(characters, 0, cs, 0, i);
+                System.arraycopy(children, 0, ns, 0, i);
+                cs[i] = c;
+                ns[i] = new Node();
+                System.arraycopy(characters, i, cs, i + 1, characters.length - i);
+                System.arraycopy(children, i, ns, i + 1, children.length - i);
+                characters = cs;
+                children = ns;
+            }
+            children[i].add(prefix, offset + 1, index);
+        }
+
+        void compile(int[] ancestorCandidates) {
+            candidates = ancestorCandidates;
+            if (!ends.isEmpty()) {
+                candidates = new int[ancestorCandidates.length + ends.size()];
+                System.arraycopy(ancestorCandidates, 0, candidates, 0, ancestorCandidates.length);
+                for (int i = 0; i < ends.size(); i++) {
+                    candidates[ancestorCandidates.length + i] = ends.get(i);
+                }
+                Arrays.sort(candidates);
+            }
+
+            for (Node n : children) {
+                n.compile(candidates);
+            }
+        }
+
+        int[] find(CharSequence path) {
+            Node n = this;
+            for (int i = 0; i < path.length(); i++) {
+                final int j = n.indexOf(path.charAt(i));
+                if (j < 0)
+                    break;
+                n = n.children[j];
+            }
+            return n.candidates;
+        }
+
+        private int indexOf(char c) {
+            int low = 0;
+            int high = characters.length - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final char m = characters[mid];
+                if (m < c) {
+                    low = mid + 1;
+                } else if (m > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
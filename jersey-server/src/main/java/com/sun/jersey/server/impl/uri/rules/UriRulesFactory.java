@@ -62,13 +62,27 @@ public final class UriRulesFactory {
     
     public static UriRules<UriRule> create(Map<PathPattern, UriRule> rulesMap,
             List<PatternRulePair<UriRule>> rules) {
+        return create(rulesMap, rules, false);
+    }
+
+    public static UriRules<UriRule> create(Map<PathPattern, UriRule> rulesMap,
+            List<PatternRulePair<UriRule>> rules, boolean trieMatching) {
         List<PatternRulePair<UriRule>> l = new ArrayList<PatternRulePair<UriRule>>();
         for (Map.Entry<PathPattern, UriRule> e : rulesMap.entrySet())
             l.add(new PatternRulePair<UriRule>(e.getKey(), e.getValue()));
 
         if (rules != null) l.addAll(rules);
         
-        return create(l);
+        return create(l, trieMatching);
+    }
+
+    public static UriRules<UriRule> create(List<PatternRulePair<UriRule>> rules,
+            boolean trieMatching) {
+        if (trieMatching) {
+            return new TrieMatchingPatterns<UriRule>(rules);
+        } else {
+            return create(rules);
+        }
     }
     
     public static UriRules<UriRule> create(List<PatternRulePair<UriRule>> rules) {
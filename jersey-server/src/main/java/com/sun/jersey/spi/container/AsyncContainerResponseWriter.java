@@ -0,0 +1,77 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.spi.container;
+
+/**
+ * A container response writer that can suspend the writing of a response
+ * such that the thread of the container that is processing the request
+ * can be released before the response is written.
+ * <p>
+ * When a resource method returns a {@link com.sun.jersey.api.core.AsyncResponse}
+ * the web application invokes {@link #suspend() } on the container response
+ * writer, if that writer implements this interface. If the response is
+ * suspended then the web application returns from
+ * {@link WebApplication#handleRequest(ContainerRequest, ContainerResponseWriter) }
+ * and the response is written, and {@link #finish() } invoked, later on the
+ * thread that resumes the response. Otherwise the thread of the container
+ * is blocked until the response is resumed.
+ * <p>
+ * Container response writers that adapt another container response writer
+ * should implement this interface only if the adapted writer does.
+ */
+public interface AsyncContainerResponseWriter extends ContainerResponseWriter {
+
+    /**
+     * Suspend the response. This method is invoked on the thread of the
+     * container that is processing the request, before the status and
+     * headers are written.
+     * <p>
+     * When suspended the container must not complete the response when
+     * control returns to the container, the response is complete when
+     * {@link #finish() } is invoked, which may occur on another thread and
+     * may occur before control returns to the container. If an error occurs
+     * writing the resumed response {@link #finish() } may be invoked more
+     * than once.
+     *
+     * @return true if the response is suspended, otherwise false if the
+     *         response cannot be suspended.
+     */
+    boolean suspend();
+}
@@ -0,0 +1,170 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.spi.container;
+
+import com.sun.jersey.core.util.FileRegionOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An output stream that writes, to another output stream, only the bytes
+ * of a byte range of the bytes written to it.
+ * <p>
+ * Regions of files written to this output stream are written as the
+ * intersection of the region and the byte range, if the other output
+ * stream can write regions of files.
+ */
+final class ByteRangeOutputStream extends OutputStream implements FileRegionOutputStream {
+
+    /**
+     * The byte range returned from {@link #parseRange(String, long)} when
+     * a byte range cannot be satisfied.
+     */
+    static final long[] UNSATISFIABLE = new long[0];
+
+    private final OutputStream out;
+
+    private final long first;
+
+    private final long end;
+
+    private long position;
+
+    /**
+     * @param out the output stream to write the byte range to.
+     * @param first the position of the first byte of the byte range.
+     * @param last the position of the last byte of the byte range.
+     */
+    ByteRangeOutputStream(OutputStream out, long first, long last) {
+        this.out = out;
+        this.first = first;
+        this.end = last + 1;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (position >= first && position < end) {
+            out.write(b);
+        }
+        position++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        final long s = Math.max(position, first);
+        final long e = Math.min(position + len, end);
+        if (s < e) {
+            out.write(b, off + (int)(s - position), (int)(e - s));
+        }
+        position += len;
+    }
+
+    @Override
+    public boolean writeFileRegion(File file, long filePosition, long count) throws IOException {
+        if (!(out instanceof FileRegionOutputStream))
+            return false;
+
+        final long s = Math.max(position, first);
+        final long e = Math.min(position + count, end);
+        if (s < e && !((FileRegionOutputStream)out).writeFileRegion(
+                file, filePosition + (s - position), e - s)) {
+            return false;
+        }
+        position += count;
+        return true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Parse the value of a "Range" header that declares a single byte range.
+     *
+     * @param value the value of the "Range" header.
+     * @param length the length of the entity in bytes.
+     * @return the positions of the first and last bytes of the byte range,
+     *         {@link #UNSATISFIABLE} if the byte range cannot be satisfied,
+     *         or null if the value is not a single byte range, in which case
+     *         the whole entity should be written.
+     */
+    static long[] parseRange(String value, long length) {
+        value = value.trim();
+        if (!value.regionMatches(true, 0, "bytes=", 0, 6) || value.indexOf(',') != -1)
+            return null;
+
+        final String spec = value.substring(6).trim();
+        final int dash = spec.indexOf('-');
+        if (dash == -1)
+            return null;
+
+        try {
+            if (dash == 0) {
+                final long suffix = Long.parseLong(spec.substring(1).trim());
+                if (suffix < 0)
+                    return null;
+                if (suffix == 0 || length == 0)
+                    return UNSATISFIABLE;
+                return new long[] {Math.max(0, length - suffix), length - 1};
+            }
+
+            final long firstPos = Long.parseLong(spec.substring(0, dash).trim());
+            final String lastSpec = spec.substring(dash + 1).trim();
+            final long lastPos = (lastSpec.length() == 0)
+                    ? length - 1
+                    : Long.parseLong(lastSpec);
+            if (firstPos < 0 || lastPos < firstPos && lastSpec.length() > 0)
+                return null;
+            if (firstPos >= length)
+                return UNSATISFIABLE;
+            return new long[] {firstPos, Math.min(lastPos, length - 1)};
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
@@ -50,6 +50,7 @@ import java.net.URI;
 import java.security.Principal;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -81,7 +82,6 @@ import com.sun.jersey.api.core.ResourceConfig;
 import com.sun.jersey.api.core.TraceInformation;
 import com.sun.jersey.api.representation.Form;
 import com.sun.jersey.api.uri.UriComponent;
-import com.sun.jersey.core.header.AcceptableLanguageTag;
 import com.sun.jersey.core.header.InBoundHeaders;
 import com.sun.jersey.core.header.MatchingEntityTag;
 import com.sun.jersey.core.header.MediaTypes;
@@ -92,6 +92,7 @@ import com.sun.jersey.core.util.MultivaluedMapImpl;
 import com.sun.jersey.core.util.ReaderWriter;
 import com.sun.jersey.server.impl.VariantSelector;
 import com.sun.jersey.server.impl.model.HttpHelper;
+import com.sun.jersey.server.impl.uri.LazyDecodedMultivaluedMap;
 import com.sun.jersey.spi.MessageBodyWorkers;
 
 /**
@@ -424,8 +425,9 @@ public class ContainerRequest implements HttpRequestContext {
             if (decodedQueryParameters != null)
                 return decodedQueryParameters;
 
-            return decodedQueryParameters = UriComponent.decodeQuery(
-                    getRequestUri(), true);
+            // Query parameter values are decoded on demand
+            return decodedQueryParameters = LazyDecodedMultivaluedMap.queryParameters(
+                    getQueryParameters(false));
         } else {
             if (encodedQueryParameters != null)
                 return encodedQueryParameters;
@@ -629,21 +631,15 @@ public class ContainerRequest implements HttpRequestContext {
     @Override
     public List<MediaType> getAcceptableMediaTypes() {
         if (accept == null || headersModCount != headers.getModCount())
-            accept = new ArrayList<MediaType>(HttpHelper.getAccept(this));
+            accept = Collections.<MediaType>unmodifiableList(HttpHelper.getAccept(this));
 
         return accept;
     }
 
     @Override
     public List<Locale> getAcceptableLanguages() {
-        if (acceptLanguages == null || headersModCount != headers.getModCount()) {
-            List<AcceptableLanguageTag> alts = HttpHelper.getAcceptLangauge(this);
-
-            acceptLanguages = new ArrayList<Locale>(alts.size());
-            for (AcceptableLanguageTag alt : alts) {
-                acceptLanguages.add(alt.getAsLocale());
-            }
-        }
+        if (acceptLanguages == null || headersModCount != headers.getModCount())
+            acceptLanguages = HttpHelper.getAcceptLanguageAsLocales(this);
 
         return acceptLanguages;
     }
@@ -44,11 +44,15 @@ import com.sun.jersey.core.header.OutBoundHeaders;
 import com.sun.jersey.api.Responses;
 import com.sun.jersey.api.container.MappableContainerException;
 import com.sun.jersey.api.core.HttpResponseContext;
+import com.sun.jersey.api.core.ResourceConfig;
 import com.sun.jersey.api.core.TraceInformation;
 import com.sun.jersey.core.reflection.ReflectionHelper;
 import com.sun.jersey.core.spi.factory.ResponseImpl;
+import com.sun.jersey.core.util.BufferPool;
+import com.sun.jersey.core.util.FileRegionOutputStream;
 import com.sun.jersey.server.impl.uri.rules.HttpMethodRule;
 import com.sun.jersey.spi.MessageBodyWorkers;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -88,6 +92,14 @@ public class ContainerResponse implements HttpResponseContext {
 
     private static final RuntimeDelegate rd = RuntimeDelegate.getInstance();
 
+    private static final String RANGE = "Range";
+
+    private static final String IF_RANGE = "If-Range";
+
+    private static final String ACCEPT_RANGES = "Accept-Ranges";
+
+    private static final String CONTENT_RANGE = "Content-Range";
+
     private final WebApplication wa;
 
     private ContainerRequest request;
@@ -114,50 +126,137 @@ public class ContainerResponse implements HttpResponseContext {
 
     private Annotation[] annotations = EMPTY_ANNOTATIONS;
 
-    private final class CommittingOutputStream extends OutputStream {
+    private final class CommittingOutputStream extends OutputStream implements FileRegionOutputStream {
         private final long size;
 
+        private final int bufferSize;
+
+        private byte[] buffer;
+
+        private int count;
+
         private OutputStream o;
 
         CommittingOutputStream(long size) {
+            this(size, 0);
+        }
+
+        CommittingOutputStream(long size, int bufferSize) {
             this.size = size;
+            this.bufferSize = bufferSize;
         }
 
         @Override
         public void write(byte b[]) throws IOException {
-            commitWrite();
-            o.write(b);
+            write(b, 0, b.length);
         }
 
         @Override
         public void write(byte b[], int off, int len) throws IOException {
+            if (isBuffering() && count + len <= bufferSize) {
+                if (buffer == null)
+                    buffer = BufferPool.getDefault().takeBytes(bufferSize);
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+                return;
+            }
+
             commitWrite();
             o.write(b, off, len);
         }
 
         public void write(int b) throws IOException {
+            if (isBuffering() && count < bufferSize) {
+                if (buffer == null)
+                    buffer = BufferPool.getDefault().takeBytes(bufferSize);
+                buffer[count++] = (byte)b;
+                return;
+            }
+
             commitWrite();
             o.write(b);
         }
 
         @Override
         public void flush() throws IOException {
+            // Flushing a buffered entity would commit the response
+            // without the content length
+            if (isBuffering())
+                return;
+
             commitWrite();
             o.flush();
         }
 
+        @Override
+        public boolean writeFileRegion(File file, long position, long count) throws IOException {
+            if (!(responseWriter instanceof FileRegionContainerResponseWriter))
+                return false;
+
+            commitWrite();
+            o.flush();
+            return ((FileRegionContainerResponseWriter)responseWriter).writeFileRegion(file, position, count);
+        }
+
         @Override
         public void close() throws IOException {
+            commitBuffer();
             commitClose();
             o.close();
         }
 
+        private boolean isBuffering() {
+            return bufferSize > 0 && !isCommitted;
+        }
+
+        /**
+         * Commit the response with the length of the buffered entity, if
+         * any, and write the buffered entity.
+         */
+        void commitBuffer() throws IOException {
+            if (isBuffering() && count > 0) {
+                if (getStatus() == 204)
+                    setStatus(200);
+                isCommitted = true;
+                o = responseWriter.writeStatusAndHeaders(count, ContainerResponse.this);
+                writeBuffer();
+            }
+        }
+
+        /**
+         * Discard the buffered entity, if any.
+         */
+        void discardBuffer() {
+            if (buffer != null) {
+                BufferPool.getDefault().returnBytes(buffer);
+                buffer = null;
+                count = 0;
+            }
+        }
+
+        private void writeBuffer() throws IOException {
+            if (buffer != null) {
+                final byte[] b = buffer;
+                final int l = count;
+                buffer = null;
+                count = 0;
+                try {
+                    o.write(b, 0, l);
+                } finally {
+                    BufferPool.getDefault().returnBytes(b);
+                }
+            }
+        }
+
         private void commitWrite() throws IOException {
             if (!isCommitted) {
                 if (getStatus() == 204)
                     setStatus(200);
                 isCommitted = true;
+                // The buffered bytes, if any, are written before the bytes
+                // that exceeded the buffer
                 o = responseWriter.writeStatusAndHeaders(size, ContainerResponse.this);
+                writeBuffer();
             }
         }
 
@@ -295,12 +394,12 @@ public class ContainerResponse implements HttpResponseContext {
                             contentType,
                             ReflectionHelper.objectToString(writer)));
                 }
-                if (out == null) {
-                    out = new CommittingOutputStream(size);
+                final OutputStream entityStream = getEntityStream(size);
+                if (entityStream != null) {
+                    writer.writeTo(entity, entity.getClass(), entityType, annotations, contentType, getHttpHeaders(), entityStream);
+                    out.commitBuffer();
                 }
 
-                writer.writeTo(entity, entity.getClass(), entityType, annotations, contentType, getHttpHeaders(), out);
-
                 if (!isCommitted) {
                     isCommitted = true;
                     responseWriter.writeStatusAndHeaders(-1, this);
@@ -311,6 +410,80 @@ public class ContainerResponse implements HttpResponseContext {
         responseWriter.finish();
     }
 
+    /**
+     * Get the output stream to write the entity.
+     * <p>
+     * If the entity is a file of known size, the response is OK and the
+     * request is a GET request with a "Range" header that declares a single
+     * byte range, then the response is modified to be a partial content
+     * response and the returned output stream writes only the bytes of that
+     * byte range. If the byte range cannot be satisfied the status and
+     * headers of a range not satisfiable response are written and null is
+     * returned.
+     *
+     * <p>
+     * If the size of the entity is not known and the property
+     * {@link ResourceConfig#PROPERTY_RESPONSE_BUFFER_SIZE} is set then the
+     * returned output stream buffers the entity, up to that size, such that
+     * the content length of a small entity is known when the response is
+     * committed.
+     *
+     * @param size the size of the entity, otherwise -1 if not known.
+     * @return the output stream, otherwise null if no entity is to be written.
+     * @throws IOException if an error occurred when writing out the status and headers.
+     */
+    private OutputStream getEntityStream(final long size) throws IOException {
+        if (out != null)
+            return out;
+
+        if (entity instanceof File && size != -1 && getStatus() == 200 &&
+                !getHttpHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            getHttpHeaders().putSingle(ACCEPT_RANGES, "bytes");
+
+            final String range = request.getHeaderValue(RANGE);
+            if (range != null && request.getMethod().equals("GET") && isIfRangeSatisfied()) {
+                final long[] byteRange = ByteRangeOutputStream.parseRange(range, size);
+                if (byteRange == ByteRangeOutputStream.UNSATISFIABLE) {
+                    setStatus(416);
+                    getHttpHeaders().remove(HttpHeaders.CONTENT_TYPE);
+                    getHttpHeaders().putSingle(CONTENT_RANGE, "bytes */" + size);
+                    isCommitted = true;
+                    responseWriter.writeStatusAndHeaders(0, this);
+                    return null;
+                } else if (byteRange != null) {
+                    setStatus(206);
+                    getHttpHeaders().putSingle(CONTENT_RANGE,
+                            "bytes " + byteRange[0] + "-" + byteRange[1] + "/" + size);
+                    out = new CommittingOutputStream(byteRange[1] - byteRange[0] + 1);
+                    return new ByteRangeOutputStream(out, byteRange[0], byteRange[1]);
+                }
+            }
+        }
+
+        out = new CommittingOutputStream(size, (size == -1) ? wa.getResponseBufferSize() : 0);
+        return out;
+    }
+
+    /**
+     * Check if the "If-Range" header, if present, matches the strong entity
+     * tag or the last modified date of the response.
+     */
+    private boolean isIfRangeSatisfied() {
+        final String ifRange = request.getHeaderValue(IF_RANGE);
+        if (ifRange == null)
+            return true;
+
+        if (ifRange.startsWith("W/"))
+            return false;
+
+        final Object eTag = getHttpHeaders().getFirst(HttpHeaders.ETAG);
+        if (eTag != null && ifRange.equals(getHeaderValue(eTag)))
+            return true;
+
+        final Object lastModified = getHttpHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+        return lastModified != null && ifRange.equals(getHeaderValue(lastModified));
+    }
+
     /**
      * Handle HTTP HEAD method (headers, ..) during writing a response.
      *
@@ -558,7 +731,10 @@ public class ContainerResponse implements HttpResponseContext {
     @Override
     public void setResponse(Response response) {
         this.isCommitted = false;
-        this.out = null;
+        if (this.out != null) {
+            this.out.discardBuffer();
+            this.out = null;
+        }
         this.response = response = (response != null) ? response : Responses.noContent().build();
         this.mappedThrowable = null;
 
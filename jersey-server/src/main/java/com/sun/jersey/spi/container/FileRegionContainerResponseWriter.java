@@ -0,0 +1,79 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.spi.container;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A container response writer that can write a region of a file as, or as
+ * part of, the entity of the response without copying the bytes of the
+ * region through the Java heap.
+ * <p>
+ * When a message body writer writes a file-based entity to the output
+ * stream of a {@link ContainerResponse} the region of the file is passed to
+ * the container response writer, if that writer implements this interface,
+ * otherwise the file is copied to the output stream returned from
+ * {@link #writeStatusAndHeaders(long, ContainerResponse) }.
+ * <p>
+ * Container response writers that adapt another container response writer,
+ * for example to encode the entity, should not implement this interface
+ * unless they can write the region unmodified.
+ */
+public interface FileRegionContainerResponseWriter extends ContainerResponseWriter {
+
+    /**
+     * Write a region of a file. This method is invoked after the status and
+     * headers have been written using
+     * {@link #writeStatusAndHeaders(long, ContainerResponse) } and after any
+     * bytes written to the returned output stream have been flushed.
+     *
+     * @param file the file.
+     * @param position the position in the file of the first byte of the region.
+     * @param count the number of bytes of the region.
+     * @return true if the region was written, otherwise false if the region
+     *         cannot be written without copying, in which case no bytes
+     *         have been written and the file will be copied to the output
+     *         stream.
+     * @throws IOException if an error occurred writing the region.
+     */
+    boolean writeFileRegion(File file, long position, long count) throws IOException;
+}
@@ -194,6 +194,17 @@ public interface WebApplication extends Traceable {
      */
     ResponseListener getResponseListener();
 
+    /**
+     * Get the size, in bytes, up to which response entities of an unknown
+     * size are buffered.
+     *
+     * @return the response buffer size, 0 if response entities are not
+     *         buffered.
+     * @see ResourceConfig#PROPERTY_RESPONSE_BUFFER_SIZE
+     * @since 1.20
+     */
+    int getResponseBufferSize();
+
     /**
      * Handle an HTTP request by dispatching the request to the appropriate
      * matching Web resource that produces the response or otherwise producing
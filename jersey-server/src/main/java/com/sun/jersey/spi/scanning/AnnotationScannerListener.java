@@ -138,6 +138,42 @@ public class AnnotationScannerListener implements ScannerListener {
         new ClassReader(in).accept(classVisitor, 0);
     }
 
+    /**
+     * Invoked when the class of a processed Java class file is correctly
+     * scoped and annotated with one or more of the set of declared
+     * annotations.
+     * <p>
+     * The default implementation loads the class and adds it to the set of
+     * annotated classes.
+     *
+     * @param className the fully qualified binary name of the class.
+     */
+    protected void onAnnotatedClass(String className) {
+        classes.add(getClassForName(className));
+    }
+
+    private Class getClassForName(String className) {
+        try {
+            final OsgiRegistry osgiRegistry = ReflectionHelper.getOsgiRegistryInstance();
+
+            if (osgiRegistry != null) {
+                return osgiRegistry.classForNameWithException(className);
+            } else {
+                return AccessController.doPrivileged(ReflectionHelper.classForNameWithExceptionPEA(className, classloader));
+            }
+        } catch (ClassNotFoundException ex) {
+            String s = "A class file of the class name, " +
+                    className +
+                    "is identified but the class could not be found";
+            throw new RuntimeException(s, ex);
+        } catch (PrivilegedActionException ex) {
+            String s = "A class file of the class name, " +
+                    className +
+                    "is identified but the class could not be found";
+            throw new RuntimeException(s, ex);
+        }
+    }
+
     //
 
     private final class AnnotatedClassVisitor extends ClassVisitor {
@@ -188,8 +224,7 @@ public class AnnotationScannerListener implements ScannerListener {
         public void visitEnd() {
             if (isScoped && isAnnotated) {
                 // Correctly scoped and annotated
-                // add to the set of matching classes.
-                classes.add(getClassForName(className.replaceAll("/", ".")));
+                onAnnotatedClass(className.replaceAll("/", "."));
             }
         }
 
@@ -217,28 +252,5 @@ public class AnnotationScannerListener implements ScannerListener {
             // Do nothing
             return null;
         }
-
-        private Class getClassForName(String className) {
-            try {
-                final OsgiRegistry osgiRegistry = ReflectionHelper.getOsgiRegistryInstance();
-
-                if (osgiRegistry != null) {
-                    return osgiRegistry.classForNameWithException(className);
-                } else {
-                    return AccessController.doPrivileged(ReflectionHelper.classForNameWithExceptionPEA(className, classloader));
-                }
-            } catch (ClassNotFoundException ex) {
-                String s = "A class file of the class name, " +
-                        className +
-                        "is identified but the class could not be found";
-                throw new RuntimeException(s, ex);
-            } catch (PrivilegedActionException ex) {
-                String s = "A class file of the class name, " +
-                        className +
-                        "is identified but the class could not be found";
-                throw new RuntimeException(s, ex);
-            }
-        }
-
     }
 }
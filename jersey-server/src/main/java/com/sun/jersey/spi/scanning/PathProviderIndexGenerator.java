@@ -0,0 +1,148 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.spi.scanning;
+
+import com.sun.jersey.core.spi.scanning.FilesScanner;
+import com.sun.jersey.core.util.ReaderWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.ws.rs.Path;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Generates the index, {@link PathProviderScannerListener#INDEX_RESOURCE_NAME},
+ * of the Java class files of a directory whose classes are annotated with
+ * {@link Path} or {@link Provider}.
+ * <p>
+ * When such an index is present package and classpath scanning reads only
+ * the Java class files listed in the index rather than all Java class files
+ * of the directory, or of the jar file built from the directory.
+ * <p>
+ * The index is intended to be generated after compilation, for example
+ * using the Maven exec plugin in the process-classes phase:
+ * <blockquote><pre>
+ *   &lt;plugin&gt;
+ *     &lt;groupId&gt;org.codehaus.mojo&lt;/groupId&gt;
+ *     &lt;artifactId&gt;exec-maven-plugin&lt;/artifactId&gt;
+ *     &lt;executions&gt;
+ *       &lt;execution&gt;
+ *         &lt;phase&gt;process-classes&lt;/phase&gt;
+ *         &lt;goals&gt;&lt;goal&gt;java&lt;/goal&gt;&lt;/goals&gt;
+ *         &lt;configuration&gt;
+ *           &lt;mainClass&gt;com.sun.jersey.spi.scanning.PathProviderIndexGenerator&lt;/mainClass&gt;
+ *           &lt;arguments&gt;
+ *             &lt;argument&gt;${project.build.outputDirectory}&lt;/argument&gt;
+ *           &lt;/arguments&gt;
+ *         &lt;/configuration&gt;
+ *       &lt;/execution&gt;
+ *     &lt;/executions&gt;
+ *   &lt;/plugin&gt;
+ * </pre></blockquote>
+ * The index must be regenerated whenever the classes of the directory
+ * change, otherwise annotated classes not listed in the index will not
+ * be found when scanning.
+ */
+public final class PathProviderIndexGenerator {
+
+    private PathProviderIndexGenerator() {
+    }
+
+    /**
+     * Generate the index of a directory of Java class files.
+     * <p>
+     * The classes are not loaded.
+     *
+     * @param dir the directory.
+     * @return the resource names, relative to the directory, listed in the
+     *         index.
+     * @throws IOException if an error occurs writing the index.
+     */
+    public static Set<String> generate(File dir) throws IOException {
+        final Set<String> names = new TreeSet<String>();
+        new FilesScanner(new File[] {dir}).scan(
+                new AnnotationScannerListener(Path.class, Provider.class) {
+            @Override
+            protected void onAnnotatedClass(String className) {
+                names.add(className.replace('.', '/') + ".class");
+            }
+        });
+
+        final File index = new File(dir, PathProviderScannerListener.INDEX_RESOURCE_NAME);
+        index.getParentFile().mkdirs();
+        final Writer w = new OutputStreamWriter(new FileOutputStream(index), ReaderWriter.UTF8);
+        try {
+            w.write("# Generated by " + PathProviderIndexGenerator.class.getName() + "\n");
+            for (String name : names) {
+                w.write(name);
+                w.write('\n');
+            }
+        } finally {
+            w.close();
+        }
+        return names;
+    }
+
+    /**
+     * Generate the index of each directory declared as an argument.
+     *
+     * @param args the directories.
+     * @throws IOException if an error occurs writing an index.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: " + PathProviderIndexGenerator.class.getName() +
+                    " <classes directory>...");
+            System.exit(1);
+        }
+
+        for (String arg : args) {
+            final File dir = new File(arg);
+            if (!dir.isDirectory()) {
+                throw new IllegalArgumentException(dir + " is not a directory");
+            }
+            generate(dir);
+        }
+    }
+}
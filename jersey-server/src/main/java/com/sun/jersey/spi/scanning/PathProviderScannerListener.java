@@ -50,6 +50,17 @@ import javax.ws.rs.ext.Provider;
  */
 public final class PathProviderScannerListener extends AnnotationScannerListener {
 
+    /**
+     * The resource name of an index listing the Java class files, of a
+     * directory or jar file, whose classes are annotated with {@link Path}
+     * or {@link Provider}.
+     * <p>
+     * Such an index may be generated at build time using
+     * {@link PathProviderIndexGenerator}.
+     */
+    public static final String INDEX_RESOURCE_NAME
+            = "META-INF/jersey/path-provider-classes";
+
     /**
      * Create a scanning listener to check for Java classes in Java
      * class files annotated with {@link Path} or {@link Provider}.
@@ -0,0 +1,144 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.server.impl.uri.rules;
+
+import com.sun.jersey.api.uri.UriTemplate;
+import com.sun.jersey.server.impl.uri.PathPattern;
+import com.sun.jersey.spi.uri.rules.UriMatchResultContext;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.MatchResult;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests that {@link TrieMatchingPatterns} matches with the same results
+ * as {@link AtomicMatchingPatterns}.
+ */
+public class TrieMatchingPatternsTest {
+
+    private static final class MatchResultContext implements UriMatchResultContext {
+        private MatchResult mr;
+
+        public MatchResult getMatchResult() {
+            return mr;
+        }
+
+        public void setMatchResult(MatchResult mr) {
+            this.mr = mr;
+        }
+
+        public boolean isTracingEnabled() {
+            return false;
+        }
+
+        public void trace(String message) {
+        }
+    }
+
+    private static List<PatternRulePair<String>> createRules(String... templates) {
+        TreeSet<PathPattern> patterns = new TreeSet<PathPattern>(PathPattern.COMPARATOR);
+        for (String t : templates) {
+            patterns.add(new PathPattern(new UriTemplate(t)));
+        }
+
+        List<PatternRulePair<String>> rules = new ArrayList<PatternRulePair<String>>();
+        for (PathPattern p : patterns) {
+            rules.add(new PatternRulePair<String>(p, p.getTemplate().getTemplate()));
+        }
+        return rules;
+    }
+
+    private static void assertMatches(List<PatternRulePair<String>> rules, String... paths) {
+        AtomicMatchingPatterns<String> atomic = new AtomicMatchingPatterns<String>(rules);
+        TrieMatchingPatterns<String> trie = new TrieMatchingPatterns<String>(rules);
+
+        for (String path : paths) {
+            MatchResultContext atomicContext = new MatchResultContext();
+            MatchResultContext trieContext = new MatchResultContext();
+            Iterator<String> atomicMatches = atomic.match(path, atomicContext);
+            Iterator<String> trieMatches = trie.match(path, trieContext);
+
+            if (!atomicMatches.hasNext()) {
+                assertFalse(path, trieMatches.hasNext());
+                assertNull(path, trieContext.getMatchResult());
+                continue;
+            }
+
+            assertEquals(path, atomicMatches.next(), trieMatches.next());
+            assertFalse(path, trieMatches.hasNext());
+
+            MatchResult expected = atomicContext.getMatchResult();
+            MatchResult actual = trieContext.getMatchResult();
+            assertEquals(path, expected.group(), actual.group());
+            assertEquals(path, expected.groupCount(), actual.groupCount());
+            for (int i = 1; i <= expected.groupCount(); i++) {
+                assertEquals(path, expected.group(i), actual.group(i));
+                assertEquals(path, expected.start(i), actual.start(i));
+                assertEquals(path, expected.end(i), actual.end(i));
+            }
+        }
+    }
+
+    @Test
+    public void testLiteralTemplates() {
+        assertMatches(createRules("/", "/a", "/ab", "/a/b", "/a/b/", "a.b", "/x y"),
+                "", "/", "/a", "/a/", "/ab", "/abc", "/a/b", "/a/b/c",
+                "a.b", "axb", "a.b/c", "/x y", "/x y/", "/a\n", "/a/\n");
+    }
+
+    @Test
+    public void testTemplateVariables() {
+        assertMatches(createRules("/a", "/a/{x}", "/{x}", "{x}/b", "/c/{x}/d", "/c/d"),
+                "/", "/a", "/a/b", "/a/b/c", "/b", "/b/c", "c/b", "/c/z/d", "/c/d", "/c/d/e");
+    }
+
+    @Test
+    public void testRegexTemplateVariables() {
+        assertMatches(createRules("/a/{x: \\d+}", "/a/{x}", "/a/{x: [a-z]+}/b", "/{x: .*}"),
+                "/a/12", "/a/ab", "/a/ab/b", "/a/12/b", "/b/c/d", "/");
+    }
+}
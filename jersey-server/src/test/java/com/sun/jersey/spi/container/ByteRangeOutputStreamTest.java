@@ -0,0 +1,124 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.spi.container;
+
+import com.sun.jersey.core.util.FileRegionOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ByteRangeOutputStreamTest {
+
+    private static class RegionOutputStream extends ByteArrayOutputStream implements FileRegionOutputStream {
+        final List<long[]> regions = new ArrayList<long[]>();
+
+        @Override
+        public boolean writeFileRegion(File file, long position, long count) throws IOException {
+            regions.add(new long[] {position, count});
+            return true;
+        }
+    }
+
+    @Test
+    public void testParseRange() {
+        assertArrayEquals(new long[] {0, 9}, ByteRangeOutputStream.parseRange("bytes=0-9", 100));
+        assertArrayEquals(new long[] {10, 99}, ByteRangeOutputStream.parseRange("bytes=10-", 100));
+        assertArrayEquals(new long[] {90, 99}, ByteRangeOutputStream.parseRange("bytes=-10", 100));
+        assertArrayEquals(new long[] {0, 99}, ByteRangeOutputStream.parseRange("bytes=-200", 100));
+        assertArrayEquals(new long[] {50, 99}, ByteRangeOutputStream.parseRange("bytes=50-200", 100));
+        assertArrayEquals(new long[] {1, 2}, ByteRangeOutputStream.parseRange("Bytes=1-2", 100));
+
+        assertSame(ByteRangeOutputStream.UNSATISFIABLE, ByteRangeOutputStream.parseRange("bytes=100-", 100));
+        assertSame(ByteRangeOutputStream.UNSATISFIABLE, ByteRangeOutputStream.parseRange("bytes=-0", 100));
+        assertSame(ByteRangeOutputStream.UNSATISFIABLE, ByteRangeOutputStream.parseRange("bytes=-10", 0));
+
+        assertNull(ByteRangeOutputStream.parseRange("bytes=0-1,5-6", 100));
+        assertNull(ByteRangeOutputStream.parseRange("bytes=5-1", 100));
+        assertNull(ByteRangeOutputStream.parseRange("bytes=a-b", 100));
+        assertNull(ByteRangeOutputStream.parseRange("bytes=5", 100));
+        assertNull(ByteRangeOutputStream.parseRange("items=0-1", 100));
+    }
+
+    @Test
+    public void testWrite() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteRangeOutputStream r = new ByteRangeOutputStream(out, 3, 6);
+
+        r.write(new byte[] {0, 1, 2});
+        r.write(3);
+        r.write(new byte[] {4, 5, 6, 7, 8, 9});
+        r.write(10);
+
+        assertArrayEquals(new byte[] {3, 4, 5, 6}, out.toByteArray());
+    }
+
+    @Test
+    public void testWriteFileRegion() throws IOException {
+        RegionOutputStream out = new RegionOutputStream();
+        ByteRangeOutputStream r = new ByteRangeOutputStream(out, 10, 19);
+
+        File f = new File("file");
+        assertTrue(r.writeFileRegion(f, 100, 5));
+        assertTrue(r.writeFileRegion(f, 200, 10));
+        assertTrue(r.writeFileRegion(f, 300, 100));
+
+        assertEquals(2, out.regions.size());
+        assertArrayEquals(new long[] {205, 5}, out.regions.get(0));
+        assertArrayEquals(new long[] {300, 5}, out.regions.get(1));
+    }
+
+    @Test
+    public void testWriteFileRegionNotSupported() throws IOException {
+        ByteRangeOutputStream r = new ByteRangeOutputStream(new ByteArrayOutputStream(), 0, 9);
+
+        assertFalse(r.writeFileRegion(new File("file"), 0, 10));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.server.impl.container.servlet;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Suspends and completes responses using Servlet 3.0 asynchronous
+ * processing.
+ * <p>
+ * The Servlet 3.0 API is only referenced by this class such that the
+ * Servlet container remains functional with Servlet 2.x containers,
+ * {@link #isSupported(HttpServletRequest) } must be checked before
+ * suspending a response.
+ */
+public final class AsyncServletSupport {
+
+    private static final boolean SERVLET_3 = isServlet3();
+
+    private static boolean isServlet3() {
+        try {
+            Class.forName("javax.servlet.AsyncContext", false,
+                    AsyncServletSupport.class.getClassLoader());
+            return true;
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    private final AsyncContext asyncContext;
+
+    private AsyncServletSupport(AsyncContext asyncContext) {
+        this.asyncContext = asyncContext;
+    }
+
+    /**
+     * Check if a request can be processed asynchronously.
+     *
+     * @param request the Servlet request.
+     * @return true if the Servlet API and the Servlet or filter chain
+     *         processing the request support asynchronous processing.
+     */
+    public static boolean isSupported(HttpServletRequest request) {
+        if (!SERVLET_3)
+            return false;
+
+        try {
+            return request.isAsyncSupported();
+        } catch (AbstractMethodError e) {
+            // A Servlet 2.x request wrapper
+            return false;
+        }
+    }
+
+    /**
+     * Suspend the response of a request, with no timeout.
+     *
+     * @param request the Servlet request.
+     * @return the suspended response, which must be completed using
+     *         {@link #complete() }.
+     * @throws IllegalStateException if the request cannot be processed
+     *         asynchronously.
+     */
+    public static AsyncServletSupport suspend(HttpServletRequest request) {
+        final AsyncContext ac = request.startAsync();
+        // Timeouts are managed by the web application
+        ac.setTimeout(0);
+        return new AsyncServletSupport(ac);
+    }
+
+    /**
+     * Complete the suspended response.
+     */
+    public void complete() {
+        asyncContext.complete();
+    }
+}
@@ -92,17 +92,18 @@ import com.sun.jersey.server.impl.InitialContextHelper;
 import com.sun.jersey.server.impl.ThreadLocalInvoker;
 import com.sun.jersey.server.impl.application.DeferredResourceConfig;
 import com.sun.jersey.server.impl.cdi.CDIComponentProviderFactoryInitializer;
+import com.sun.jersey.server.impl.container.servlet.AsyncServletSupport;
 import com.sun.jersey.server.impl.container.servlet.JSPTemplateProcessor;
 import com.sun.jersey.server.impl.ejb.EJBComponentProviderFactoryInitilizer;
 import com.sun.jersey.server.impl.managedbeans.ManagedBeanComponentProviderFactoryInitilizer;
 import com.sun.jersey.server.impl.model.method.dispatch.FormDispatchProvider;
 import com.sun.jersey.server.impl.monitoring.GlassFishMonitoringInitializer;
 import com.sun.jersey.server.probes.UriRuleProbeProvider;
+import com.sun.jersey.spi.container.AsyncContainerResponseWriter;
 import com.sun.jersey.spi.container.ContainerListener;
 import com.sun.jersey.spi.container.ContainerNotifier;
 import com.sun.jersey.spi.container.ContainerRequest;
 import com.sun.jersey.spi.container.ContainerResponse;
-import com.sun.jersey.spi.container.ContainerResponseWriter;
 import com.sun.jersey.spi.container.ReloadListener;
 import com.sun.jersey.spi.container.WebApplication;
 import com.sun.jersey.spi.container.WebApplicationFactory;
@@ -232,7 +233,9 @@ public class WebComponent implements ContainerListener {
             application.destroy();
     }
 
-    private final static class Writer extends OutputStream implements ContainerResponseWriter {
+    private final static class Writer extends OutputStream implements AsyncContainerResponseWriter {
+        final HttpServletRequest request;
+
         final HttpServletResponse response;
 
         ContainerResponse cResponse;
@@ -243,10 +246,28 @@ public class WebComponent implements ContainerListener {
 
         boolean statusAndHeadersWritten = false;
 
-        Writer(HttpServletResponse response) {
+        volatile boolean suspended;
+
+        volatile AsyncServletSupport async;
+
+        Writer(HttpServletRequest request, HttpServletResponse response) {
+            this.request = request;
             this.response = response;
         }
 
+        public boolean suspend() {
+            if (!AsyncServletSupport.isSupported(request))
+                return false;
+
+            async = AsyncServletSupport.suspend(request);
+            suspended = true;
+            return true;
+        }
+
+        boolean isSuspended() {
+            return suspended;
+        }
+
         public OutputStream writeStatusAndHeaders(long contentLength,
                                                   ContainerResponse cResponse) throws IOException {
             this.contentLength = contentLength;
@@ -256,17 +277,27 @@ public class WebComponent implements ContainerListener {
         }
 
         public void finish() throws IOException {
-            if (statusAndHeadersWritten)
-                return;
-
-            // Note that the writing of headers MUST be performed before
-            // the invocation of sendError as on some Servlet implementations
-            // modification of the response headers will have no effect
-            // after the invocation of sendError.
-            writeHeaders();
-
-
-            writeStatus();
+            try {
+                if (statusAndHeadersWritten || cResponse == null)
+                    return;
+
+                // Note that the writing of headers MUST be performed before
+                // the invocation of sendError as on some Servlet implementations
+                // modification of the response headers will have no effect
+                // after the invocation of sendError.
+                writeHeaders();
+
+
+                writeStatus();
+                statusAndHeadersWritten = true;
+            } finally {
+                // Complete a suspended response, at most once
+                final AsyncServletSupport a = async;
+                if (a != null) {
+                    async = null;
+                    a.complete();
+                }
+            }
         }
 
         private void writeStatus() {
@@ -405,8 +436,12 @@ public class WebComponent implements ContainerListener {
             requestInvoker.set(request);
             responseInvoker.set(response);
 
-            final Writer w = new Writer(response);
+            final Writer w = new Writer(request, response);
             _application.handleRequest(cRequest, w);
+            // The status of a suspended response is not known until the
+            // response is resumed
+            if (w.isSuspended())
+                return HttpServletResponse.SC_OK;
             return w.cResponse.getStatus();
         } catch (WebApplicationException ex) {
             final Response exResponse = ex.getResponse();
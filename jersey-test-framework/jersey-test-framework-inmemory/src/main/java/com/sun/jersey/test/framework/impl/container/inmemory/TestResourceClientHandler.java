@@ -46,9 +46,9 @@ import com.sun.jersey.api.client.TerminatingClientHandler;
 import com.sun.jersey.api.container.ContainerException;
 import com.sun.jersey.core.header.InBoundHeaders;
 import com.sun.jersey.core.header.reader.HttpHeaderReader;
+import com.sun.jersey.spi.container.AsyncContainerResponseWriter;
 import com.sun.jersey.spi.container.ContainerRequest;
 import com.sun.jersey.spi.container.ContainerResponse;
-import com.sun.jersey.spi.container.ContainerResponseWriter;
 import com.sun.jersey.spi.container.WebApplication;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -57,6 +57,7 @@ import java.io.OutputStream;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 import javax.ws.rs.core.MultivaluedMap;
 
 /**
@@ -73,15 +74,25 @@ public class TestResourceClientHandler extends TerminatingClientHandler {
         this.w = w;
     }
 
-    private static class TestContainerResponseWriter implements ContainerResponseWriter {
+    private static class TestContainerResponseWriter implements AsyncContainerResponseWriter {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
 
+        final CountDownLatch finished = new CountDownLatch(1);
+
+        volatile boolean suspended;
+
+        public boolean suspend() {
+            suspended = true;
+            return true;
+        }
+
         public OutputStream writeStatusAndHeaders(long contentLength,
                 ContainerResponse response) throws IOException {
             return baos;
         }
 
         public void finish() throws IOException {
+            finished.countDown();
         }
     }
 
@@ -121,6 +132,16 @@ public class TestResourceClientHandler extends TerminatingClientHandler {
             throw new ContainerException(e);
         }
 
+        // Wait for a suspended response to be resumed and written
+        if (writer.suspended) {
+            try {
+                writer.finished.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ClientHandlerException(e);
+            }
+        }
+
         byte[] responseEntity = writer.baos.toByteArray();
         ClientResponse clientResponse = new ClientResponse(
                 cResponse.getStatus(),
@@ -192,4 +192,47 @@ public class QueryParametersHttpRequestTest extends TestCase {
         assertEquals("+1%20", p.getFirst("x "));
         assertEquals("+2", p.getFirst(" y "));
     }
+
+    public void testDecodedOnDemand() throws Exception {
+        WebApplicationImpl wai = new WebApplicationImpl();
+        ContainerRequest r = new JerseyTestHttpRequestContext(wai,
+                "GET", null,
+                "/context/widgets/10?x=1+%2B+2&y=%zz&y=2", "/context");
+        MultivaluedMap<String, String> p = new WebApplicationContext(wai, r, null).
+                getQueryParameters(true);
+        assertTrue(p.containsKey("y"));
+        assertEquals("1 + 2", p.getFirst("x"));
+        assertEquals(null, p.getFirst("z"));
+
+        try {
+            p.getFirst("y");
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            p.size();
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    public void testDecodedAll() throws Exception {
+        WebApplicationImpl wai = new WebApplicationImpl();
+        ContainerRequest r = new JerseyTestHttpRequestContext(wai,
+                "GET", null,
+                "/context/widgets/10?x=1+%2B+2&y=%26&y=2", "/context");
+        MultivaluedMap<String, String> p = new WebApplicationContext(wai, r, null).
+                getQueryParameters(true);
+        assertEquals("1 + 2", p.getFirst("x"));
+        assertEquals(2, p.size());
+        assertEquals(2, p.get("y").size());
+        assertEquals("&", p.get("y").get(0));
+        assertEquals("2", p.get("y").get(1));
+
+        p.add("z", "3");
+        assertEquals(3, p.keySet().size());
+        assertEquals("3", p.getFirst("z"));
+        assertEquals(null, r.getQueryParameters(false).getFirst("z"));
+    }
 }
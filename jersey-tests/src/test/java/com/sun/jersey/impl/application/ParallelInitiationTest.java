@@ -0,0 +1,149 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.impl.application;
+
+import com.sun.jersey.api.core.DefaultResourceConfig;
+import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.impl.AbstractResourceTester;
+import com.sun.jersey.spi.inject.Errors;
+import java.util.List;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+
+public class ParallelInitiationTest extends AbstractResourceTester {
+
+    public ParallelInitiationTest(String testName) {
+        super(testName);
+    }
+
+    @Path("/one")
+    public static class OneResource {
+        @GET
+        public String get() {
+            return "one";
+        }
+
+        @Path("{id}")
+        @GET
+        public String get(@PathParam("id") String id) {
+            return "one-" + id;
+        }
+    }
+
+    @Path("/two")
+    public static class TwoResource {
+        @GET
+        public String get() {
+            return "two";
+        }
+    }
+
+    @Path("/three")
+    public static class ThreeResource {
+        @GET
+        public String get() {
+            return "three";
+        }
+    }
+
+    @Path("/four")
+    public static class FourResource {
+        @GET
+        public String get() {
+            return "four";
+        }
+    }
+
+    public void testParallelInitiation() {
+        _testParallelInitiation(4);
+    }
+
+    public void testParallelInitiationStringThreads() {
+        _testParallelInitiation("2");
+    }
+
+    public void testParallelInitiationOneThread() {
+        _testParallelInitiation(1);
+    }
+
+    private void _testParallelInitiation(Object threads) {
+        ResourceConfig rc = new DefaultResourceConfig(OneResource.class,
+                TwoResource.class, ThreeResource.class);
+        rc.getSingletons().add(new FourResource());
+        rc.getExplicitRootResources().put("/five", TwoResource.class);
+        rc.getFeatures().put(ResourceConfig.FEATURE_PARALLEL_INITIATION, true);
+        // Independent of the number of available processors
+        rc.getProperties().put(ResourceConfig.PROPERTY_PARALLEL_INITIATION_THREADS, threads);
+        initiateWebApplication(rc);
+
+        assertEquals("one", resource("/one").get(String.class));
+        assertEquals("one-1", resource("/one/1").get(String.class));
+        assertEquals("two", resource("/two").get(String.class));
+        assertEquals("three", resource("/three").get(String.class));
+        assertEquals("four", resource("/four").get(String.class));
+        assertEquals("two", resource("/five").get(String.class));
+    }
+
+    @Path("/errors")
+    public static class ErrorsResource {
+        @Path("/{")
+        @GET
+        public String get() { return null; }
+
+        @Path("/{sub")
+        public Object sub() { return null; }
+    }
+
+    public void testParallelInitiationErrors() {
+        List<Errors.ErrorMessage> messages = catches(new Closure() {
+            @Override
+            public void f() {
+                ResourceConfig rc = new DefaultResourceConfig(OneResource.class,
+                        ErrorsResource.class, TwoResource.class);
+                rc.getFeatures().put(ResourceConfig.FEATURE_PARALLEL_INITIATION, true);
+                rc.getProperties().put(ResourceConfig.PROPERTY_PARALLEL_INITIATION_THREADS, 3);
+                initiateWebApplication(rc);
+            }
+        }, Errors.ErrorMessagesException.class).messages;
+
+        assertEquals(2, messages.size());
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.impl.application;
+
+import com.sun.jersey.api.core.DefaultResourceConfig;
+import com.sun.jersey.api.core.ExtendedUriInfo;
+import com.sun.jersey.api.core.HttpContext;
+import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.impl.AbstractResourceTester;
+import java.util.List;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MultivaluedMap;
+
+public class RequestContextPoolingTest extends AbstractResourceTester {
+
+    public RequestContextPoolingTest(String testName) {
+        super(testName);
+    }
+
+    @Path("/{a}")
+    public static class ParentResource {
+        @GET
+        public String get(@Context HttpContext hc) {
+            ExtendedUriInfo ui = hc.getUriInfo();
+            return ui.getMatchedURIs().toString() + ui.getMatchedResources().size() +
+                    ui.getPathParameters().toString();
+        }
+
+        @Path("{b}")
+        public ChildResource getChild() {
+            return new ChildResource();
+        }
+    }
+
+    public static class ChildResource {
+        @GET
+        public String get(@Context HttpContext hc) {
+            ExtendedUriInfo ui = hc.getUriInfo();
+            return ui.getMatchedURIs().toString() + ui.getMatchedResources().size() +
+                    ui.getPathParameters().toString();
+        }
+    }
+
+    public void testStateIsReset() {
+        ResourceConfig rc = new DefaultResourceConfig(ParentResource.class);
+        rc.getFeatures().put(ResourceConfig.FEATURE_REQUEST_CONTEXT_POOLING, true);
+        initiateWebApplication(rc);
+
+        assertEquals("[x/y, x]2{a=[x], b=[y]}", resource("/x/y").get(String.class));
+        assertEquals("[z]1{a=[z]}", resource("/z").get(String.class));
+        assertEquals("[x/y, x]2{a=[x], b=[y]}", resource("/x/y").get(String.class));
+        assertEquals("[z]1{a=[z]}", resource("/z").get(String.class));
+    }
+
+    @Path("/")
+    public static class LeakingResource {
+        static ExtendedUriInfo leaked;
+
+        @GET
+        public String get(@Context HttpContext hc) {
+            leaked = hc.getUriInfo();
+            return "leaked";
+        }
+
+        @Path("{p}")
+        @GET
+        public String get(@PathParam("p") String p) {
+            return p;
+        }
+    }
+
+    public void testLeakDetection() {
+        ResourceConfig rc = new DefaultResourceConfig(LeakingResource.class);
+        rc.getFeatures().put(ResourceConfig.FEATURE_REQUEST_CONTEXT_POOLING, true);
+        initiateWebApplication(rc);
+
+        assertEquals("leaked", resource("/").get(String.class));
+        final ExtendedUriInfo leaked = LeakingResource.leaked;
+        assertReleased(new Runnable() {
+            public void run() {
+                leaked.getMatchedResources();
+            }
+        });
+        assertReleased(new Runnable() {
+            public void run() {
+                leaked.getPath();
+            }
+        });
+        assertReleased(new Runnable() {
+            public void run() {
+                leaked.getBaseUri();
+            }
+        });
+        assertReleased(new Runnable() {
+            public void run() {
+                leaked.getQueryParameters();
+            }
+        });
+        assertReleased(new Runnable() {
+            public void run() {
+                leaked.getMappedThrowable();
+            }
+        });
+
+        LeakingResource.leaked = null;
+
+        assertEquals("p", resource("/p").get(String.class));
+    }
+
+    private static void assertReleased(Runnable r) {
+        try {
+            r.run();
+            fail();
+        } catch (IllegalStateException e) {
+        }
+    }
+
+    @Path("/escaped/{p}")
+    public static class EscapingResource {
+        static List<Object> resources;
+
+        static MultivaluedMap<String, String> decoded;
+
+        static MultivaluedMap<String, String> encoded;
+
+        @GET
+        public String get(@Context HttpContext hc) {
+            ExtendedUriInfo ui = hc.getUriInfo();
+            resources = ui.getMatchedResources();
+            decoded = ui.getPathParameters();
+            encoded = ui.getPathParameters(false);
+            return "escaped";
+        }
+    }
+
+    public void testEscapedStateIsNotReused() {
+        ResourceConfig rc = new DefaultResourceConfig(EscapingResource.class, ParentResource.class);
+        rc.getFeatures().put(ResourceConfig.FEATURE_REQUEST_CONTEXT_POOLING, true);
+        initiateWebApplication(rc);
+
+        assertEquals("escaped", resource("/escaped/x%20y").get(String.class));
+        List<Object> resources = EscapingResource.resources;
+        MultivaluedMap<String, String> decoded = EscapingResource.decoded;
+        MultivaluedMap<String, String> encoded = EscapingResource.encoded;
+
+        assertEquals("[z]1{a=[z]}", resource("/z").get(String.class));
+
+        assertEquals(1, resources.size());
+        assertTrue(resources.get(0) instanceof EscapingResource);
+        assertEquals("x y", decoded.getFirst("p"));
+        assertEquals(1, decoded.size());
+        assertEquals("x%20y", encoded.getFirst("p"));
+        assertEquals(1, encoded.size());
+
+        EscapingResource.resources = null;
+        EscapingResource.decoded = null;
+        EscapingResource.encoded = null;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.impl.container;
+
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.core.AsyncResponse;
+import com.sun.jersey.api.core.DefaultResourceConfig;
+import com.sun.jersey.impl.AbstractResourceTester;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+
+public class AsyncResponseTest extends AbstractResourceTester {
+    public AsyncResponseTest(String testName) {
+        super(testName);
+    }
+
+    private static void resumeLater(final AsyncResponse ar, final Object r) {
+        new Thread() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                }
+                if (r instanceof Throwable) {
+                    ar.resume((Throwable)r);
+                } else {
+                    ar.resume(r);
+                }
+            }
+        }.start();
+    }
+
+    @Path("/")
+    public static class AsyncResource {
+        @GET
+        @Produces("text/plain")
+        public AsyncResponse get() {
+            AsyncResponse ar = new AsyncResponse();
+            resumeLater(ar, "CONTENT");
+            return ar;
+        }
+
+        @Path("response")
+        @GET
+        @Produces("text/plain")
+        public AsyncResponse getResponse() {
+            AsyncResponse ar = new AsyncResponse();
+            resumeLater(ar, Response.status(201).entity("CREATED").header("X-Test", "value").build());
+            return ar;
+        }
+
+        @Path("exception")
+        @GET
+        public AsyncResponse getException() {
+            AsyncResponse ar = new AsyncResponse();
+            resumeLater(ar, new WebApplicationException(409));
+            return ar;
+        }
+
+        @Path("immediate")
+        @GET
+        @Produces("text/plain")
+        public AsyncResponse getImmediate() {
+            AsyncResponse ar = new AsyncResponse();
+            ar.resume("IMMEDIATE");
+            return ar;
+        }
+
+        @Path("null")
+        @GET
+        public AsyncResponse getNull() {
+            AsyncResponse ar = new AsyncResponse();
+            resumeLater(ar, null);
+            return ar;
+        }
+
+        @Path("timeout")
+        @GET
+        public AsyncResponse getTimeout() {
+            return new AsyncResponse(100, TimeUnit.MILLISECONDS);
+        }
+
+        @Path("never")
+        @GET
+        public AsyncResponse getNever() {
+            return new AsyncResponse();
+        }
+    }
+
+    public void testResumeEntity() {
+        initiateWebApplication(new DefaultResourceConfig(AsyncResource.class));
+
+        ClientResponse cr = resource("/", false).get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertEquals("text/plain", cr.getType().toString());
+        assertEquals("CONTENT", cr.getEntity(String.class));
+    }
+
+    public void testResumeResponse() {
+        initiateWebApplication(new DefaultResourceConfig(AsyncResource.class));
+
+        ClientResponse cr = resource("/response", false).get(ClientResponse.class);
+        assertEquals(201, cr.getStatus());
+        assertEquals("value", cr.getHeaders().getFirst("X-Test"));
+        assertEquals("text/plain", cr.getType().toString());
+        assertEquals("CREATED", cr.getEntity(String.class));
+    }
+
+    public void testResumeException() {
+        initiateWebApplication(new DefaultResourceConfig(AsyncResource.class));
+
+        ClientResponse cr = resource("/exception", false).get(ClientResponse.class);
+        assertEquals(409, cr.getStatus());
+    }
+
+    public void testResumeBeforeSuspend() {
+        initiateWebApplication(new DefaultResourceConfig(AsyncResource.class));
+
+        ClientResponse cr = resource("/immediate", false).get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertEquals("IMMEDIATE", cr.getEntity(String.class));
+    }
+
+    public void testResumeNull() {
+        initiateWebApplication(new DefaultResourceConfig(AsyncResource.class));
+
+        ClientResponse cr = resource("/null", false).get(ClientResponse.class);
+        assertEquals(204, cr.getStatus());
+    }
+
+    public void testTimeout() {
+        initiateWebApplication(new DefaultResourceConfig(AsyncResource.class));
+
+        ClientResponse cr = resource("/timeout", false).get(ClientResponse.class);
+        assertEquals(503, cr.getStatus());
+    }
+
+    public void testDestroy() {
+        initiateWebApplication(new DefaultResourceConfig(AsyncResource.class));
+
+        new Thread() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                }
+                w.destroy();
+            }
+        }.start();
+
+        ClientResponse cr = resource("/never", false).get(ClientResponse.class);
+        assertEquals(503, cr.getStatus());
+    }
+
+    public void testResumeOnce() {
+        AsyncResponse ar = new AsyncResponse();
+        assertTrue(ar.resume("A"));
+        assertFalse(ar.resume("B"));
+        assertTrue(ar.isDone());
+        assertEquals("A", ar.getResult());
+    }
+}
@@ -42,13 +42,26 @@ package com.sun.jersey.impl.container.config;
 
 import com.sun.jersey.api.core.ClasspathResourceConfig;
 import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.api.core.ScanningResourceConfig;
 import com.sun.jersey.impl.container.config.innerstatic.InnerStaticClass;
 import com.sun.jersey.impl.container.config.toplevel.PublicRootResourceClass;
 import com.sun.jersey.impl.container.config.toplevelinnerstatic.PublicRootResourceInnerStaticClass;
+import com.sun.jersey.spi.scanning.PathProviderIndexGenerator;
+import com.sun.jersey.spi.scanning.PathProviderScannerListener;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  *
@@ -195,6 +208,149 @@ public class ClasspathResourceConfigTest extends AbstractConfigTester {
         assertEquals(2, rc.getClasses().size());
     }
     
+    public void testJars() throws IOException {
+        File jarFile1 = createJarFile("target/test-classes/",
+                "com/sun/jersey/impl/container/config/toplevel/PublicRootResourceClass.class",
+                "com/sun/jersey/impl/container/config/toplevel/PackageRootResourceClass.class"
+                );
+        File jarFile2 = createJarFile("target/test-classes/",
+                "com/sun/jersey/impl/container/config/innerstatic/InnerStaticClass.class",
+                "com/sun/jersey/impl/container/config/innerstatic/InnerStaticClass$PublicClass.class",
+                "com/sun/jersey/impl/container/config/innerstatic/InnerStaticClass$PackageClass.class",
+                "com/sun/jersey/impl/container/config/innerstatic/InnerStaticClass$ProtectedClass.class",
+                "com/sun/jersey/impl/container/config/innerstatic/InnerStaticClass$PrivateClass.class"
+                );
+        File jarFile3 = createJarFile("target/test-classes/",
+                "com/sun/jersey/impl/container/config/toplevelinnerstatic/PublicRootResourceInnerStaticClass.class",
+                "com/sun/jersey/impl/container/config/toplevelinnerstatic/PublicRootResourceInnerStaticClass$PublicClass.class"
+                );
+        Map<String, Object> p = new HashMap<String, Object>();
+        String[] paths = {jarFile1.getAbsolutePath(), jarFile2.getAbsolutePath(), jarFile3.getAbsolutePath()};
+        p.put(ClasspathResourceConfig.PROPERTY_CLASSPATH, paths);
+        ResourceConfig rc = new ClasspathResourceConfig(p);
+
+        assertEquals(Arrays.<Class<?>>asList(
+                PublicRootResourceClass.class,
+                InnerStaticClass.PublicClass.class,
+                PublicRootResourceInnerStaticClass.class,
+                PublicRootResourceInnerStaticClass.PublicClass.class),
+                Arrays.asList(rc.getClasses().toArray()));
+    }
+
+    public void testJarIndex() throws IOException {
+        File index = File.createTempFile("index", ".txt");
+        index.deleteOnExit();
+        FileWriter w = new FileWriter(index);
+        w.write("# Index\n");
+        w.write("com/sun/jersey/impl/container/config/toplevel/PublicRootResourceClass.class\n");
+        w.close();
+
+        Map<String, String> entries = new HashMap<String, String>();
+        for (String entry : new String[] {
+                "com/sun/jersey/impl/container/config/toplevel/PublicRootResourceClass.class",
+                "com/sun/jersey/impl/container/config/toplevel/PackageRootResourceClass.class",
+                "com/sun/jersey/impl/container/config/innerstatic/InnerStaticClass.class",
+                "com/sun/jersey/impl/container/config/innerstatic/InnerStaticClass$PublicClass.class"}) {
+            entries.put("target/test-classes/" + entry, entry);
+        }
+        entries.put(index.getAbsolutePath(), PathProviderScannerListener.INDEX_RESOURCE_NAME);
+        File jarFile = createJarFile(Suffix.jar, "", entries);
+        ResourceConfig rc = createConfig(jarFile);
+
+        // Only the classes listed in the index are scanned
+        assertTrue(rc.getClasses().contains(PublicRootResourceClass.class));
+        assertEquals(1, rc.getClasses().size());
+    }
+
+    public void testGeneratedDirectoryIndex() throws IOException {
+        File dir = File.createTempFile("classes", "");
+        dir.delete();
+        dir.mkdir();
+        for (String entry : new String[] {
+                "com/sun/jersey/impl/container/config/toplevel/PublicRootResourceClass.class",
+                "com/sun/jersey/impl/container/config/toplevel/PackageRootResourceClass.class",
+                "com/sun/jersey/impl/container/config/innerstatic/InnerStaticClass.class",
+                "com/sun/jersey/impl/container/config/innerstatic/InnerStaticClass$PublicClass.class",
+                "com/sun/jersey/impl/container/config/innerstatic/InnerStaticClass$PrivateClass.class"}) {
+            copy(new File("target/test-classes/" + entry), new File(dir, entry));
+        }
+
+        Set<String> names = PathProviderIndexGenerator.generate(dir);
+        assertEquals(new HashSet<String>(Arrays.asList(
+                "com/sun/jersey/impl/container/config/toplevel/PublicRootResourceClass.class",
+                "com/sun/jersey/impl/container/config/innerstatic/InnerStaticClass$PublicClass.class")),
+                names);
+        assertTrue(new File(dir, PathProviderScannerListener.INDEX_RESOURCE_NAME).isFile());
+
+        // A class file added after the index was generated is not scanned
+        copy(new File("target/test-classes/com/sun/jersey/impl/container/config/toplevelinnerstatic/PublicRootResourceInnerStaticClass.class"),
+                new File(dir, "com/sun/jersey/impl/container/config/toplevelinnerstatic/PublicRootResourceInnerStaticClass.class"));
+
+        Map<String, Object> p = new HashMap<String, Object>();
+        String[] paths = {dir.getAbsolutePath()};
+        p.put(ClasspathResourceConfig.PROPERTY_CLASSPATH, paths);
+        ResourceConfig rc = new ClasspathResourceConfig(p);
+
+        assertTrue(rc.getClasses().contains(PublicRootResourceClass.class));
+        assertTrue(rc.getClasses().contains(InnerStaticClass.PublicClass.class));
+        assertEquals(2, rc.getClasses().size());
+    }
+
+    public void testSnapshot() throws IOException {
+        File snapshot = File.createTempFile("snapshot", ".txt");
+        snapshot.delete();
+        snapshot.deleteOnExit();
+
+        Map<String, Object> p = new HashMap<String, Object>();
+        String[] paths = {"target/test-classes/com/sun/jersey/impl/container/config/toplevel"};
+        p.put(ClasspathResourceConfig.PROPERTY_CLASSPATH, paths);
+        p.put(ScanningResourceConfig.PROPERTY_SCANNING_SNAPSHOT, snapshot.getPath());
+        ResourceConfig rc = new ClasspathResourceConfig(p);
+
+        assertTrue(rc.getClasses().contains(PublicRootResourceClass.class));
+        assertEquals(1, rc.getClasses().size());
+        assertTrue(snapshot.isFile());
+
+        BufferedReader r = new BufferedReader(new FileReader(snapshot));
+        String digest = r.readLine();
+        assertEquals(PublicRootResourceClass.class.getName(), r.readLine());
+        r.close();
+
+        // The snapshot is loaded, rather than scanning, if the digest is unchanged
+        FileWriter w = new FileWriter(snapshot);
+        w.write(digest + "\n" + InnerStaticClass.PublicClass.class.getName() + "\n");
+        w.close();
+
+        rc = new ClasspathResourceConfig(p);
+        assertTrue(rc.getClasses().contains(InnerStaticClass.PublicClass.class));
+        assertEquals(1, rc.getClasses().size());
+
+        // Scanning is performed if the digest differs
+        w = new FileWriter(snapshot);
+        w.write("0\n" + InnerStaticClass.PublicClass.class.getName() + "\n");
+        w.close();
+
+        rc = new ClasspathResourceConfig(p);
+        assertTrue(rc.getClasses().contains(PublicRootResourceClass.class));
+        assertEquals(1, rc.getClasses().size());
+    }
+
+    private void copy(File from, File to) throws IOException {
+        to.getParentFile().mkdirs();
+        InputStream in = new FileInputStream(from);
+        OutputStream out = new FileOutputStream(to);
+        try {
+            byte[] buf = new byte[1024];
+            int read;
+            while ((read = in.read(buf)) != -1) {
+                out.write(buf, 0, read);
+            }
+        } finally {
+            in.close();
+            out.close();
+        }
+    }
+
     private ResourceConfig createConfig(File jarFile) {
         Map<String, Object> p = new HashMap<String, Object>();
         String[] paths = new String[1];
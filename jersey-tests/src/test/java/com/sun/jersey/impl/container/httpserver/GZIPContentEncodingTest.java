@@ -40,13 +40,29 @@
 package com.sun.jersey.impl.container.httpserver;
 
 import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientResponse;
 import com.sun.jersey.api.client.WebResource;
 import com.sun.jersey.api.container.filter.GZIPContentEncodingFilter;
 import com.sun.jersey.api.core.DefaultResourceConfig;
 import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.core.util.ReaderWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 
 /**
  *
@@ -61,6 +77,43 @@ public class GZIPContentEncodingTest extends AbstractHttpServerTester {
         
         @POST
         public String post(String content) { return content; }
+
+        @Path("size")
+        @GET
+        public String getSize(@QueryParam("size") int size) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < size; i++) {
+                sb.append('x');
+            }
+            return sb.toString();
+        }
+
+        @Path("png")
+        @GET
+        @Produces("image/png")
+        public byte[] getPng() { return "PNG".getBytes(); }
+
+        @Path("file")
+        @GET
+        @Produces("text/plain")
+        public File getFile(@QueryParam("path") String path) { return new File(path); }
+
+        @Path("tagged")
+        @GET
+        public Response getTagged(@QueryParam("type") String type) {
+            return Response.ok("TAGGED", type).tag("tag").build();
+        }
+
+        @Path("conditional")
+        @GET
+        public Response getConditional(@QueryParam("type") String type, @Context Request request) {
+            EntityTag tag = new EntityTag("tag");
+            Response.ResponseBuilder rb = request.evaluatePreconditions(tag);
+            if (rb != null)
+                return rb.build();
+
+            return Response.ok("TAGGED", type).tag(tag).build();
+        }
     }
     
     public GZIPContentEncodingTest(String testName) {
@@ -98,4 +151,170 @@ public class GZIPContentEncodingTest extends AbstractHttpServerTester {
 
         assertEquals("POST", r.post(String.class, "POST"));
     }    
-}
\ No newline at end of file
+
+    private ResourceConfig createConfig() {
+        ResourceConfig rc = new DefaultResourceConfig(Resource.class);
+        rc.getProperties().put(ResourceConfig.PROPERTY_CONTAINER_REQUEST_FILTERS,
+                GZIPContentEncodingFilter.class.getName());
+        rc.getProperties().put(ResourceConfig.PROPERTY_CONTAINER_RESPONSE_FILTERS,
+                GZIPContentEncodingFilter.class.getName());
+        return rc;
+    }
+
+    public void testMinCompressionSize() throws IOException {
+        ResourceConfig rc = createConfig();
+        rc.getProperties().put(ResourceConfig.PROPERTY_RESPONSE_BUFFER_SIZE, 1024);
+        rc.getProperties().put(GZIPContentEncodingFilter.PROPERTY_MIN_COMPRESSION_SIZE, "100");
+        rc.getProperties().put(GZIPContentEncodingFilter.PROPERTY_COMPRESSION_LEVEL, "1");
+        startServer(rc);
+
+        WebResource r = Client.create().resource(getUri().path("size").build());
+
+        ClientResponse cr = r.queryParam("size", "99").header("Accept-Encoding", "gzip").
+                get(ClientResponse.class);
+        assertNull(cr.getHeaders().getFirst("Content-Encoding"));
+        assertEquals(99, cr.getEntity(String.class).length());
+
+        cr = r.queryParam("size", "100").header("Accept-Encoding", "gzip").
+                get(ClientResponse.class);
+        assertEquals("gzip", cr.getHeaders().getFirst("Content-Encoding"));
+        assertEquals(100, readAll(new GZIPInputStream(cr.getEntityInputStream())).length);
+
+        // The size of the entity is not known
+        cr = r.queryParam("size", "2000").header("Accept-Encoding", "gzip").
+                get(ClientResponse.class);
+        assertEquals("gzip", cr.getHeaders().getFirst("Content-Encoding"));
+    }
+
+    public void testUncompressedMediaType() {
+        startServer(createConfig());
+
+        Client c = Client.create();
+        c.addFilter(new com.sun.jersey.api.client.filter.GZIPContentEncodingFilter());
+        WebResource r = c.resource(getUri().path("png").build());
+
+        ClientResponse cr = r.get(ClientResponse.class);
+        assertNull(cr.getHeaders().getFirst("Content-Encoding"));
+        assertEquals("PNG", cr.getEntity(String.class));
+    }
+
+    public void testEntityTag() throws IOException {
+        startServer(createConfig());
+
+        WebResource r = Client.create().resource(getUri().path("tagged").build());
+
+        ClientResponse cr = r.queryParam("type", "text/plain").header("Accept-Encoding", "gzip").
+                get(ClientResponse.class);
+        assertEquals("gzip", cr.getHeaders().getFirst("Content-Encoding"));
+        assertEquals("\"tag-gzip\"", cr.getHeaders().getFirst("ETag"));
+        assertEquals("TAGGED", new String(readAll(new GZIPInputStream(cr.getEntityInputStream()))));
+
+        cr = r.queryParam("type", "image/png").header("Accept-Encoding", "gzip").
+                get(ClientResponse.class);
+        assertNull(cr.getHeaders().getFirst("Content-Encoding"));
+        assertEquals("\"tag\"", cr.getHeaders().getFirst("ETag"));
+        assertEquals("TAGGED", cr.getEntity(String.class));
+    }
+
+    public void testConditionalGet() throws IOException {
+        startServer(createConfig());
+
+        WebResource r = Client.create().resource(getUri().path("conditional").build()).
+                queryParam("type", "text/plain");
+
+        ClientResponse cr = r.header("Accept-Encoding", "gzip").get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertEquals("gzip", cr.getHeaders().getFirst("Content-Encoding"));
+        String tag = cr.getHeaders().getFirst("ETag");
+        assertEquals("\"tag-gzip\"", tag);
+        cr.close();
+
+        cr = r.header("Accept-Encoding", "gzip").header("If-None-Match", tag).
+                get(ClientResponse.class);
+        assertEquals(304, cr.getStatus());
+        assertEquals(tag, cr.getHeaders().getFirst("ETag"));
+    }
+
+    public void testConditionalGetUncompressedMediaType() throws IOException {
+        startServer(createConfig());
+
+        WebResource r = Client.create().resource(getUri().path("conditional").build()).
+                queryParam("type", "image/png");
+
+        ClientResponse cr = r.header("Accept-Encoding", "gzip").get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertNull(cr.getHeaders().getFirst("Content-Encoding"));
+        String tag = cr.getHeaders().getFirst("ETag");
+        assertEquals("\"tag\"", tag);
+        assertEquals("TAGGED", cr.getEntity(String.class));
+
+        cr = r.header("Accept-Encoding", "gzip").header("If-None-Match", tag).
+                get(ClientResponse.class);
+        assertEquals(304, cr.getStatus());
+        assertEquals(tag, cr.getHeaders().getFirst("ETag"));
+    }
+
+    public void testPrecompressedFile() throws IOException {
+        File f = File.createTempFile("gzip", ".txt");
+        File gzf = new File(f.getPath() + ".gz");
+        try {
+            OutputStream out = new FileOutputStream(f);
+            out.write("FILE".getBytes());
+            out.close();
+            out = new GZIPOutputStream(new FileOutputStream(gzf));
+            out.write("PRECOMPRESSED".getBytes());
+            out.close();
+            gzf.setLastModified(f.lastModified());
+
+            ResourceConfig rc = createConfig();
+            rc.getFeatures().put(GZIPContentEncodingFilter.FEATURE_PRECOMPRESSED_FILES, true);
+            startServer(rc);
+
+            WebResource r = Client.create().resource(getUri().path("file").build()).
+                    queryParam("path", f.getPath());
+
+            ClientResponse cr = r.header("Accept-Encoding", "gzip").get(ClientResponse.class);
+            assertEquals("gzip", cr.getHeaders().getFirst("Content-Encoding"));
+            assertEquals(gzf.length(), cr.getLength());
+            assertEquals("PRECOMPRESSED", new String(readAll(new GZIPInputStream(cr.getEntityInputStream()))));
+
+            assertEquals("FILE", r.get(String.class));
+        } finally {
+            f.delete();
+            gzf.delete();
+        }
+    }
+
+    public void testPrecompressedFileDisabled() throws IOException {
+        File f = File.createTempFile("gzip", ".txt");
+        File gzf = new File(f.getPath() + ".gz");
+        try {
+            OutputStream out = new FileOutputStream(f);
+            out.write("FILE".getBytes());
+            out.close();
+            out = new GZIPOutputStream(new FileOutputStream(gzf));
+            out.write("PRECOMPRESSED".getBytes());
+            out.close();
+            gzf.setLastModified(f.lastModified());
+
+            startServer(createConfig());
+
+            WebResource r = Client.create().resource(getUri().path("file").build()).
+                    queryParam("path", f.getPath());
+
+            ClientResponse cr = r.header("Accept-Encoding", "gzip").get(ClientResponse.class);
+            assertEquals("gzip", cr.getHeaders().getFirst("Content-Encoding"));
+            assertEquals("FILE", new String(readAll(new GZIPInputStream(cr.getEntityInputStream()))));
+        } finally {
+            f.delete();
+            gzf.delete();
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReaderWriter.writeTo(in, out);
+        in.close();
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.impl.container.httpserver;
+
+import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientHandlerException;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.client.pool.ConnectionPool;
+import com.sun.jersey.client.pool.PooledConnectionClientHandler;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+
+public class PooledConnectionClientHandlerTest extends AbstractHttpServerTester {
+    public PooledConnectionClientHandlerTest(String testName) {
+        super(testName);
+    }
+
+    @Path("/")
+    public static class Resource {
+        @GET
+        public String get() {
+            return "GET";
+        }
+
+        @POST
+        public byte[] post(byte[] entity) {
+            return entity;
+        }
+
+        @DELETE
+        public void delete() {
+        }
+
+        @Path("large")
+        @GET
+        public byte[] getLarge() {
+            return new byte[1024 * 1024];
+        }
+    }
+
+    private Client createClient(ConnectionPool pool) {
+        return new Client(new PooledConnectionClientHandler(pool));
+    }
+
+    public void testReuse() {
+        startServer(Resource.class);
+
+        ConnectionPool pool = new ConnectionPool();
+        WebResource r = createClient(pool).resource(getUri().path("/").build());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("GET", r.get(String.class));
+        }
+
+        ConnectionPool.Statistics s = pool.getStatistics();
+        assertEquals(1, s.getCreated());
+        assertEquals(9, s.getReused());
+        assertEquals(0, s.getLeased());
+        assertEquals(1, s.getIdle());
+    }
+
+    public void testPostChunked() {
+        startServer(Resource.class);
+
+        ConnectionPool pool = new ConnectionPool();
+        WebResource r = createClient(pool).resource(getUri().path("/").build());
+
+        byte[] entity = new byte[10000];
+        for (int i = 0; i < 3; i++) {
+            // The size of an input stream is not known so chunked encoding is used
+            InputStream in = new ByteArrayInputStream(entity);
+            assertEquals(entity.length, r.post(byte[].class, in).length);
+        }
+
+        assertEquals(1, pool.getStatistics().getCreated());
+    }
+
+    public void testNoContent() {
+        startServer(Resource.class);
+
+        ConnectionPool pool = new ConnectionPool();
+        WebResource r = createClient(pool).resource(getUri().path("/").build());
+
+        ClientResponse cr = r.delete(ClientResponse.class);
+        assertEquals(204, cr.getStatus());
+        assertFalse(cr.hasEntity());
+        assertEquals(0, pool.getStatistics().getLeased());
+
+        assertEquals("GET", r.get(String.class));
+        assertEquals(1, pool.getStatistics().getCreated());
+    }
+
+    public void testInvalidHeader() {
+        startServer(Resource.class);
+
+        ConnectionPool pool = new ConnectionPool();
+        WebResource r = createClient(pool).resource(getUri().path("/").build());
+
+        String[][] headers = {
+                {"X-Test", "value\r\nX-Injected: value"},
+                {"X-Test", "value\nX-Injected: value"},
+                {"X-Test\r\nX-Injected", "value"},
+                {"X-Test", "\u20ac"}
+        };
+        for (String[] header : headers) {
+            try {
+                r.header(header[0], header[1]).get(String.class);
+                fail();
+            } catch (ClientHandlerException e) {
+            }
+        }
+
+        assertEquals(0, pool.getStatistics().getLeased());
+        assertEquals("GET", r.header("X-Test", "caf\u00e9").get(String.class));
+    }
+
+    public void testCloseBeforeEntityIsRead() {
+        startServer(Resource.class);
+
+        ConnectionPool pool = new ConnectionPool();
+        WebResource r = createClient(pool).resource(getUri().path("large").build());
+
+        ClientResponse cr = r.get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertEquals(1, pool.getStatistics().getLeased());
+
+        // The entity is too large to drain so the connection is closed
+        cr.close();
+        ConnectionPool.Statistics s = pool.getStatistics();
+        assertEquals(0, s.getLeased());
+        assertEquals(0, s.getIdle());
+        assertEquals(1, s.getClosed());
+    }
+
+    public void testMaxPerRoute() {
+        startServer(Resource.class);
+
+        ConnectionPool pool = new ConnectionPool(1, 60000, 2000, 500);
+        WebResource r = createClient(pool).resource(getUri().path("/").build());
+
+        ClientResponse cr = r.get(ClientResponse.class);
+        assertEquals(1, pool.getStatistics().getLeased());
+        try {
+            r.get(ClientResponse.class);
+            fail();
+        } catch (ClientHandlerException e) {
+            // Timed out waiting for the leased connection
+        }
+
+        cr.close();
+        assertEquals("GET", r.get(String.class));
+        assertEquals(1, pool.getStatistics().getCreated());
+    }
+
+    public void testDefaultLeaseTimeout() {
+        assertEquals(ConnectionPool.DEFAULT_LEASE_TIMEOUT, new ConnectionPool().getLeaseTimeout());
+        assertEquals(ConnectionPool.DEFAULT_LEASE_TIMEOUT, new ConnectionPool(1, 60000, 2000).getLeaseTimeout());
+        assertTrue(ConnectionPool.DEFAULT_LEASE_TIMEOUT > 0);
+    }
+
+    public void testReclaimUnreachableResponse() throws Exception {
+        startServer(Resource.class);
+
+        ConnectionPool pool = new ConnectionPool(1, 60000, 2000, 500);
+        WebResource r = createClient(pool).resource(getUri().path("/").build());
+
+        // The response is neither read nor closed
+        assertEquals(200, r.get(ClientResponse.class).getStatus());
+        assertEquals(1, pool.getStatistics().getLeased());
+
+        for (int i = 0; i < 100 && pool.getStatistics().getLeased() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+            pool.closeExpiredConnections();
+        }
+        assertEquals(0, pool.getStatistics().getLeased());
+        assertEquals(1, pool.getStatistics().getClosed());
+
+        assertEquals("GET", r.get(String.class));
+    }
+
+    public void testIdleTimeout() throws Exception {
+        startServer(Resource.class);
+
+        ConnectionPool pool = new ConnectionPool(5, 100, 2000);
+        WebResource r = createClient(pool).resource(getUri().path("/").build());
+
+        assertEquals("GET", r.get(String.class));
+        assertEquals(1, pool.getStatistics().getIdle());
+
+        Thread.sleep(200);
+        pool.closeExpiredConnections();
+        assertEquals(0, pool.getStatistics().getIdle());
+        assertEquals(1, pool.getStatistics().getClosed());
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package com.sun.jersey.impl.container.httpserver;
+
+import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.api.core.DefaultResourceConfig;
+import com.sun.jersey.api.core.ResourceConfig;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+
+public class ResponseBufferSizeTest extends AbstractHttpServerTester {
+    public ResponseBufferSizeTest(String testName) {
+        super(testName);
+    }
+
+    @Path("/")
+    public static class Resource {
+        @GET
+        public StreamingOutput get(@QueryParam("size") final int size) {
+            return new StreamingOutput() {
+                public void write(OutputStream out) throws IOException {
+                    byte[] b = new byte[size];
+                    Arrays.fill(b, (byte)'x');
+                    out.write(b, 0, size / 2);
+                    out.flush();
+                    out.write(b, size / 2, size - size / 2);
+                    out.flush();
+                }
+            };
+        }
+
+        @Path("error")
+        @GET
+        public StreamingOutput getError() {
+            return new StreamingOutput() {
+                public void write(OutputStream out) throws IOException {
+                    out.write("partial".getBytes());
+                    throw new WebApplicationException(409);
+                }
+            };
+        }
+    }
+
+    private ResourceConfig startServer(int bufferSize) {
+        ResourceConfig rc = new DefaultResourceConfig(Resource.class);
+        rc.getProperties().put(ResourceConfig.PROPERTY_RESPONSE_BUFFER_SIZE,
+                Integer.toString(bufferSize));
+        startServer(rc);
+        return rc;
+    }
+
+    public void testBuffered() {
+        ResourceConfig rc = startServer(1024);
+
+        // The configured value is not replaced with the parsed value
+        assertEquals("1024", rc.getProperty(ResourceConfig.PROPERTY_RESPONSE_BUFFER_SIZE));
+
+        WebResource r = Client.create().resource(getUri().path("/").build());
+
+        ClientResponse cr = r.queryParam("size", "1024").get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertEquals("1024", cr.getHeaders().getFirst("Content-Length"));
+        assertNull(cr.getHeaders().getFirst("Transfer-Encoding"));
+        assertEquals(1024, cr.getEntity(byte[].class).length);
+    }
+
+    public void testNotBuffered() {
+        startServer(1024);
+
+        WebResource r = Client.create().resource(getUri().path("/").build());
+
+        ClientResponse cr = r.queryParam("size", "1025").get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertNull(cr.getHeaders().getFirst("Content-Length"));
+        assertEquals(1025, cr.getEntity(byte[].class).length);
+    }
+
+    public void testDisabled() {
+        startServer(Resource.class);
+
+        WebResource r = Client.create().resource(getUri().path("/").build());
+
+        ClientResponse cr = r.queryParam("size", "10").get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertNull(cr.getHeaders().getFirst("Content-Length"));
+        assertEquals(10, cr.getEntity(byte[].class).length);
+    }
+
+    public void testErrorWhileBuffering() {
+        startServer(1024);
+
+        WebResource r = Client.create().resource(getUri().path("error").build());
+
+        // The buffered bytes are discarded and the exception is mapped
+        ClientResponse cr = r.get(ClientResponse.class);
+        assertEquals(409, cr.getStatus());
+    }
+}
@@ -81,6 +81,7 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamSource;
 import java.io.ByteArrayInputStream;
+import java.io.Closeable;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
@@ -93,8 +94,10 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Stack;
@@ -1154,4 +1157,88 @@ public class EntityTypesTest extends AbstractTypeTester {
 //        JSONArray c = r.post(JSONArray.class, b);
 //        assertEquals(a.toString(), c.toString());
     }
+
+    public static class JAXBBeanIterator implements Iterator<JAXBBean>, Closeable {
+        static volatile boolean closed;
+
+        private final int size;
+        private int i;
+
+        public JAXBBeanIterator(int size) {
+            this.size = size;
+            closed = false;
+        }
+
+        public boolean hasNext() {
+            return i < size;
+        }
+
+        public JAXBBean next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return new JAXBBean(Integer.toString(i++));
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        public void close() {
+            closed = true;
+        }
+    }
+
+    public static class JAXBIteratorResource {
+        @GET
+        public Iterator<JAXBBean> get() {
+            return new JAXBBeanIterator(200);
+        }
+
+        @GET
+        @Path("iterable")
+        public Iterable<JAXBBean> getIterable() {
+            return new Iterable<JAXBBean>() {
+                public Iterator<JAXBBean> iterator() {
+                    return new JAXBBeanIterator(200);
+                }
+            };
+        }
+    }
+
+    @Path("/")
+    @Produces("application/xml")
+    public static class JAXBIteratorResourceXML extends JAXBIteratorResource {
+    }
+
+    public void testJAXBIteratorRepresentation() {
+        initiateWebApplication(JAXBIteratorResourceXML.class);
+        _testJAXBIteratorRepresentation();
+    }
+
+    @Path("/")
+    @Produces("application/json")
+    public static class JAXBIteratorResourceJSON extends JAXBIteratorResource {
+    }
+
+    public void testJAXBIteratorRepresentationJSON() {
+        initiateWebApplication(JAXBIteratorResourceJSON.class);
+        _testJAXBIteratorRepresentation();
+    }
+
+    private void _testJAXBIteratorRepresentation() {
+        WebResource r = resource("/");
+
+        List<JAXBBean> l = r.get(new GenericType<List<JAXBBean>>() {
+        });
+        assertEquals(200, l.size());
+        for (int i = 0; i < l.size(); i++)
+            assertEquals(Integer.toString(i), l.get(i).value);
+        assertTrue(JAXBBeanIterator.closed);
+
+        l = r.path("iterable").get(new GenericType<List<JAXBBean>>() {
+        });
+        assertEquals(200, l.size());
+        assertEquals("199", l.get(199).value);
+        assertTrue(JAXBBeanIterator.closed);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.impl.entity;
+
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.core.DefaultResourceConfig;
+import com.sun.jersey.core.header.InBoundHeaders;
+import com.sun.jersey.impl.AbstractResourceTester;
+import com.sun.jersey.spi.container.ContainerRequest;
+import com.sun.jersey.spi.container.ContainerResponse;
+import com.sun.jersey.spi.container.ContainerResponseWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+public class FileRangeTest extends AbstractResourceTester {
+    public FileRangeTest(String testName) {
+        super(testName);
+    }
+
+    private static File file;
+
+    @Path("/")
+    public static class FileResource {
+        @GET
+        @Produces("application/octet-stream")
+        public File get() {
+            return file;
+        }
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        file = File.createTempFile("range", "tmp");
+        file.deleteOnExit();
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write("0123456789".getBytes());
+        } finally {
+            out.close();
+        }
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        file.delete();
+        super.tearDown();
+    }
+
+    public void testNoRange() throws IOException {
+        initiateWebApplication(new DefaultResourceConfig(FileResource.class));
+
+        ClientResponse cr = resource("/", false).get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertEquals("bytes", cr.getHeaders().getFirst("Accept-Ranges"));
+        assertEquals("0123456789", cr.getEntity(String.class));
+    }
+
+    public void testRange() throws IOException {
+        initiateWebApplication(new DefaultResourceConfig(FileResource.class));
+
+        ClientResponse cr = resource("/", false).header("Range", "bytes=2-4").get(ClientResponse.class);
+        assertEquals(206, cr.getStatus());
+        assertEquals("bytes 2-4/10", cr.getHeaders().getFirst("Content-Range"));
+        assertEquals("234", cr.getEntity(String.class));
+
+        cr = resource("/", false).header("Range", "bytes=-3").get(ClientResponse.class);
+        assertEquals(206, cr.getStatus());
+        assertEquals("bytes 7-9/10", cr.getHeaders().getFirst("Content-Range"));
+        assertEquals("789", cr.getEntity(String.class));
+    }
+
+    public void testMultipleRanges() throws IOException {
+        initiateWebApplication(new DefaultResourceConfig(FileResource.class));
+
+        ClientResponse cr = resource("/", false).header("Range", "bytes=0-1,4-5").get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertEquals("0123456789", cr.getEntity(String.class));
+    }
+
+    public void testUnsatisfiableRange() throws IOException {
+        initiateWebApplication(new DefaultResourceConfig(FileResource.class));
+
+        ClientResponse cr = resource("/", false).header("Range", "bytes=10-").get(ClientResponse.class);
+        assertEquals(416, cr.getStatus());
+        assertEquals("bytes */10", cr.getHeaders().getFirst("Content-Range"));
+    }
+
+    public void testUnsatisfiableRangeContentLength() throws IOException {
+        initiateWebApplication(new DefaultResourceConfig(FileResource.class));
+
+        InBoundHeaders headers = new InBoundHeaders();
+        headers.putSingle("Range", "bytes=10-");
+        ContainerRequest request = new ContainerRequest(w, "GET", BASE_URI,
+                BASE_URI.resolve(""), headers, new ByteArrayInputStream(new byte[0]));
+
+        final long[] contentLength = {-1};
+        final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+        w.handleRequest(request, new ContainerResponseWriter() {
+            public OutputStream writeStatusAndHeaders(long length, ContainerResponse response) {
+                contentLength[0] = length;
+                return entity;
+            }
+
+            public void finish() {
+            }
+        });
+
+        assertEquals(0, contentLength[0]);
+        assertEquals(0, entity.size());
+    }
+
+    public void testIfRange() throws IOException {
+        initiateWebApplication(new DefaultResourceConfig(FileResource.class));
+
+        ClientResponse cr = resource("/", false).header("Range", "bytes=2-4").
+                header("If-Range", "\"etag\"").get(ClientResponse.class);
+        assertEquals(200, cr.getStatus());
+        assertEquals("0123456789", cr.getEntity(String.class));
+    }
+}
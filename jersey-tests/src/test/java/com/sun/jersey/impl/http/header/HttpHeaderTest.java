@@ -136,6 +136,42 @@ public class HttpHeaderTest extends TestCase {
         assertEquals(date_RFC1123, date_formatted);
     }
 
+    public void testDateParsingAllFormats() throws ParseException {
+        long time = HttpHeaderReader.readDate("Sun, 06 Nov 1994 08:49:37 GMT").getTime();
+        assertEquals(784111777000L, time);
+
+        assertEquals(time, HttpHeaderReader.readDate("Sunday, 06-Nov-94 08:49:37 GMT").getTime());
+        assertEquals(time, HttpHeaderReader.readDate("Sun Nov  6 08:49:37 1994").getTime());
+        assertEquals(time, HttpHeaderReader.readDate("Sun, 6 Nov 1994 08:49:37 GMT").getTime());
+        assertEquals(time, HttpHeaderReader.readDate("Sun, 06 Nov 1994 08:49:37 UTC").getTime());
+    }
+
+    public void testDateParsingError() {
+        try {
+            HttpHeaderReader.readDate("Sun, 06 Nov 1994 08:49:37");
+            fail();
+        } catch (ParseException e) {
+        }
+    }
+
+    public void testFormatDate() throws ParseException {
+        long[] times = {
+            0L, -1L, 784111777000L, 951782400000L, 951868799999L,
+            -12219292800000L, -12219292800001L,
+            253402300799999L, 253402300800000L,
+            System.currentTimeMillis()
+        };
+
+        for (long time : times) {
+            Date date = new Date(time);
+            String expected = HttpDateFormat.getPreferedDateFormat().format(date);
+            assertEquals(expected, HttpDateFormat.formatDate(date));
+            assertEquals(expected, HttpDateFormat.formatDate(date));
+            assertEquals(HttpDateFormat.getPreferedDateFormat().parse(expected),
+                    HttpHeaderReader.readDate(expected));
+        }
+    }
+
     public void testParameterizedHeader() throws ParseException {
         ParameterizedHeader ph = new ParameterizedHeader("a");
         assertEquals("a", ph.getValue());
@@ -0,0 +1,139 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.impl.http.header.provider;
+
+import com.sun.jersey.core.header.AcceptableLanguageTag;
+import com.sun.jersey.core.header.AcceptableMediaType;
+import com.sun.jersey.core.header.reader.HttpHeaderReader;
+import com.sun.jersey.core.header.reader.HttpHeaderReaderCache;
+import java.text.ParseException;
+import java.util.List;
+import java.util.Locale;
+import javax.ws.rs.core.MediaType;
+import junit.framework.TestCase;
+
+public class HttpHeaderReaderCacheTest extends TestCase {
+
+    public HttpHeaderReaderCacheTest(String testName) {
+        super(testName);
+    }
+
+    public void testAcceptMediaType() throws Exception {
+        String header = "application/xml;q=0.1, text/xml;q=0.2, text/html;q=0.3";
+        List<AcceptableMediaType> l = HttpHeaderReaderCache.readAcceptMediaType(header);
+
+        assertEquals(HttpHeaderReader.readAcceptMediaType(header), l);
+        assertEquals("html", l.get(0).getSubtype());
+        assertEquals(300, l.get(0).getQuality());
+        assertSame(l, HttpHeaderReaderCache.readAcceptMediaType(new String(header)));
+    }
+
+    public void testAcceptMediaTypeUnmodifiable() throws Exception {
+        List<AcceptableMediaType> l = HttpHeaderReaderCache.readAcceptMediaType("text/plain");
+        try {
+            l.clear();
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+        assertEquals(1, HttpHeaderReaderCache.readAcceptMediaType("text/plain").size());
+    }
+
+    public void testAcceptLanguage() throws Exception {
+        String header = "en-GB;q=0.5, fr, *;q=0.1";
+        List<AcceptableLanguageTag> l = HttpHeaderReaderCache.readAcceptLanguage(header);
+
+        assertEquals(3, l.size());
+        assertEquals("fr", l.get(0).getTag());
+        assertEquals("en-GB", l.get(1).getTag());
+        assertEquals("*", l.get(2).getTag());
+        assertSame(l, HttpHeaderReaderCache.readAcceptLanguage(header));
+    }
+
+    public void testAcceptLanguageAsLocales() throws Exception {
+        String header = "en-GB;q=0.5, fr";
+        List<Locale> l = HttpHeaderReaderCache.readAcceptLanguageAsLocales(header);
+
+        assertEquals(2, l.size());
+        assertEquals(Locale.FRENCH, l.get(0));
+        assertEquals(Locale.UK, l.get(1));
+        assertSame(l, HttpHeaderReaderCache.readAcceptLanguageAsLocales(header));
+    }
+
+    public void testMediaType() {
+        MediaType m = HttpHeaderReaderCache.readMediaType("text/plain;charset=UTF-8");
+
+        assertEquals(MediaType.valueOf("text/plain;charset=UTF-8"), m);
+        assertSame(m, HttpHeaderReaderCache.readMediaType("text/plain;charset=UTF-8"));
+    }
+
+    public void testInvalidNotCached() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                HttpHeaderReaderCache.readAcceptMediaType("text/plain;q=x");
+                fail();
+            } catch (ParseException e) {
+            }
+        }
+    }
+
+    public void testEviction() throws Exception {
+        List<AcceptableMediaType> l = HttpHeaderReaderCache.readAcceptMediaType("application/x-evicted");
+        for (int i = 0; i < HttpHeaderReaderCache.MAX_CACHED_HEADER_VALUES; i++) {
+            HttpHeaderReaderCache.readAcceptMediaType("application/x-" + i);
+        }
+
+        List<AcceptableMediaType> _l = HttpHeaderReaderCache.readAcceptMediaType("application/x-evicted");
+        assertNotSame(l, _l);
+        assertEquals(l, _l);
+    }
+
+    public void testLeastRecentlyUsedEviction() throws Exception {
+        List<AcceptableMediaType> used = HttpHeaderReaderCache.readAcceptMediaType("application/x-used");
+        List<AcceptableMediaType> unused = HttpHeaderReaderCache.readAcceptMediaType("application/x-unused");
+        for (int i = 0; i < HttpHeaderReaderCache.MAX_CACHED_HEADER_VALUES - 1; i++) {
+            HttpHeaderReaderCache.readAcceptMediaType("application/x-lru-" + i);
+            assertSame(used, HttpHeaderReaderCache.readAcceptMediaType("application/x-used"));
+        }
+
+        assertSame(used, HttpHeaderReaderCache.readAcceptMediaType("application/x-used"));
+        assertNotSame(unused, HttpHeaderReaderCache.readAcceptMediaType("application/x-unused"));
+    }
+}
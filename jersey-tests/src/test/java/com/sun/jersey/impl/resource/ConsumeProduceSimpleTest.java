@@ -166,6 +166,22 @@ public class ConsumeProduceSimpleTest extends AbstractResourceTester {
         assertEquals("XHTML", r.accept("text/xhtml").get(String.class));
     }
     
+    public void testConsumeProduceSimpleBeanRepeated() {
+        initiateWebApplication(ConsumeProduceSimpleBean.class);
+        WebResource r = resource("/a/b", false);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("HTML", r.entity("", "text/html").accept("text/html").post(String.class));
+            assertEquals("XHTML", r.entity("", "text/xhtml").accept("text/xhtml").post(String.class));
+            assertEquals(415, r.entity("", "text/plain").accept("text/html").
+                    post(ClientResponse.class).getStatus());
+            assertEquals(406, r.entity("", "text/html").accept("text/plain").
+                    post(ClientResponse.class).getStatus());
+            assertEquals("HTML", r.accept("text/html").get(String.class));
+            assertEquals("XHTML", r.accept("text/xhtml").get(String.class));
+        }
+    }
+    
     @Path("/")
     @Consumes("text/html")
     @Produces("text/plain")
@@ -0,0 +1,163 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.impl.resource;
+
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.core.DefaultResourceConfig;
+import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.impl.AbstractResourceTester;
+import com.sun.jersey.server.impl.model.method.dispatch.GeneratedMethodInvoker;
+import java.util.ArrayList;
+import java.util.List;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+
+public class GeneratedMethodInvokerTest extends AbstractResourceTester {
+
+    public GeneratedMethodInvokerTest(String testName) {
+        super(testName);
+    }
+
+    @Path("/{id}")
+    public static class Resource {
+        static String put;
+
+        // The names of the classes that invoked the resource methods
+        static final List<String> callers = new ArrayList<String>();
+
+        private static void recordCaller() {
+            // [0] is this method, [1] the resource method and [2] the invoker
+            callers.add(new Throwable().getStackTrace()[2].getClassName());
+        }
+
+        @GET
+        public String get() {
+            recordCaller();
+            return "GET";
+        }
+
+        @GET
+        @Path("one")
+        public String getOne(@PathParam("id") int id) {
+            recordCaller();
+            return Integer.toString(id + 1);
+        }
+
+        @GET
+        @Path("two")
+        public Response getTwo(@PathParam("id") String id, @QueryParam("q") long q) {
+            recordCaller();
+            return Response.ok(id + q).build();
+        }
+
+        @GET
+        @Path("three")
+        public String getThree(@PathParam("id") String id, @QueryParam("a") String a,
+                @QueryParam("b") boolean b) {
+            recordCaller();
+            return id + a + b;
+        }
+
+        @POST
+        public String post(String entity) {
+            recordCaller();
+            return entity.toUpperCase();
+        }
+
+        @PUT
+        public void put(String entity) {
+            recordCaller();
+            put = entity;
+        }
+
+        @GET
+        @Path("error")
+        public String getError() {
+            recordCaller();
+            throw new WebApplicationException(Response.Status.CONFLICT);
+        }
+    }
+
+    private void initiateWebApplication(boolean generated, Class... classes) {
+        ResourceConfig rc = new DefaultResourceConfig(classes);
+        rc.getFeatures().put(ResourceConfig.FEATURE_GENERATED_METHOD_INVOKERS, generated);
+        initiateWebApplication(rc);
+    }
+
+    public void testGenerated() {
+        _test(true);
+    }
+
+    public void testReflection() {
+        _test(false);
+    }
+
+    private void _test(boolean generated) {
+        Resource.callers.clear();
+        initiateWebApplication(generated, Resource.class);
+
+        assertEquals("GET", resource("/1").get(String.class));
+        assertEquals("2", resource("/1/one").get(String.class));
+        assertEquals("13", resource("/1/two?q=3").get(String.class));
+        assertEquals("1xtrue", resource("/1/three?a=x&b=true").get(String.class));
+        assertEquals("CONTENT", resource("/1").post(String.class, "content"));
+
+        resource("/1").put("CONTENT");
+        assertEquals("CONTENT", Resource.put);
+
+        ClientResponse cr = resource("/1/error", false).get(ClientResponse.class);
+        assertEquals(409, cr.getStatus());
+
+        // Fail if generation silently falls back to reflection, or if
+        // reflection is not used when generation is disabled
+        assertEquals(7, Resource.callers.size());
+        for (String caller : Resource.callers) {
+            assertEquals(caller, generated,
+                    caller.startsWith(GeneratedMethodInvoker.class.getName() + "$"));
+        }
+    }
+}
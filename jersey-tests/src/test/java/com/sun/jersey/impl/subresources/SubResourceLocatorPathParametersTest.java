@@ -0,0 +1,115 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.impl.subresources;
+
+import com.sun.jersey.impl.AbstractResourceTester;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.UriInfo;
+
+/**
+ * Tests the path parameters obtained by a sub-resource locator before
+ * the template values of the sub-resource are matched.
+ */
+public class SubResourceLocatorPathParametersTest extends AbstractResourceTester {
+
+    public SubResourceLocatorPathParametersTest(String testName) {
+        super(testName);
+    }
+
+    @Path("/{a}")
+    public static class Parent {
+        @Path("child")
+        public Child getChild(@Context UriInfo ui) {
+            return new Child(ui.getPathParameters());
+        }
+
+        @Path("sized")
+        public SizedChild getSizedChild(@Context UriInfo ui) {
+            return new SizedChild(ui.getPathParameters().size());
+        }
+    }
+
+    public static class Child {
+        private final MultivaluedMap<String, String> locatorParameters;
+
+        public Child(MultivaluedMap<String, String> locatorParameters) {
+            this.locatorParameters = locatorParameters;
+        }
+
+        @GET
+        @Path("{b}")
+        public String get() {
+            return locatorParameters.getFirst("a") + locatorParameters.getFirst("b");
+        }
+    }
+
+    public static class SizedChild {
+        private final int size;
+
+        public SizedChild(int size) {
+            this.size = size;
+        }
+
+        @GET
+        @Path("{b}")
+        public String get(@PathParam("a") String a, @PathParam("b") String b) {
+            return size + a + b;
+        }
+    }
+
+    public void testLocatorParametersAreUpdated() {
+        initiateWebApplication(Parent.class);
+
+        assertEquals("xy", resource("/x/child/y").get(String.class));
+        assertEquals("xy z", resource("/x/child/y%20z").get(String.class));
+    }
+
+    public void testPathParamAfterAllParametersDecoded() {
+        initiateWebApplication(Parent.class);
+
+        assertEquals("1xy", resource("/x/sized/y").get(String.class));
+        assertEquals("1xy z", resource("/x/sized/y%20z").get(String.class));
+    }
+}
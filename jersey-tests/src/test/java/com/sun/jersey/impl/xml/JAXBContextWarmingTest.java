@@ -0,0 +1,137 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.impl.xml;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.GenericEntity;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import com.sun.jersey.api.core.DefaultResourceConfig;
+import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.core.provider.jaxb.JAXBContextRegistry;
+import com.sun.jersey.impl.AbstractResourceTester;
+
+public class JAXBContextWarmingTest extends AbstractResourceTester {
+
+    public JAXBContextWarmingTest(String testName) {
+        super(testName);
+    }
+
+    @XmlRootElement
+    public static class Warmed {
+        public String name;
+    }
+
+    @XmlRootElement
+    public static class WarmedList {
+        public String name;
+    }
+
+    @XmlRootElement
+    public static class NotWarmed {
+        public String name;
+    }
+
+    @Path("/")
+    public static class WarmedResource {
+        @GET
+        @Produces("application/xml")
+        public Warmed get() {
+            Warmed w = new Warmed();
+            w.name = "warmed";
+            return w;
+        }
+
+        @Path("list")
+        @POST
+        @Produces("application/xml")
+        public List<WarmedList> post(List<WarmedList> l) {
+            return l;
+        }
+    }
+
+    @Path("/")
+    public static class NotWarmedResource {
+        @GET
+        @Produces("application/xml")
+        public NotWarmed get() {
+            NotWarmed w = new NotWarmed();
+            w.name = "not-warmed";
+            return w;
+        }
+    }
+
+    public void testWarmed() {
+        ResourceConfig rc = new DefaultResourceConfig(WarmedResource.class);
+        rc.getFeatures().put(ResourceConfig.FEATURE_JAXB_CONTEXT_WARMING, true);
+        initiateWebApplication(rc);
+
+        JAXBContextRegistry r = JAXBContextRegistry.getInstance(w.getProviders());
+        long misses = r.getMissCount();
+        long builds = r.getBuildCount();
+
+        assertTrue(resource("/").get(String.class).contains("warmed"));
+        assertTrue(resource("/list").type("application/xml").post(String.class,
+                new GenericEntity<List<WarmedList>>(
+                        Collections.singletonList(new WarmedList())) {}).contains("warmedList"));
+
+        assertEquals(misses, r.getMissCount());
+        assertEquals(builds, r.getBuildCount());
+    }
+
+    public void testNotWarmed() {
+        // Warming is disabled by default
+        initiateWebApplication(new DefaultResourceConfig(NotWarmedResource.class));
+
+        JAXBContextRegistry r = JAXBContextRegistry.getInstance(w.getProviders());
+        long misses = r.getMissCount();
+
+        assertTrue(resource("/").get(String.class).contains("not-warmed"));
+
+        assertEquals(misses + 1, r.getMissCount());
+    }
+}
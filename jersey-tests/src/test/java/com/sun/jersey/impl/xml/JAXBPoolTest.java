@@ -0,0 +1,123 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2017 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package com.sun.jersey.impl.xml;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+import com.sun.jersey.api.core.DefaultResourceConfig;
+import com.sun.jersey.api.core.ResourceConfig;
+import com.sun.jersey.core.util.FeaturesAndProperties;
+import com.sun.jersey.impl.AbstractResourceTester;
+
+/**
+ * Pooled marshallers must not retain the properties set for a previous entity.
+ */
+public class JAXBPoolTest extends AbstractResourceTester {
+
+    public JAXBPoolTest(String testName) {
+        super(testName);
+    }
+
+    @Path("/")
+    public static class FooResource {
+
+        private static RootElement root() {
+            RootElement re = new RootElement();
+            re.name = "jmeno";
+            re.value = "hodnota";
+            return re;
+        }
+
+        @Path("root")
+        @GET
+        @Produces("application/xml")
+        public RootElement getRoot() {
+            return root();
+        }
+
+        @Path("root-latin1")
+        @GET
+        @Produces("application/xml;charset=ISO-8859-1")
+        public RootElement getRootLatin1() {
+            return root();
+        }
+
+        @Path("list")
+        @GET
+        @Produces("application/xml")
+        public List<RootElement> getList() {
+            return Arrays.asList(root());
+        }
+    }
+
+    public void testPooled() {
+        initiateWebApplication(new DefaultResourceConfig(FooResource.class));
+        tryResources();
+    }
+
+    public void testNotPooled() {
+        ResourceConfig rc = new DefaultResourceConfig(FooResource.class);
+        rc.getProperties().put(FeaturesAndProperties.PROPERTY_JAXB_POOL_SIZE, 0);
+        initiateWebApplication(rc);
+        tryResources();
+    }
+
+    private void tryResources() {
+        for (int i = 0; i < 4; i++) {
+            String s = resource("/root-latin1").get(String.class);
+            assertTrue("Wrong message: " + s, s.contains("ISO-8859-1"));
+
+            s = resource("/root").get(String.class);
+            assertTrue("Wrong message: " + s, s.startsWith("<?xml") && s.contains("UTF-8"));
+
+            s = resource("/list").get(String.class);
+            assertTrue("Wrong message: " + s, s.contains("jmeno"));
+
+            s = resource("/root").get(String.class);
+            assertTrue("Wrong message: " + s, s.startsWith("<?xml") && s.contains("UTF-8"));
+        }
+    }
+}